@@ -20,6 +20,7 @@
 package com.amazonaws.athena.connectors.aws.cmdb;
 
 import com.amazonaws.athena.connector.lambda.domain.TableName;
+import com.amazonaws.athena.connectors.aws.cmdb.tables.DescribeExecutor;
 import com.amazonaws.athena.connectors.aws.cmdb.tables.DistributionTableProvider;
 import com.amazonaws.athena.connectors.aws.cmdb.tables.EmrClusterTableProvider;
 import com.amazonaws.athena.connectors.aws.cmdb.tables.RdsTableProvider;
@@ -76,15 +77,17 @@ public class TableProviderFactory
     @VisibleForTesting
     protected TableProviderFactory(AmazonEC2 ec2, AmazonElasticMapReduce emr, AmazonRDS rds, AmazonS3 amazonS3, AmazonElasticLoadBalancing elbv2, AmazonCloudFront cloudfront)
     {
-        addProvider(new Ec2TableProvider(ec2));
-        addProvider(new EbsTableProvider(ec2));
-        addProvider(new VpcTableProvider(ec2));
-        addProvider(new SecurityGroupsTableProvider(ec2));
-        addProvider(new RouteTableProvider(ec2));
-        addProvider(new SubnetTableProvider(ec2));
-        addProvider(new ImagesTableProvider(ec2));
-        addProvider(new EmrClusterTableProvider(emr));
-        addProvider(new RdsTableProvider(rds));
+        //Shared so that the describe calls of all providers are bounded by the same thread pool and response cache.
+        DescribeExecutor describeExecutor = new DescribeExecutor();
+        addProvider(new Ec2TableProvider(ec2, describeExecutor));
+        addProvider(new EbsTableProvider(ec2, describeExecutor));
+        addProvider(new VpcTableProvider(ec2, describeExecutor));
+        addProvider(new SecurityGroupsTableProvider(ec2, describeExecutor));
+        addProvider(new RouteTableProvider(ec2, describeExecutor));
+        addProvider(new SubnetTableProvider(ec2, describeExecutor));
+        addProvider(new ImagesTableProvider(ec2, describeExecutor));
+        addProvider(new EmrClusterTableProvider(emr, describeExecutor));
+        addProvider(new RdsTableProvider(rds, describeExecutor));
         addProvider(new S3ObjectsTableProvider(amazonS3));
         addProvider(new S3BucketsTableProvider(amazonS3));
         addProvider(new TgTableProvider(elbv2));
@@ -0,0 +1,367 @@
+/*-
+ * #%L
+ * athena-aws-cmdb
+ * %%
+ * Copyright (C) 2019 Amazon Web Services
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package com.amazonaws.athena.connectors.aws.cmdb.tables;
+
+import com.amazonaws.AmazonWebServiceRequest;
+import com.amazonaws.athena.connector.lambda.QueryStatusChecker;
+import com.amazonaws.athena.connector.lambda.domain.predicate.EquatableValueSet;
+import com.amazonaws.athena.connector.lambda.domain.predicate.Range;
+import com.amazonaws.athena.connector.lambda.domain.predicate.SortedRangeSet;
+import com.amazonaws.athena.connector.lambda.domain.predicate.ValueSet;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Shared by the TableProviders to issue describe/list calls against the AWS service APIs. Independent requests (e.g.
+ * one per batch of ids or per value of a pushed down filter) are paged through concurrently, with at most
+ * describe_max_concurrency requests in flight, while the resulting pages are handed back on the calling thread in
+ * request order so that TableProviders can keep writing to their BlockSpiller from a single thread. Each request
+ * only buffers up to MAX_QUEUED_PAGES pages ahead of the calling thread, so pages are written as they arrive rather
+ * than once every request has completed.
+ * <p>
+ * When describe_cache_ttl_seconds is set, responses are also kept for that long and re-used for identical requests,
+ * which helps dashboards that repeatedly issue the same queries. The cache is disabled by default since it trades
+ * freshness for latency.
+ */
+public class DescribeExecutor
+{
+    private static final Logger logger = LoggerFactory.getLogger(DescribeExecutor.class);
+
+    //Used to configure the maximum number of describe requests that are in flight at once.
+    public static final String MAX_CONCURRENCY_ENV = "describe_max_concurrency";
+    //Used to enable, and configure the time to live of, the describe response cache.
+    public static final String CACHE_TTL_ENV = "describe_cache_ttl_seconds";
+    public static final int DEFAULT_MAX_CONCURRENCY = 8;
+    private static final int MAX_CACHE_ENTRIES = 1_000;
+    //The number of pages a request can retrieve before the calling thread has consumed them.
+    private static final int MAX_QUEUED_PAGES = 4;
+    //Marks the end of a request's pages in its page queue.
+    private static final Object END_OF_PAGES = new Object();
+
+    private final int maxConcurrency;
+    private final Cache<AmazonWebServiceRequest, Object> responseCache;
+    private ExecutorService executor;
+
+    /**
+     * Configures the executor using the describe_max_concurrency and describe_cache_ttl_seconds environment variables.
+     */
+    public DescribeExecutor()
+    {
+        this(getIntEnv(MAX_CONCURRENCY_ENV, DEFAULT_MAX_CONCURRENCY), getIntEnv(CACHE_TTL_ENV, 0));
+    }
+
+    /**
+     * @param maxConcurrency The maximum number of describe requests to have in flight at once, 1 disables concurrency.
+     * @param cacheTtlSeconds How long to keep describe responses for, 0 disables the response cache.
+     */
+    public DescribeExecutor(int maxConcurrency, long cacheTtlSeconds)
+    {
+        this.maxConcurrency = Math.max(1, maxConcurrency);
+        this.responseCache = (cacheTtlSeconds <= 0) ? null : CacheBuilder.newBuilder()
+                .maximumSize(MAX_CACHE_ENTRIES)
+                .expireAfterWrite(cacheTtlSeconds, TimeUnit.SECONDS)
+                .build();
+    }
+
+    /**
+     * Calls the supplied describe function, going through the response cache when it is enabled.
+     *
+     * @param request The request to send.
+     * @param describe The client method that sends the request.
+     * @return The response to the request.
+     * @note Cached responses are shared between callers and must not be modified.
+     */
+    public <T extends AmazonWebServiceRequest, R> R call(T request, Function<T, R> describe)
+    {
+        if (responseCache == null) {
+            return describe.apply(request);
+        }
+
+        try {
+            //Requests are mutable (e.g. the next token is set on them while paging) so we key on a copy.
+            @SuppressWarnings("unchecked")
+            R response = (R) responseCache.get(request.clone(), () -> describe.apply(request));
+            return response;
+        }
+        catch (ExecutionException | UncheckedExecutionException ex) {
+            throw propagate(ex.getCause());
+        }
+    }
+
+    /**
+     * Convenience overload of describe(...) for APIs that return all results in a single page.
+     */
+    public <T extends AmazonWebServiceRequest, R> void describe(List<T> requests,
+            Function<T, R> describe,
+            Consumer<R> pageConsumer,
+            QueryStatusChecker queryStatusChecker)
+    {
+        describe(requests, describe, (R response) -> null, (T request, String token) -> { }, pageConsumer, queryStatusChecker);
+    }
+
+    /**
+     * Sends each of the supplied requests, following their pagination tokens until all pages have been retrieved or
+     * the query is no longer running. A single request is paged through on the calling thread, multiple requests are
+     * paged through concurrently. Either way pages are streamed to the consumer as they arrive.
+     *
+     * @param requests The independent requests to send, the pages they return must not overlap.
+     * @param describe The client method that sends a request.
+     * @param getNextToken Extracts the pagination token (or marker) from a response, null when there are no more pages.
+     * @param setNextToken Sets the pagination token (or marker) on a request.
+     * @param pageConsumer Invoked on the calling thread with every page, in request order.
+     * @param queryStatusChecker Used to stop paging early when the query has terminated.
+     */
+    public <T extends AmazonWebServiceRequest, R> void describe(List<T> requests,
+            Function<T, R> describe,
+            Function<R, String> getNextToken,
+            BiConsumer<T, String> setNextToken,
+            Consumer<R> pageConsumer,
+            QueryStatusChecker queryStatusChecker)
+    {
+        if (requests.size() <= 1 || maxConcurrency == 1) {
+            for (T request : requests) {
+                paginate(request, describe, getNextToken, setNextToken, pageConsumer, queryStatusChecker);
+            }
+            return;
+        }
+
+        ExecutorService executorService = getExecutor();
+        List<BlockingQueue<Object>> pageQueues = new ArrayList<>(requests.size());
+        List<Future<Void>> futures = new ArrayList<>(requests.size());
+        try {
+            for (T request : requests) {
+                BlockingQueue<Object> pages = new ArrayBlockingQueue<>(MAX_QUEUED_PAGES);
+                pageQueues.add(pages);
+                futures.add(executorService.submit(() -> {
+                    try {
+                        paginate(request, describe, getNextToken, setNextToken, (R page) -> put(pages, page), queryStatusChecker);
+                    }
+                    finally {
+                        //Also sent on failure so that the calling thread stops waiting and picks up the failure.
+                        pages.put(END_OF_PAGES);
+                    }
+                    return null;
+                }));
+            }
+
+            for (int i = 0; i < requests.size(); i++) {
+                BlockingQueue<Object> pages = pageQueues.get(i);
+                for (Object page = pages.take(); page != END_OF_PAGES; page = pages.take()) {
+                    @SuppressWarnings("unchecked")
+                    R response = (R) page;
+                    pageConsumer.accept(response);
+                }
+                futures.get(i).get();
+            }
+        }
+        catch (ExecutionException ex) {
+            throw propagate(ex.getCause());
+        }
+        catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(ex);
+        }
+        finally {
+            //Interrupts any request still waiting for the calling thread to take its pages, e.g. after a failure.
+            futures.forEach(next -> next.cancel(true));
+        }
+    }
+
+    /**
+     * Applies the task to each of the inputs using at most maxConcurrency threads.
+     *
+     * @param inputs The inputs to apply the task to.
+     * @param task The task to run, it must not call back into this DescribeExecutor's invokeAll(...).
+     * @return The results of the task in the same order as the inputs.
+     */
+    public <T, R> List<R> invokeAll(List<T> inputs, Function<T, R> task)
+    {
+        if (inputs.size() <= 1 || maxConcurrency == 1) {
+            List<R> results = new ArrayList<>(inputs.size());
+            for (T next : inputs) {
+                results.add(task.apply(next));
+            }
+            return results;
+        }
+
+        ExecutorService executorService = getExecutor();
+        List<Future<R>> futures = new ArrayList<>(inputs.size());
+        try {
+            for (T next : inputs) {
+                futures.add(executorService.submit(() -> task.apply(next)));
+            }
+
+            List<R> results = new ArrayList<>(inputs.size());
+            for (Future<R> next : futures) {
+                results.add(next.get());
+            }
+            return results;
+        }
+        catch (ExecutionException ex) {
+            throw propagate(ex.getCause());
+        }
+        catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(ex);
+        }
+        finally {
+            //No-op for the tasks that already completed, avoids leaving work behind after a failure.
+            futures.forEach(next -> next.cancel(true));
+        }
+    }
+
+    /**
+     * Extracts the discrete values allowed by a constraint so that they can be sent as a server side filter.
+     *
+     * @param constraint The constraint on a column, may be null.
+     * @return The string form of the allowed values or null if the constraint can't be expressed as a (non-empty)
+     * list of values, for example because it is a range or because it also matches nulls.
+     */
+    public static List<String> getValues(ValueSet constraint)
+    {
+        if (constraint == null || constraint.isNullAllowed() || constraint.isNone()) {
+            return null;
+        }
+
+        List<String> values = new ArrayList<>();
+        if (constraint instanceof EquatableValueSet) {
+            EquatableValueSet equatableValueSet = (EquatableValueSet) constraint;
+            if (!equatableValueSet.isWhiteList()) {
+                return null;
+            }
+            for (int i = 0; i < equatableValueSet.getValues().getRowCount(); i++) {
+                values.add(equatableValueSet.getValue(i).toString());
+            }
+        }
+        else if (constraint instanceof SortedRangeSet) {
+            for (Range next : ((SortedRangeSet) constraint).getOrderedRanges()) {
+                if (!next.isSingleValue()) {
+                    return null;
+                }
+                values.add(next.getSingleValue().toString());
+            }
+        }
+        else {
+            return null;
+        }
+
+        return values.isEmpty() ? null : values;
+    }
+
+    /**
+     * Splits the values into consecutive batches of at most batchSize values, used to spread large IN lists over
+     * several requests.
+     *
+     * @param values The values to split, may be null.
+     * @param batchSize The maximum number of values per batch.
+     * @return The batches, or a single null batch if values was null so that callers always send at least one request.
+     */
+    public static List<List<String>> partition(List<String> values, int batchSize)
+    {
+        if (values == null) {
+            return Collections.singletonList(null);
+        }
+
+        List<List<String>> batches = new ArrayList<>();
+        for (int i = 0; i < values.size(); i += batchSize) {
+            batches.add(values.subList(i, Math.min(values.size(), i + batchSize)));
+        }
+        return batches;
+    }
+
+    private <T extends AmazonWebServiceRequest, R> void paginate(T request,
+            Function<T, R> describe,
+            Function<R, String> getNextToken,
+            BiConsumer<T, String> setNextToken,
+            Consumer<R> pageConsumer,
+            QueryStatusChecker queryStatusChecker)
+    {
+        boolean done = false;
+        while (!done) {
+            R response = call(request, describe);
+            pageConsumer.accept(response);
+
+            String nextToken = getNextToken.apply(response);
+            setNextToken.accept(request, nextToken);
+
+            if (nextToken == null || !queryStatusChecker.isQueryRunning()) {
+                done = true;
+            }
+        }
+    }
+
+    private static void put(BlockingQueue<Object> queue, Object value)
+    {
+        try {
+            queue.put(value);
+        }
+        catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(ex);
+        }
+    }
+
+    private synchronized ExecutorService getExecutor()
+    {
+        if (executor == null) {
+            logger.info("getExecutor: Starting describe executor with {} threads.", maxConcurrency);
+            executor = Executors.newFixedThreadPool(maxConcurrency, (Runnable runnable) -> {
+                Thread thread = new Thread(runnable, "describe-executor");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return executor;
+    }
+
+    private static RuntimeException propagate(Throwable cause)
+    {
+        if (cause instanceof RuntimeException) {
+            return (RuntimeException) cause;
+        }
+        else if (cause instanceof Error) {
+            throw (Error) cause;
+        }
+        return new RuntimeException(cause);
+    }
+
+    private static int getIntEnv(String name, int defaultValue)
+    {
+        String value = System.getenv(name);
+        return (value == null || value.trim().isEmpty()) ? defaultValue : Integer.parseInt(value.trim());
+    }
+}
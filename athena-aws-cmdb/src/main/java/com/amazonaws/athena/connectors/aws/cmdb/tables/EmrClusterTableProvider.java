@@ -31,14 +31,15 @@ import com.amazonaws.athena.connector.lambda.metadata.GetTableResponse;
 import com.amazonaws.athena.connector.lambda.records.ReadRecordsRequest;
 import com.amazonaws.services.elasticmapreduce.AmazonElasticMapReduce;
 import com.amazonaws.services.elasticmapreduce.model.Cluster;
+import com.amazonaws.services.elasticmapreduce.model.ClusterState;
 import com.amazonaws.services.elasticmapreduce.model.ClusterSummary;
 import com.amazonaws.services.elasticmapreduce.model.DescribeClusterRequest;
-import com.amazonaws.services.elasticmapreduce.model.DescribeClusterResult;
 import com.amazonaws.services.elasticmapreduce.model.ListClustersRequest;
 import com.amazonaws.services.elasticmapreduce.model.ListClustersResult;
 import org.apache.arrow.vector.types.Types;
 import org.apache.arrow.vector.types.pojo.Schema;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -50,10 +51,17 @@ public class EmrClusterTableProvider
 {
     private static final Schema SCHEMA;
     private AmazonElasticMapReduce emr;
+    private DescribeExecutor describeExecutor;
 
     public EmrClusterTableProvider(AmazonElasticMapReduce emr)
+    {
+        this(emr, new DescribeExecutor());
+    }
+
+    public EmrClusterTableProvider(AmazonElasticMapReduce emr, DescribeExecutor describeExecutor)
     {
         this.emr = emr;
+        this.describeExecutor = describeExecutor;
     }
 
     /**
@@ -85,33 +93,52 @@ public class EmrClusterTableProvider
 
     /**
      * Calls ListClusters and DescribeCluster on the AWS EMR Client returning all clusters that match the supplied
-     * predicate and attempting to push down certain predicates (namely queries for specific cluster) to EC2.
+     * predicate and attempting to push down certain predicates (namely queries for specific cluster states) to EMR.
+     * The clusters in each page of ListClusters are described concurrently.
      *
      * @See TableProvider
      */
     @Override
     public void readWithConstraint(BlockSpiller spiller, ReadRecordsRequest recordsRequest, QueryStatusChecker queryStatusChecker)
     {
-        boolean done = false;
         ListClustersRequest request = new ListClustersRequest();
 
-        while (!done) {
-            ListClustersResult response = emr.listClusters(request);
-
-            for (ClusterSummary next : response.getClusters()) {
-                Cluster cluster = null;
-                if (!next.getStatus().getState().toLowerCase().contains("terminated")) {
-                    DescribeClusterResult clusterResponse = emr.describeCluster(new DescribeClusterRequest().withClusterId(next.getId()));
-                    cluster = clusterResponse.getCluster();
-                }
-                clusterToRow(next, cluster, spiller);
-            }
+        List<String> states = DescribeExecutor.getValues(recordsRequest.getConstraints().getSummary().get("state"));
+        if (states != null && states.stream().allMatch(EmrClusterTableProvider::isClusterState)) {
+            request.setClusterStates(states);
+        }
 
-            request.setMarker(response.getMarker());
+        describeExecutor.describe(Collections.singletonList(request),
+                emr::listClusters,
+                ListClustersResult::getMarker,
+                ListClustersRequest::setMarker,
+                (ListClustersResult response) -> {
+                    List<Cluster> clusters = describeExecutor.invokeAll(response.getClusters(), (ClusterSummary next) -> {
+                        if (next.getStatus().getState().toLowerCase().contains("terminated")) {
+                            return null;
+                        }
+                        DescribeClusterRequest describeRequest = new DescribeClusterRequest().withClusterId(next.getId());
+                        return describeExecutor.call(describeRequest, emr::describeCluster).getCluster();
+                    });
+
+                    for (int i = 0; i < clusters.size(); i++) {
+                        clusterToRow(response.getClusters().get(i), clusters.get(i), spiller);
+                    }
+                },
+                queryStatusChecker);
+    }
 
-            if (response.getMarker() == null || !queryStatusChecker.isQueryRunning()) {
-                done = true;
-            }
+    /**
+     * ListClusters rejects unknown cluster states so we only push down constraints on valid states.
+     */
+    private static boolean isClusterState(String state)
+    {
+        try {
+            ClusterState.fromValue(state);
+            return true;
+        }
+        catch (IllegalArgumentException ex) {
+            return false;
         }
     }
 
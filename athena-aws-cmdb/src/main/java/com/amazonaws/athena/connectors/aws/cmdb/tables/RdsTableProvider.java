@@ -40,6 +40,7 @@ import com.amazonaws.services.rds.model.DescribeDBInstancesRequest;
 import com.amazonaws.services.rds.model.DescribeDBInstancesResult;
 import com.amazonaws.services.rds.model.DomainMembership;
 import com.amazonaws.services.rds.model.Endpoint;
+import com.amazonaws.services.rds.model.Filter;
 import com.amazonaws.services.rds.model.Subnet;
 import com.amazonaws.services.rds.model.Tag;
 import org.apache.arrow.vector.types.Types;
@@ -48,6 +49,10 @@ import org.apache.arrow.vector.types.pojo.Field;
 import org.apache.arrow.vector.types.pojo.Schema;
 
 import java.net.InetAddress;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 /**
@@ -57,11 +62,20 @@ public class RdsTableProvider
         implements TableProvider
 {
     private static final Schema SCHEMA;
+    //The number of instance ids to send in each DescribeDBInstances request, batches are sent concurrently.
+    private static final int ID_BATCH_SIZE = 100;
     private AmazonRDS rds;
+    private DescribeExecutor describeExecutor;
 
     public RdsTableProvider(AmazonRDS rds)
+    {
+        this(rds, new DescribeExecutor());
+    }
+
+    public RdsTableProvider(AmazonRDS rds, DescribeExecutor describeExecutor)
     {
         this.rds = rds;
+        this.describeExecutor = describeExecutor;
     }
 
     /**
@@ -93,34 +107,44 @@ public class RdsTableProvider
 
     /**
      * Calls DescribeDBInstances on the AWS RDS Client returning all DB Instances that match the supplied predicate and attempting
-     * to push down certain predicates (namely queries for specific DB Instance) to EC2.
+     * to push down certain predicates (namely queries for specific DB Instances or engines) to RDS. Queries for many DB Instances
+     * or several engines are split into independent requests that are paged through concurrently.
      *
      * @See TableProvider
      */
     @Override
     public void readWithConstraint(BlockSpiller spiller, ReadRecordsRequest recordsRequest, QueryStatusChecker queryStatusChecker)
     {
-        boolean done = false;
-        DescribeDBInstancesRequest request = new DescribeDBInstancesRequest();
-
-        ValueSet idConstraint = recordsRequest.getConstraints().getSummary().get("instance_id");
-        if (idConstraint != null && idConstraint.isSingleValue()) {
-            request.setDBInstanceIdentifier(idConstraint.getSingleValue().toString());
-        }
-
-        while (!done) {
-            DescribeDBInstancesResult response = rds.describeDBInstances(request);
-
-            for (DBInstance instance : response.getDBInstances()) {
-                instanceToRow(instance, spiller);
+        Map<String, ValueSet> summary = recordsRequest.getConstraints().getSummary();
+        List<String> ids = DescribeExecutor.getValues(summary.get("instance_id"));
+        List<DescribeDBInstancesRequest> requests = new ArrayList<>();
+        if (ids != null) {
+            for (List<String> batch : DescribeExecutor.partition(ids, ID_BATCH_SIZE)) {
+                requests.add(new DescribeDBInstancesRequest()
+                        .withFilters(new Filter().withName("db-instance-id").withValues(batch)));
             }
-
-            request.setMarker(response.getMarker());
-
-            if (response.getMarker() == null || !queryStatusChecker.isQueryRunning()) {
-                done = true;
+        }
+        else {
+            //A DB Instance has exactly one engine, so we can send one request per engine without duplicating rows.
+            for (List<String> engine : DescribeExecutor.partition(DescribeExecutor.getValues(summary.get("engine")), 1)) {
+                DescribeDBInstancesRequest request = new DescribeDBInstancesRequest();
+                if (engine != null) {
+                    request.setFilters(Collections.singletonList(new Filter().withName("engine").withValues(engine)));
+                }
+                requests.add(request);
             }
         }
+
+        describeExecutor.describe(requests,
+                rds::describeDBInstances,
+                DescribeDBInstancesResult::getMarker,
+                DescribeDBInstancesRequest::setMarker,
+                (DescribeDBInstancesResult response) -> {
+                    for (DBInstance instance : response.getDBInstances()) {
+                        instanceToRow(instance, spiller);
+                    }
+                },
+                queryStatusChecker);
     }
 
     /**
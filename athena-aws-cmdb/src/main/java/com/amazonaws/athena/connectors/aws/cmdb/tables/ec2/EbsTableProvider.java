@@ -30,18 +30,21 @@ import com.amazonaws.athena.connector.lambda.domain.predicate.ValueSet;
 import com.amazonaws.athena.connector.lambda.metadata.GetTableRequest;
 import com.amazonaws.athena.connector.lambda.metadata.GetTableResponse;
 import com.amazonaws.athena.connector.lambda.records.ReadRecordsRequest;
+import com.amazonaws.athena.connectors.aws.cmdb.tables.DescribeExecutor;
 import com.amazonaws.athena.connectors.aws.cmdb.tables.TableProvider;
 import com.amazonaws.services.ec2.AmazonEC2;
 import com.amazonaws.services.ec2.model.DescribeVolumesRequest;
 import com.amazonaws.services.ec2.model.DescribeVolumesResult;
+import com.amazonaws.services.ec2.model.Filter;
 import com.amazonaws.services.ec2.model.Volume;
+import com.google.common.collect.ImmutableMap;
 import org.apache.arrow.vector.types.Types;
 import org.apache.arrow.vector.types.pojo.Schema;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 /**
@@ -52,11 +55,27 @@ public class EbsTableProvider
 {
     private static final Logger logger = LoggerFactory.getLogger(EbsTableProvider.class);
     private static final Schema SCHEMA;
+    //Columns that can be pushed down to DescribeVolumes as a Filter, mapped to the name of that Filter.
+    private static final Map<String, String> FILTERS = ImmutableMap.<String, String>builder()
+            .put("availability_zone", "availability-zone")
+            .put("type", "volume-type")
+            .put("state", "status")
+            .put("snapshot_id", "snapshot-id")
+            .put("is_encrypted", "encrypted")
+            .put("target", "attachment.instance-id")
+            .build();
     private AmazonEC2 ec2;
+    private DescribeExecutor describeExecutor;
 
     public EbsTableProvider(AmazonEC2 ec2)
+    {
+        this(ec2, new DescribeExecutor());
+    }
+
+    public EbsTableProvider(AmazonEC2 ec2, DescribeExecutor describeExecutor)
     {
         this.ec2 = ec2;
+        this.describeExecutor = describeExecutor;
     }
 
     /**
@@ -88,35 +107,32 @@ public class EbsTableProvider
 
     /**
      * Calls DescribeVolumes on the AWS EC2 Client returning all volumes that match the supplied predicate and attempting
-     * to push down certain predicates (namely queries for specific volumes) to EC2.
+     * to push down certain predicates (namely queries for specific volumes, availability zones, etc...) to EC2. Queries
+     * for many volumes or several availability zones are split into independent requests that are paged through concurrently.
      *
      * @See TableProvider
      */
     @Override
     public void readWithConstraint(BlockSpiller spiller, ReadRecordsRequest recordsRequest, QueryStatusChecker queryStatusChecker)
     {
-        boolean done = false;
-        DescribeVolumesRequest request = new DescribeVolumesRequest();
-
-        ValueSet idConstraint = recordsRequest.getConstraints().getSummary().get("id");
-        if (idConstraint != null && idConstraint.isSingleValue()) {
-            request.setVolumeIds(Collections.singletonList(idConstraint.getSingleValue().toString()));
-        }
-
-        while (!done) {
-            DescribeVolumesResult response = ec2.describeVolumes(request);
-
-            for (Volume volume : response.getVolumes()) {
-                logger.info("readWithConstraint: {}", response);
-                instanceToRow(volume, spiller);
-            }
-
-            request.setNextToken(response.getNextToken());
-
-            if (response.getNextToken() == null || !queryStatusChecker.isQueryRunning()) {
-                done = true;
-            }
-        }
+        Map<String, ValueSet> summary = recordsRequest.getConstraints().getSummary();
+        List<DescribeVolumesRequest> requests = Ec2Filters.makeRequests(
+                DescribeExecutor.getValues(summary.get("id")),
+                "volume-id",
+                Ec2Filters.toFilters(summary, FILTERS),
+                "availability-zone",
+                (List<Filter> filters) -> new DescribeVolumesRequest().withFilters(filters));
+
+        describeExecutor.describe(requests,
+                ec2::describeVolumes,
+                DescribeVolumesResult::getNextToken,
+                DescribeVolumesRequest::setNextToken,
+                (DescribeVolumesResult response) -> {
+                    for (Volume volume : response.getVolumes()) {
+                        instanceToRow(volume, spiller);
+                    }
+                },
+                queryStatusChecker);
     }
 
     /**
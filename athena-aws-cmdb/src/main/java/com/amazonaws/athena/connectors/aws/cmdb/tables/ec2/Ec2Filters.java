@@ -0,0 +1,114 @@
+/*-
+ * #%L
+ * athena-aws-cmdb
+ * %%
+ * Copyright (C) 2019 Amazon Web Services
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package com.amazonaws.athena.connectors.aws.cmdb.tables.ec2;
+
+import com.amazonaws.athena.connector.lambda.domain.predicate.ValueSet;
+import com.amazonaws.athena.connectors.aws.cmdb.tables.DescribeExecutor;
+import com.amazonaws.services.ec2.model.Filter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Translates the constraints of a query into EC2 describe requests. The EC2 describe APIs accept a set of named
+ * Filters, each Filter matching any of its values.
+ */
+class Ec2Filters
+{
+    //EC2 limits the number of values in a single Filter, larger IN lists are left to the ConstraintEvaluator.
+    static final int MAX_FILTER_VALUES = 200;
+    //The number of ids to send in each describe request, batches are sent concurrently.
+    //Ids are sent as a Filter rather than as the request's list of ids since EC2 fails the whole call when any of
+    //the listed ids does not exist, while a Filter simply doesn't match it.
+    static final int ID_BATCH_SIZE = 100;
+
+    private Ec2Filters()
+    {
+    }
+
+    /**
+     * Builds a Filter for each constrained column that has a corresponding EC2 filter name and can be expressed as
+     * a list of values. Since every row is still evaluated against the constraints, filters only need to return a
+     * superset of the matching resources.
+     *
+     * @param summary The constraints of the query, keyed by column name.
+     * @param filterNames The EC2 filter name to use for each column that supports server side filtering.
+     * @return The Filters to add to the describe request(s).
+     */
+    static List<Filter> toFilters(Map<String, ValueSet> summary, Map<String, String> filterNames)
+    {
+        List<Filter> filters = new ArrayList<>();
+        for (Map.Entry<String, String> next : filterNames.entrySet()) {
+            List<String> values = DescribeExecutor.getValues(summary.get(next.getKey()));
+            if (values != null && values.size() <= MAX_FILTER_VALUES) {
+                filters.add(new Filter(next.getValue(), values));
+            }
+        }
+        return filters;
+    }
+
+    /**
+     * Builds the independent describe requests needed to satisfy the query. When the query lists specific ids they
+     * are sent in batches of ID_BATCH_SIZE using the idFilter, otherwise a multi-valued fanOutFilter is split into
+     * one request per value so that the matching resources can be paged through concurrently.
+     *
+     * @param ids The ids from the query or null if the query doesn't constrain the id column.
+     * @param idFilter The name of the Filter that matches resources by id (e.g. instance-id).
+     * @param filters The Filters for the other constrained columns.
+     * @param fanOutFilter The name of a Filter on an attribute that has a single value per resource, and so can be
+     * split without returning the same resource twice, or null if the requests should not be split.
+     * @param requestFactory Creates a describe request for a list of Filters.
+     * @return The requests to send, never empty.
+     */
+    static <R> List<R> makeRequests(List<String> ids,
+            String idFilter,
+            List<Filter> filters,
+            String fanOutFilter,
+            Function<List<Filter>, R> requestFactory)
+    {
+        List<R> requests = new ArrayList<>();
+        if (ids != null) {
+            for (List<String> batch : DescribeExecutor.partition(ids, ID_BATCH_SIZE)) {
+                List<Filter> batchFilters = new ArrayList<>(filters);
+                batchFilters.add(new Filter(idFilter, batch));
+                requests.add(requestFactory.apply(batchFilters));
+            }
+            return requests;
+        }
+
+        for (int i = 0; i < filters.size(); i++) {
+            Filter fanOut = filters.get(i);
+            if (fanOut.getName().equals(fanOutFilter) && fanOut.getValues().size() > 1) {
+                for (String value : fanOut.getValues()) {
+                    List<Filter> split = new ArrayList<>(filters);
+                    split.set(i, new Filter(fanOut.getName(), Collections.singletonList(value)));
+                    requests.add(requestFactory.apply(split));
+                }
+                return requests;
+            }
+        }
+
+        requests.add(requestFactory.apply(filters));
+        return requests;
+    }
+}
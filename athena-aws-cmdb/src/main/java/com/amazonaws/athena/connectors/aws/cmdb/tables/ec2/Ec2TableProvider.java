@@ -31,23 +31,26 @@ import com.amazonaws.athena.connector.lambda.domain.predicate.ValueSet;
 import com.amazonaws.athena.connector.lambda.metadata.GetTableRequest;
 import com.amazonaws.athena.connector.lambda.metadata.GetTableResponse;
 import com.amazonaws.athena.connector.lambda.records.ReadRecordsRequest;
+import com.amazonaws.athena.connectors.aws.cmdb.tables.DescribeExecutor;
 import com.amazonaws.athena.connectors.aws.cmdb.tables.TableProvider;
 import com.amazonaws.services.ec2.AmazonEC2;
 import com.amazonaws.services.ec2.model.DescribeInstancesRequest;
 import com.amazonaws.services.ec2.model.DescribeInstancesResult;
+import com.amazonaws.services.ec2.model.Filter;
 import com.amazonaws.services.ec2.model.Instance;
 import com.amazonaws.services.ec2.model.InstanceNetworkInterface;
 import com.amazonaws.services.ec2.model.InstanceState;
 import com.amazonaws.services.ec2.model.Reservation;
 import com.amazonaws.services.ec2.model.StateReason;
 import com.amazonaws.services.ec2.model.Tag;
+import com.google.common.collect.ImmutableMap;
 import org.apache.arrow.vector.types.Types;
 import org.apache.arrow.vector.types.pojo.ArrowType;
 import org.apache.arrow.vector.types.pojo.Field;
 import org.apache.arrow.vector.types.pojo.Schema;
 
-import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 /**
@@ -57,11 +60,31 @@ public class Ec2TableProvider
         implements TableProvider
 {
     private static final Schema SCHEMA;
+    //Columns that can be pushed down to DescribeInstances as a Filter, mapped to the name of that Filter.
+    private static final Map<String, String> FILTERS = ImmutableMap.<String, String>builder()
+            .put("vpc_id", "vpc-id")
+            .put("subnet_id", "subnet-id")
+            .put("image_id", "image-id")
+            .put("instance_type", "instance-type")
+            .put("architecture", "architecture")
+            .put("key_name", "key-name")
+            .put("private_ip_address", "private-ip-address")
+            .put("private_dns_name", "private-dns-name")
+            .put("root_device_type", "root-device-type")
+            .put("virtualization_type", "virtualization-type")
+            .build();
     private AmazonEC2 ec2;
+    private DescribeExecutor describeExecutor;
 
     public Ec2TableProvider(AmazonEC2 ec2)
+    {
+        this(ec2, new DescribeExecutor());
+    }
+
+    public Ec2TableProvider(AmazonEC2 ec2, DescribeExecutor describeExecutor)
     {
         this.ec2 = ec2;
+        this.describeExecutor = describeExecutor;
     }
 
     /**
@@ -93,36 +116,34 @@ public class Ec2TableProvider
 
     /**
      * Calls DescribeInstances on the AWS EC2 Client returning all instances that match the supplied predicate and attempting
-     * to push down certain predicates (namely queries for specific ec2 instance) to EC2.
+     * to push down certain predicates (namely queries for specific ec2 instances, vpcs, subnets, etc...) to EC2. Queries
+     * for many instances or several vpcs are split into independent requests that are paged through concurrently.
      *
      * @See TableProvider
      */
     @Override
     public void readWithConstraint(BlockSpiller spiller, ReadRecordsRequest recordsRequest, QueryStatusChecker queryStatusChecker)
     {
-        boolean done = false;
-        DescribeInstancesRequest request = new DescribeInstancesRequest();
-
-        ValueSet idConstraint = recordsRequest.getConstraints().getSummary().get("instance_id");
-        if (idConstraint != null && idConstraint.isSingleValue()) {
-            request.setInstanceIds(Collections.singletonList(idConstraint.getSingleValue().toString()));
-        }
-
-        while (!done) {
-            DescribeInstancesResult response = ec2.describeInstances(request);
+        Map<String, ValueSet> summary = recordsRequest.getConstraints().getSummary();
+        List<DescribeInstancesRequest> requests = Ec2Filters.makeRequests(
+                DescribeExecutor.getValues(summary.get("instance_id")),
+                "instance-id",
+                Ec2Filters.toFilters(summary, FILTERS),
+                "vpc-id",
+                (List<Filter> filters) -> new DescribeInstancesRequest().withFilters(filters));
 
-            for (Reservation reservation : response.getReservations()) {
-                for (Instance instance : reservation.getInstances()) {
-                    instanceToRow(instance, spiller);
-                }
-            }
-
-            request.setNextToken(response.getNextToken());
-
-            if (response.getNextToken() == null || !queryStatusChecker.isQueryRunning()) {
-                done = true;
-            }
-        }
+        describeExecutor.describe(requests,
+                ec2::describeInstances,
+                DescribeInstancesResult::getNextToken,
+                DescribeInstancesRequest::setNextToken,
+                (DescribeInstancesResult response) -> {
+                    for (Reservation reservation : response.getReservations()) {
+                        for (Instance instance : reservation.getInstances()) {
+                            instanceToRow(instance, spiller);
+                        }
+                    }
+                },
+                queryStatusChecker);
     }
 
     /**
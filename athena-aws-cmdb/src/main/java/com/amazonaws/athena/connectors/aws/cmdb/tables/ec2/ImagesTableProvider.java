@@ -30,14 +30,17 @@ import com.amazonaws.athena.connector.lambda.domain.predicate.ValueSet;
 import com.amazonaws.athena.connector.lambda.metadata.GetTableRequest;
 import com.amazonaws.athena.connector.lambda.metadata.GetTableResponse;
 import com.amazonaws.athena.connector.lambda.records.ReadRecordsRequest;
+import com.amazonaws.athena.connectors.aws.cmdb.tables.DescribeExecutor;
 import com.amazonaws.athena.connectors.aws.cmdb.tables.TableProvider;
 import com.amazonaws.services.ec2.AmazonEC2;
 import com.amazonaws.services.ec2.model.BlockDeviceMapping;
 import com.amazonaws.services.ec2.model.DescribeImagesRequest;
 import com.amazonaws.services.ec2.model.DescribeImagesResult;
 import com.amazonaws.services.ec2.model.EbsBlockDevice;
+import com.amazonaws.services.ec2.model.Filter;
 import com.amazonaws.services.ec2.model.Image;
 import com.amazonaws.services.ec2.model.Tag;
+import com.google.common.collect.ImmutableMap;
 import org.apache.arrow.vector.types.Types;
 import org.apache.arrow.vector.types.pojo.ArrowType;
 import org.apache.arrow.vector.types.pojo.Field;
@@ -45,6 +48,9 @@ import org.apache.arrow.vector.types.pojo.Schema;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
 
 /**
  * Maps your EC2 images (aka AMIs) to a table.
@@ -58,11 +64,29 @@ public class ImagesTableProvider
     //query for a specific owner.
     private static final String DEFAULT_OWNER = System.getenv(DEFAULT_OWNER_ENV);
     private static final Schema SCHEMA;
+    //Columns that can be pushed down to DescribeImages as a Filter, mapped to the name of that Filter.
+    private static final Map<String, String> FILTERS = ImmutableMap.<String, String>builder()
+            .put("architecture", "architecture")
+            .put("type", "image-type")
+            .put("name", "name")
+            .put("hypervisor", "hypervisor")
+            .put("root_type", "root-device-type")
+            .put("state", "state")
+            .put("virt_type", "virtualization-type")
+            .put("is_public", "is-public")
+            .build();
     private AmazonEC2 ec2;
+    private DescribeExecutor describeExecutor;
 
     public ImagesTableProvider(AmazonEC2 ec2)
+    {
+        this(ec2, new DescribeExecutor());
+    }
+
+    public ImagesTableProvider(AmazonEC2 ec2, DescribeExecutor describeExecutor)
     {
         this.ec2 = ec2;
+        this.describeExecutor = describeExecutor;
     }
 
     /**
@@ -94,7 +118,8 @@ public class ImagesTableProvider
 
     /**
      * Calls DescribeImagess on the AWS EC2 Client returning all images that match the supplied predicate and attempting
-     * to push down certain predicates (namely queries for specific volumes) to EC2.
+     * to push down certain predicates (namely queries for specific images or owners) to EC2. Queries for several owners
+     * are split into one request per owner, these requests are sent concurrently.
      *
      * @note Because of the large number of public AMIs we also support using a default 'owner' filter if your query doesn't
      * filter on owner itself. You can set this using an env variable on your Lambda function defined by DEFAULT_OWNER_ENV.
@@ -103,33 +128,38 @@ public class ImagesTableProvider
     @Override
     public void readWithConstraint(BlockSpiller spiller, ReadRecordsRequest recordsRequest, QueryStatusChecker queryStatusChecker)
     {
-        DescribeImagesRequest request = new DescribeImagesRequest();
+        Map<String, ValueSet> summary = recordsRequest.getConstraints().getSummary();
+        List<String> ids = DescribeExecutor.getValues(summary.get("id"));
+        List<String> owners = DescribeExecutor.getValues(summary.get("owner"));
+        List<Filter> filters = Ec2Filters.toFilters(summary, FILTERS);
 
-        ValueSet idConstraint = recordsRequest.getConstraints().getSummary().get("id");
-        ValueSet ownerConstraint = recordsRequest.getConstraints().getSummary().get("owner");
-        if (idConstraint != null && idConstraint.isSingleValue()) {
-            request.setImageIds(Collections.singletonList(idConstraint.getSingleValue().toString()));
-        }
-        else if (ownerConstraint != null && ownerConstraint.isSingleValue()) {
-            request.setOwners(Collections.singletonList(ownerConstraint.getSingleValue().toString()));
+        List<DescribeImagesRequest> requests;
+        if (ids != null) {
+            requests = Ec2Filters.makeRequests(ids, "image-id", filters, null,
+                    (List<Filter> batchFilters) -> new DescribeImagesRequest().withFilters(batchFilters));
         }
-        else if (DEFAULT_OWNER != null) {
-            request.setOwners(Collections.singletonList(DEFAULT_OWNER));
+        else if (owners != null || DEFAULT_OWNER != null) {
+            requests = (owners != null ? owners : Collections.singletonList(DEFAULT_OWNER)).stream()
+                    .map(owner -> new DescribeImagesRequest().withOwners(owner).withFilters(filters))
+                    .collect(Collectors.toList());
         }
         else {
             throw new RuntimeException("A default owner account must be set or the query must have owner" +
-                    "in the where clause with exactly 1 value otherwise results may be too big.");
+                    "in the where clause otherwise results may be too big.");
         }
 
-        DescribeImagesResult response = ec2.describeImages(request);
-
-        int count = 0;
-        for (Image next : response.getImages()) {
-            if (count++ > MAX_IMAGES) {
-                throw new RuntimeException("Too many images returned, add an owner or id filter.");
-            }
-            instanceToRow(next, spiller);
-        }
+        AtomicInteger count = new AtomicInteger(0);
+        describeExecutor.describe(requests,
+                ec2::describeImages,
+                (DescribeImagesResult response) -> {
+                    for (Image next : response.getImages()) {
+                        if (count.getAndIncrement() > MAX_IMAGES) {
+                            throw new RuntimeException("Too many images returned, add an owner or id filter.");
+                        }
+                        instanceToRow(next, spiller);
+                    }
+                },
+                queryStatusChecker);
     }
 
     /**
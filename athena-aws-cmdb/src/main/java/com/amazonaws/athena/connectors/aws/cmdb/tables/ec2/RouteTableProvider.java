@@ -30,17 +30,20 @@ import com.amazonaws.athena.connector.lambda.domain.predicate.ValueSet;
 import com.amazonaws.athena.connector.lambda.metadata.GetTableRequest;
 import com.amazonaws.athena.connector.lambda.metadata.GetTableResponse;
 import com.amazonaws.athena.connector.lambda.records.ReadRecordsRequest;
+import com.amazonaws.athena.connectors.aws.cmdb.tables.DescribeExecutor;
 import com.amazonaws.athena.connectors.aws.cmdb.tables.TableProvider;
 import com.amazonaws.services.ec2.AmazonEC2;
 import com.amazonaws.services.ec2.model.DescribeRouteTablesRequest;
 import com.amazonaws.services.ec2.model.DescribeRouteTablesResult;
+import com.amazonaws.services.ec2.model.Filter;
 import com.amazonaws.services.ec2.model.Route;
 import com.amazonaws.services.ec2.model.RouteTable;
+import com.google.common.collect.ImmutableMap;
 import org.apache.arrow.vector.types.Types;
 import org.apache.arrow.vector.types.pojo.Schema;
 
-import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 /**
@@ -50,11 +53,32 @@ public class RouteTableProvider
         implements TableProvider
 {
     private static final Schema SCHEMA;
+    //Columns that can be pushed down to DescribeRouteTables as a Filter, mapped to the name of that Filter. Filters on
+    //the attributes of a route match any route table containing such a route.
+    private static final Map<String, String> FILTERS = ImmutableMap.<String, String>builder()
+            .put("vpc", "vpc-id")
+            .put("owner", "owner-id")
+            .put("dst_cidr", "route.destination-cidr-block")
+            .put("gateway", "route.gateway-id")
+            .put("instance_id", "route.instance-id")
+            .put("nat_gateway", "route.nat-gateway-id")
+            .put("transit_gateway", "route.transit-gateway-id")
+            .put("vpc_peering_con", "route.vpc-peering-connection-id")
+            .put("origin", "route.origin")
+            .put("state", "route.state")
+            .build();
     private AmazonEC2 ec2;
+    private DescribeExecutor describeExecutor;
 
     public RouteTableProvider(AmazonEC2 ec2)
+    {
+        this(ec2, new DescribeExecutor());
+    }
+
+    public RouteTableProvider(AmazonEC2 ec2, DescribeExecutor describeExecutor)
     {
         this.ec2 = ec2;
+        this.describeExecutor = describeExecutor;
     }
 
     /**
@@ -86,36 +110,34 @@ public class RouteTableProvider
 
     /**
      * Calls DescribeRouteTables on the AWS EC2 Client returning all Routes that match the supplied predicate and attempting
-     * to push down certain predicates (namely queries for specific RoutingTables) to EC2.
+     * to push down certain predicates (namely queries for specific RoutingTables, vpcs, gateways, etc...) to EC2. Queries
+     * for many route tables or several vpcs are split into independent requests that are paged through concurrently.
      *
      * @See TableProvider
      */
     @Override
     public void readWithConstraint(BlockSpiller spiller, ReadRecordsRequest recordsRequest, QueryStatusChecker queryStatusChecker)
     {
-        boolean done = false;
-        DescribeRouteTablesRequest request = new DescribeRouteTablesRequest();
-
-        ValueSet idConstraint = recordsRequest.getConstraints().getSummary().get("route_table_id");
-        if (idConstraint != null && idConstraint.isSingleValue()) {
-            request.setRouteTableIds(Collections.singletonList(idConstraint.getSingleValue().toString()));
-        }
-
-        while (!done) {
-            DescribeRouteTablesResult response = ec2.describeRouteTables(request);
-
-            for (RouteTable nextRouteTable : response.getRouteTables()) {
-                for (Route route : nextRouteTable.getRoutes()) {
-                    instanceToRow(nextRouteTable, route, spiller);
-                }
-            }
-
-            request.setNextToken(response.getNextToken());
-
-            if (response.getNextToken() == null || !queryStatusChecker.isQueryRunning()) {
-                done = true;
-            }
-        }
+        Map<String, ValueSet> summary = recordsRequest.getConstraints().getSummary();
+        List<DescribeRouteTablesRequest> requests = Ec2Filters.makeRequests(
+                DescribeExecutor.getValues(summary.get("route_table_id")),
+                "route-table-id",
+                Ec2Filters.toFilters(summary, FILTERS),
+                "vpc-id",
+                (List<Filter> filters) -> new DescribeRouteTablesRequest().withFilters(filters));
+
+        describeExecutor.describe(requests,
+                ec2::describeRouteTables,
+                DescribeRouteTablesResult::getNextToken,
+                DescribeRouteTablesRequest::setNextToken,
+                (DescribeRouteTablesResult response) -> {
+                    for (RouteTable nextRouteTable : response.getRouteTables()) {
+                        for (Route route : nextRouteTable.getRoutes()) {
+                            instanceToRow(nextRouteTable, route, spiller);
+                        }
+                    }
+                },
+                queryStatusChecker);
     }
 
     /**
@@ -30,17 +30,20 @@ import com.amazonaws.athena.connector.lambda.domain.predicate.ValueSet;
 import com.amazonaws.athena.connector.lambda.metadata.GetTableRequest;
 import com.amazonaws.athena.connector.lambda.metadata.GetTableResponse;
 import com.amazonaws.athena.connector.lambda.records.ReadRecordsRequest;
+import com.amazonaws.athena.connectors.aws.cmdb.tables.DescribeExecutor;
 import com.amazonaws.athena.connectors.aws.cmdb.tables.TableProvider;
 import com.amazonaws.services.ec2.AmazonEC2;
 import com.amazonaws.services.ec2.model.DescribeSecurityGroupsRequest;
 import com.amazonaws.services.ec2.model.DescribeSecurityGroupsResult;
+import com.amazonaws.services.ec2.model.Filter;
 import com.amazonaws.services.ec2.model.IpPermission;
 import com.amazonaws.services.ec2.model.SecurityGroup;
+import com.google.common.collect.ImmutableMap;
 import org.apache.arrow.vector.types.Types;
 import org.apache.arrow.vector.types.pojo.Schema;
 
-import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 /**
@@ -53,11 +56,23 @@ public class SecurityGroupsTableProvider
     private static final String EGRESS = "egress";
 
     private static final Schema SCHEMA;
+    //Columns that can be pushed down to DescribeSecurityGroups as a Filter, mapped to the name of that Filter.
+    private static final Map<String, String> FILTERS = ImmutableMap.<String, String>builder()
+            .put("name", "group-name")
+            .put("description", "description")
+            .build();
     private AmazonEC2 ec2;
+    private DescribeExecutor describeExecutor;
 
     public SecurityGroupsTableProvider(AmazonEC2 ec2)
+    {
+        this(ec2, new DescribeExecutor());
+    }
+
+    public SecurityGroupsTableProvider(AmazonEC2 ec2, DescribeExecutor describeExecutor)
     {
         this.ec2 = ec2;
+        this.describeExecutor = describeExecutor;
     }
 
     /**
@@ -96,38 +111,31 @@ public class SecurityGroupsTableProvider
     @Override
     public void readWithConstraint(BlockSpiller spiller, ReadRecordsRequest recordsRequest, QueryStatusChecker queryStatusChecker)
     {
-        boolean done = false;
-        DescribeSecurityGroupsRequest request = new DescribeSecurityGroupsRequest();
-
-        ValueSet idConstraint = recordsRequest.getConstraints().getSummary().get("id");
-        if (idConstraint != null && idConstraint.isSingleValue()) {
-            request.setGroupIds(Collections.singletonList(idConstraint.getSingleValue().toString()));
-        }
-
-        ValueSet nameConstraint = recordsRequest.getConstraints().getSummary().get("name");
-        if (nameConstraint != null && nameConstraint.isSingleValue()) {
-            request.setGroupNames(Collections.singletonList(nameConstraint.getSingleValue().toString()));
-        }
-
-        while (!done) {
-            DescribeSecurityGroupsResult response = ec2.describeSecurityGroups(request);
-
-            //Each rule is mapped to a row in the response. SGs have INGRESS and EGRESS rules.
-            for (SecurityGroup next : response.getSecurityGroups()) {
-                for (IpPermission nextPerm : next.getIpPermissions()) {
-                    instanceToRow(next, nextPerm, INGRESS, spiller);
-                }
-
-                for (IpPermission nextPerm : next.getIpPermissionsEgress()) {
-                    instanceToRow(next, nextPerm, EGRESS, spiller);
-                }
-            }
-
-            request.setNextToken(response.getNextToken());
-            if (response.getNextToken() == null || !queryStatusChecker.isQueryRunning()) {
-                done = true;
-            }
-        }
+        Map<String, ValueSet> summary = recordsRequest.getConstraints().getSummary();
+        List<DescribeSecurityGroupsRequest> requests = Ec2Filters.makeRequests(
+                DescribeExecutor.getValues(summary.get("id")),
+                "group-id",
+                Ec2Filters.toFilters(summary, FILTERS),
+                "group-name",
+                (List<Filter> filters) -> new DescribeSecurityGroupsRequest().withFilters(filters));
+
+        describeExecutor.describe(requests,
+                ec2::describeSecurityGroups,
+                DescribeSecurityGroupsResult::getNextToken,
+                DescribeSecurityGroupsRequest::setNextToken,
+                (DescribeSecurityGroupsResult response) -> {
+                    //Each rule is mapped to a row in the response. SGs have INGRESS and EGRESS rules.
+                    for (SecurityGroup next : response.getSecurityGroups()) {
+                        for (IpPermission nextPerm : next.getIpPermissions()) {
+                            instanceToRow(next, nextPerm, INGRESS, spiller);
+                        }
+
+                        for (IpPermission nextPerm : next.getIpPermissionsEgress()) {
+                            instanceToRow(next, nextPerm, EGRESS, spiller);
+                        }
+                    }
+                },
+                queryStatusChecker);
     }
 
     /**
@@ -30,16 +30,19 @@ import com.amazonaws.athena.connector.lambda.domain.predicate.ValueSet;
 import com.amazonaws.athena.connector.lambda.metadata.GetTableRequest;
 import com.amazonaws.athena.connector.lambda.metadata.GetTableResponse;
 import com.amazonaws.athena.connector.lambda.records.ReadRecordsRequest;
+import com.amazonaws.athena.connectors.aws.cmdb.tables.DescribeExecutor;
 import com.amazonaws.athena.connectors.aws.cmdb.tables.TableProvider;
 import com.amazonaws.services.ec2.AmazonEC2;
 import com.amazonaws.services.ec2.model.DescribeSubnetsRequest;
 import com.amazonaws.services.ec2.model.DescribeSubnetsResult;
+import com.amazonaws.services.ec2.model.Filter;
 import com.amazonaws.services.ec2.model.Subnet;
+import com.google.common.collect.ImmutableMap;
 import org.apache.arrow.vector.types.Types;
 import org.apache.arrow.vector.types.pojo.Schema;
 
-import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 /**
@@ -49,11 +52,27 @@ public class SubnetTableProvider
         implements TableProvider
 {
     private static final Schema SCHEMA;
+    //Columns that can be pushed down to DescribeSubnets as a Filter, mapped to the name of that Filter.
+    private static final Map<String, String> FILTERS = ImmutableMap.<String, String>builder()
+            .put("vpc", "vpc-id")
+            .put("availability_zone", "availability-zone")
+            .put("cidr_block", "cidr-block")
+            .put("default_for_az", "default-for-az")
+            .put("owner", "owner-id")
+            .put("state", "state")
+            .build();
     private AmazonEC2 ec2;
+    private DescribeExecutor describeExecutor;
 
     public SubnetTableProvider(AmazonEC2 ec2)
+    {
+        this(ec2, new DescribeExecutor());
+    }
+
+    public SubnetTableProvider(AmazonEC2 ec2, DescribeExecutor describeExecutor)
     {
         this.ec2 = ec2;
+        this.describeExecutor = describeExecutor;
     }
 
     /**
@@ -85,24 +104,29 @@ public class SubnetTableProvider
 
     /**
      * Calls DescribeSubnets on the AWS EC2 Client returning all subnets that match the supplied predicate and attempting
-     * to push down certain predicates (namely queries for specific subnet) to EC2.
+     * to push down certain predicates (namely queries for specific subnets, vpcs, etc...) to EC2.
      *
      * @See TableProvider
      */
     @Override
     public void readWithConstraint(BlockSpiller spiller, ReadRecordsRequest recordsRequest, QueryStatusChecker queryStatusChecker)
     {
-        DescribeSubnetsRequest request = new DescribeSubnetsRequest();
-
-        ValueSet idConstraint = recordsRequest.getConstraints().getSummary().get("id");
-        if (idConstraint != null && idConstraint.isSingleValue()) {
-            request.setSubnetIds(Collections.singletonList(idConstraint.getSingleValue().toString()));
-        }
+        Map<String, ValueSet> summary = recordsRequest.getConstraints().getSummary();
+        List<DescribeSubnetsRequest> requests = Ec2Filters.makeRequests(
+                DescribeExecutor.getValues(summary.get("id")),
+                "subnet-id",
+                Ec2Filters.toFilters(summary, FILTERS),
+                null,
+                (List<Filter> filters) -> new DescribeSubnetsRequest().withFilters(filters));
 
-        DescribeSubnetsResult response = ec2.describeSubnets(request);
-        for (Subnet subnet : response.getSubnets()) {
-            instanceToRow(subnet, spiller);
-        }
+        describeExecutor.describe(requests,
+                ec2::describeSubnets,
+                (DescribeSubnetsResult response) -> {
+                    for (Subnet subnet : response.getSubnets()) {
+                        instanceToRow(subnet, spiller);
+                    }
+                },
+                queryStatusChecker);
     }
 
     /**
@@ -30,16 +30,19 @@ import com.amazonaws.athena.connector.lambda.domain.predicate.ValueSet;
 import com.amazonaws.athena.connector.lambda.metadata.GetTableRequest;
 import com.amazonaws.athena.connector.lambda.metadata.GetTableResponse;
 import com.amazonaws.athena.connector.lambda.records.ReadRecordsRequest;
+import com.amazonaws.athena.connectors.aws.cmdb.tables.DescribeExecutor;
 import com.amazonaws.athena.connectors.aws.cmdb.tables.TableProvider;
 import com.amazonaws.services.ec2.AmazonEC2;
 import com.amazonaws.services.ec2.model.DescribeVpcsRequest;
 import com.amazonaws.services.ec2.model.DescribeVpcsResult;
+import com.amazonaws.services.ec2.model.Filter;
 import com.amazonaws.services.ec2.model.Vpc;
+import com.google.common.collect.ImmutableMap;
 import org.apache.arrow.vector.types.Types;
 import org.apache.arrow.vector.types.pojo.Schema;
 
-import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 /**
@@ -49,11 +52,26 @@ public class VpcTableProvider
         implements TableProvider
 {
     private static final Schema SCHEMA;
+    //Columns that can be pushed down to DescribeVpcs as a Filter, mapped to the name of that Filter.
+    private static final Map<String, String> FILTERS = ImmutableMap.<String, String>builder()
+            .put("cidr_block", "cidr")
+            .put("dhcp_opts", "dhcp-options-id")
+            .put("owner", "owner-id")
+            .put("state", "state")
+            .put("is_default", "is-default")
+            .build();
     private AmazonEC2 ec2;
+    private DescribeExecutor describeExecutor;
 
     public VpcTableProvider(AmazonEC2 ec2)
+    {
+        this(ec2, new DescribeExecutor());
+    }
+
+    public VpcTableProvider(AmazonEC2 ec2, DescribeExecutor describeExecutor)
     {
         this.ec2 = ec2;
+        this.describeExecutor = describeExecutor;
     }
 
     /**
@@ -85,24 +103,29 @@ public class VpcTableProvider
 
     /**
      * Calls DescribeVPCs on the AWS EC2 Client returning all VPCs that match the supplied predicate and attempting
-     * to push down certain predicates (namely queries for specific VPCs) to EC2.
+     * to push down certain predicates (namely queries for specific VPCs, owners, etc...) to EC2.
      *
      * @See TableProvider
      */
     @Override
     public void readWithConstraint(BlockSpiller spiller, ReadRecordsRequest recordsRequest, QueryStatusChecker queryStatusChecker)
     {
-        DescribeVpcsRequest request = new DescribeVpcsRequest();
-
-        ValueSet idConstraint = recordsRequest.getConstraints().getSummary().get("id");
-        if (idConstraint != null && idConstraint.isSingleValue()) {
-            request.setVpcIds(Collections.singletonList(idConstraint.getSingleValue().toString()));
-        }
+        Map<String, ValueSet> summary = recordsRequest.getConstraints().getSummary();
+        List<DescribeVpcsRequest> requests = Ec2Filters.makeRequests(
+                DescribeExecutor.getValues(summary.get("id")),
+                "vpc-id",
+                Ec2Filters.toFilters(summary, FILTERS),
+                null,
+                (List<Filter> filters) -> new DescribeVpcsRequest().withFilters(filters));
 
-        DescribeVpcsResult response = ec2.describeVpcs(request);
-        for (Vpc vpc : response.getVpcs()) {
-            instanceToRow(vpc, spiller);
-        }
+        describeExecutor.describe(requests,
+                ec2::describeVpcs,
+                (DescribeVpcsResult response) -> {
+                    for (Vpc vpc : response.getVpcs()) {
+                        instanceToRow(vpc, spiller);
+                    }
+                },
+                queryStatusChecker);
     }
 
     /**
@@ -0,0 +1,268 @@
+/*-
+ * #%L
+ * athena-aws-cmdb
+ * %%
+ * Copyright (C) 2019 Amazon Web Services
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package com.amazonaws.athena.connectors.aws.cmdb.tables;
+
+import com.amazonaws.athena.connector.lambda.QueryStatusChecker;
+import com.amazonaws.athena.connector.lambda.data.BlockAllocator;
+import com.amazonaws.athena.connector.lambda.data.BlockAllocatorImpl;
+import com.amazonaws.athena.connector.lambda.domain.predicate.EquatableValueSet;
+import com.amazonaws.athena.connector.lambda.domain.predicate.Range;
+import com.amazonaws.athena.connector.lambda.domain.predicate.SortedRangeSet;
+import com.amazonaws.services.ec2.model.DescribeInstancesRequest;
+import com.amazonaws.services.ec2.model.DescribeInstancesResult;
+import com.amazonaws.services.ec2.model.Reservation;
+import com.google.common.collect.ImmutableList;
+import org.apache.arrow.vector.types.Types;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class DescribeExecutorTest
+{
+    private static final ArrowType VARCHAR = Types.MinorType.VARCHAR.getType();
+
+    @Mock
+    private QueryStatusChecker queryStatusChecker;
+
+    private BlockAllocator allocator;
+
+    @Before
+    public void setUp()
+    {
+        allocator = new BlockAllocatorImpl();
+        when(queryStatusChecker.isQueryRunning()).thenReturn(true);
+    }
+
+    @After
+    public void tearDown()
+    {
+        allocator.close();
+    }
+
+    @Test
+    public void getValues()
+    {
+        assertNull(DescribeExecutor.getValues(null));
+
+        assertEquals(Arrays.asList("a", "b"), DescribeExecutor.getValues(
+                EquatableValueSet.newBuilder(allocator, VARCHAR, true, false).add("a").add("b").build()));
+        assertNull(DescribeExecutor.getValues(
+                EquatableValueSet.newBuilder(allocator, VARCHAR, false, false).add("a").build()));
+        assertNull(DescribeExecutor.getValues(
+                EquatableValueSet.newBuilder(allocator, VARCHAR, true, true).add("a").build()));
+
+        assertEquals(Arrays.asList("a", "c"), DescribeExecutor.getValues(SortedRangeSet.copyOf(VARCHAR,
+                ImmutableList.of(Range.equal(allocator, VARCHAR, "a"), Range.equal(allocator, VARCHAR, "c")), false)));
+        assertNull(DescribeExecutor.getValues(SortedRangeSet.copyOf(VARCHAR,
+                ImmutableList.of(Range.greaterThan(allocator, VARCHAR, "a")), false)));
+    }
+
+    @Test
+    public void partition()
+    {
+        List<List<String>> batches = DescribeExecutor.partition(Arrays.asList("a", "b", "c"), 2);
+        assertEquals(Arrays.asList(Arrays.asList("a", "b"), Collections.singletonList("c")), batches);
+        assertEquals(Collections.singletonList(null), DescribeExecutor.partition(null, 2));
+    }
+
+    @Test
+    public void describeConcurrently()
+    {
+        DescribeExecutor executor = new DescribeExecutor(4, 0);
+        AtomicInteger calls = new AtomicInteger(0);
+
+        //Each request returns 3 pages, the reservation id identifies the request and page.
+        Function<DescribeInstancesRequest, DescribeInstancesResult> describe = (DescribeInstancesRequest request) -> {
+            calls.incrementAndGet();
+            int page = (request.getNextToken() == null) ? 0 : Integer.parseInt(request.getNextToken());
+            return new DescribeInstancesResult()
+                    .withReservations(new Reservation().withReservationId(request.getInstanceIds().get(0) + ":" + page))
+                    .withNextToken(page < 2 ? String.valueOf(page + 1) : null);
+        };
+
+        List<DescribeInstancesRequest> requests = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            requests.add(new DescribeInstancesRequest().withInstanceIds("i-" + i));
+        }
+
+        List<String> pages = new ArrayList<>();
+        executor.describe(requests,
+                describe,
+                DescribeInstancesResult::getNextToken,
+                DescribeInstancesRequest::setNextToken,
+                (DescribeInstancesResult response) -> pages.add(response.getReservations().get(0).getReservationId()),
+                queryStatusChecker);
+
+        assertEquals(30, calls.get());
+        assertEquals(30, pages.size());
+        for (int i = 0; i < 30; i++) {
+            assertEquals("i-" + (i / 3) + ":" + (i % 3), pages.get(i));
+        }
+    }
+
+    @Test
+    public void describeStreamsPages()
+            throws InterruptedException
+    {
+        DescribeExecutor executor = new DescribeExecutor(2, 0);
+        CountDownLatch firstPageConsumed = new CountDownLatch(1);
+
+        //The second request only completes once the first request's page has been consumed.
+        Function<DescribeInstancesRequest, DescribeInstancesResult> describe = (DescribeInstancesRequest request) -> {
+            String id = request.getInstanceIds().get(0);
+            if (id.equals("i-1")) {
+                try {
+                    assertTrue(firstPageConsumed.await(30, TimeUnit.SECONDS));
+                }
+                catch (InterruptedException ex) {
+                    throw new RuntimeException(ex);
+                }
+            }
+            return new DescribeInstancesResult().withReservations(new Reservation().withReservationId(id));
+        };
+
+        List<String> pages = new ArrayList<>();
+        executor.describe(Arrays.asList(new DescribeInstancesRequest().withInstanceIds("i-0"), new DescribeInstancesRequest().withInstanceIds("i-1")),
+                describe,
+                DescribeInstancesResult::getNextToken,
+                DescribeInstancesRequest::setNextToken,
+                (DescribeInstancesResult response) -> {
+                    pages.add(response.getReservations().get(0).getReservationId());
+                    firstPageConsumed.countDown();
+                },
+                queryStatusChecker);
+
+        assertEquals(Arrays.asList("i-0", "i-1"), pages);
+    }
+
+    @Test
+    public void describePropagatesFailures()
+    {
+        DescribeExecutor executor = new DescribeExecutor(4, 0);
+        List<DescribeInstancesRequest> requests = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            requests.add(new DescribeInstancesRequest().withInstanceIds("i-" + i));
+        }
+
+        //Every request returns many pages so that the failed request's page queue is full when it fails.
+        try {
+            executor.describe(requests,
+                    (DescribeInstancesRequest request) -> {
+                        int page = (request.getNextToken() == null) ? 0 : Integer.parseInt(request.getNextToken());
+                        if (request.getInstanceIds().get(0).equals("i-5") && page == 10) {
+                            throw new IllegalStateException("failed");
+                        }
+                        return new DescribeInstancesResult().withNextToken(page < 20 ? String.valueOf(page + 1) : null);
+                    },
+                    DescribeInstancesResult::getNextToken,
+                    DescribeInstancesRequest::setNextToken,
+                    (DescribeInstancesResult response) -> { },
+                    queryStatusChecker);
+            throw new AssertionError("Expected an exception");
+        }
+        catch (IllegalStateException ex) {
+            assertEquals("failed", ex.getMessage());
+        }
+    }
+
+    @Test
+    public void describeStopsWhenQueryIsDone()
+    {
+        when(queryStatusChecker.isQueryRunning()).thenReturn(false);
+        DescribeExecutor executor = new DescribeExecutor(4, 0);
+
+        List<DescribeInstancesResult> pages = new ArrayList<>();
+        executor.describe(Collections.singletonList(new DescribeInstancesRequest()),
+                (DescribeInstancesRequest request) -> new DescribeInstancesResult().withNextToken("next"),
+                DescribeInstancesResult::getNextToken,
+                DescribeInstancesRequest::setNextToken,
+                pages::add,
+                queryStatusChecker);
+
+        assertEquals(1, pages.size());
+    }
+
+    @Test
+    public void invokeAllPropagatesFailures()
+    {
+        DescribeExecutor executor = new DescribeExecutor(4, 0);
+        try {
+            executor.invokeAll(Arrays.asList(1, 2, 3), (Integer next) -> {
+                if (next == 2) {
+                    throw new IllegalStateException("failed " + next);
+                }
+                return next;
+            });
+            throw new AssertionError("Expected an exception");
+        }
+        catch (IllegalStateException ex) {
+            assertEquals("failed 2", ex.getMessage());
+        }
+    }
+
+    @Test
+    public void responseCache()
+    {
+        AtomicInteger calls = new AtomicInteger(0);
+        Function<DescribeInstancesRequest, DescribeInstancesResult> describe = (DescribeInstancesRequest request) -> {
+            calls.incrementAndGet();
+            return new DescribeInstancesResult();
+        };
+
+        DescribeExecutor uncached = new DescribeExecutor(1, 0);
+        uncached.call(new DescribeInstancesRequest().withInstanceIds("i-1"), describe);
+        uncached.call(new DescribeInstancesRequest().withInstanceIds("i-1"), describe);
+        assertEquals(2, calls.get());
+
+        calls.set(0);
+        DescribeExecutor cached = new DescribeExecutor(1, 60);
+        DescribeInstancesRequest request = new DescribeInstancesRequest().withInstanceIds("i-1");
+        DescribeInstancesResult first = cached.call(request, describe);
+        assertTrue(first == cached.call(new DescribeInstancesRequest().withInstanceIds("i-1"), describe));
+        assertEquals(1, calls.get());
+
+        //Changing the request after it was sent must not change what it was cached under.
+        request.setNextToken("next");
+        cached.call(request, describe);
+        cached.call(new DescribeInstancesRequest().withInstanceIds("i-2"), describe);
+        assertEquals(3, calls.get());
+        assertTrue(first == cached.call(new DescribeInstancesRequest().withInstanceIds("i-1"), describe));
+        assertEquals(3, calls.get());
+    }
+}
@@ -26,6 +26,7 @@ import com.amazonaws.athena.connectors.aws.cmdb.tables.TableProvider;
 import com.amazonaws.services.ec2.AmazonEC2;
 import com.amazonaws.services.ec2.model.DescribeVolumesRequest;
 import com.amazonaws.services.ec2.model.DescribeVolumesResult;
+import com.amazonaws.services.ec2.model.Filter;
 import com.amazonaws.services.ec2.model.Tag;
 import com.amazonaws.services.ec2.model.Volume;
 import com.amazonaws.services.ec2.model.VolumeAttachment;
@@ -40,6 +41,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
 import java.util.List;
 
@@ -95,7 +97,8 @@ public class EbsTableProviderTest
         when(mockEc2.describeVolumes(any(DescribeVolumesRequest.class))).thenAnswer((InvocationOnMock invocation) -> {
             DescribeVolumesRequest request = (DescribeVolumesRequest) invocation.getArguments()[0];
 
-            assertEquals(getIdValue(), request.getVolumeIds().get(0));
+            assertTrue(request.getVolumeIds().isEmpty());
+            assertEquals(Collections.singletonList(new Filter("volume-id", Collections.singletonList(getIdValue()))), request.getFilters());
             DescribeVolumesResult mockResult = mock(DescribeVolumesResult.class);
             List<Volume> values = new ArrayList<>();
             values.add(makeVolume(getIdValue()));
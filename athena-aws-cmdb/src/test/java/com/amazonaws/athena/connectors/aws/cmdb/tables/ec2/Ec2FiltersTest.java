@@ -0,0 +1,120 @@
+/*-
+ * #%L
+ * athena-aws-cmdb
+ * %%
+ * Copyright (C) 2019 Amazon Web Services
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package com.amazonaws.athena.connectors.aws.cmdb.tables.ec2;
+
+import com.amazonaws.athena.connector.lambda.data.BlockAllocator;
+import com.amazonaws.athena.connector.lambda.data.BlockAllocatorImpl;
+import com.amazonaws.athena.connector.lambda.domain.predicate.EquatableValueSet;
+import com.amazonaws.athena.connector.lambda.domain.predicate.Range;
+import com.amazonaws.athena.connector.lambda.domain.predicate.SortedRangeSet;
+import com.amazonaws.athena.connector.lambda.domain.predicate.ValueSet;
+import com.amazonaws.services.ec2.model.DescribeInstancesRequest;
+import com.amazonaws.services.ec2.model.Filter;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import org.apache.arrow.vector.types.Types;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class Ec2FiltersTest
+{
+    private static final ArrowType VARCHAR = Types.MinorType.VARCHAR.getType();
+    private static final Map<String, String> FILTERS = ImmutableMap.of("vpc_id", "vpc-id", "instance_type", "instance-type");
+
+    private BlockAllocator allocator;
+
+    @Before
+    public void setUp()
+    {
+        allocator = new BlockAllocatorImpl();
+    }
+
+    @After
+    public void tearDown()
+    {
+        allocator.close();
+    }
+
+    @Test
+    public void toFilters()
+    {
+        Map<String, ValueSet> summary = new HashMap<>();
+        summary.put("vpc_id", EquatableValueSet.newBuilder(allocator, VARCHAR, true, false).add("vpc-1").add("vpc-2").build());
+        summary.put("instance_type", SortedRangeSet.copyOf(VARCHAR,
+                ImmutableList.of(Range.greaterThan(allocator, VARCHAR, "m5")), false));
+        summary.put("unmapped", EquatableValueSet.newBuilder(allocator, VARCHAR, true, false).add("x").build());
+
+        List<Filter> filters = Ec2Filters.toFilters(summary, FILTERS);
+        assertEquals(Collections.singletonList(new Filter("vpc-id", Arrays.asList("vpc-1", "vpc-2"))), filters);
+    }
+
+    @Test
+    public void makeRequestsBatchesIds()
+    {
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < Ec2Filters.ID_BATCH_SIZE + 1; i++) {
+            ids.add("i-" + i);
+        }
+        List<Filter> filters = Collections.singletonList(new Filter("vpc-id", Arrays.asList("vpc-1", "vpc-2")));
+
+        List<DescribeInstancesRequest> requests = Ec2Filters.makeRequests(ids, "instance-id", filters, "vpc-id", this::makeRequest);
+        assertEquals(2, requests.size());
+        assertEquals(Arrays.asList(filters.get(0), new Filter("instance-id", ids.subList(0, Ec2Filters.ID_BATCH_SIZE))),
+                requests.get(0).getFilters());
+        assertEquals(Arrays.asList(filters.get(0), new Filter("instance-id", Collections.singletonList("i-" + Ec2Filters.ID_BATCH_SIZE))),
+                requests.get(1).getFilters());
+        for (DescribeInstancesRequest next : requests) {
+            assertTrue(next.getInstanceIds().isEmpty());
+        }
+    }
+
+    @Test
+    public void makeRequestsFansOut()
+    {
+        List<Filter> filters = Arrays.asList(new Filter("instance-type", Arrays.asList("m5.large", "c5.large")),
+                new Filter("vpc-id", Arrays.asList("vpc-1", "vpc-2")));
+
+        List<DescribeInstancesRequest> requests = Ec2Filters.makeRequests(null, "instance-id", filters, "vpc-id", this::makeRequest);
+        assertEquals(2, requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            assertEquals(Arrays.asList(filters.get(0), new Filter("vpc-id", Collections.singletonList("vpc-" + (i + 1)))),
+                    requests.get(i).getFilters());
+        }
+
+        assertEquals(1, Ec2Filters.makeRequests(null, "instance-id", filters, null, this::makeRequest).size());
+    }
+
+    private DescribeInstancesRequest makeRequest(List<Filter> filters)
+    {
+        return new DescribeInstancesRequest().withFilters(filters);
+    }
+}
@@ -27,6 +27,7 @@ import com.amazonaws.services.ec2.AmazonEC2;
 import com.amazonaws.services.ec2.model.DescribeInstancesRequest;
 import com.amazonaws.services.ec2.model.DescribeInstancesResult;
 import com.amazonaws.services.ec2.model.EbsInstanceBlockDevice;
+import com.amazonaws.services.ec2.model.Filter;
 import com.amazonaws.services.ec2.model.GroupIdentifier;
 import com.amazonaws.services.ec2.model.Instance;
 import com.amazonaws.services.ec2.model.InstanceBlockDeviceMapping;
@@ -46,6 +47,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
 import java.util.List;
 
@@ -99,7 +101,9 @@ public class Ec2TableProviderTest
         when(mockEc2.describeInstances(any(DescribeInstancesRequest.class))).thenAnswer((InvocationOnMock invocation) -> {
             DescribeInstancesRequest request = (DescribeInstancesRequest) invocation.getArguments()[0];
 
-            assertEquals(getIdValue(), request.getInstanceIds().get(0));
+            //Ids are sent as a Filter so that ids which no longer exist don't fail the request.
+            assertTrue(request.getInstanceIds().isEmpty());
+            assertEquals(Collections.singletonList(new Filter("instance-id", Collections.singletonList(getIdValue()))), request.getFilters());
             DescribeInstancesResult mockResult = mock(DescribeInstancesResult.class);
             List<Reservation> reservations = new ArrayList<>();
             reservations.add(makeReservation());
@@ -28,6 +28,7 @@ import com.amazonaws.services.ec2.model.BlockDeviceMapping;
 import com.amazonaws.services.ec2.model.DescribeImagesRequest;
 import com.amazonaws.services.ec2.model.DescribeImagesResult;
 import com.amazonaws.services.ec2.model.EbsBlockDevice;
+import com.amazonaws.services.ec2.model.Filter;
 import com.amazonaws.services.ec2.model.Image;
 import com.amazonaws.services.ec2.model.Tag;
 import org.apache.arrow.vector.complex.reader.FieldReader;
@@ -41,6 +42,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import static org.junit.Assert.assertEquals;
@@ -95,7 +97,8 @@ public class ImagesTableProviderTest
         when(mockEc2.describeImages(any(DescribeImagesRequest.class))).thenAnswer((InvocationOnMock invocation) -> {
             DescribeImagesRequest request = (DescribeImagesRequest) invocation.getArguments()[0];
 
-            assertEquals(getIdValue(), request.getImageIds().get(0));
+            assertTrue(request.getImageIds().isEmpty());
+            assertEquals(Collections.singletonList(new Filter("image-id", Collections.singletonList(getIdValue()))), request.getFilters());
             DescribeImagesResult mockResult = mock(DescribeImagesResult.class);
             List<Image> values = new ArrayList<>();
             values.add(makeImage(getIdValue()));
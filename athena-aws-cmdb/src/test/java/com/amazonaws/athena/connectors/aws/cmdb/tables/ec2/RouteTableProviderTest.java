@@ -26,6 +26,7 @@ import com.amazonaws.athena.connectors.aws.cmdb.tables.TableProvider;
 import com.amazonaws.services.ec2.AmazonEC2;
 import com.amazonaws.services.ec2.model.DescribeRouteTablesRequest;
 import com.amazonaws.services.ec2.model.DescribeRouteTablesResult;
+import com.amazonaws.services.ec2.model.Filter;
 import com.amazonaws.services.ec2.model.PropagatingVgw;
 import com.amazonaws.services.ec2.model.Route;
 import com.amazonaws.services.ec2.model.RouteTable;
@@ -42,6 +43,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import static org.junit.Assert.assertEquals;
@@ -96,7 +98,8 @@ public class RouteTableProviderTest
         when(mockEc2.describeRouteTables(any(DescribeRouteTablesRequest.class))).thenAnswer((InvocationOnMock invocation) -> {
             DescribeRouteTablesRequest request = (DescribeRouteTablesRequest) invocation.getArguments()[0];
 
-            assertEquals(getIdValue(), request.getRouteTableIds().get(0));
+            assertTrue(request.getRouteTableIds().isEmpty());
+            assertEquals(Collections.singletonList(new Filter("route-table-id", Collections.singletonList(getIdValue()))), request.getFilters());
             DescribeRouteTablesResult mockResult = mock(DescribeRouteTablesResult.class);
             List<RouteTable> values = new ArrayList<>();
             values.add(makeRouteTable(getIdValue()));
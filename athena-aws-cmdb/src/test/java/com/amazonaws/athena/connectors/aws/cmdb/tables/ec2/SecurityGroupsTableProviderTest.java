@@ -26,6 +26,7 @@ import com.amazonaws.athena.connectors.aws.cmdb.tables.TableProvider;
 import com.amazonaws.services.ec2.AmazonEC2;
 import com.amazonaws.services.ec2.model.DescribeSecurityGroupsRequest;
 import com.amazonaws.services.ec2.model.DescribeSecurityGroupsResult;
+import com.amazonaws.services.ec2.model.Filter;
 import com.amazonaws.services.ec2.model.IpPermission;
 import com.amazonaws.services.ec2.model.IpRange;
 import com.amazonaws.services.ec2.model.Ipv6Range;
@@ -43,6 +44,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import static org.junit.Assert.assertEquals;
@@ -98,7 +100,8 @@ public class SecurityGroupsTableProviderTest
                 .thenAnswer((InvocationOnMock invocation) -> {
                     DescribeSecurityGroupsRequest request = (DescribeSecurityGroupsRequest) invocation.getArguments()[0];
 
-                    assertEquals(getIdValue(), request.getGroupIds().get(0));
+                    assertTrue(request.getGroupIds().isEmpty());
+                    assertEquals(Collections.singletonList(new Filter("group-id", Collections.singletonList(getIdValue()))), request.getFilters());
                     DescribeSecurityGroupsResult mockResult = mock(DescribeSecurityGroupsResult.class);
                     List<SecurityGroup> values = new ArrayList<>();
                     values.add(makeSecurityGroup(getIdValue()));
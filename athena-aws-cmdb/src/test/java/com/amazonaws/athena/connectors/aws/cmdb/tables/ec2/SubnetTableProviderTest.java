@@ -26,6 +26,7 @@ import com.amazonaws.athena.connectors.aws.cmdb.tables.TableProvider;
 import com.amazonaws.services.ec2.AmazonEC2;
 import com.amazonaws.services.ec2.model.DescribeSubnetsRequest;
 import com.amazonaws.services.ec2.model.DescribeSubnetsResult;
+import com.amazonaws.services.ec2.model.Filter;
 import com.amazonaws.services.ec2.model.Subnet;
 import com.amazonaws.services.ec2.model.Tag;
 import org.apache.arrow.vector.complex.reader.FieldReader;
@@ -39,6 +40,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import static org.junit.Assert.assertEquals;
@@ -93,7 +95,8 @@ public class SubnetTableProviderTest
         when(mockEc2.describeSubnets(any(DescribeSubnetsRequest.class))).thenAnswer((InvocationOnMock invocation) -> {
             DescribeSubnetsRequest request = (DescribeSubnetsRequest) invocation.getArguments()[0];
 
-            assertEquals(getIdValue(), request.getSubnetIds().get(0));
+            assertTrue(request.getSubnetIds().isEmpty());
+            assertEquals(Collections.singletonList(new Filter("subnet-id", Collections.singletonList(getIdValue()))), request.getFilters());
             DescribeSubnetsResult mockResult = mock(DescribeSubnetsResult.class);
             List<Subnet> values = new ArrayList<>();
             values.add(makeSubnet(getIdValue()));
@@ -26,6 +26,7 @@ import com.amazonaws.athena.connectors.aws.cmdb.tables.TableProvider;
 import com.amazonaws.services.ec2.AmazonEC2;
 import com.amazonaws.services.ec2.model.DescribeVpcsRequest;
 import com.amazonaws.services.ec2.model.DescribeVpcsResult;
+import com.amazonaws.services.ec2.model.Filter;
 import com.amazonaws.services.ec2.model.Tag;
 import com.amazonaws.services.ec2.model.Vpc;
 import org.apache.arrow.vector.complex.reader.FieldReader;
@@ -39,6 +40,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import static org.junit.Assert.assertEquals;
@@ -93,7 +95,8 @@ public class VpcTableProviderTest
         when(mockEc2.describeVpcs(any(DescribeVpcsRequest.class))).thenAnswer((InvocationOnMock invocation) -> {
             DescribeVpcsRequest request = (DescribeVpcsRequest) invocation.getArguments()[0];
 
-            assertEquals(getIdValue(), request.getVpcIds().get(0));
+            assertTrue(request.getVpcIds().isEmpty());
+            assertEquals(Collections.singletonList(new Filter("vpc-id", Collections.singletonList(getIdValue()))), request.getFilters());
             DescribeVpcsResult mockResult = mock(DescribeVpcsResult.class);
             List<Vpc> values = new ArrayList<>();
             values.add(makeVpc(getIdValue()));
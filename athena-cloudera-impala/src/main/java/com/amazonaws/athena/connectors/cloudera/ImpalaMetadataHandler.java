@@ -27,6 +27,7 @@ import com.amazonaws.athena.connector.lambda.data.SchemaBuilder;
 import com.amazonaws.athena.connector.lambda.data.SupportedTypes;
 import com.amazonaws.athena.connector.lambda.domain.Split;
 import com.amazonaws.athena.connector.lambda.domain.TableName;
+import com.amazonaws.athena.connector.lambda.domain.predicate.ValueSet;
 import com.amazonaws.athena.connector.lambda.domain.spill.SpillLocation;
 import com.amazonaws.athena.connector.lambda.metadata.GetSplitsRequest;
 import com.amazonaws.athena.connector.lambda.metadata.GetSplitsResponse;
@@ -43,6 +44,7 @@ import com.amazonaws.services.athena.AmazonAthena;
 import com.amazonaws.services.secretsmanager.AWSSecretsManager;
 import com.google.common.annotations.VisibleForTesting;
 import org.apache.arrow.vector.complex.reader.FieldReader;
+import org.apache.arrow.vector.types.DateUnit;
 import org.apache.arrow.vector.types.Types;
 import org.apache.arrow.vector.types.pojo.ArrowType;
 import org.apache.arrow.vector.types.pojo.Field;
@@ -56,9 +58,13 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -116,7 +122,9 @@ public class ImpalaMetadataHandler extends JdbcMetadataHandler
             Map<String, String> columnHashMap = getMetadataForGivenTable(psmt);
             String tableType = columnHashMap.get("TableType");
             if (tableType == null) {
-                ResultSet partitionRs = stmt.executeQuery("show files in " + getTableLayoutRequest.getTableName().getTableName().toUpperCase());
+                Map<String, ArrowType> partitionColumnTypes = getPartitionColumnTypes(getTableLayoutRequest);
+                ResultSet partitionRs = stmt.executeQuery("show files in " + getTableLayoutRequest.getTableName().getTableName().toUpperCase()
+                        + getPartitionSpec(partitionColumnTypes, getTableLayoutRequest.getConstraints().getSummary()));
                 Set<String> partition = new HashSet<>();
                 while (partitionRs != null && partitionRs.next()) {
                     String partitionString = partitionRs.getString("Partition");
@@ -126,7 +134,7 @@ public class ImpalaMetadataHandler extends JdbcMetadataHandler
                 }
                 LOGGER.debug("isTablePartitioned:" + !partition.isEmpty());
                 if (!partition.isEmpty()) {
-                    addPartitions(partition, columnHashMap, blockWriter);
+                    addPartitions(partition, columnHashMap, partitionColumnTypes, blockWriter);
                 }
                 else {
                     blockWriter.writeRows((Block block, int rowNum) -> {
@@ -144,24 +152,28 @@ public class ImpalaMetadataHandler extends JdbcMetadataHandler
         }
     }
     /**
-     *  Used to write all Impala partitions into the response.
+     *  Used to write all Impala partitions into the response. Partition columns listed in partitionColumnTypes are
+     *  also written with their typed values, so that partitions not matching the query's constraints are pruned.
      * @param partitionInfo Holds all Impala partitions for a table.
      * @param columnInfo  Holds all column names and data types for a table.
+     * @param partitionColumnTypes Holds the Arrow type of each partition column of the partitions block.
      * @param blockWriter Used to write rows (Impala partitions) into the Apache Arrow response.
      */
-    private  void addPartitions(Set<String> partitionInfo, Map<String, String> columnInfo, BlockWriter blockWriter)
+    private  void addPartitions(Set<String> partitionInfo, Map<String, String> columnInfo, Map<String, ArrowType> partitionColumnTypes, BlockWriter blockWriter)
     {
         Iterator<String> partitions = partitionInfo.iterator();
         while (partitions.hasNext()) {
-            String partition = partitions.next();
-            String[] partitionColumns = partition.split("/");
-            int partitionCounter = 0;
+            Map<String, String> partitionSpec = parsePartitionSpec(partitions.next());
             StringBuilder columnCondition = new StringBuilder();
-            while (partitionColumns.length > partitionCounter) {
-                String partitionValue = partitionColumns[partitionCounter].split("=")[1];
-                String columnName = partitionColumns[partitionCounter].split("=")[0];
+            Map<String, Object> partitionColumnValues = new HashMap<>();
+            for (Map.Entry<String, String> partitionColumn : partitionSpec.entrySet()) {
+                String columnName = partitionColumn.getKey();
+                String partitionValue = partitionColumn.getValue();
                 String columnType = columnInfo.get(columnName).toUpperCase();
-                if (partitionValue.equalsIgnoreCase("__HIVE_DEFAULT_PARTITION__")) {
+                if (columnCondition.length() > 0) {
+                    columnCondition.append(" and");
+                }
+                if (partitionValue == null) {
                     columnCondition.append(" " + columnName).append(" is").append(" NULL");
                 }
                 else {
@@ -174,19 +186,126 @@ public class ImpalaMetadataHandler extends JdbcMetadataHandler
                         columnCondition.append(partitionValue);
                     }
                 }
-                partitionCounter++;
-                if (partitionColumns.length > partitionCounter) {
-                    columnCondition.append(" and");
+                ArrowType partitionColumnType = partitionColumnTypes.get(columnName);
+                if (partitionColumnType != null) {
+                    try {
+                        partitionColumnValues.put(columnName, toPartitionColumnValue(partitionValue, partitionColumnType));
+                    }
+                    catch (RuntimeException ex) {
+                        // leave the column unset so that the partition is not pruned on a value we could not read
+                        LOGGER.warn("Could not convert partition value {} of {} to {}", partitionValue, columnName, partitionColumnType);
+                    }
                 }
             }
             final String partitionValue = columnCondition.toString();
             LOGGER.debug("partitionValue:" + partitionValue);
             blockWriter.writeRows((Block block, int rowNum) -> {
-                block.setValue(ImpalaConstants.BLOCK_PARTITION_COLUMN_NAME, rowNum, partitionValue);
-                return 1;
+                boolean matched = block.setValue(ImpalaConstants.BLOCK_PARTITION_COLUMN_NAME, rowNum, partitionValue);
+                for (Map.Entry<String, Object> partitionColumnValue : partitionColumnValues.entrySet()) {
+                    matched &= block.setValue(partitionColumnValue.getKey(), rowNum, partitionColumnValue.getValue());
+                }
+                return matched ? 1 : 0;
             });
         }
     }
+
+    /**
+     * Used to get the typed partition columns of the partitions block, i.e. the Impala partition columns returned by doGetTable.
+     * @param getTableLayoutRequest Provides the table schema and partition columns.
+     * @return Map of partition column name and Arrow type.
+     */
+    private Map<String, ArrowType> getPartitionColumnTypes(GetTableLayoutRequest getTableLayoutRequest)
+    {
+        Map<String, ArrowType> partitionColumnTypes = new HashMap<>();
+        for (String partitionColumn : getTableLayoutRequest.getPartitionCols()) {
+            Field field = getTableLayoutRequest.getSchema().findField(partitionColumn);
+            if (!partitionColumn.equals(ImpalaConstants.BLOCK_PARTITION_COLUMN_NAME) && field != null) {
+                partitionColumnTypes.put(partitionColumn, field.getType());
+            }
+        }
+        return partitionColumnTypes;
+    }
+
+    /**
+     * Used to push equality constraints on partition columns into the partition listing, e.g. partition(dt='2020-01-01').
+     * @param partitionColumnTypes Holds the Arrow type of each partition column.
+     * @param summary Constraints of the query.
+     * @return partition clause, or an empty string if no partition column is constrained to a single value.
+     */
+    private String getPartitionSpec(Map<String, ArrowType> partitionColumnTypes, Map<String, ValueSet> summary)
+    {
+        List<String> partitionSpec = new ArrayList<>();
+        for (Map.Entry<String, ArrowType> partitionColumn : partitionColumnTypes.entrySet()) {
+            ValueSet valueSet = summary.get(partitionColumn.getKey());
+            if (valueSet == null || !valueSet.isSingleValue()) {
+                continue;
+            }
+            Object value = valueSet.getSingleValue();
+            String specValue = partitionColumn.getValue() instanceof ArrowType.Date
+                    ? LocalDate.ofEpochDay(((Number) value).longValue()).toString() : String.valueOf(value);
+            if (!specValue.contains("'") && !specValue.contains("\\")) {
+                partitionSpec.add(partitionColumn.getKey() + "='" + specValue + "'");
+            }
+        }
+        return partitionSpec.isEmpty() ? "" : " partition(" + String.join(", ", partitionSpec) + ")";
+    }
+
+    /**
+     * Used to parse a partition spec such as dt=2020-01-01/region=us.
+     * @param partition partition spec.
+     * @return Map of partition column name and unescaped value, null for the default partition.
+     */
+    @VisibleForTesting
+    static Map<String, String> parsePartitionSpec(String partition)
+    {
+        Map<String, String> partitionSpec = new LinkedHashMap<>();
+        for (String partitionColumn : partition.split("/")) {
+            String[] columnAndValue = partitionColumn.split("=", 2);
+            String value = columnAndValue[1];
+            partitionSpec.put(columnAndValue[0], value.equalsIgnoreCase("__HIVE_DEFAULT_PARTITION__") ? null : unescapePathName(value));
+        }
+        return partitionSpec;
+    }
+
+    /**
+     * Reverses the %XX escaping of special characters in partition values.
+     */
+    private static String unescapePathName(String value)
+    {
+        StringBuilder unescaped = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '%' && i + 2 < value.length() && Character.digit(value.charAt(i + 1), 16) >= 0 && Character.digit(value.charAt(i + 2), 16) >= 0) {
+                unescaped.append((char) Integer.parseInt(value.substring(i + 1, i + 3), 16));
+                i += 2;
+            }
+            else {
+                unescaped.append(c);
+            }
+        }
+        return unescaped.toString();
+    }
+
+    private static Object toPartitionColumnValue(String value, ArrowType type)
+    {
+        if (value == null) {
+            return null;
+        }
+        if (type instanceof ArrowType.Int) {
+            return ((ArrowType.Int) type).getBitWidth() == 64 ? (Object) Long.parseLong(value) : (Object) Integer.parseInt(value);
+        }
+        if (type instanceof ArrowType.Date) {
+            return LocalDate.parse(value);
+        }
+        return value;
+    }
+
+    private static boolean isSupportedPartitionColumnType(ArrowType type)
+    {
+        return type instanceof ArrowType.Utf8 || type instanceof ArrowType.Int
+                || (type instanceof ArrowType.Date && ((ArrowType.Date) type).getUnit() == DateUnit.DAY);
+    }
+
     /**
      * Used to split-up the reads required to scan the requested batch of partition(s).
      *
@@ -247,9 +366,10 @@ public class ImpalaMetadataHandler extends JdbcMetadataHandler
     {
         try (Connection connection = getJdbcConnectionFactory().getConnection(getCredentialProvider())) {
             Schema partitionSchema = getPartitionSchema(getTableRequest.getCatalogName());
-            return new GetTableResponse(getTableRequest.getCatalogName(), getTableRequest.getTableName(),
-                    getSchema(connection, getTableRequest.getTableName(), partitionSchema),
-                    partitionSchema.getFields().stream().map(Field::getName).collect(Collectors.toSet()));
+            Schema schema = getSchema(connection, getTableRequest.getTableName(), partitionSchema);
+            Set<String> partitionColumns = partitionSchema.getFields().stream().map(Field::getName).collect(Collectors.toSet());
+            partitionColumns.addAll(getTypedPartitionColumns(connection, getTableRequest.getTableName(), schema));
+            return new GetTableResponse(getTableRequest.getCatalogName(), getTableRequest.getTableName(), schema, partitionColumns);
         }
         catch (SQLException sqlException) {
             LOGGER.error(sqlException.getMessage());
@@ -333,6 +453,45 @@ public class ImpalaMetadataHandler extends JdbcMetadataHandler
             return schemaBuilder.build();
         }
     }
+    /**
+     * Used to get the Impala partition columns of a table that can be written with typed values to the partitions block,
+     * so that the SDK can prune partitions against the query's constraints.
+     * @param jdbcConnection  A JDBC Impala database connection
+     * @param tableName   Holds table name and schema name. see {@link TableName}
+     * @param schema Table schema. See {@link Schema}
+     * @return names of the partition columns of type varchar, integer or date.
+     * @throws SQLException A SQLException should be thrown for database connection failures , query syntax errors and so on.
+     */
+    private Set<String> getTypedPartitionColumns(Connection jdbcConnection, TableName tableName, Schema schema) throws SQLException
+    {
+        Set<String> partitionColumns = new HashSet<>();
+        try (PreparedStatement psmt = jdbcConnection.prepareStatement(GET_METADATA_QUERY + tableName.getTableName().toUpperCase());
+             ResultSet rs = psmt.executeQuery()) {
+            boolean partitionInformation = false;
+            while (rs.next()) {
+                String columnName = rs.getString(ImpalaConstants.METADATA_COLUMN_NAME);
+                columnName = columnName == null ? "" : columnName.trim();
+                if (columnName.startsWith("# Partition Information")) {
+                    partitionInformation = true;
+                }
+                else if (partitionInformation && (columnName.startsWith("#") || columnName.isEmpty())) {
+                    if (!partitionColumns.isEmpty() && !columnName.equals("# col_name")) {
+                        break;
+                    }
+                }
+                else if (partitionInformation) {
+                    for (Field field : schema.getFields()) {
+                        if (field.getName().equalsIgnoreCase(columnName) && isSupportedPartitionColumnType(field.getType())) {
+                            partitionColumns.add(field.getName());
+                        }
+                    }
+                }
+            }
+        }
+        LOGGER.debug("Typed partition columns of {}: {}", tableName, partitionColumns);
+        return partitionColumns;
+    }
+
     /**
      *  used to get all Arrow metadata information about a table.
      * @param catalogName  catalog name
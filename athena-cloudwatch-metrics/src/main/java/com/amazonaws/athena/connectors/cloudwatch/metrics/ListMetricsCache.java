@@ -0,0 +1,75 @@
+/*-
+ * #%L
+ * athena-cloudwatch-metrics
+ * %%
+ * Copyright (C) 2019 Amazon Web Services
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package com.amazonaws.athena.connectors.cloudwatch.metrics;
+
+import com.amazonaws.athena.connector.lambda.ThrottlingInvoker;
+import com.amazonaws.services.cloudwatch.AmazonCloudWatch;
+import com.amazonaws.services.cloudwatch.model.ListMetricsRequest;
+import com.amazonaws.services.cloudwatch.model.ListMetricsResult;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Caches pages of ListMetrics results by request (namespace, metric name, dimension filters and next token) so that
+ * repeated queries served by the same warm Lambda container do not list the same metrics again. Cloudwatch Metrics
+ * itself only lists new metrics after up to 15 minutes, so results are kept for a few minutes.
+ */
+public class ListMetricsCache
+{
+    //How long a page of ListMetrics results is reused.
+    private static final long CACHE_TTL_MINUTES = 5;
+    //The maximum number of pages of ListMetrics results kept.
+    private static final long MAX_CACHED_PAGES = 1_000;
+
+    private final Cache<ListMetricsRequest, ListMetricsResult> cache = CacheBuilder.newBuilder()
+            .expireAfterWrite(CACHE_TTL_MINUTES, TimeUnit.MINUTES)
+            .maximumSize(MAX_CACHED_PAGES)
+            .build();
+
+    private final ThrottlingInvoker invoker;
+    private final AmazonCloudWatch metrics;
+
+    public ListMetricsCache(ThrottlingInvoker invoker, AmazonCloudWatch metrics)
+    {
+        this.invoker = invoker;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Lists a page of metrics, calling Cloudwatch Metrics only if the page is not cached.
+     *
+     * @param request The ListMetrics request, it is copied before being used as a cache key.
+     * @return The page of metrics for the request.
+     */
+    public ListMetricsResult listMetrics(ListMetricsRequest request)
+            throws TimeoutException
+    {
+        ListMetricsRequest key = request.clone();
+        ListMetricsResult result = cache.getIfPresent(key);
+        if (result == null) {
+            result = invoker.invoke(() -> metrics.listMetrics(key));
+            cache.put(key, result);
+        }
+        return result;
+    }
+}
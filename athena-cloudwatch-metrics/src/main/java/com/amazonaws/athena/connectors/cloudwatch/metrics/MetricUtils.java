@@ -58,6 +58,20 @@ public class MetricUtils
 
     //this is a format required by Cloudwatch Metrics
     private static final String METRIC_ID = "m1";
+    //GetMetricData returns at most this many datapoints per page.
+    private static final long MAX_DATAPOINTS_PER_PAGE = 100_800;
+    //Cloudwatch Metrics retains datapoints for 15 months.
+    private static final long RETENTION_MILLIS = 455L * 24 * 60 * 60 * 1000;
+    //The maximum number of time windows a GetMetricData request is divided into.
+    protected static final int MAX_TIME_WINDOWS = 8;
+    private static final long MINUTE_MILLIS = 60_000L;
+    private static final long DAY_MILLIS = 24 * 60 * MINUTE_MILLIS;
+    //Cloudwatch rounds the StartTime of a GetMetricData request down to the nearest 5 minutes when it is between 15
+    //and 63 days ago, to the nearest hour when it is older and to the nearest minute otherwise.
+    private static final long FIVE_MINUTE_ROUNDING_AGE_MILLIS = 15 * DAY_MILLIS;
+    private static final long HOUR_ROUNDING_AGE_MILLIS = 63 * DAY_MILLIS;
+    //Window boundaries this close to an age threshold use the coarser rounding, the request is sent a little later.
+    private static final long ROUNDING_AGE_MARGIN_MILLIS = 60 * MINUTE_MILLIS;
 
     private MetricUtils() {}
 
@@ -188,4 +202,70 @@ public class MetricUtils
 
         return dataRequest;
     }
+
+    /**
+     * Divides a GetMetricData request into requests for consecutive time windows that can be read concurrently. The
+     * number of windows is derived from the number of datapoints the request may return within the retention period of
+     * Cloudwatch Metrics. The window boundaries are aligned to the period of the queried metrics and to the granularity
+     * Cloudwatch rounds the StartTime to at their age, so every datapoint is returned by exactly one window.
+     *
+     * @param dataRequest The GetMetricData request, with start and end time set.
+     * @return The requests for each time window, or just the original request if it is not worth dividing.
+     */
+    protected static List<GetMetricDataRequest> splitByTime(GetMetricDataRequest dataRequest)
+    {
+        long start = dataRequest.getStartTime().getTime();
+        long end = dataRequest.getEndTime().getTime();
+        long periodMillis = 1000L * dataRequest.getMetricDataQueries().stream()
+                .mapToInt(next -> next.getMetricStat().getPeriod())
+                .max()
+                .orElse(1);
+        long now = System.currentTimeMillis();
+        long retainedStart = Math.max(start, now - RETENTION_MILLIS);
+        if (end <= retainedStart) {
+            return Collections.singletonList(dataRequest);
+        }
+
+        long datapoints = (end - retainedStart) / periodMillis * dataRequest.getMetricDataQueries().size();
+        long windows = Math.min(MAX_TIME_WINDOWS, (datapoints + MAX_DATAPOINTS_PER_PAGE - 1) / MAX_DATAPOINTS_PER_PAGE);
+        long step = (end - retainedStart) / Math.max(windows, 1);
+        if (windows <= 1 || step < periodMillis) {
+            return Collections.singletonList(dataRequest);
+        }
+
+        List<GetMetricDataRequest> requests = new ArrayList<>();
+        long windowStart = start;
+        for (int window = 1; window <= windows; window++) {
+            //The first and last window keep the original start and end time.
+            long windowEnd = (window == windows) ? end : alignBoundary(retainedStart + window * step, periodMillis, now);
+            if (windowEnd <= windowStart) {
+                continue;
+            }
+            requests.add(new GetMetricDataRequest()
+                    .withMetricDataQueries(dataRequest.getMetricDataQueries())
+                    .withScanBy(dataRequest.getScanBy())
+                    .withStartTime(new Date(windowStart))
+                    .withEndTime(new Date(windowEnd)));
+            windowStart = windowEnd;
+        }
+        return requests;
+    }
+
+    /**
+     * Rounds a window boundary down to a multiple of both the period and the granularity Cloudwatch rounds a StartTime
+     * of that age to, so the window starting at the boundary does not return datapoints of the window before it.
+     */
+    private static long alignBoundary(long boundary, long periodMillis, long now)
+    {
+        long age = now - boundary + ROUNDING_AGE_MARGIN_MILLIS;
+        long granularity = (age > HOUR_ROUNDING_AGE_MILLIS) ? 60 * MINUTE_MILLIS
+                : (age > FIVE_MINUTE_ROUNDING_AGE_MILLIS) ? 5 * MINUTE_MILLIS : MINUTE_MILLIS;
+        long alignment = periodMillis / gcd(periodMillis, granularity) * granularity;
+        return boundary / alignment * alignment;
+    }
+
+    private static long gcd(long a, long b)
+    {
+        return (b == 0) ? a : gcd(b, a % b);
+    }
 }
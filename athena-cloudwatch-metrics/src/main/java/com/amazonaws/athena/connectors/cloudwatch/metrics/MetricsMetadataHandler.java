@@ -100,14 +100,15 @@ public class MetricsMetadataHandler
     private static final Map<String, Table> TABLES = new HashMap<>();
     //The default metric period to query (60 seconds)
     private static final int DEFAULT_PERIOD_SEC = 60;
-    //GetMetricData supports up to 100 Metrics per split
-    private static final int MAX_METRICS_PER_SPLIT = 100;
+    //GetMetricData supports up to 500 MetricDataQuery per request, each split is read with a single query per metric
+    private static final int MAX_METRICS_PER_SPLIT = 500;
     //The minimum number of splits we'd like to have for some parallelization
     private static final int MIN_NUM_SPLITS_FOR_PARALLELIZATION = 3;
     //Used to handle throttling events by applying AIMD congestion control
     private final ThrottlingInvoker invoker = ThrottlingInvoker.newDefaultBuilder(EXCEPTION_FILTER).build();
 
     private final AmazonCloudWatch metrics;
+    private final ListMetricsCache listMetricsCache;
 
     static {
         //The statistics supported by Cloudwatch Metrics by default
@@ -134,6 +135,7 @@ public class MetricsMetadataHandler
     {
         super(SOURCE_TYPE);
         metrics = AmazonCloudWatchClientBuilder.standard().build();
+        listMetricsCache = new ListMetricsCache(invoker, metrics);
     }
 
     @VisibleForTesting
@@ -146,6 +148,7 @@ public class MetricsMetadataHandler
     {
         super(keyFactory, secretsManager, athena, SOURCE_TYPE, spillBucket, spillPrefix);
         this.metrics = metrics;
+        this.listMetricsCache = new ListMetricsCache(invoker, metrics);
     }
 
     /**
@@ -237,7 +240,7 @@ public class MetricsMetadataHandler
 
             String period = getPeriodFromConstraint(getSplitsRequest.getConstraints());
             Set<Split> splits = new HashSet<>();
-            ListMetricsResult result = invoker.invoke(() -> metrics.listMetrics(listMetricsRequest));
+            ListMetricsResult result = listMetricsCache.listMetrics(listMetricsRequest);
 
             List<MetricStat> metricStats = new ArrayList<>(100);
             for (Metric nextMetric : result.getMetrics()) {
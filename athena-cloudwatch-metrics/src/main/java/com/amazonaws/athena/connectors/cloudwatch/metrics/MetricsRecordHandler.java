@@ -46,17 +46,24 @@ import com.amazonaws.services.s3.AmazonS3;
 import com.amazonaws.services.s3.AmazonS3ClientBuilder;
 import com.amazonaws.services.secretsmanager.AWSSecretsManager;
 import com.amazonaws.services.secretsmanager.AWSSecretsManagerClientBuilder;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import org.apache.arrow.util.VisibleForTesting;
 import org.apache.arrow.vector.types.pojo.Field;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeoutException;
 
 import static com.amazonaws.athena.connector.lambda.data.FieldResolver.DEFAULT;
@@ -79,6 +86,7 @@ import static com.amazonaws.athena.connectors.cloudwatch.metrics.tables.Table.VA
  * <p>
  * 1. Reads and maps Cloudwatch Metrics and Metric Samples.
  * 2. Attempts to push down time range predicates into Cloudwatch Metrics.
+ * 3. Reads time windows of large metric sample requests concurrently.
  */
 public class MetricsRecordHandler
         extends RecordHandler
@@ -102,8 +110,17 @@ public class MetricsRecordHandler
             .withIncrease(THROTTLING_INCREMENTAL_INCREASE)
             .build();
 
+    //The maximum number of time windows of a split read concurrently.
+    private static final int MAX_CONCURRENT_WINDOWS = 4;
+    //Marks the end of the pages of a time window.
+    private static final Object WINDOW_DONE = new Object();
+
     private final AmazonS3 amazonS3;
     private final AmazonCloudWatch metrics;
+    private final ListMetricsCache listMetricsCache;
+    //Reads time windows of GetMetricData requests, shared by all requests served by this handler.
+    private final ExecutorService executor = Executors.newFixedThreadPool(MAX_CONCURRENT_WINDOWS,
+            new ThreadFactoryBuilder().setDaemon(true).setNameFormat("metric-data-reader-%d").build());
 
     public MetricsRecordHandler()
     {
@@ -119,6 +136,7 @@ public class MetricsRecordHandler
         super(amazonS3, secretsManager, athena, SOURCE_TYPE);
         this.amazonS3 = amazonS3;
         this.metrics = metrics;
+        this.listMetricsCache = new ListMetricsCache(invoker, metrics);
     }
 
     /**
@@ -154,7 +172,7 @@ public class MetricsRecordHandler
         ValueSet dimensionValueConstraint = request.getConstraints().getSummary().get(DIMENSION_VALUE_FIELD);
         do {
             prevToken = listMetricsRequest.getNextToken();
-            ListMetricsResult result = invoker.invoke(() -> metrics.listMetrics(listMetricsRequest));
+            ListMetricsResult result = listMetricsCache.listMetrics(listMetricsRequest);
             for (Metric nextMetric : result.getMetrics()) {
                 blockSpiller.writeRows((Block block, int row) -> {
                     boolean matches = MetricUtils.applyMetricConstraints(blockSpiller.getConstraintEvaluator(), nextMetric, null);
@@ -198,7 +216,8 @@ public class MetricsRecordHandler
     }
 
     /**
-     * Handles retrieving the samples for a specific metric from Cloudwatch Metrics.
+     * Handles retrieving the samples for a specific metric from Cloudwatch Metrics. Requests spanning many datapoints
+     * are divided into time windows whose pages are retrieved concurrently.
      */
     private void readMetricSamplesWithConstraint(BlockSpiller blockSpiller, ReadRecordsRequest request, QueryStatusChecker queryStatusChecker)
             throws TimeoutException
@@ -209,66 +228,146 @@ public class MetricsRecordHandler
             queries.put(query.getId(), query);
         }
 
-        String prevToken;
         ValueSet dimensionNameConstraint = request.getConstraints().getSummary().get(DIMENSION_NAME_FIELD);
         ValueSet dimensionValueConstraint = request.getConstraints().getSummary().get(DIMENSION_VALUE_FIELD);
-        do {
-            prevToken = dataRequest.getNextToken();
-            GetMetricDataResult result = invoker.invoke(() -> metrics.getMetricData(dataRequest));
-            for (MetricDataResult nextMetric : result.getMetricDataResults()) {
-                MetricStat metricStat = queries.get(nextMetric.getId()).getMetricStat();
-                List<Date> timestamps = nextMetric.getTimestamps();
-                List<Double> values = nextMetric.getValues();
-                for (int i = 0; i < nextMetric.getValues().size(); i++) {
-                    int sampleNum = i;
-                    blockSpiller.writeRows((Block block, int row) -> {
-                        /**
-                         * Most constraints were already applied at split generation so we only need to apply
-                         * a subset.
-                         */
-                        block.offerValue(METRIC_NAME_FIELD, row, metricStat.getMetric().getMetricName());
-                        block.offerValue(NAMESPACE_FIELD, row, metricStat.getMetric().getNamespace());
-                        block.offerValue(STATISTIC_FIELD, row, metricStat.getStat());
+        List<GetMetricDataRequest> windows = MetricUtils.splitByTime(dataRequest);
+        if (windows.size() == 1) {
+            String prevToken;
+            do {
+                prevToken = dataRequest.getNextToken();
+                GetMetricDataResult result = invoker.invoke(() -> metrics.getMetricData(dataRequest));
+                writeMetricSamples(blockSpiller, queries, result, dimensionNameConstraint, dimensionValueConstraint);
+                dataRequest.setNextToken(result.getNextToken());
+            }
+            while (dataRequest.getNextToken() != null && !dataRequest.getNextToken().equalsIgnoreCase(prevToken) && queryStatusChecker.isQueryRunning());
+            return;
+        }
 
-                        block.offerComplexValue(DIMENSIONS_FIELD,
-                                row,
-                                (Field field, Object val) -> {
-                                    if (field.getName().equals(DIMENSION_NAME_FIELD)) {
-                                        return ((Dimension) val).getName();
-                                    }
-                                    else if (field.getName().equals(DIMENSION_VALUE_FIELD)) {
-                                        return ((Dimension) val).getValue();
-                                    }
+        //Each window is paged by its own task, pages are handed back through a bounded queue so that only this thread
+        //writes to the spiller and at most a few pages are held in memory.
+        BlockingQueue<Object> pages = new ArrayBlockingQueue<>(MAX_CONCURRENT_WINDOWS);
+        List<Future<?>> tasks = new ArrayList<>();
+        try {
+            for (GetMetricDataRequest window : windows) {
+                tasks.add(executor.submit(() -> readTimeWindow(window, pages, queryStatusChecker)));
+            }
 
-                                    throw new RuntimeException("Unexpected field " + field.getName());
-                                },
-                                metricStat.getMetric().getDimensions());
+            int remainingWindows = windows.size();
+            while (remainingWindows > 0) {
+                Object next = pages.take();
+                if (next == WINDOW_DONE) {
+                    remainingWindows--;
+                }
+                else if (next instanceof TimeoutException) {
+                    throw (TimeoutException) next;
+                }
+                else if (next instanceof RuntimeException) {
+                    throw (RuntimeException) next;
+                }
+                else if (next instanceof Exception) {
+                    throw new RuntimeException((Exception) next);
+                }
+                else {
+                    writeMetricSamples(blockSpiller, queries, (GetMetricDataResult) next, dimensionNameConstraint, dimensionValueConstraint);
+                }
+            }
+        }
+        catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(ex);
+        }
+        finally {
+            tasks.forEach(next -> next.cancel(true));
+        }
+    }
 
-                        //This field is 'faked' in that we just use it as a convenient way to filter single dimensions. As such
-                        //we always populate it with the value of the filter if the constraint passed and the filter was singleValue
-                        String dimName = (dimensionNameConstraint == null || !dimensionNameConstraint.isSingleValue())
-                                ? null : dimensionNameConstraint.getSingleValue().toString();
-                        block.offerValue(DIMENSION_NAME_FIELD, row, dimName);
+    /**
+     * Pages through the GetMetricData results of a single time window, handing each page (followed by WINDOW_DONE) or
+     * the exception that ended the window to the supplied queue.
+     */
+    private Void readTimeWindow(GetMetricDataRequest window, BlockingQueue<Object> pages, QueryStatusChecker queryStatusChecker)
+            throws InterruptedException
+    {
+        try {
+            String prevToken;
+            do {
+                prevToken = window.getNextToken();
+                GetMetricDataResult result = invoker.invoke(() -> metrics.getMetricData(window));
+                pages.put(result);
+                window.setNextToken(result.getNextToken());
+            }
+            while (window.getNextToken() != null && !window.getNextToken().equalsIgnoreCase(prevToken) && queryStatusChecker.isQueryRunning());
+            pages.put(WINDOW_DONE);
+        }
+        catch (InterruptedException ex) {
+            throw ex;
+        }
+        catch (Exception ex) {
+            pages.put(ex);
+        }
+        return null;
+    }
 
-                        //This field is 'faked' in that we just use it as a convenient way to filter single dimensions. As such
-                        //we always populate it with the value of the filter if the constraint passed and the filter was singleValue
-                        String dimVal = (dimensionValueConstraint == null || !dimensionValueConstraint.isSingleValue())
-                                ? null : dimensionValueConstraint.getSingleValue().toString();
-                        block.offerValue(DIMENSION_VALUE_FIELD, row, dimVal);
+    /**
+     * Writes the samples of a page of GetMetricData results.
+     */
+    private void writeMetricSamples(BlockSpiller blockSpiller,
+            Map<String, MetricDataQuery> queries,
+            GetMetricDataResult result,
+            ValueSet dimensionNameConstraint,
+            ValueSet dimensionValueConstraint)
+    {
+        for (MetricDataResult nextMetric : result.getMetricDataResults()) {
+            MetricStat metricStat = queries.get(nextMetric.getId()).getMetricStat();
+            List<Date> timestamps = nextMetric.getTimestamps();
+            List<Double> values = nextMetric.getValues();
+            for (int i = 0; i < nextMetric.getValues().size(); i++) {
+                int sampleNum = i;
+                blockSpiller.writeRows((Block block, int row) -> {
+                    /**
+                     * Most constraints were already applied at split generation so we only need to apply
+                     * a subset.
+                     */
+                    block.offerValue(METRIC_NAME_FIELD, row, metricStat.getMetric().getMetricName());
+                    block.offerValue(NAMESPACE_FIELD, row, metricStat.getMetric().getNamespace());
+                    block.offerValue(STATISTIC_FIELD, row, metricStat.getStat());
 
-                        block.offerValue(PERIOD_FIELD, row, metricStat.getPeriod());
+                    block.offerComplexValue(DIMENSIONS_FIELD,
+                            row,
+                            (Field field, Object val) -> {
+                                if (field.getName().equals(DIMENSION_NAME_FIELD)) {
+                                    return ((Dimension) val).getName();
+                                }
+                                else if (field.getName().equals(DIMENSION_VALUE_FIELD)) {
+                                    return ((Dimension) val).getValue();
+                                }
 
-                        boolean matches = true;
-                        block.offerValue(VALUE_FIELD, row, values.get(sampleNum));
-                        long timestamp = timestamps.get(sampleNum).getTime() / 1000;
-                        block.offerValue(TIMESTAMP_FIELD, row, timestamp);
+                                throw new RuntimeException("Unexpected field " + field.getName());
+                            },
+                            metricStat.getMetric().getDimensions());
 
-                        return matches ? 1 : 0;
-                    });
-                }
+                    //This field is 'faked' in that we just use it as a convenient way to filter single dimensions. As such
+                    //we always populate it with the value of the filter if the constraint passed and the filter was singleValue
+                    String dimName = (dimensionNameConstraint == null || !dimensionNameConstraint.isSingleValue())
+                            ? null : dimensionNameConstraint.getSingleValue().toString();
+                    block.offerValue(DIMENSION_NAME_FIELD, row, dimName);
+
+                    //This field is 'faked' in that we just use it as a convenient way to filter single dimensions. As such
+                    //we always populate it with the value of the filter if the constraint passed and the filter was singleValue
+                    String dimVal = (dimensionValueConstraint == null || !dimensionValueConstraint.isSingleValue())
+                            ? null : dimensionValueConstraint.getSingleValue().toString();
+                    block.offerValue(DIMENSION_VALUE_FIELD, row, dimVal);
+
+                    block.offerValue(PERIOD_FIELD, row, metricStat.getPeriod());
+
+                    boolean matches = true;
+                    block.offerValue(VALUE_FIELD, row, values.get(sampleNum));
+                    long timestamp = timestamps.get(sampleNum).getTime() / 1000;
+                    block.offerValue(TIMESTAMP_FIELD, row, timestamp);
+
+                    return matches ? 1 : 0;
+                });
             }
-            dataRequest.setNextToken(result.getNextToken());
         }
-        while (dataRequest.getNextToken() != null && !dataRequest.getNextToken().equalsIgnoreCase(prevToken) && queryStatusChecker.isQueryRunning());
     }
 }
@@ -36,6 +36,7 @@ import com.amazonaws.services.cloudwatch.model.DimensionFilter;
 import com.amazonaws.services.cloudwatch.model.GetMetricDataRequest;
 import com.amazonaws.services.cloudwatch.model.ListMetricsRequest;
 import com.amazonaws.services.cloudwatch.model.Metric;
+import com.amazonaws.services.cloudwatch.model.MetricDataQuery;
 import com.amazonaws.services.cloudwatch.model.MetricStat;
 import org.apache.arrow.vector.types.pojo.Schema;
 import com.google.common.collect.ImmutableList;
@@ -46,6 +47,7 @@ import org.junit.Test;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -209,4 +211,52 @@ public class MetricUtilsTest
         assertEquals(1000L, actual.getStartTime().getTime());
         assertTrue(actual.getStartTime().getTime() <= System.currentTimeMillis() + 1_000);
     }
+
+    @Test
+    public void splitByTime()
+    {
+        long now = System.currentTimeMillis();
+        long day = 24 * 60 * 60 * 1000L;
+        List<MetricDataQuery> queries = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            queries.add(new MetricDataQuery().withId("m" + i)
+                    .withMetricStat(new MetricStat().withPeriod(60).withStat("Average").withMetric(new Metric())));
+        }
+
+        //100 metrics * 1440 datapoints fit in 2 pages
+        GetMetricDataRequest oneDay = new GetMetricDataRequest().withMetricDataQueries(queries)
+                .withStartTime(new Date(now - day)).withEndTime(new Date(now));
+        List<GetMetricDataRequest> windows = MetricUtils.splitByTime(oneDay);
+        assertEquals(2, windows.size());
+        assertEquals(oneDay.getStartTime(), windows.get(0).getStartTime());
+        assertEquals(windows.get(0).getEndTime(), windows.get(1).getStartTime());
+        assertEquals(0, windows.get(0).getEndTime().getTime() % 60_000);
+        assertEquals(oneDay.getEndTime(), windows.get(1).getEndTime());
+        assertEquals(queries, windows.get(1).getMetricDataQueries());
+
+        //the number of windows is capped and data before the retention period is not counted
+        GetMetricDataRequest allTime = new GetMetricDataRequest().withMetricDataQueries(queries)
+                .withStartTime(new Date(0)).withEndTime(new Date(now));
+        windows = MetricUtils.splitByTime(allTime);
+        assertEquals(MetricUtils.MAX_TIME_WINDOWS, windows.size());
+        assertEquals(0, windows.get(0).getStartTime().getTime());
+        assertTrue(windows.get(0).getEndTime().getTime() > now - 500 * day);
+
+        //boundaries are aligned to the granularity Cloudwatch rounds older start times to
+        GetMetricDataRequest hundredDays = new GetMetricDataRequest().withMetricDataQueries(queries)
+                .withStartTime(new Date(now - 100 * day)).withEndTime(new Date(now));
+        windows = MetricUtils.splitByTime(hundredDays);
+        assertEquals(MetricUtils.MAX_TIME_WINDOWS, windows.size());
+        for (int i = 1; i < windows.size(); i++) {
+            long boundary = windows.get(i).getStartTime().getTime();
+            assertEquals(windows.get(i - 1).getEndTime().getTime(), boundary);
+            long granularity = (now - boundary > 63 * day) ? 3_600_000 : (now - boundary > 15 * day) ? 300_000 : 60_000;
+            assertEquals(0, boundary % granularity);
+        }
+
+        //a single page is not divided
+        GetMetricDataRequest oneHour = new GetMetricDataRequest().withMetricDataQueries(queries)
+                .withStartTime(new Date(now - day / 24)).withEndTime(new Date(now));
+        assertEquals(Collections.singletonList(oneHour), MetricUtils.splitByTime(oneHour));
+    }
 }
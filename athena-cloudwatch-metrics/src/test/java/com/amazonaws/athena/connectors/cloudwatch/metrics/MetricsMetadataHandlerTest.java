@@ -76,6 +76,8 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -332,6 +334,10 @@ public class MetricsMetadataHandlerTest
 
         assertEquals(1, numContinuations);
 
+        //ListMetrics results are reused by later requests
+        handler.doGetSplits(allocator, new GetSplitsRequest(originalReq, null));
+        verify(mockMetrics, times(2)).listMetrics(any(ListMetricsRequest.class));
+
         logger.info("doGetMetricSamplesSplits: exit");
     }
 
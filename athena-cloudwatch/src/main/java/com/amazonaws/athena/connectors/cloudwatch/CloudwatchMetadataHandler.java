@@ -27,6 +27,10 @@ import com.amazonaws.athena.connector.lambda.data.BlockWriter;
 import com.amazonaws.athena.connector.lambda.data.SchemaBuilder;
 import com.amazonaws.athena.connector.lambda.domain.Split;
 import com.amazonaws.athena.connector.lambda.domain.TableName;
+import com.amazonaws.athena.connector.lambda.domain.predicate.Marker;
+import com.amazonaws.athena.connector.lambda.domain.predicate.Range;
+import com.amazonaws.athena.connector.lambda.domain.predicate.SortedRangeSet;
+import com.amazonaws.athena.connector.lambda.domain.predicate.ValueSet;
 import com.amazonaws.athena.connector.lambda.domain.spill.SpillLocation;
 import com.amazonaws.athena.connector.lambda.handlers.MetadataHandler;
 import com.amazonaws.athena.connector.lambda.metadata.GetSplitsRequest;
@@ -38,6 +42,7 @@ import com.amazonaws.athena.connector.lambda.metadata.ListSchemasRequest;
 import com.amazonaws.athena.connector.lambda.metadata.ListSchemasResponse;
 import com.amazonaws.athena.connector.lambda.metadata.ListTablesRequest;
 import com.amazonaws.athena.connector.lambda.metadata.ListTablesResponse;
+import com.amazonaws.athena.connector.lambda.security.EncryptionKey;
 import com.amazonaws.athena.connector.lambda.security.EncryptionKeyFactory;
 import com.amazonaws.services.athena.AmazonAthena;
 import com.amazonaws.services.logs.AWSLogs;
@@ -75,7 +80,8 @@ import static com.amazonaws.athena.connectors.cloudwatch.CloudwatchExceptionFilt
  * 2. Each LogStream is treated as a table.
  * 3. A special 'all_log_streams' view is added which allows you to query all LogStreams in a LogGroup.
  * 4. LogStreams area treated as partitions and scanned in parallel.
- * 5. Timestamp predicates are pushed into Cloudwatch itself.
+ * 5. Timestamp predicates are pushed into Cloudwatch itself and used to prune LogStreams.
+ * 6. LogStreams with many days of events are divided into time sliced splits, the others are packed into shared splits.
  */
 public class CloudwatchMetadataHandler
         extends MetadataHandler
@@ -101,6 +107,30 @@ public class CloudwatchMetadataHandler
     protected static final String LOG_MSG_FIELD = "message";
     //The name of the log stream size field in our split objects.
     protected static final String LOG_STREAM_SIZE_FIELD = "log_stream_bytes";
+    //The name of the field holding the timestamp of the first event in a log stream in our partition objects.
+    protected static final String LOG_STREAM_FIRST_EVENT_FIELD = "log_stream_first_event";
+    //The name of the field holding the timestamp of the last event in a log stream in our partition objects.
+    protected static final String LOG_STREAM_LAST_EVENT_FIELD = "log_stream_last_event";
+    //The name of the inclusive start time of a time sliced log stream in our split objects.
+    protected static final String LOG_STREAM_START_TIME_FIELD = "log_stream_start_time";
+    //The name of the exclusive end time of a time sliced log stream in our split objects.
+    protected static final String LOG_STREAM_END_TIME_FIELD = "log_stream_end_time";
+    //Cloudwatch accepts events timestamped up to 2 hours after their ingestion, lastEventTimestamp is also only
+    //eventually consistent so the last ingestion time plus this margin bounds the events of a log stream.
+    private static final long MAX_EVENT_AHEAD_OF_INGESTION_MILLIS = 2 * 60 * 60 * 1000L;
+    //The span of event time read by a single time sliced split. Cloudwatch has reported 0 stored bytes for every log
+    //stream since June 2019, so the event time span is the only indication of a log stream's size.
+    protected static final long TARGET_MILLIS_PER_SPLIT = 24 * 60 * 60 * 1000L;
+    //The maximum number of time sliced splits generated for a single log stream.
+    protected static final int MAX_SLICES_PER_LOG_STREAM = 32;
+    //The name of the ':' separated list of log streams read by a split that packs several small log streams.
+    protected static final String LOG_STREAMS_FIELD = "log_streams";
+    //The maximum number of log streams in a packed split, this is the most that FilterLogEvents accepts.
+    protected static final int MAX_LOG_STREAMS_PER_SPLIT = 100;
+    //Log streams that are not time sliced are packed together into shared splits of up to this many log streams,
+    //and up to TARGET_MILLIS_PER_SPLIT of queried event time. 1 reads every log stream with its own split.
+    protected static final String LOG_STREAMS_PER_SPLIT_ENV = "log_streams_per_split";
+    protected static final int DEFAULT_LOG_STREAMS_PER_SPLIT = 10;
     //The the schema of all Cloudwatch tables.
     protected static final Schema CLOUDWATCH_SCHEMA;
 
@@ -235,6 +265,8 @@ public class CloudwatchMetadataHandler
     {
         partitionSchemaBuilder.addField(LOG_STREAM_SIZE_FIELD, new ArrowType.Int(64, true));
         partitionSchemaBuilder.addField(LOG_GROUP_FIELD, Types.MinorType.VARCHAR.getType());
+        partitionSchemaBuilder.addField(LOG_STREAM_FIRST_EVENT_FIELD, new ArrowType.Int(64, true));
+        partitionSchemaBuilder.addField(LOG_STREAM_LAST_EVENT_FIELD, new ArrowType.Int(64, true));
     }
 
     /**
@@ -242,7 +274,8 @@ public class CloudwatchMetadataHandler
      * 1 LogStream and this results in just 1 partition. If, however, the request is for the special ALL_LOG_STREAMS view
      * then all LogStreams in the requested LogGroup (schema) are queried and turned into partitions 1:1.
      *
-     * @note This method applies partition pruning based on the log_stream field.
+     * @note This method applies partition pruning based on the log_stream field and skips LogStreams whose events
+     * can not match the time constraint.
      * @see MetadataHandler
      */
     @Override
@@ -250,6 +283,7 @@ public class CloudwatchMetadataHandler
             throws Exception
     {
         CloudwatchTableName cwTableName = tableResolver.validateTable(request.getTableName());
+        ValueSet timeConstraint = request.getConstraints().getSummary().get(LOG_TIME_FIELD);
 
         DescribeLogStreamsRequest cwRequest = new DescribeLogStreamsRequest(cwTableName.getLogGroupName());
         if (!ALL_LOG_STREAMS_TABLE.equals(cwTableName.getLogStreamName())) {
@@ -260,11 +294,19 @@ public class CloudwatchMetadataHandler
         do {
             result = invoker.invoke(() -> awsLogs.describeLogStreams(cwRequest));
             for (LogStream next : result.getLogStreams()) {
+                Long firstEvent = next.getFirstEventTimestamp();
+                Long lastEvent = getLastEventBound(next);
+                if (firstEvent != null && lastEvent != null && !overlaps(timeConstraint, firstEvent, lastEvent)) {
+                    //None of the events in this log stream can satisfy the time constraint.
+                    continue;
+                }
                 //Each log stream that matches any possible partition pruning should be added to the partition list.
                 blockWriter.writeRows((Block block, int rowNum) -> {
                     boolean matched = block.setValue(LOG_GROUP_FIELD, rowNum, cwRequest.getLogGroupName());
                     matched &= block.setValue(LOG_STREAM_FIELD, rowNum, next.getLogStreamName());
                     matched &= block.setValue(LOG_STREAM_SIZE_FIELD, rowNum, next.getStoredBytes());
+                    matched &= block.setValue(LOG_STREAM_FIRST_EVENT_FIELD, rowNum, firstEvent);
+                    matched &= block.setValue(LOG_STREAM_LAST_EVENT_FIELD, rowNum, lastEvent);
                     return matched ? 1 : 0;
                 });
             }
@@ -275,7 +317,8 @@ public class CloudwatchMetadataHandler
 
     /**
      * Each partition is converted into a single Split which means we will potentially read all LogStreams required for
-     * the query in parallel.
+     * the query in parallel. LogStreams with many days of events are divided into several Splits, each reading a slice
+     * of the LogStream's time range, while the others are packed together into shared Splits.
      *
      * @see MetadataHandler
      */
@@ -285,6 +328,9 @@ public class CloudwatchMetadataHandler
         int partitionContd = decodeContinuationToken(request);
         Set<Split> splits = new HashSet<>();
         Block partitions = request.getPartitions();
+        Range timeSpan = getTimeSpan(request.getConstraints().getSummary().get(LOG_TIME_FIELD));
+        int maxLogStreamsPerSplit = getMaxLogStreamsPerSplit();
+        LogStreamBin bin = new LogStreamBin();
         for (int curPartition = partitionContd; curPartition < partitions.getRowCount(); curPartition++) {
             FieldReader logStreamReader = partitions.getFieldReader(LOG_STREAM_FIELD);
             logStreamReader.setPosition(curPartition);
@@ -295,28 +341,236 @@ public class CloudwatchMetadataHandler
             FieldReader sizeReader = partitions.getFieldReader(LOG_STREAM_SIZE_FIELD);
             sizeReader.setPosition(curPartition);
 
-            //Every split must have a unique location if we wish to spill to avoid failures
-            SpillLocation spillLocation = makeSpillLocation(request);
+            FieldReader firstEventReader = partitions.getFieldReader(LOG_STREAM_FIRST_EVENT_FIELD);
+            firstEventReader.setPosition(curPartition);
+
+            FieldReader lastEventReader = partitions.getFieldReader(LOG_STREAM_LAST_EVENT_FIELD);
+            lastEventReader.setPosition(curPartition);
+
+            String logGroup = String.valueOf(logGroupReader.readText());
+            String logStream = String.valueOf(logStreamReader.readText());
+            long storedBytes = sizeReader.isSet() ? sizeReader.readLong() : 0;
 
-            Split.Builder splitBuilder = Split.newBuilder(spillLocation, makeEncryptionKey())
-                    .add(CloudwatchMetadataHandler.LOG_GROUP_FIELD, String.valueOf(logGroupReader.readText()))
-                    .add(CloudwatchMetadataHandler.LOG_STREAM_FIELD, String.valueOf(logStreamReader.readText()))
-                    .add(CloudwatchMetadataHandler.LOG_STREAM_SIZE_FIELD, String.valueOf(sizeReader.readLong()));
+            boolean hasEventTimes = firstEventReader.isSet() && lastEventReader.isSet();
+            long firstEvent = hasEventTimes ? firstEventReader.readLong() : 0;
+            long lastEvent = hasEventTimes ? lastEventReader.readLong() : 0;
+            List<Long> sliceBounds = hasEventTimes ? getSliceBounds(firstEvent, lastEvent, timeSpan) : Collections.emptyList();
+
+            //LogStreams that are not time sliced are packed together, their Split is added once it is full.
+            if (sliceBounds.isEmpty() && maxLogStreamsPerSplit > 1) {
+                long eventMillis = hasEventTimes ? Math.max(0, clipHigh(lastEvent, timeSpan) - clipLow(firstEvent, timeSpan)) : 0;
+                if (!bin.fits(logGroup, eventMillis, maxLogStreamsPerSplit)) {
+                    splits.add(bin.toSplit(makeSpillLocation(request), makeEncryptionKey()));
+                    bin = new LogStreamBin();
+                }
+                bin.add(logGroup, logStream, eventMillis, storedBytes);
+            }
+            else {
+                //Slice i reads [sliceBounds[i - 1], sliceBounds[i]), the first and last slices are open ended so that
+                //events outside of the (eventually consistent) LogStream time range are still read.
+                for (int slice = 0; slice <= sliceBounds.size(); slice++) {
+                    //Every split must have a unique location if we wish to spill to avoid failures
+                    SpillLocation spillLocation = makeSpillLocation(request);
 
-            splits.add(splitBuilder.build());
+                    Split.Builder splitBuilder = Split.newBuilder(spillLocation, makeEncryptionKey())
+                            .add(CloudwatchMetadataHandler.LOG_GROUP_FIELD, logGroup)
+                            .add(CloudwatchMetadataHandler.LOG_STREAM_FIELD, logStream)
+                            .add(CloudwatchMetadataHandler.LOG_STREAM_SIZE_FIELD, String.valueOf(storedBytes));
+                    if (slice > 0) {
+                        splitBuilder.add(LOG_STREAM_START_TIME_FIELD, String.valueOf(sliceBounds.get(slice - 1)));
+                    }
+                    if (slice < sliceBounds.size()) {
+                        splitBuilder.add(LOG_STREAM_END_TIME_FIELD, String.valueOf(sliceBounds.get(slice)));
+                    }
+
+                    splits.add(splitBuilder.build());
+                }
+            }
 
             if (splits.size() >= MAX_SPLITS_PER_REQUEST) {
                 //We exceeded the number of split we want to return in a single request, return and provide
                 //a continuation token.
+                if (!bin.isEmpty()) {
+                    splits.add(bin.toSplit(makeSpillLocation(request), makeEncryptionKey()));
+                }
                 return new GetSplitsResponse(request.getCatalogName(),
                         splits,
-                        encodeContinuationToken(curPartition));
+                        encodeContinuationToken(curPartition + 1));
             }
         }
 
+        if (!bin.isEmpty()) {
+            splits.add(bin.toSplit(makeSpillLocation(request), makeEncryptionKey()));
+        }
+
         return new GetSplitsResponse(request.getCatalogName(), splits, null);
     }
 
+    /**
+     * Determines the boundaries between the time slices a LogStream is divided into. The slices evenly divide the part
+     * of the LogStream's time range that the time constraint can match, with about TARGET_MILLIS_PER_SPLIT per slice.
+     *
+     * @param firstEvent The timestamp of the first event in the LogStream.
+     * @param lastEvent The upper bound of the timestamps of events in the LogStream.
+     * @param timeSpan The span of the time constraint, or null if there is none.
+     * @return The ordered boundaries between slices, empty if the LogStream should be read by a single split.
+     */
+    @VisibleForTesting
+    protected static List<Long> getSliceBounds(long firstEvent, long lastEvent, Range timeSpan)
+    {
+        long low = clipLow(firstEvent, timeSpan);
+        long high = clipHigh(lastEvent, timeSpan);
+        if (high <= low) {
+            return Collections.emptyList();
+        }
+        long slices = Math.min((high - low + TARGET_MILLIS_PER_SPLIT - 1) / TARGET_MILLIS_PER_SPLIT, MAX_SLICES_PER_LOG_STREAM);
+        if (slices <= 1) {
+            return Collections.emptyList();
+        }
+
+        List<Long> bounds = new ArrayList<>();
+        for (long slice = 1; slice < slices; slice++) {
+            bounds.add(low + (high - low) * slice / slices);
+        }
+        return bounds;
+    }
+
+    /**
+     * @return The later of the timestamp and the lower bound of the time constraint, if there is one.
+     */
+    private static long clipLow(long timestamp, Range timeSpan)
+    {
+        if (timeSpan != null && !timeSpan.getLow().isLowerUnbounded()) {
+            return Math.max(timestamp, (Long) timeSpan.getLow().getValue());
+        }
+        return timestamp;
+    }
+
+    /**
+     * @return The earlier of the timestamp and the upper bound of the time constraint, if there is one.
+     */
+    private static long clipHigh(long timestamp, Range timeSpan)
+    {
+        if (timeSpan != null && !timeSpan.getHigh().isUpperUnbounded()) {
+            return Math.min(timestamp, (Long) timeSpan.getHigh().getValue());
+        }
+        return timestamp;
+    }
+
+    /**
+     * @return The upper bound of the timestamps of the events in the LogStream, or null if it is not known.
+     */
+    private static Long getLastEventBound(LogStream logStream)
+    {
+        Long lastEvent = logStream.getLastEventTimestamp();
+        if (logStream.getLastIngestionTime() != null) {
+            long ingestionBound = logStream.getLastIngestionTime() + MAX_EVENT_AHEAD_OF_INGESTION_MILLIS;
+            lastEvent = (lastEvent == null) ? ingestionBound : Math.max(lastEvent, ingestionBound);
+        }
+        return lastEvent;
+    }
+
+    /**
+     * @return The span of the time constraint if it is one we push down into Cloudwatch, null otherwise.
+     */
+    private static Range getTimeSpan(ValueSet timeConstraint)
+    {
+        if (timeConstraint instanceof SortedRangeSet && !timeConstraint.isNullAllowed()) {
+            return ((SortedRangeSet) timeConstraint).getSpan();
+        }
+        return null;
+    }
+
+    /**
+     * Checks if any of the ranges of the time constraint intersects with [low, high].
+     *
+     * @return False if the time constraint can not be satisfied by any timestamp in [low, high], true otherwise.
+     */
+    @VisibleForTesting
+    protected static boolean overlaps(ValueSet timeConstraint, long low, long high)
+    {
+        if (!(timeConstraint instanceof SortedRangeSet)) {
+            return true;
+        }
+
+        for (Range range : ((SortedRangeSet) timeConstraint).getOrderedRanges()) {
+            Marker rangeLow = range.getLow();
+            Marker rangeHigh = range.getHigh();
+            if (!rangeLow.isLowerUnbounded()) {
+                long value = (Long) rangeLow.getValue();
+                if (value > high || (value == high && rangeLow.getBound() == Marker.Bound.ABOVE)) {
+                    continue;
+                }
+            }
+            if (!rangeHigh.isUpperUnbounded()) {
+                long value = (Long) rangeHigh.getValue();
+                if (value < low || (value == low && rangeHigh.getBound() == Marker.Bound.BELOW)) {
+                    continue;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * @return The number of LogStreams that may be packed into a single split.
+     */
+    private static int getMaxLogStreamsPerSplit()
+    {
+        String logStreamsPerSplit = System.getenv(LOG_STREAMS_PER_SPLIT_ENV);
+        if (logStreamsPerSplit == null) {
+            return DEFAULT_LOG_STREAMS_PER_SPLIT;
+        }
+        return Math.max(1, Math.min(Integer.parseInt(logStreamsPerSplit), MAX_LOG_STREAMS_PER_SPLIT));
+    }
+
+    /**
+     * Collects LogStreams of one LogGroup that are read together by a single split.
+     */
+    private static class LogStreamBin
+    {
+        private final List<String> logStreams = new ArrayList<>();
+        private String logGroup;
+        private long eventMillis;
+        private long storedBytes;
+
+        boolean isEmpty()
+        {
+            return logStreams.isEmpty();
+        }
+
+        boolean fits(String logGroup, long eventMillis, int maxLogStreams)
+        {
+            return isEmpty() || (this.logGroup.equals(logGroup)
+                    && logStreams.size() < maxLogStreams
+                    && this.eventMillis + eventMillis <= TARGET_MILLIS_PER_SPLIT);
+        }
+
+        void add(String logGroup, String logStream, long eventMillis, long storedBytes)
+        {
+            this.logGroup = logGroup;
+            this.logStreams.add(logStream);
+            this.eventMillis += eventMillis;
+            this.storedBytes += storedBytes;
+        }
+
+        Split toSplit(SpillLocation spillLocation, EncryptionKey encryptionKey)
+        {
+            Split.Builder splitBuilder = Split.newBuilder(spillLocation, encryptionKey)
+                    .add(LOG_GROUP_FIELD, logGroup)
+                    .add(LOG_STREAM_SIZE_FIELD, String.valueOf(storedBytes));
+            if (logStreams.size() == 1) {
+                splitBuilder.add(LOG_STREAM_FIELD, logStreams.get(0));
+            }
+            else {
+                //Log stream names can not contain ':'
+                splitBuilder.add(LOG_STREAMS_FIELD, String.join(":", logStreams));
+            }
+            return splitBuilder.build();
+        }
+    }
+
     /**
      * Used to handle paginated requests.
      *
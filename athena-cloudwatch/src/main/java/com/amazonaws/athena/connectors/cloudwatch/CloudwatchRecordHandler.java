@@ -35,6 +35,9 @@ import com.amazonaws.services.athena.AmazonAthena;
 import com.amazonaws.services.athena.AmazonAthenaClientBuilder;
 import com.amazonaws.services.logs.AWSLogs;
 import com.amazonaws.services.logs.AWSLogsClientBuilder;
+import com.amazonaws.services.logs.model.FilterLogEventsRequest;
+import com.amazonaws.services.logs.model.FilterLogEventsResult;
+import com.amazonaws.services.logs.model.FilteredLogEvent;
 import com.amazonaws.services.logs.model.GetLogEventsRequest;
 import com.amazonaws.services.logs.model.GetLogEventsResult;
 import com.amazonaws.services.logs.model.OutputLogEvent;
@@ -46,13 +49,18 @@ import org.apache.arrow.util.VisibleForTesting;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Arrays;
+import java.util.List;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicLong;
 
 import static com.amazonaws.athena.connectors.cloudwatch.CloudwatchExceptionFilter.EXCEPTION_FILTER;
 import static com.amazonaws.athena.connectors.cloudwatch.CloudwatchMetadataHandler.LOG_GROUP_FIELD;
 import static com.amazonaws.athena.connectors.cloudwatch.CloudwatchMetadataHandler.LOG_MSG_FIELD;
+import static com.amazonaws.athena.connectors.cloudwatch.CloudwatchMetadataHandler.LOG_STREAMS_FIELD;
+import static com.amazonaws.athena.connectors.cloudwatch.CloudwatchMetadataHandler.LOG_STREAM_END_TIME_FIELD;
 import static com.amazonaws.athena.connectors.cloudwatch.CloudwatchMetadataHandler.LOG_STREAM_FIELD;
+import static com.amazonaws.athena.connectors.cloudwatch.CloudwatchMetadataHandler.LOG_STREAM_START_TIME_FIELD;
 import static com.amazonaws.athena.connectors.cloudwatch.CloudwatchMetadataHandler.LOG_TIME_FIELD;
 
 /**
@@ -60,7 +68,8 @@ import static com.amazonaws.athena.connectors.cloudwatch.CloudwatchMetadataHandl
  * <p>
  * For more detail, please see the module's README.md, some notable characteristics of this class include:
  * <p>
- * 1. Reads and maps Cloudwatch Logs data for a specific LogStream (split)
+ * 1. Reads and maps Cloudwatch Logs data for a specific LogStream, time slice of a LogStream or set of small
+ *    LogStreams (split)
  * 2. Attempts to push down time range predicates into Cloudwatch.
  */
 public class CloudwatchRecordHandler
@@ -98,14 +107,19 @@ public class CloudwatchRecordHandler
     protected void readWithConstraint(BlockSpiller spiller, ReadRecordsRequest recordsRequest, QueryStatusChecker queryStatusChecker)
             throws TimeoutException
     {
-        String continuationToken = null;
-        TableName tableName = recordsRequest.getTableName();
         Split split = recordsRequest.getSplit();
         invoker.setBlockSpiller(spiller);
+        if (split.getProperty(LOG_STREAMS_FIELD) != null) {
+            readLogStreams(spiller, recordsRequest, queryStatusChecker);
+            return;
+        }
+
+        String continuationToken = null;
+        TableName tableName = recordsRequest.getTableName();
         do {
             final String actualContinuationToken = continuationToken;
             GetLogEventsResult logEventsResult = invoker.invoke(() -> awsLogs.getLogEvents(
-                    pushDownConstraints(recordsRequest.getConstraints(),
+                    pushDownTimeSlice(split, pushDownConstraints(recordsRequest.getConstraints(),
                             new GetLogEventsRequest()
                                     .withLogGroupName(split.getProperty(LOG_GROUP_FIELD))
                                     //We use the property instead of the table name because of the special all_streams table
@@ -113,7 +127,7 @@ public class CloudwatchRecordHandler
                                     .withNextToken(actualContinuationToken)
                                     // must be set to use nextToken correctly
                                     .withStartFromHead(true)
-                    )));
+                    ))));
 
             if (continuationToken == null || !continuationToken.equals(logEventsResult.getNextForwardToken())) {
                 continuationToken = logEventsResult.getNextForwardToken();
@@ -139,6 +153,48 @@ public class CloudwatchRecordHandler
         while (continuationToken != null && queryStatusChecker.isQueryRunning());
     }
 
+    /**
+     * Scans the several small LogStreams packed into the split with a single FilterLogEvents request per page.
+     */
+    private void readLogStreams(BlockSpiller spiller, ReadRecordsRequest recordsRequest, QueryStatusChecker queryStatusChecker)
+            throws TimeoutException
+    {
+        String nextToken = null;
+        TableName tableName = recordsRequest.getTableName();
+        Split split = recordsRequest.getSplit();
+        List<String> logStreams = Arrays.asList(split.getProperty(LOG_STREAMS_FIELD).split(":"));
+        Range timeSpan = getTimeSpan(recordsRequest.getConstraints());
+        do {
+            FilterLogEventsRequest request = new FilterLogEventsRequest()
+                    .withLogGroupName(split.getProperty(LOG_GROUP_FIELD))
+                    .withLogStreamNames(logStreams)
+                    .withNextToken(nextToken);
+            if (timeSpan != null && !timeSpan.getLow().isNullValue()) {
+                request.setStartTime((Long) timeSpan.getLow().getValue());
+            }
+            if (timeSpan != null && !timeSpan.getHigh().isNullValue()) {
+                request.setEndTime((Long) timeSpan.getHigh().getValue());
+            }
+
+            FilterLogEventsResult result = invoker.invoke(() -> awsLogs.filterLogEvents(request));
+            nextToken = result.getNextToken();
+
+            for (FilteredLogEvent event : result.getEvents()) {
+                spiller.writeRows((Block block, int rowNum) -> {
+                    boolean matched = true;
+                    matched &= block.offerValue(LOG_STREAM_FIELD, rowNum, event.getLogStreamName());
+                    matched &= block.offerValue(LOG_TIME_FIELD, rowNum, event.getTimestamp());
+                    matched &= block.offerValue(LOG_MSG_FIELD, rowNum, event.getMessage());
+                    return matched ? 1 : 0;
+                });
+            }
+
+            logger.info("readLogStreams: LogGroup[{}] LogStreams[{}] Continuation[{}] rows[{}]",
+                    tableName.getSchemaName(), logStreams.size(), nextToken, result.getEvents().size());
+        }
+        while (nextToken != null && queryStatusChecker.isQueryRunning());
+    }
+
     /**
      * Attempts to push down predicates into Cloudwatch Logs by decorating the Cloudwatch Logs request.
      *
@@ -149,15 +205,8 @@ public class CloudwatchRecordHandler
      */
     private GetLogEventsRequest pushDownConstraints(Constraints constraints, GetLogEventsRequest request)
     {
-        ValueSet timeConstraint = constraints.getSummary().get(LOG_TIME_FIELD);
-        if (timeConstraint instanceof SortedRangeSet && !timeConstraint.isNullAllowed()) {
-            //SortedRangeSet is how >, <, between is represented which are easiest and most common when
-            //searching logs so we attempt to push that down here as an optimization. SQL can represent complex
-            //overlapping ranges which Cloudwatch can not support so this is not a replacement for applying
-            //constraints using the ConstraintEvaluator.
-
-            Range basicPredicate = ((SortedRangeSet) timeConstraint).getSpan();
-
+        Range basicPredicate = getTimeSpan(constraints);
+        if (basicPredicate != null) {
             if (!basicPredicate.getLow().isNullValue()) {
                 Long lowerBound = (Long) basicPredicate.getLow().getValue();
                 request.setStartTime(lowerBound);
@@ -171,4 +220,44 @@ public class CloudwatchRecordHandler
 
         return request;
     }
+
+    /**
+     * @return The span of the time constraint if it can be pushed down into Cloudwatch Logs, null otherwise.
+     */
+    private Range getTimeSpan(Constraints constraints)
+    {
+        ValueSet timeConstraint = constraints.getSummary().get(LOG_TIME_FIELD);
+        if (timeConstraint instanceof SortedRangeSet && !timeConstraint.isNullAllowed()) {
+            //SortedRangeSet is how >, <, between is represented which are easiest and most common when
+            //searching logs so we attempt to push that down here as an optimization. SQL can represent complex
+            //overlapping ranges which Cloudwatch can not support so this is not a replacement for applying
+            //constraints using the ConstraintEvaluator.
+            return ((SortedRangeSet) timeConstraint).getSpan();
+        }
+        return null;
+    }
+
+    /**
+     * Restricts the Cloudwatch Logs request to the time slice of the LogStream that the split reads, if any.
+     *
+     * @param split The split being read.
+     * @param request The Cloudwatch Logs request to restrict.
+     * @return The decorated Cloudwatch Logs request.
+     */
+    private GetLogEventsRequest pushDownTimeSlice(Split split, GetLogEventsRequest request)
+    {
+        String startTime = split.getProperty(LOG_STREAM_START_TIME_FIELD);
+        if (startTime != null) {
+            long sliceStart = Long.parseLong(startTime);
+            request.setStartTime(request.getStartTime() == null ? sliceStart : Math.max(request.getStartTime(), sliceStart));
+        }
+
+        String endTime = split.getProperty(LOG_STREAM_END_TIME_FIELD);
+        if (endTime != null) {
+            long sliceEnd = Long.parseLong(endTime);
+            request.setEndTime(request.getEndTime() == null ? sliceEnd : Math.min(request.getEndTime(), sliceEnd));
+        }
+
+        return request;
+    }
 }
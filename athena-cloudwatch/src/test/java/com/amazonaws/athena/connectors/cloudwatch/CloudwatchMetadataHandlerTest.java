@@ -28,6 +28,8 @@ import com.amazonaws.athena.connector.lambda.domain.Split;
 import com.amazonaws.athena.connector.lambda.domain.TableName;
 import com.amazonaws.athena.connector.lambda.domain.predicate.Constraints;
 import com.amazonaws.athena.connector.lambda.domain.predicate.EquatableValueSet;
+import com.amazonaws.athena.connector.lambda.domain.predicate.Range;
+import com.amazonaws.athena.connector.lambda.domain.predicate.SortedRangeSet;
 import com.amazonaws.athena.connector.lambda.domain.predicate.ValueSet;
 import com.amazonaws.athena.connector.lambda.metadata.GetSplitsRequest;
 import com.amazonaws.athena.connector.lambda.metadata.GetSplitsResponse;
@@ -52,6 +54,8 @@ import com.amazonaws.services.logs.model.DescribeLogStreamsResult;
 import com.amazonaws.services.logs.model.LogGroup;
 import com.amazonaws.services.logs.model.LogStream;
 import com.amazonaws.services.secretsmanager.AWSSecretsManager;
+import com.google.common.collect.ImmutableList;
+import org.apache.arrow.vector.complex.reader.FieldReader;
 import org.apache.arrow.vector.types.Types;
 import org.apache.arrow.vector.types.pojo.ArrowType;
 import org.apache.arrow.vector.types.pojo.Schema;
@@ -358,13 +362,15 @@ public class CloudwatchMetadataHandlerTest
                 .addField(CloudwatchMetadataHandler.LOG_STREAM_FIELD, new ArrowType.Utf8())
                 .addField(CloudwatchMetadataHandler.LOG_STREAM_SIZE_FIELD, new ArrowType.Int(64, true))
                 .addField(CloudwatchMetadataHandler.LOG_GROUP_FIELD, new ArrowType.Utf8())
+                .addField(CloudwatchMetadataHandler.LOG_STREAM_FIRST_EVENT_FIELD, new ArrowType.Int(64, true))
+                .addField(CloudwatchMetadataHandler.LOG_STREAM_LAST_EVENT_FIELD, new ArrowType.Int(64, true))
                 .build();
 
         Block partitions = allocator.createBlock(schema);
 
         int num_partitions = 2_000;
         for (int i = 0; i < num_partitions; i++) {
-            BlockUtils.setValue(partitions.getFieldVector(CloudwatchMetadataHandler.LOG_STREAM_SIZE_FIELD), i, 2016L + i);
+            BlockUtils.setValue(partitions.getFieldVector(CloudwatchMetadataHandler.LOG_STREAM_SIZE_FIELD), i, 0L);
             BlockUtils.setValue(partitions.getFieldVector(CloudwatchMetadataHandler.LOG_STREAM_FIELD), i, "log_stream_" + i);
             BlockUtils.setValue(partitions.getFieldVector(CloudwatchMetadataHandler.LOG_GROUP_FIELD), i, "log_group_" + i);
         }
@@ -408,4 +414,193 @@ public class CloudwatchMetadataHandlerTest
 
         logger.info("doGetSplits: exit");
     }
+
+    @Test
+    public void doGetTableLayoutPrunesLogStreamsByTime()
+            throws Exception
+    {
+        when(mockAwsLogs.describeLogStreams(any(DescribeLogStreamsRequest.class))).thenAnswer((InvocationOnMock invocationOnMock) -> {
+            return new DescribeLogStreamsResult().withLogStreams(
+                    //ends long before the queried time range
+                    new LogStream().withLogStreamName("old").withFirstEventTimestamp(1_000L)
+                            .withLastEventTimestamp(2_000L).withLastIngestionTime(2_000L),
+                    //lastEventTimestamp lags behind but the stream is still being ingested into
+                    new LogStream().withLogStreamName("active").withFirstEventTimestamp(1_000L)
+                            .withLastEventTimestamp(2_000L).withLastIngestionTime(100_000_000L),
+                    //starts after the queried time range
+                    new LogStream().withLogStreamName("new").withFirstEventTimestamp(200_000_000L)
+                            .withLastEventTimestamp(300_000_000L).withLastIngestionTime(300_000_000L),
+                    //no events
+                    new LogStream().withLogStreamName("empty"));
+        });
+
+        Map<String, ValueSet> constraintsMap = new HashMap<>();
+        constraintsMap.put(CloudwatchMetadataHandler.LOG_TIME_FIELD,
+                SortedRangeSet.copyOf(Types.MinorType.BIGINT.getType(),
+                        Collections.singletonList(Range.range(allocator, Types.MinorType.BIGINT.getType(),
+                                50_000_000L, true, 100_000_000L, true)), false));
+
+        GetTableLayoutRequest req = new GetTableLayoutRequest(identity,
+                "queryId",
+                "default",
+                new TableName("schema-1", "all_log_streams"),
+                new Constraints(constraintsMap),
+                CloudwatchMetadataHandler.CLOUDWATCH_SCHEMA,
+                Collections.singleton(CloudwatchMetadataHandler.LOG_STREAM_FIELD));
+
+        GetTableLayoutResponse res = handler.doGetTableLayout(allocator, req);
+        Block partitions = res.getPartitions();
+
+        List<String> logStreams = new ArrayList<>();
+        for (int i = 0; i < partitions.getRowCount(); i++) {
+            FieldReader reader = partitions.getFieldReader(CloudwatchMetadataHandler.LOG_STREAM_FIELD);
+            reader.setPosition(i);
+            logStreams.add(reader.readText().toString());
+        }
+        assertEquals(ImmutableList.of("active", "empty"), logStreams);
+    }
+
+    @Test
+    public void overlaps()
+    {
+        ValueSet between = SortedRangeSet.copyOf(Types.MinorType.BIGINT.getType(),
+                Collections.singletonList(Range.range(allocator, Types.MinorType.BIGINT.getType(), 10L, true, 20L, false)), false);
+        ValueSet greaterThan = SortedRangeSet.copyOf(Types.MinorType.BIGINT.getType(),
+                Collections.singletonList(Range.greaterThan(allocator, Types.MinorType.BIGINT.getType(), 20L)), false);
+
+        assertTrue(CloudwatchMetadataHandler.overlaps(null, 0L, 5L));
+        assertTrue(CloudwatchMetadataHandler.overlaps(between, 0L, 10L));
+        assertTrue(CloudwatchMetadataHandler.overlaps(between, 19L, 30L));
+        assertFalse(CloudwatchMetadataHandler.overlaps(between, 0L, 9L));
+        assertFalse(CloudwatchMetadataHandler.overlaps(between, 20L, 30L));
+        assertFalse(CloudwatchMetadataHandler.overlaps(greaterThan, 0L, 20L));
+        assertTrue(CloudwatchMetadataHandler.overlaps(greaterThan, 0L, 21L));
+    }
+
+    @Test
+    public void getSliceBounds()
+    {
+        long day = CloudwatchMetadataHandler.TARGET_MILLIS_PER_SPLIT;
+
+        //the log stream spans less than a slice
+        assertTrue(CloudwatchMetadataHandler.getSliceBounds(0, day, null).isEmpty());
+        assertTrue(CloudwatchMetadataHandler.getSliceBounds(day, 0, null).isEmpty());
+
+        //4 slices of a day each
+        assertEquals(ImmutableList.of(day, 2 * day, 3 * day), CloudwatchMetadataHandler.getSliceBounds(0, 4 * day, null));
+
+        //slices only cover the part of the log stream that the time constraint matches
+        Range span = Range.range(allocator, Types.MinorType.BIGINT.getType(), 2 * day, true, 100 * day, true);
+        assertEquals(ImmutableList.of(3 * day, 4 * day, 5 * day), CloudwatchMetadataHandler.getSliceBounds(0, 6 * day, span));
+        Range narrow = Range.range(allocator, Types.MinorType.BIGINT.getType(), 2 * day, true, 2 * day + 1000L, true);
+        assertTrue(CloudwatchMetadataHandler.getSliceBounds(0, 6 * day, narrow).isEmpty());
+
+        //the number of slices is capped
+        assertEquals(CloudwatchMetadataHandler.MAX_SLICES_PER_LOG_STREAM - 1, CloudwatchMetadataHandler.getSliceBounds(
+                0, 365 * day, null).size());
+    }
+
+    @Test
+    public void doGetSplitsTimeSlices()
+    {
+        Schema schema = SchemaBuilder.newBuilder()
+                .addField(CloudwatchMetadataHandler.LOG_STREAM_FIELD, new ArrowType.Utf8())
+                .addField(CloudwatchMetadataHandler.LOG_STREAM_SIZE_FIELD, new ArrowType.Int(64, true))
+                .addField(CloudwatchMetadataHandler.LOG_GROUP_FIELD, new ArrowType.Utf8())
+                .addField(CloudwatchMetadataHandler.LOG_STREAM_FIRST_EVENT_FIELD, new ArrowType.Int(64, true))
+                .addField(CloudwatchMetadataHandler.LOG_STREAM_LAST_EVENT_FIELD, new ArrowType.Int(64, true))
+                .build();
+
+        Block partitions = allocator.createBlock(schema);
+        //Cloudwatch reports 0 stored bytes, the log stream is sliced by its 3 days of events
+        BlockUtils.setValue(partitions.getFieldVector(CloudwatchMetadataHandler.LOG_STREAM_SIZE_FIELD), 0, 0L);
+        BlockUtils.setValue(partitions.getFieldVector(CloudwatchMetadataHandler.LOG_STREAM_FIELD), 0, "log_stream");
+        BlockUtils.setValue(partitions.getFieldVector(CloudwatchMetadataHandler.LOG_GROUP_FIELD), 0, "log_group");
+        BlockUtils.setValue(partitions.getFieldVector(CloudwatchMetadataHandler.LOG_STREAM_FIRST_EVENT_FIELD), 0, 0L);
+        BlockUtils.setValue(partitions.getFieldVector(CloudwatchMetadataHandler.LOG_STREAM_LAST_EVENT_FIELD), 0,
+                3 * CloudwatchMetadataHandler.TARGET_MILLIS_PER_SPLIT);
+        partitions.setRowCount(1);
+
+        GetSplitsRequest req = new GetSplitsRequest(identity,
+                "queryId",
+                "catalog_name",
+                new TableName("schema", "all_log_streams"),
+                partitions,
+                Collections.singletonList(CloudwatchMetadataHandler.LOG_STREAM_FIELD),
+                new Constraints(new HashMap<>()),
+                null);
+
+        GetSplitsResponse response = handler.doGetSplits(allocator, req);
+        assertNull(response.getContinuationToken());
+
+        List<String> slices = new ArrayList<>();
+        for (Split split : response.getSplits()) {
+            assertEquals("log_stream", split.getProperty(CloudwatchMetadataHandler.LOG_STREAM_FIELD));
+            slices.add(split.getProperty(CloudwatchMetadataHandler.LOG_STREAM_START_TIME_FIELD) + "-" +
+                    split.getProperty(CloudwatchMetadataHandler.LOG_STREAM_END_TIME_FIELD));
+        }
+        Collections.sort(slices);
+        long day = CloudwatchMetadataHandler.TARGET_MILLIS_PER_SPLIT;
+        assertEquals(ImmutableList.of(2 * day + "-null", day + "-" + 2 * day, "null-" + day), slices);
+    }
+
+    @Test
+    public void doGetSplitsPacksSmallLogStreams()
+    {
+        Schema schema = SchemaBuilder.newBuilder()
+                .addField(CloudwatchMetadataHandler.LOG_STREAM_FIELD, new ArrowType.Utf8())
+                .addField(CloudwatchMetadataHandler.LOG_STREAM_SIZE_FIELD, new ArrowType.Int(64, true))
+                .addField(CloudwatchMetadataHandler.LOG_GROUP_FIELD, new ArrowType.Utf8())
+                .addField(CloudwatchMetadataHandler.LOG_STREAM_FIRST_EVENT_FIELD, new ArrowType.Int(64, true))
+                .addField(CloudwatchMetadataHandler.LOG_STREAM_LAST_EVENT_FIELD, new ArrowType.Int(64, true))
+                .build();
+
+        Block partitions = allocator.createBlock(schema);
+        //250 log streams with a minute of events, 1 log stream with 3 days of events that is time sliced and 3 log
+        //streams with 10 hours of events each, of which only 2 fit into a day of events
+        long hour = 60 * 60 * 1000L;
+        int numPartitions = 254;
+        for (int i = 0; i < numPartitions; i++) {
+            long duration = (i < 250) ? 60_000L : (i == 250) ? 72 * hour : 10 * hour;
+            BlockUtils.setValue(partitions.getFieldVector(CloudwatchMetadataHandler.LOG_STREAM_SIZE_FIELD), i, 0L);
+            BlockUtils.setValue(partitions.getFieldVector(CloudwatchMetadataHandler.LOG_STREAM_FIELD), i, "log_stream_" + i);
+            BlockUtils.setValue(partitions.getFieldVector(CloudwatchMetadataHandler.LOG_GROUP_FIELD), i, "log_group");
+            BlockUtils.setValue(partitions.getFieldVector(CloudwatchMetadataHandler.LOG_STREAM_FIRST_EVENT_FIELD), i, 1_000_000L);
+            BlockUtils.setValue(partitions.getFieldVector(CloudwatchMetadataHandler.LOG_STREAM_LAST_EVENT_FIELD), i, 1_000_000L + duration);
+        }
+        partitions.setRowCount(numPartitions);
+
+        GetSplitsRequest req = new GetSplitsRequest(identity,
+                "queryId",
+                "catalog_name",
+                new TableName("schema", "all_log_streams"),
+                partitions,
+                Collections.singletonList(CloudwatchMetadataHandler.LOG_STREAM_FIELD),
+                new Constraints(new HashMap<>()),
+                null);
+
+        GetSplitsResponse response = handler.doGetSplits(allocator, req);
+        assertNull(response.getContinuationToken());
+
+        List<Integer> packedSizes = new ArrayList<>();
+        int singleLogStreamSplits = 0;
+        for (Split split : response.getSplits()) {
+            assertEquals("log_group", split.getProperty(CloudwatchMetadataHandler.LOG_GROUP_FIELD));
+            if (split.getProperty(CloudwatchMetadataHandler.LOG_STREAMS_FIELD) != null) {
+                assertNull(split.getProperty(CloudwatchMetadataHandler.LOG_STREAM_FIELD));
+                packedSizes.add(split.getProperty(CloudwatchMetadataHandler.LOG_STREAMS_FIELD).split(":").length);
+            }
+            else {
+                assertNotNull(split.getProperty(CloudwatchMetadataHandler.LOG_STREAM_FIELD));
+                singleLogStreamSplits++;
+            }
+        }
+        Collections.sort(packedSizes);
+        List<Integer> expectedPackedSizes = new ArrayList<>(Collections.nCopies(250 / CloudwatchMetadataHandler.DEFAULT_LOG_STREAMS_PER_SPLIT,
+                CloudwatchMetadataHandler.DEFAULT_LOG_STREAMS_PER_SPLIT));
+        expectedPackedSizes.add(0, 2);
+        assertEquals(expectedPackedSizes, packedSizes);
+        //3 time slices and the log stream that did not fit next to the other two
+        assertEquals(4, singleLogStreamSplits);
+    }
 }
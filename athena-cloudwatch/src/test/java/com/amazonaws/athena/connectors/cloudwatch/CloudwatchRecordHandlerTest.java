@@ -41,6 +41,9 @@ import com.amazonaws.athena.connector.lambda.security.FederatedIdentity;
 import com.amazonaws.athena.connector.lambda.security.LocalKeyFactory;
 import com.amazonaws.services.athena.AmazonAthena;
 import com.amazonaws.services.logs.AWSLogs;
+import com.amazonaws.services.logs.model.FilterLogEventsRequest;
+import com.amazonaws.services.logs.model.FilterLogEventsResult;
+import com.amazonaws.services.logs.model.FilteredLogEvent;
 import com.amazonaws.services.logs.model.GetLogEventsRequest;
 import com.amazonaws.services.logs.model.GetLogEventsResult;
 import com.amazonaws.services.logs.model.OutputLogEvent;
@@ -78,6 +81,8 @@ import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyObject;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -283,6 +288,59 @@ public class CloudwatchRecordHandlerTest
         logger.info("doReadRecordsSpill: exit");
     }
 
+    @Test
+    public void doReadRecordsPackedLogStreams()
+            throws Exception
+    {
+        when(mockAwsLogs.filterLogEvents(any(FilterLogEventsRequest.class))).thenAnswer((InvocationOnMock invocationOnMock) -> {
+            FilterLogEventsRequest request = (FilterLogEventsRequest) invocationOnMock.getArguments()[0];
+            assertEquals(ImmutableList.of("stream-1", "stream-2"), request.getLogStreamNames());
+            assertEquals(Long.valueOf(100L), request.getStartTime());
+
+            FilterLogEventsResult result = new FilterLogEventsResult();
+            if (request.getNextToken() == null) {
+                result.withEvents(new FilteredLogEvent().withLogStreamName("stream-1").withTimestamp(100L).withMessage("a"),
+                        new FilteredLogEvent().withLogStreamName("stream-2").withTimestamp(50L).withMessage("b"))
+                        .withNextToken("1");
+            }
+            else {
+                result.withEvents(new FilteredLogEvent().withLogStreamName("stream-2").withTimestamp(200L).withMessage("c"));
+            }
+            return result;
+        });
+
+        Map<String, ValueSet> constraintsMap = new HashMap<>();
+        constraintsMap.put("time", SortedRangeSet.copyOf(Types.MinorType.BIGINT.getType(),
+                ImmutableList.of(Range.greaterThanOrEqual(allocator, Types.MinorType.BIGINT.getType(), 100L)), false));
+
+        ReadRecordsRequest request = new ReadRecordsRequest(identity,
+                "catalog",
+                "queryId-" + System.currentTimeMillis(),
+                new TableName("schema", "all_log_streams"),
+                schemaForRead,
+                Split.newBuilder(S3SpillLocation.newBuilder()
+                                .withBucket(UUID.randomUUID().toString())
+                                .withSplitId(UUID.randomUUID().toString())
+                                .withQueryId(UUID.randomUUID().toString())
+                                .withIsDirectory(true)
+                                .build(),
+                        keyFactory.create())
+                        .add(CloudwatchMetadataHandler.LOG_GROUP_FIELD, "schema")
+                        .add(CloudwatchMetadataHandler.LOG_STREAMS_FIELD, "stream-1:stream-2").build(),
+                new Constraints(constraintsMap),
+                100_000_000_000L,
+                100_000_000_000L
+        );
+
+        RecordResponse rawResponse = handler.doReadRecords(allocator, request);
+
+        assertTrue(rawResponse instanceof ReadRecordsResponse);
+        ReadRecordsResponse response = (ReadRecordsResponse) rawResponse;
+        assertEquals(2, response.getRecords().getRowCount());
+        assertEquals("stream-1", response.getRecords().getFieldReader(CloudwatchMetadataHandler.LOG_STREAM_FIELD).readText().toString());
+        verify(mockAwsLogs, times(2)).filterLogEvents(any(FilterLogEventsRequest.class));
+    }
+
     private class ByteHolder
     {
         private byte[] bytes;
@@ -61,4 +61,13 @@ public class DataLakeGen2QueryStringBuilder extends JdbcSplitQueryBuilder
         LOGGER.debug("Fetching data ");
         return Collections.emptyList();
     }
+
+    /**
+     * The SQL Server driver rejects statements with more than 2100 parameters.
+     */
+    @Override
+    protected int getMaxBindParameters()
+    {
+        return 2000;
+    }
 }
@@ -0,0 +1,582 @@
+/*-
+ * #%L
+ * athena-mongodb
+ * %%
+ * Copyright (C) 2019 Amazon Web Services
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package com.amazonaws.athena.connectors.docdb;
+
+import com.amazonaws.athena.connector.lambda.data.Block;
+import com.amazonaws.athena.connector.lambda.data.BlockUtils;
+import com.amazonaws.athena.connector.lambda.domain.predicate.ConstraintEvaluator;
+import com.amazonaws.athena.connector.lambda.domain.predicate.ValueSet;
+import org.apache.arrow.vector.BigIntVector;
+import org.apache.arrow.vector.BitVector;
+import org.apache.arrow.vector.DateMilliVector;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.Float4Vector;
+import org.apache.arrow.vector.Float8Vector;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.complex.ListVector;
+import org.apache.arrow.vector.complex.StructVector;
+import org.apache.arrow.vector.types.Types;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.apache.arrow.vector.types.pojo.Schema;
+import org.bson.BsonBinaryReader;
+import org.bson.BsonReader;
+import org.bson.BsonType;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.BsonValueCodec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.DocumentCodec;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A projection plan, compiled once per request from the requested Schema, which decodes RawBsonDocuments straight
+ * into the Apache Arrow vectors of a Block. Each document's BSON is walked once, fields which were not projected are
+ * skipped without being decoded and STRUCT/LIST fields are written into their child vectors without first building
+ * Documents or Lists.
+ * <p>
+ * Values whose BSON type matches the field's Arrow type are written directly. All other values, as well as fields
+ * which have a constraint on them, are decoded to the same Java objects an org.bson.Document would hold and then
+ * written using TypeUtils.coerce(...) so that coercion and constraint evaluation work as they always have.
+ */
+public class BsonProjection
+{
+    private static final DecoderContext DECODER_CONTEXT = DecoderContext.builder().build();
+    private static final DocumentCodec DOCUMENT_CODEC = new DocumentCodec();
+    private static final BsonValueCodec BSON_VALUE_CODEC = new BsonValueCodec();
+
+    private final FieldSet fields;
+    private Block lastBlock;
+    private FieldVector[] vectors;
+
+    private BsonProjection(FieldSet fields)
+    {
+        this.fields = fields;
+    }
+
+    /**
+     * Compiles a projection plan for the given Schema.
+     *
+     * @param schema The Schema of the Blocks that this plan will write to.
+     * @param constraintSummary The constraints of the request, fields present in this map are evaluated as they are written.
+     * @param evaluator The ConstraintEvaluator to use when writing constrained fields.
+     * @return The compiled projection plan.
+     */
+    public static BsonProjection compile(Schema schema, Map<String, ValueSet> constraintSummary, ConstraintEvaluator evaluator)
+    {
+        List<FieldDecoder> decoders = new ArrayList<>();
+        for (Field next : schema.getFields()) {
+            if (constraintSummary.containsKey(next.getName()) && !isComplex(next)) {
+                decoders.add(new ConstrainedDecoder(next, evaluator));
+            }
+            else {
+                decoders.add(makeDecoder(next));
+            }
+        }
+        return new BsonProjection(new FieldSet(decoders));
+    }
+
+    /**
+     * Writes the projected fields of the document to the given row of the Block. Fields which are missing from the
+     * document are set to null.
+     *
+     * @param block The Block to write to.
+     * @param rowNum The row to write.
+     * @param document The document to decode.
+     * @return True if the row satisfied all constraints, false otherwise.
+     */
+    public boolean writeRow(Block block, int rowNum, RawBsonDocument document)
+    {
+        if (block != lastBlock) {
+            vectors = new FieldVector[fields.decoders.length];
+            for (int i = 0; i < vectors.length; i++) {
+                vectors[i] = block.getFieldVector(fields.decoders[i].field.getName());
+            }
+            lastBlock = block;
+        }
+
+        try (BsonBinaryReader reader = new BsonBinaryReader(document.getByteBuffer().asNIO())) {
+            return fields.write(reader, vectors, rowNum);
+        }
+    }
+
+    private static boolean isComplex(Field field)
+    {
+        Types.MinorType minorType = Types.getMinorTypeForArrowType(field.getType());
+        return minorType == Types.MinorType.STRUCT || minorType == Types.MinorType.LIST;
+    }
+
+    private static FieldDecoder makeDecoder(Field field)
+    {
+        switch (Types.getMinorTypeForArrowType(field.getType())) {
+            case VARCHAR:
+                return new VarCharDecoder(field);
+            case INT:
+                return new IntDecoder(field);
+            case BIGINT:
+                return new BigIntDecoder(field);
+            case FLOAT8:
+                return new Float8Decoder(field);
+            case FLOAT4:
+                return new Float4Decoder(field);
+            case BIT:
+                return new BitDecoder(field);
+            case DATEMILLI:
+                return new DateMilliDecoder(field);
+            case STRUCT:
+                List<FieldDecoder> children = new ArrayList<>();
+                for (Field next : field.getChildren()) {
+                    children.add(makeDecoder(next));
+                }
+                return new StructDecoder(field, new FieldSet(children));
+            case LIST:
+                return new ListDecoder(field, makeDecoder(field.getChildren().get(0)));
+            default:
+                return new CoercingDecoder(field);
+        }
+    }
+
+    /**
+     * Reads the current value into the Java type that org.bson.Document would have used for it.
+     */
+    private static Object readValue(BsonReader reader)
+    {
+        switch (reader.getCurrentBsonType()) {
+            case DOUBLE:
+                return reader.readDouble();
+            case STRING:
+                return reader.readString();
+            case INT32:
+                return reader.readInt32();
+            case INT64:
+                return reader.readInt64();
+            case BOOLEAN:
+                return reader.readBoolean();
+            case DATE_TIME:
+                return new Date(reader.readDateTime());
+            case OBJECT_ID:
+                return reader.readObjectId();
+            case TIMESTAMP:
+                return reader.readTimestamp();
+            case DECIMAL128:
+                return reader.readDecimal128();
+            case BINARY:
+                return reader.readBinaryData().getData();
+            case NULL:
+                reader.readNull();
+                return null;
+            case DOCUMENT:
+                return DOCUMENT_CODEC.decode(reader, DECODER_CONTEXT);
+            case ARRAY:
+                List<Object> values = new ArrayList<>();
+                reader.readStartArray();
+                while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+                    values.add(readValue(reader));
+                }
+                reader.readEndArray();
+                return values;
+            default:
+                return BSON_VALUE_CODEC.decode(reader, DECODER_CONTEXT);
+        }
+    }
+
+    /**
+     * The fields of a document, or sub-document, that were projected along with the decoders used to write them.
+     */
+    private static class FieldSet
+    {
+        private final FieldDecoder[] decoders;
+        private final Map<String, Integer> positions = new HashMap<>();
+        private final boolean[] seen;
+
+        FieldSet(List<FieldDecoder> decoders)
+        {
+            this.decoders = decoders.toArray(new FieldDecoder[0]);
+            this.seen = new boolean[this.decoders.length];
+            for (int i = 0; i < this.decoders.length; i++) {
+                positions.put(this.decoders[i].field.getName(), i);
+            }
+        }
+
+        /**
+         * Reads the document the reader is positioned at, writing each projected field into the matching vector.
+         */
+        boolean write(BsonReader reader, FieldVector[] vectors, int index)
+        {
+            Arrays.fill(seen, false);
+            reader.readStartDocument();
+            while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+                Integer pos = positions.get(reader.readName());
+                if (pos == null || seen[pos]) {
+                    reader.skipValue();
+                    continue;
+                }
+                seen[pos] = true;
+                if (!decoders[pos].write(reader, vectors[pos], index)) {
+                    return false;
+                }
+            }
+            reader.readEndDocument();
+
+            for (int i = 0; i < decoders.length; i++) {
+                if (!seen[i] && !decoders[i].writeNull(vectors[i], index)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Writes the current value of a BsonReader into a specific FieldVector.
+     */
+    private abstract static class FieldDecoder
+    {
+        protected final Field field;
+
+        FieldDecoder(Field field)
+        {
+            this.field = field;
+        }
+
+        /**
+         * @return True if the value satisfied the field's constraints, false otherwise.
+         */
+        boolean write(BsonReader reader, FieldVector vector, int index)
+        {
+            try {
+                if (reader.getCurrentBsonType() == BsonType.NULL) {
+                    reader.readNull();
+                    return writeNull(vector, index);
+                }
+                return writeValue(reader, vector, index);
+            }
+            catch (RuntimeException ex) {
+                throw new RuntimeException("Error while processing field " + field.getName(), ex);
+            }
+        }
+
+        abstract boolean writeValue(BsonReader reader, FieldVector vector, int index);
+
+        boolean writeNull(FieldVector vector, int index)
+        {
+            BlockUtils.setValue(vector, index, null);
+            return true;
+        }
+
+        boolean writeCoerced(BsonReader reader, FieldVector vector, int index)
+        {
+            BlockUtils.setValue(vector, index, TypeUtils.coerce(field, readValue(reader)));
+            return true;
+        }
+    }
+
+    private static class CoercingDecoder
+            extends FieldDecoder
+    {
+        CoercingDecoder(Field field)
+        {
+            super(field);
+        }
+
+        @Override
+        boolean writeValue(BsonReader reader, FieldVector vector, int index)
+        {
+            return writeCoerced(reader, vector, index);
+        }
+    }
+
+    private static class ConstrainedDecoder
+            extends FieldDecoder
+    {
+        private final ConstraintEvaluator evaluator;
+
+        ConstrainedDecoder(Field field, ConstraintEvaluator evaluator)
+        {
+            super(field);
+            this.evaluator = evaluator;
+        }
+
+        @Override
+        boolean writeValue(BsonReader reader, FieldVector vector, int index)
+        {
+            Object value = TypeUtils.coerce(field, readValue(reader));
+            if (!evaluator.apply(field.getName(), value)) {
+                return false;
+            }
+            BlockUtils.setValue(vector, index, value);
+            return true;
+        }
+
+        @Override
+        boolean writeNull(FieldVector vector, int index)
+        {
+            if (!evaluator.apply(field.getName(), null)) {
+                return false;
+            }
+            return super.writeNull(vector, index);
+        }
+    }
+
+    private static class VarCharDecoder
+            extends FieldDecoder
+    {
+        VarCharDecoder(Field field)
+        {
+            super(field);
+        }
+
+        @Override
+        boolean writeValue(BsonReader reader, FieldVector vector, int index)
+        {
+            switch (reader.getCurrentBsonType()) {
+                case STRING:
+                    ((VarCharVector) vector).setSafe(index, reader.readString().getBytes(StandardCharsets.UTF_8));
+                    return true;
+                case OBJECT_ID:
+                    ((VarCharVector) vector).setSafe(index, reader.readObjectId().toHexString().getBytes(StandardCharsets.UTF_8));
+                    return true;
+                default:
+                    return writeCoerced(reader, vector, index);
+            }
+        }
+    }
+
+    private static class IntDecoder
+            extends FieldDecoder
+    {
+        IntDecoder(Field field)
+        {
+            super(field);
+        }
+
+        @Override
+        boolean writeValue(BsonReader reader, FieldVector vector, int index)
+        {
+            if (reader.getCurrentBsonType() == BsonType.INT32) {
+                ((IntVector) vector).setSafe(index, reader.readInt32());
+                return true;
+            }
+            return writeCoerced(reader, vector, index);
+        }
+    }
+
+    private static class BigIntDecoder
+            extends FieldDecoder
+    {
+        BigIntDecoder(Field field)
+        {
+            super(field);
+        }
+
+        @Override
+        boolean writeValue(BsonReader reader, FieldVector vector, int index)
+        {
+            switch (reader.getCurrentBsonType()) {
+                case INT64:
+                    ((BigIntVector) vector).setSafe(index, reader.readInt64());
+                    return true;
+                case INT32:
+                    ((BigIntVector) vector).setSafe(index, reader.readInt32());
+                    return true;
+                default:
+                    return writeCoerced(reader, vector, index);
+            }
+        }
+    }
+
+    private static class Float8Decoder
+            extends FieldDecoder
+    {
+        Float8Decoder(Field field)
+        {
+            super(field);
+        }
+
+        @Override
+        boolean writeValue(BsonReader reader, FieldVector vector, int index)
+        {
+            switch (reader.getCurrentBsonType()) {
+                case DOUBLE:
+                    ((Float8Vector) vector).setSafe(index, reader.readDouble());
+                    return true;
+                case INT32:
+                    ((Float8Vector) vector).setSafe(index, reader.readInt32());
+                    return true;
+                default:
+                    return writeCoerced(reader, vector, index);
+            }
+        }
+    }
+
+    private static class Float4Decoder
+            extends FieldDecoder
+    {
+        Float4Decoder(Field field)
+        {
+            super(field);
+        }
+
+        @Override
+        boolean writeValue(BsonReader reader, FieldVector vector, int index)
+        {
+            switch (reader.getCurrentBsonType()) {
+                case DOUBLE:
+                    ((Float4Vector) vector).setSafe(index, (float) reader.readDouble());
+                    return true;
+                case INT32:
+                    ((Float4Vector) vector).setSafe(index, (float) reader.readInt32());
+                    return true;
+                default:
+                    return writeCoerced(reader, vector, index);
+            }
+        }
+    }
+
+    private static class BitDecoder
+            extends FieldDecoder
+    {
+        BitDecoder(Field field)
+        {
+            super(field);
+        }
+
+        @Override
+        boolean writeValue(BsonReader reader, FieldVector vector, int index)
+        {
+            if (reader.getCurrentBsonType() == BsonType.BOOLEAN) {
+                ((BitVector) vector).setSafe(index, reader.readBoolean() ? 1 : 0);
+                return true;
+            }
+            return writeCoerced(reader, vector, index);
+        }
+    }
+
+    private static class DateMilliDecoder
+            extends FieldDecoder
+    {
+        DateMilliDecoder(Field field)
+        {
+            super(field);
+        }
+
+        @Override
+        boolean writeValue(BsonReader reader, FieldVector vector, int index)
+        {
+            switch (reader.getCurrentBsonType()) {
+                case DATE_TIME:
+                    ((DateMilliVector) vector).setSafe(index, reader.readDateTime());
+                    return true;
+                case TIMESTAMP:
+                    ((DateMilliVector) vector).setSafe(index, reader.readTimestamp().getTime() * 1_000L);
+                    return true;
+                default:
+                    return writeCoerced(reader, vector, index);
+            }
+        }
+    }
+
+    private static class StructDecoder
+            extends FieldDecoder
+    {
+        private final FieldSet children;
+        private StructVector lastVector;
+        private FieldVector[] childVectors;
+
+        StructDecoder(Field field, FieldSet children)
+        {
+            super(field);
+            this.children = children;
+        }
+
+        @Override
+        boolean writeValue(BsonReader reader, FieldVector vector, int index)
+        {
+            if (reader.getCurrentBsonType() != BsonType.DOCUMENT) {
+                throw new RuntimeException("Expected a DOCUMENT but found " + reader.getCurrentBsonType());
+            }
+
+            StructVector structVector = (StructVector) vector;
+            if (structVector != lastVector) {
+                childVectors = new FieldVector[children.decoders.length];
+                for (int i = 0; i < childVectors.length; i++) {
+                    childVectors[i] = (FieldVector) structVector.getChild(children.decoders[i].field.getName());
+                }
+                lastVector = structVector;
+            }
+
+            children.write(reader, childVectors, index);
+            structVector.setIndexDefined(index);
+            return true;
+        }
+
+        @Override
+        boolean writeNull(FieldVector vector, int index)
+        {
+            ((StructVector) vector).setNull(index);
+            return true;
+        }
+    }
+
+    private static class ListDecoder
+            extends FieldDecoder
+    {
+        private final FieldDecoder element;
+
+        ListDecoder(Field field, FieldDecoder element)
+        {
+            super(field);
+            this.element = element;
+        }
+
+        @Override
+        boolean writeValue(BsonReader reader, FieldVector vector, int index)
+        {
+            if (reader.getCurrentBsonType() != BsonType.ARRAY) {
+                throw new RuntimeException("Expected an ARRAY but found " + reader.getCurrentBsonType());
+            }
+
+            ListVector listVector = (ListVector) vector;
+            FieldVector dataVector = listVector.getDataVector();
+            int offset = listVector.startNewValue(index);
+            int size = 0;
+            reader.readStartArray();
+            while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+                element.write(reader, dataVector, offset + size++);
+            }
+            reader.readEndArray();
+            listVector.endValue(index, size);
+            return true;
+        }
+
+        @Override
+        boolean writeNull(FieldVector vector, int index)
+        {
+            ((ListVector) vector).setNull(index);
+            return true;
+        }
+    }
+}
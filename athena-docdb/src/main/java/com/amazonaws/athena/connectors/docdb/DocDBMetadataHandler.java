@@ -44,14 +44,24 @@ import com.amazonaws.services.glue.model.Table;
 import com.amazonaws.services.secretsmanager.AWSSecretsManager;
 import com.mongodb.client.MongoClient;
 import com.mongodb.client.MongoCursor;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.Aggregates;
+import com.mongodb.client.model.Projections;
 import org.apache.arrow.util.VisibleForTesting;
 import org.apache.arrow.vector.types.pojo.Field;
 import org.apache.arrow.vector.types.pojo.Schema;
+import org.bson.Document;
+import org.bson.conversions.Bson;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * Handles metadata requests for the Athena DocumentDB Connector.
@@ -86,6 +96,17 @@ public class DocDBMetadataHandler
     private static final TableFilter TABLE_FILTER = (Table table) -> table.getParameters().containsKey(DOCDB_METADATA_FLAG);
     //The number of documents to scan when attempting to infer schema from an DocDB collection.
     private static final int SCHEMA_INFERRENCE_NUM_DOCS = 10;
+    //The field used to divide a collection into splits.
+    private static final String ID_FIELD = "_id";
+    //Split properties holding the (inclusive) start and (exclusive) end of the split's _id range, absent if unbounded.
+    protected static final String ID_RANGE_START = "id_range_start";
+    protected static final String ID_RANGE_END = "id_range_end";
+    //The amount of data (as reported by collStats) we target reading in a single split.
+    private static final long TARGET_BYTES_PER_SPLIT = 256L * 1024 * 1024;
+    //The max number of splits we generate for a single collection.
+    private static final int MAX_SPLITS = 100;
+    //The number of _id values we sample for each split we'd like to generate.
+    private static final int SAMPLES_PER_SPLIT = 20;
 
     private final AWSGlue glue;
     private final DocDBConnectionFactory connectionFactory;
@@ -221,22 +242,97 @@ public class DocDBMetadataHandler
     }
 
     /**
-     * Since our connector does not support parallel scans we generate a single Split and include the connection details
-     * as a property on the split so that the RecordHandler has easy access to it.
+     * Divides the collection into ranges of _id values which can be read in parallel, see getIdBoundaries(...). Each
+     * Split includes the connection details and its _id range as properties so that the RecordHandler has easy access
+     * to them.
      *
      * @see GlueMetadataHandler
      */
     @Override
     public GetSplitsResponse doGetSplits(BlockAllocator blockAllocator, GetSplitsRequest request)
     {
-        //Every split must have a unique location if we wish to spill to avoid failures
-        SpillLocation spillLocation = makeSpillLocation(request);
-
-        //Since our connector does not support parallel reads we return a fixed split.
-        return new GetSplitsResponse(request.getCatalogName(),
-                Split.newBuilder(spillLocation, makeEncryptionKey())
-                        .add(DOCDB_CONN_STR, getConnStr(request))
-                        .build());
+        TableName tableName = request.getTableName();
+        MongoDatabase db = getOrCreateConn(request).getDatabase(tableName.getSchemaName());
+        List<Object> boundaries = getIdBoundaries(db, tableName.getTableName());
+
+        //Each split reads the documents whose _id falls between two consecutive boundaries, the first and last splits
+        //are open ended. With no boundaries we return a single split which reads the whole collection.
+        Set<Split> splits = new HashSet<>();
+        for (int i = 0; i <= boundaries.size(); i++) {
+            //Every split must have a unique location if we wish to spill to avoid failures
+            SpillLocation spillLocation = makeSpillLocation(request);
+            Split.Builder splitBuilder = Split.newBuilder(spillLocation, makeEncryptionKey())
+                    .add(DOCDB_CONN_STR, getConnStr(request));
+            if (i > 0) {
+                splitBuilder.add(ID_RANGE_START, QueryUtils.encodeIdBoundary(boundaries.get(i - 1)));
+            }
+            if (i < boundaries.size()) {
+                splitBuilder.add(ID_RANGE_END, QueryUtils.encodeIdBoundary(boundaries.get(i)));
+            }
+            splits.add(splitBuilder.build());
+        }
+
+        logger.info("doGetSplits: Generated {} splits for {}", splits.size(), tableName);
+        return new GetSplitsResponse(request.getCatalogName(), splits);
+    }
+
+    /**
+     * Picks _id values which divide the collection into roughly equally sized ranges, one per TARGET_BYTES_PER_SPLIT
+     * of data (up to MAX_SPLITS), by sorting a $sample of the collection's _id values and taking evenly spaced values.
+     *
+     * @param db The database holding the collection.
+     * @param collection The name of the collection to divide.
+     * @return The sorted, distinct boundaries between the ranges or an empty list if the collection should be read by
+     * a single split.
+     * @note Range predicates in DocumentDB only match values of the same BSON type so we only divide the collection when
+     * all sampled _id values share one type. The first range is expressed as the negation of $gte which also matches
+     * any _id of another type, ensuring every document belongs to exactly one split.
+     */
+    @VisibleForTesting
+    protected List<Object> getIdBoundaries(MongoDatabase db, String collection)
+    {
+        try {
+            Document stats = db.runCommand(new Document("collStats", collection));
+            long sizeBytes = (stats != null && stats.get("size") instanceof Number) ? ((Number) stats.get("size")).longValue() : 0;
+            int numSplits = (int) Math.min(MAX_SPLITS, 1 + (sizeBytes / TARGET_BYTES_PER_SPLIT));
+            if (numSplits <= 1) {
+                return Collections.emptyList();
+            }
+
+            List<Object> ids = new ArrayList<>();
+            List<Bson> pipeline = Arrays.asList(Aggregates.sample(numSplits * SAMPLES_PER_SPLIT),
+                    Aggregates.project(Projections.include(ID_FIELD)));
+            for (Document next : db.getCollection(collection).aggregate(pipeline)) {
+                Object id = next.get(ID_FIELD);
+                if (!(id instanceof Comparable) || (!ids.isEmpty() && !ids.get(0).getClass().equals(id.getClass()))) {
+                    logger.info("getIdBoundaries: Found _id values of mixed or unsupported types, using a single split.");
+                    return Collections.emptyList();
+                }
+                ids.add(id);
+            }
+
+            List<Object> sortedIds = ids.stream()
+                    .map(next -> (Comparable<Object>) next)
+                    .sorted()
+                    .distinct()
+                    .collect(Collectors.toList());
+
+            List<Object> boundaries = new ArrayList<>();
+            for (int i = 1; i < numSplits; i++) {
+                int index = i * sortedIds.size() / numSplits;
+                Object next = (index > 0) ? sortedIds.get(index) : null;
+                if (next != null && (boundaries.isEmpty() || !boundaries.get(boundaries.size() - 1).equals(next))) {
+                    boundaries.add(next);
+                }
+            }
+            logger.info("getIdBoundaries: size[{}] numSplits[{}] samples[{}] boundaries[{}]",
+                    sizeBytes, numSplits, sortedIds.size(), boundaries.size());
+            return boundaries;
+        }
+        catch (RuntimeException ex) {
+            logger.warn("getIdBoundaries: Unable to sample _id boundaries, using a single split.", ex);
+            return Collections.emptyList();
+        }
     }
 
     /**
@@ -38,17 +38,17 @@ import com.mongodb.client.MongoCollection;
 import com.mongodb.client.MongoCursor;
 import com.mongodb.client.MongoDatabase;
 import org.apache.arrow.util.VisibleForTesting;
-import org.apache.arrow.vector.types.Types;
-import org.apache.arrow.vector.types.pojo.Field;
 import org.bson.Document;
+import org.bson.RawBsonDocument;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicLong;
 
-import static com.amazonaws.athena.connectors.docdb.DocDBFieldResolver.DEFAULT_FIELD_RESOLVER;
 import static com.amazonaws.athena.connectors.docdb.DocDBMetadataHandler.DOCDB_CONN_STR;
+import static com.amazonaws.athena.connectors.docdb.DocDBMetadataHandler.ID_RANGE_END;
+import static com.amazonaws.athena.connectors.docdb.DocDBMetadataHandler.ID_RANGE_START;
 
 /**
  * Handles data read record requests for the Athena DocumentDB Connector.
@@ -119,13 +119,18 @@ public class DocDBRecordHandler
         MongoDatabase db = client.getDatabase(tableName.getSchemaName());
         MongoCollection<Document> table = db.getCollection(tableName.getTableName());
 
-        Document query = QueryUtils.makeQuery(recordsRequest.getSchema(), constraintSummary);
+        Split split = recordsRequest.getSplit();
+        Document query = QueryUtils.makeQuery(recordsRequest.getSchema(), constraintSummary,
+                split.getProperty(ID_RANGE_START), split.getProperty(ID_RANGE_END));
         Document output = QueryUtils.makeProjection(recordsRequest.getSchema());
 
         logger.info("readWithConstraint: query[{}] projection[{}]", query, output);
 
-        final MongoCursor<Document> iterable = table
-                .find(query)
+        BsonProjection projection = BsonProjection.compile(recordsRequest.getSchema(), constraintSummary,
+                spiller.getConstraintEvaluator());
+
+        final MongoCursor<RawBsonDocument> iterable = table
+                .find(query, RawBsonDocument.class)
                 .projection(output)
                 .batchSize(MONGO_QUERY_BATCH_SIZE).iterator();
 
@@ -134,31 +139,9 @@ public class DocDBRecordHandler
         while (iterable.hasNext() && queryStatusChecker.isQueryRunning()) {
             numRows++;
             spiller.writeRows((Block block, int rowNum) -> {
-                Document doc = iterable.next();
-
-                boolean matched = true;
-                for (Field nextField : recordsRequest.getSchema().getFields()) {
-                    Object value = TypeUtils.coerce(nextField, doc.get(nextField.getName()));
-                    Types.MinorType fieldType = Types.getMinorTypeForArrowType(nextField.getType());
-                    try {
-                        switch (fieldType) {
-                            case LIST:
-                            case STRUCT:
-                                matched &= block.offerComplexValue(nextField.getName(), rowNum, DEFAULT_FIELD_RESOLVER, value);
-                                break;
-                            default:
-                                matched &= block.offerValue(nextField.getName(), rowNum, value);
-                                break;
-                        }
-                        if (!matched) {
-                            return 0;
-                        }
-                    }
-                    catch (Exception ex) {
-                        throw new RuntimeException("Error while processing field " + nextField.getName(), ex);
-                    }
+                if (!projection.writeRow(block, rowNum, iterable.next())) {
+                    return 0;
                 }
-
                 numResultRows.getAndIncrement();
                 return 1;
             });
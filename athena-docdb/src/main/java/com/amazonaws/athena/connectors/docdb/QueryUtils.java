@@ -44,8 +44,11 @@ import org.apache.arrow.vector.types.pojo.Field;
 import org.apache.arrow.vector.types.pojo.Schema;
 import org.apache.arrow.vector.util.Text;
 import org.bson.Document;
+import org.bson.json.JsonMode;
+import org.bson.json.JsonWriterSettings;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 
@@ -76,6 +79,10 @@ public final class QueryUtils
     private static final String IN_OP = "$in";
     private static final String NOTIN_OP = "$nin";
 
+    private static final String ID_FIELD = "_id";
+    //Extended JSON preserves the BSON type of split boundaries (e.g. ObjectId, Int64) when they are stored in a Split.
+    private static final JsonWriterSettings ID_JSON_SETTINGS = JsonWriterSettings.builder().outputMode(JsonMode.EXTENDED).build();
+
     private QueryUtils()
     {
     }
@@ -117,6 +124,55 @@ public final class QueryUtils
         return query;
     }
 
+    /**
+     * Given a set of Constraints, the projection Schema and the _id range of a Split, create the Query Document that can
+     * be used to push predicates into DocumentDB and restrict the query to the Split's range of the collection.
+     *
+     * @param schema The schema containing the requested projection.
+     * @param constraintSummary The set of constraints to apply to the query.
+     * @param idRangeStart The encoded, inclusive start of the Split's _id range or null if unbounded.
+     * @param idRangeEnd The encoded, exclusive end of the Split's _id range or null if unbounded.
+     * @return The Document to use as the query.
+     */
+    public static Document makeQuery(Schema schema, Map<String, ValueSet> constraintSummary, String idRangeStart, String idRangeEnd)
+    {
+        Document query = makeQuery(schema, constraintSummary);
+        if (idRangeStart == null && idRangeEnd == null) {
+            return query;
+        }
+
+        Document idRange;
+        if (idRangeStart == null) {
+            //Negating $gte also matches documents whose _id is of a different type than the boundaries.
+            idRange = documentOf(ID_FIELD, documentOf(NOT_OP, documentOf(GTE_OP, decodeIdBoundary(idRangeEnd))));
+        }
+        else {
+            Document bounds = documentOf(GTE_OP, decodeIdBoundary(idRangeStart));
+            if (idRangeEnd != null) {
+                bounds.append(LT_OP, decodeIdBoundary(idRangeEnd));
+            }
+            idRange = documentOf(ID_FIELD, bounds);
+        }
+
+        return query.isEmpty() ? idRange : documentOf(AND_OP, Arrays.asList(query, idRange));
+    }
+
+    /**
+     * Encodes an _id value so that it can be stored as a Split property.
+     *
+     * @param id The _id value.
+     * @return The encoded value, see decodeIdBoundary(...).
+     */
+    public static String encodeIdBoundary(Object id)
+    {
+        return documentOf(ID_FIELD, id).toJson(ID_JSON_SETTINGS);
+    }
+
+    private static Object decodeIdBoundary(String encodedId)
+    {
+        return Document.parse(encodedId).get(ID_FIELD);
+    }
+
     /**
      * Converts a single field constraint into a Document for use in a DocumentDB query.
      *
@@ -0,0 +1,154 @@
+/*-
+ * #%L
+ * athena-docdb
+ * %%
+ * Copyright (C) 2019 - 2020 Amazon Web Services
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package com.amazonaws.athena.connectors.docdb;
+
+import com.amazonaws.athena.connector.lambda.data.Block;
+import com.amazonaws.athena.connector.lambda.data.BlockAllocator;
+import com.amazonaws.athena.connector.lambda.data.BlockAllocatorImpl;
+import com.amazonaws.athena.connector.lambda.data.SchemaBuilder;
+import com.amazonaws.athena.connector.lambda.domain.predicate.ConstraintEvaluator;
+import com.amazonaws.athena.connector.lambda.domain.predicate.Constraints;
+import com.amazonaws.athena.connector.lambda.domain.predicate.Range;
+import com.amazonaws.athena.connector.lambda.domain.predicate.SortedRangeSet;
+import com.amazonaws.athena.connector.lambda.domain.predicate.ValueSet;
+import com.google.common.collect.ImmutableList;
+import org.apache.arrow.vector.complex.reader.FieldReader;
+import org.apache.arrow.vector.types.Types;
+import org.apache.arrow.vector.types.pojo.Schema;
+import org.bson.BsonTimestamp;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.DocumentCodec;
+import org.bson.types.ObjectId;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class BsonProjectionTest
+{
+    private BlockAllocator allocator;
+    private Schema schema;
+
+    @Before
+    public void setUp()
+    {
+        allocator = new BlockAllocatorImpl();
+        schema = SchemaBuilder.newBuilder()
+                .addField("_id", Types.MinorType.VARCHAR.getType())
+                .addField("int", Types.MinorType.INT.getType())
+                .addField("bigint", Types.MinorType.BIGINT.getType())
+                .addField("float8", Types.MinorType.FLOAT8.getType())
+                .addField("datemilli", Types.MinorType.DATEMILLI.getType())
+                .addField("varchar", Types.MinorType.VARCHAR.getType())
+                .addStructField("struct")
+                .addChildField("struct", "struct_string", Types.MinorType.VARCHAR.getType())
+                .addChildField("struct", "struct_int", Types.MinorType.INT.getType())
+                .addListField("list", Types.MinorType.INT.getType())
+                .build();
+    }
+
+    @After
+    public void tearDown()
+    {
+        allocator.close();
+    }
+
+    @Test
+    public void writeRow()
+            throws Exception
+    {
+        Map<String, ValueSet> constraintsMap = new HashMap<>();
+        constraintsMap.put("int", SortedRangeSet.copyOf(Types.MinorType.INT.getType(),
+                ImmutableList.of(Range.greaterThan(allocator, Types.MinorType.INT.getType(), 0)), false));
+
+        try (ConstraintEvaluator evaluator = new ConstraintEvaluator(allocator, schema, new Constraints(constraintsMap));
+                Block block = allocator.createBlock(schema)) {
+            BsonProjection projection = BsonProjection.compile(schema, constraintsMap, evaluator);
+
+            ObjectId id = new ObjectId();
+            List<Integer> list = new ArrayList<>();
+            list.add(1);
+            list.add(2);
+            Document doc1 = new Document("_id", id)
+                    .append("unprojected", new Document("a", 1))
+                    .append("int", 5.0D)
+                    .append("bigint", 7)
+                    .append("float8", 8)
+                    .append("datemilli", new BsonTimestamp(100, 1))
+                    .append("varchar", 9L)
+                    .append("struct", new Document("struct_int", 10).append("unprojected", "x"))
+                    .append("list", list);
+            assertTrue(projection.writeRow(block, 0, toRaw(doc1)));
+
+            //fails the constraint on 'int', the row is then re-used for the next document
+            Document doc2 = new Document("_id", new ObjectId()).append("int", -1).append("varchar", "rejected");
+            assertFalse(projection.writeRow(block, 1, toRaw(doc2)));
+
+            Document doc3 = new Document("int", 3).append("struct", null);
+            assertTrue(projection.writeRow(block, 1, toRaw(doc3)));
+            block.setRowCount(2);
+
+            assertEquals(id.toHexString(), read(block, "_id", 0).readText().toString());
+            assertEquals(5, (int) read(block, "int", 0).readInteger());
+            assertEquals(7L, (long) read(block, "bigint", 0).readLong());
+            assertEquals(8.0D, read(block, "float8", 0).readDouble(), 0.0D);
+            assertEquals(100_000L, (long) read(block, "datemilli", 0).readLocalDateTime()
+                    .atZone(ZoneOffset.UTC).toInstant().toEpochMilli());
+            assertEquals("9", read(block, "varchar", 0).readText().toString());
+
+            FieldReader struct = read(block, "struct", 0);
+            assertFalse(struct.reader("struct_string").isSet());
+            assertEquals(10, (int) struct.reader("struct_int").readInteger());
+
+            FieldReader listReader = read(block, "list", 0);
+            assertEquals(2, listReader.size());
+            listReader.next();
+            assertEquals(1, (int) listReader.reader().readInteger());
+            listReader.next();
+            assertEquals(2, (int) listReader.reader().readInteger());
+
+            assertEquals(3, (int) read(block, "int", 1).readInteger());
+            assertFalse(read(block, "_id", 1).isSet());
+            assertFalse(read(block, "varchar", 1).isSet());
+            assertFalse(read(block, "struct", 1).isSet());
+            assertFalse(read(block, "list", 1).isSet());
+        }
+    }
+
+    private static FieldReader read(Block block, String field, int row)
+    {
+        FieldReader reader = block.getFieldReader(field);
+        reader.setPosition(row);
+        return reader;
+    }
+
+    private static RawBsonDocument toRaw(Document document)
+    {
+        return new RawBsonDocument(document, new DocumentCodec());
+    }
+}
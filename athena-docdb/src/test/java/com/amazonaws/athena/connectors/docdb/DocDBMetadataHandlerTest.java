@@ -24,6 +24,7 @@ import com.amazonaws.athena.connector.lambda.data.BlockAllocator;
 import com.amazonaws.athena.connector.lambda.data.BlockAllocatorImpl;
 import com.amazonaws.athena.connector.lambda.data.BlockUtils;
 import com.amazonaws.athena.connector.lambda.data.SchemaBuilder;
+import com.amazonaws.athena.connector.lambda.domain.Split;
 import com.amazonaws.athena.connector.lambda.domain.TableName;
 import com.amazonaws.athena.connector.lambda.domain.predicate.Constraints;
 import com.amazonaws.athena.connector.lambda.metadata.GetSplitsRequest;
@@ -42,6 +43,8 @@ import com.amazonaws.athena.connector.lambda.security.LocalKeyFactory;
 import com.amazonaws.services.athena.AmazonAthena;
 import com.amazonaws.services.glue.AWSGlue;
 import com.amazonaws.services.secretsmanager.AWSSecretsManager;
+import com.google.common.collect.ImmutableSet;
+import com.mongodb.client.AggregateIterable;
 import com.mongodb.client.FindIterable;
 import com.mongodb.client.MongoClient;
 import com.mongodb.client.MongoCollection;
@@ -50,6 +53,7 @@ import org.apache.arrow.vector.types.Types;
 import org.apache.arrow.vector.types.pojo.Field;
 import org.apache.arrow.vector.types.pojo.Schema;
 import org.bson.Document;
+import org.bson.types.ObjectId;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Rule;
@@ -64,10 +68,13 @@ import org.slf4j.LoggerFactory;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import static com.amazonaws.athena.connector.lambda.metadata.ListTablesRequest.UNLIMITED_PAGE_SIZE_VALUE;
 import static org.junit.Assert.*;
+import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyInt;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Matchers.eq;
@@ -295,4 +302,60 @@ public class DocDBMetadataHandlerTest
         assertTrue("Continuation criteria violated", response.getSplits().size() == 1);
         assertTrue("Continuation criteria violated", response.getContinuationToken() == null);
     }
+
+    @Test
+    public void doGetSplitsByIdRange()
+    {
+        List<ObjectId> ids = new ArrayList<>();
+        List<Document> samples = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            ObjectId id = new ObjectId();
+            ids.add(id);
+            samples.add(new Document("_id", id));
+        }
+        Collections.shuffle(samples);
+
+        MongoDatabase mockDatabase = mock(MongoDatabase.class);
+        MongoCollection mockCollection = mock(MongoCollection.class);
+        AggregateIterable mockAggregate = mock(AggregateIterable.class);
+        when(mockClient.getDatabase(eq(DEFAULT_SCHEMA))).thenReturn(mockDatabase);
+        when(mockDatabase.getCollection(eq(TEST_TABLE))).thenReturn(mockCollection);
+        //~1GB collection should be read by 5 splits
+        when(mockDatabase.runCommand(any(Document.class))).thenReturn(new Document("size", 1024L * 1024 * 1024));
+        when(mockCollection.aggregate(any(List.class))).thenReturn(mockAggregate);
+        when(mockAggregate.iterator()).thenReturn(new StubbingCursor(samples.iterator()));
+
+        GetSplitsRequest req = new GetSplitsRequest(IDENTITY,
+                QUERY_ID,
+                DEFAULT_CATALOG,
+                TABLE_NAME,
+                BlockUtils.newBlock(allocator, PARTITION_ID, Types.MinorType.INT.getType(), 0),
+                new ArrayList<>(),
+                new Constraints(new HashMap<>()),
+                null);
+
+        GetSplitsResponse response = handler.doGetSplits(allocator, req);
+        assertEquals(5, response.getSplits().size());
+        assertNull(response.getContinuationToken());
+
+        Set<ObjectId> starts = new HashSet<>();
+        int unboundedStarts = 0;
+        int unboundedEnds = 0;
+        for (Split next : response.getSplits()) {
+            String start = next.getProperty(DocDBMetadataHandler.ID_RANGE_START);
+            String end = next.getProperty(DocDBMetadataHandler.ID_RANGE_END);
+            unboundedStarts += (start == null) ? 1 : 0;
+            unboundedEnds += (end == null) ? 1 : 0;
+
+            Document query = QueryUtils.makeQuery(SchemaBuilder.newBuilder().build(), new HashMap<>(), start, end);
+            Document idRange = (Document) query.get("_id");
+            if (start != null) {
+                //boundaries must keep their BSON type when round tripped through the split
+                starts.add((ObjectId) idRange.get("$gte"));
+            }
+        }
+        assertEquals(1, unboundedStarts);
+        assertEquals(1, unboundedEnds);
+        assertEquals(ImmutableSet.of(ids.get(20), ids.get(40), ids.get(60), ids.get(80)), starts);
+    }
 }
@@ -58,13 +58,18 @@ import org.apache.arrow.vector.types.FloatingPointPrecision;
 import org.apache.arrow.vector.types.Types;
 import org.apache.arrow.vector.types.pojo.ArrowType;
 import org.apache.arrow.vector.types.pojo.Schema;
+import org.bson.BsonJavaScript;
 import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.DocumentCodec;
+import org.bson.types.ObjectId;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.TestName;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.invocation.InvocationOnMock;
 import org.mockito.runners.MockitoJUnitRunner;
@@ -77,11 +82,14 @@ import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
 import static com.amazonaws.athena.connectors.docdb.DocDBMetadataHandler.DOCDB_CONN_STR;
+import static com.amazonaws.athena.connectors.docdb.DocDBMetadataHandler.ID_RANGE_END;
+import static com.amazonaws.athena.connectors.docdb.DocDBMetadataHandler.ID_RANGE_START;
 import static org.junit.Assert.*;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyInt;
@@ -236,9 +244,9 @@ public class DocDBRecordHandlerTest
         Document doc3 = DocumentGenerator.makeRandomRow(schemaForRead.getFields(), docNum++);
         documents.add(doc3);
         doc3.put("col3", 21.0D);
-        doc3.put("unsupported",new UnsupportedType());
+        doc3.put("unsupported", new BsonJavaScript("function() {}"));
 
-        when(mockCollection.find(any(Document.class))).thenAnswer((InvocationOnMock invocationOnMock) -> {
+        when(mockCollection.find(any(Document.class), eq(RawBsonDocument.class))).thenAnswer((InvocationOnMock invocationOnMock) -> {
             logger.info("doReadRecordsNoSpill: query[{}]", invocationOnMock.getArguments()[0]);
             return mockIterable;
         });
@@ -247,7 +255,7 @@ public class DocDBRecordHandlerTest
             return mockIterable;
         });
         when(mockIterable.batchSize(anyInt())).thenReturn(mockIterable);
-        when(mockIterable.iterator()).thenReturn(new StubbingCursor(documents.iterator()));
+        when(mockIterable.iterator()).thenReturn(new StubbingCursor(toRaw(documents)));
 
         Map<String, ValueSet> constraintsMap = new HashMap<>();
         constraintsMap.put("col3", SortedRangeSet.copyOf(Types.MinorType.FLOAT8.getType(),
@@ -282,6 +290,57 @@ public class DocDBRecordHandlerTest
         logger.info("doReadRecordsNoSpill: {}", BlockUtils.rowToString(response.getRecords(), 0));
     }
 
+    @Test
+    public void doReadRecordsIdRange()
+            throws Exception
+    {
+        ObjectId start = new ObjectId();
+        ObjectId end = new ObjectId();
+
+        ArgumentCaptor<Document> queryCaptor = ArgumentCaptor.forClass(Document.class);
+        when(mockCollection.find(queryCaptor.capture(), eq(RawBsonDocument.class))).thenReturn(mockIterable);
+        when(mockIterable.projection(any(Document.class))).thenReturn(mockIterable);
+        when(mockIterable.batchSize(anyInt())).thenReturn(mockIterable);
+        when(mockIterable.iterator()).thenReturn(new StubbingCursor(Collections.emptyIterator()));
+
+        Map<String, ValueSet> constraintsMap = new HashMap<>();
+        constraintsMap.put("col3", SortedRangeSet.copyOf(Types.MinorType.FLOAT8.getType(),
+                ImmutableList.of(Range.equal(allocator, Types.MinorType.FLOAT8.getType(), 22.0D)), false));
+
+        S3SpillLocation splitLoc = S3SpillLocation.newBuilder()
+                .withBucket(UUID.randomUUID().toString())
+                .withSplitId(UUID.randomUUID().toString())
+                .withQueryId(UUID.randomUUID().toString())
+                .withIsDirectory(true)
+                .build();
+
+        Split split = Split.newBuilder(splitLoc, keyFactory.create())
+                .add(DOCDB_CONN_STR, CONNECTION_STRING)
+                .add(ID_RANGE_START, QueryUtils.encodeIdBoundary(start))
+                .add(ID_RANGE_END, QueryUtils.encodeIdBoundary(end))
+                .build();
+
+        ReadRecordsRequest request = new ReadRecordsRequest(IDENTITY,
+                DEFAULT_CATALOG,
+                "queryId-" + System.currentTimeMillis(),
+                TABLE_NAME,
+                schemaForRead,
+                split,
+                new Constraints(constraintsMap),
+                100_000_000_000L, //100GB don't expect this to spill
+                100_000_000_000L
+        );
+
+        handler.doReadRecords(allocator, request);
+
+        //the split's _id range is ANDed with the pushed down predicate
+        Document query = queryCaptor.getValue();
+        List<Document> conjuncts = (List<Document>) query.get("$and");
+        assertEquals(2, conjuncts.size());
+        assertEquals(new Document("$eq", 22.0D), conjuncts.get(0).get("col3"));
+        assertEquals(new Document("$gte", start).append("$lt", end), conjuncts.get(1).get("_id"));
+    }
+
     @Test
     public void doReadRecordsSpill()
             throws Exception
@@ -292,7 +351,7 @@ public class DocDBRecordHandlerTest
             documents.add(DocumentGenerator.makeRandomRow(schemaForRead.getFields(), docNum));
         }
 
-        when(mockCollection.find(any(Document.class))).thenAnswer((InvocationOnMock invocationOnMock) -> {
+        when(mockCollection.find(any(Document.class), eq(RawBsonDocument.class))).thenAnswer((InvocationOnMock invocationOnMock) -> {
             logger.info("doReadRecordsNoSpill: query[{}]", invocationOnMock.getArguments()[0]);
             return mockIterable;
         });
@@ -301,7 +360,7 @@ public class DocDBRecordHandlerTest
             return mockIterable;
         });
         when(mockIterable.batchSize(anyInt())).thenReturn(mockIterable);
-        when(mockIterable.iterator()).thenReturn(new StubbingCursor(documents.iterator()));
+        when(mockIterable.iterator()).thenReturn(new StubbingCursor(toRaw(documents)));
 
         Map<String, ValueSet> constraintsMap = new HashMap<>();
         constraintsMap.put("col3", SortedRangeSet.copyOf(Types.MinorType.FLOAT8.getType(),
@@ -394,7 +453,7 @@ public class DocDBRecordHandlerTest
         GetTableResponse res = mdHandler.doGetTable(allocator, req);
         logger.info("doGetTable - {}", res);
 
-        when(mockCollection.find(any(Document.class))).thenAnswer((InvocationOnMock invocationOnMock) -> {
+        when(mockCollection.find(any(Document.class), eq(RawBsonDocument.class))).thenAnswer((InvocationOnMock invocationOnMock) -> {
             logger.info("doReadRecordsNoSpill: query[{}]", invocationOnMock.getArguments()[0]);
             return mockIterable;
         });
@@ -403,7 +462,7 @@ public class DocDBRecordHandlerTest
             return mockIterable;
         });
         when(mockIterable.batchSize(anyInt())).thenReturn(mockIterable);
-        when(mockIterable.iterator()).thenReturn(new StubbingCursor(documents.iterator()));
+        when(mockIterable.iterator()).thenReturn(new StubbingCursor(toRaw(documents)));
 
 
         Map<String, ValueSet> constraintsMap = new HashMap<>();
@@ -441,6 +500,15 @@ public class DocDBRecordHandlerTest
         assertEquals(expectedString, BlockUtils.rowToString(response.getRecords(), 0));
     }
 
+    private static Iterator<RawBsonDocument> toRaw(List<Document> documents)
+    {
+        List<RawBsonDocument> rawDocuments = new ArrayList<>();
+        for (Document next : documents) {
+            rawDocuments.add(new RawBsonDocument(next, new DocumentCodec()));
+        }
+        return rawDocuments.iterator();
+    }
+
     private class ByteHolder
     {
         private byte[] bytes;
@@ -21,6 +21,8 @@ package com.amazonaws.athena.connectors.elasticsearch;
 
 import com.amazonaws.auth.AWS4Signer;
 import com.amazonaws.auth.AWSCredentialsProvider;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.base.Splitter;
 import org.apache.http.HttpHost;
 import org.apache.http.HttpRequestInterceptor;
@@ -28,25 +30,32 @@ import org.apache.http.auth.AuthScope;
 import org.apache.http.auth.UsernamePasswordCredentials;
 import org.apache.http.client.CredentialsProvider;
 import org.apache.http.impl.client.BasicCredentialsProvider;
+import org.apache.http.util.EntityUtils;
 import org.elasticsearch.action.admin.cluster.health.ClusterHealthRequest;
 import org.elasticsearch.action.admin.cluster.health.ClusterHealthResponse;
 import org.elasticsearch.action.admin.indices.alias.get.GetAliasesRequest;
+import org.elasticsearch.action.search.ClearScrollRequest;
 import org.elasticsearch.action.search.SearchRequest;
 import org.elasticsearch.action.search.SearchResponse;
+import org.elasticsearch.action.search.SearchScrollRequest;
 import org.elasticsearch.client.GetAliasesResponse;
+import org.elasticsearch.client.Request;
 import org.elasticsearch.client.RequestOptions;
+import org.elasticsearch.client.Response;
 import org.elasticsearch.client.RestClient;
 import org.elasticsearch.client.RestClientBuilder;
 import org.elasticsearch.client.RestHighLevelClient;
 import org.elasticsearch.client.indices.GetMappingsRequest;
 import org.elasticsearch.client.indices.GetMappingsResponse;
 import org.elasticsearch.cluster.health.ClusterHealthStatus;
+import org.elasticsearch.common.bytes.BytesReference;
 import org.elasticsearch.common.unit.TimeValue;
 import org.elasticsearch.search.SearchHit;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -61,6 +70,8 @@ public class AwsRestHighLevelClient
 {
     private static final Logger logger = LoggerFactory.getLogger(AwsRestHighLevelClient.class);
 
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
     /**
      * Constructs a new client (using a builder) injected with credentials.
      * @param builder is used to initialize the super class.
@@ -135,10 +146,36 @@ public class AwsRestHighLevelClient
         return response.getIndices().get(index).getShards().keySet();
     }
 
+    /**
+     * Retrieves the document count and store size of every started primary shard of the specified index using the
+     * cat shards API.
+     * @param index is used to restrict the request to a specified index.
+     * @return a map of shard id to the shard's size.
+     * @throws IOException if an error occurs while sending the request to the Elasticsearch instance.
+     */
+    public Map<Integer, ShardSize> getPrimaryShardSizes(String index)
+            throws IOException
+    {
+        Request request = new Request("GET", "/_cat/shards/" + index);
+        request.addParameter("format", "json");
+        request.addParameter("bytes", "b");
+        request.addParameter("h", "shard,prirep,state,docs,store");
+        Response response = getLowLevelClient().performRequest(request);
+
+        Map<Integer, ShardSize> shardSizes = new HashMap<>();
+        for (JsonNode shard : objectMapper.readTree(EntityUtils.toString(response.getEntity()))) {
+            if ("p".equals(shard.path("prirep").asText()) && "STARTED".equals(shard.path("state").asText())) {
+                shardSizes.put(shard.path("shard").asInt(),
+                        new ShardSize(shard.path("docs").asLong(), shard.path("store").asLong()));
+            }
+        }
+        return shardSizes;
+    }
+
     /**
      * Gets the Documents for the specified index and predicate.
-     * @param request is the search request that includes the projection, predicate, batch size, and from position
-     *                used for pagination of results.
+     * @param request is the search request that includes the projection, predicate, batch size, and the scroll
+     *                keep-alive used for pagination of results.
      * @return the search response including all the document hits.
      * @throws IOException
      */
@@ -149,13 +186,63 @@ public class AwsRestHighLevelClient
     }
 
     /**
-     * Gets the Document from the search hit.
+     * Gets the next batch of Documents of a scroll opened by {@link #getDocuments(SearchRequest)}.
+     * @param request is the scroll request that includes the scroll id returned with the previous batch.
+     * @return the search response including the next document hits.
+     * @throws IOException
+     */
+    public SearchResponse scrollDocuments(SearchScrollRequest request)
+            throws IOException
+    {
+        return scroll(request, RequestOptions.DEFAULT);
+    }
+
+    /**
+     * Releases the search context held by a scroll before its keep-alive expires.
+     * @param scrollId is the scroll id returned with the last batch of documents.
+     * @throws IOException
+     */
+    public void clearDocumentsScroll(String scrollId)
+            throws IOException
+    {
+        ClearScrollRequest request = new ClearScrollRequest();
+        request.addScrollId(scrollId);
+        clearScroll(request, RequestOptions.DEFAULT);
+    }
+
+    /**
+     * Gets the raw Document source from the search hit, without parsing it.
      * @param searchHit is the search hit containing the document source.
-     * @return the Document as a Map object.
+     * @return the Document source as returned by the search, or null if the hit has no source.
+     */
+    public BytesReference getDocumentSource(SearchHit searchHit)
+    {
+        return searchHit.getSourceRef();
+    }
+
+    /**
+     * Number of documents and bytes stored in a shard.
      */
-    public Map<String, Object> getDocument(SearchHit searchHit)
+    public static class ShardSize
     {
-        return searchHit.getSourceAsMap();
+        private final long docCount;
+        private final long storeSizeBytes;
+
+        public ShardSize(long docCount, long storeSizeBytes)
+        {
+            this.docCount = docCount;
+            this.storeSizeBytes = storeSizeBytes;
+        }
+
+        public long getDocCount()
+        {
+            return docCount;
+        }
+
+        public long getStoreSizeBytes()
+        {
+            return storeSizeBytes;
+        }
     }
 
     /**
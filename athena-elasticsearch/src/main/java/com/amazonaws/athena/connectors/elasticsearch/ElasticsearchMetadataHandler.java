@@ -100,6 +100,18 @@ public class ElasticsearchMetadataHandler
      * from the Elasticsearch instance (e.g. "_shards:5" - retrieve shard number 5).
      */
     private static final String SHARD_VALUE = "_shards:";
+    /**
+     * Keys used to store the slice of the shard read by the split (later used by the Record Handler). Only present when
+     * the shard is large enough to be divided into several slices, see {@link #getSliceCount(AwsRestHighLevelClient.ShardSize)}.
+     */
+    protected static final String SLICE_ID_KEY = "slice_id";
+    protected static final String SLICE_MAX_KEY = "slice_max";
+
+    // Shards are divided into slices of about this many documents or bytes, whichever yields more slices.
+    private static final long SLICE_TARGET_DOC_COUNT = 500_000L;
+    private static final long SLICE_TARGET_STORE_SIZE_BYTES = 512L * 1024 * 1024;
+    // Every slice of a shard adds some per-request overhead on the shard, so their number is capped.
+    private static final int MAX_SLICES_PER_SHARD = 32;
 
     private final AWSGlue awsGlue;
     private final AwsRestHighLevelClientFactory clientFactory;
@@ -288,7 +300,7 @@ public class ElasticsearchMetadataHandler
     /**
      * Used to split-up the reads required to scan the requested index by shard. Cluster-health information is
      * retrieved for shards associated with the specified index. A split will then be generated for each shard that
-     * is primary and active.
+     * is primary and active, or for each slice of the shard if its document count or store size warrants dividing it.
      * @param allocator Tool for creating and managing Apache Arrow Blocks.
      * @param request Provides details of the catalog, domain, and index being queried, as well as any filter predicate.
      * @return A GetSplitsResponse which primarily contains:
@@ -315,13 +327,23 @@ public class ElasticsearchMetadataHandler
             AwsRestHighLevelClient client = clientFactory.getOrCreateClient(endpoint);
             try {
                 Set<Integer> shardIds = client.getShardIds(index, queryTimeout);
+                Map<Integer, AwsRestHighLevelClient.ShardSize> shardSizes = getPrimaryShardSizes(client, index);
                 for (Integer shardId : shardIds) {
-                    // Every split must have a unique location if we wish to spill to avoid failures
-                    SpillLocation spillLocation = makeSpillLocation(request);
-                    // Create a new split (added to the splits set) that includes the domain and endpoint, and
-                    // shard information (to be used later by the Record Handler).
-                    splits.add(new Split(spillLocation, makeEncryptionKey(), ImmutableMap
-                            .of(domain, endpoint, SHARD_KEY, SHARD_VALUE + shardId.toString())));
+                    int sliceCount = getSliceCount(shardSizes.get(shardId));
+                    for (int sliceId = 0; sliceId < sliceCount; sliceId++) {
+                        // Every split must have a unique location if we wish to spill to avoid failures
+                        SpillLocation spillLocation = makeSpillLocation(request);
+                        // Create a new split (added to the splits set) that includes the domain and endpoint, and
+                        // shard and slice information (to be used later by the Record Handler).
+                        ImmutableMap.Builder<String, String> properties = ImmutableMap.<String, String>builder()
+                                .put(domain, endpoint)
+                                .put(SHARD_KEY, SHARD_VALUE + shardId.toString());
+                        if (sliceCount > 1) {
+                            properties.put(SLICE_ID_KEY, String.valueOf(sliceId))
+                                    .put(SLICE_MAX_KEY, String.valueOf(sliceCount));
+                        }
+                        splits.add(new Split(spillLocation, makeEncryptionKey(), properties.build()));
+                    }
                 }
             }
             catch (IOException error) {
@@ -336,6 +358,38 @@ public class ElasticsearchMetadataHandler
         return new GetSplitsResponse(request.getCatalogName(), splits);
     }
 
+    /**
+     * Gets the size of the index's primary shards, used to decide how many slices each shard is divided into.
+     * @return a map of shard id to size, or an empty map if the sizes could not be retrieved (e.g. the role has no
+     * access to the cat shards API) in which case every shard is read by a single split.
+     */
+    private Map<Integer, AwsRestHighLevelClient.ShardSize> getPrimaryShardSizes(AwsRestHighLevelClient client, String index)
+    {
+        try {
+            return client.getPrimaryShardSizes(index);
+        }
+        catch (IOException | RuntimeException error) {
+            logger.warn("getPrimaryShardSizes: Unable to retrieve shard sizes for index ({}): {}", index, error.getMessage());
+            return Collections.emptyMap();
+        }
+    }
+
+    /**
+     * Determines the number of slices a shard is divided into, each read by its own split using a sliced scroll.
+     * @param shardSize is the shard's document count and store size, or null if unknown.
+     * @return number of slices, between 1 and MAX_SLICES_PER_SHARD.
+     */
+    @VisibleForTesting
+    protected static int getSliceCount(AwsRestHighLevelClient.ShardSize shardSize)
+    {
+        if (shardSize == null) {
+            return 1;
+        }
+        long byDocCount = (shardSize.getDocCount() + SLICE_TARGET_DOC_COUNT - 1) / SLICE_TARGET_DOC_COUNT;
+        long byStoreSize = (shardSize.getStoreSizeBytes() + SLICE_TARGET_STORE_SIZE_BYTES - 1) / SLICE_TARGET_STORE_SIZE_BYTES;
+        return (int) Math.max(1, Math.min(MAX_SLICES_PER_SHARD, Math.max(byDocCount, byStoreSize)));
+    }
+
     /**
      * Gets an endpoint from the domain mapping. For AWS Elasticsearch Service, if the domain does not exist in
      * the domain map, refresh the latter by calling the AWS ES SDK (it's possible that the domain was added
@@ -22,8 +22,6 @@ package com.amazonaws.athena.connectors.elasticsearch;
 import com.amazonaws.athena.connector.lambda.QueryStatusChecker;
 import com.amazonaws.athena.connector.lambda.data.Block;
 import com.amazonaws.athena.connector.lambda.data.BlockSpiller;
-import com.amazonaws.athena.connector.lambda.data.writers.GeneratedRowWriter;
-import com.amazonaws.athena.connector.lambda.data.writers.extractors.Extractor;
 import com.amazonaws.athena.connector.lambda.handlers.RecordHandler;
 import com.amazonaws.athena.connector.lambda.records.ReadRecordsRequest;
 import com.amazonaws.services.athena.AmazonAthena;
@@ -33,12 +31,15 @@ import com.amazonaws.services.s3.AmazonS3ClientBuilder;
 import com.amazonaws.services.secretsmanager.AWSSecretsManager;
 import com.amazonaws.services.secretsmanager.AWSSecretsManagerClientBuilder;
 import org.apache.arrow.util.VisibleForTesting;
-import org.apache.arrow.vector.types.pojo.Field;
 import org.elasticsearch.action.search.SearchRequest;
 import org.elasticsearch.action.search.SearchResponse;
+import org.elasticsearch.action.search.SearchScrollRequest;
 import org.elasticsearch.common.unit.TimeValue;
 import org.elasticsearch.search.SearchHit;
 import org.elasticsearch.search.builder.SearchSourceBuilder;
+import org.elasticsearch.search.slice.SliceBuilder;
+import org.elasticsearch.search.sort.FieldSortBuilder;
+import org.elasticsearch.search.sort.SortOrder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -73,15 +74,16 @@ public class ElasticsearchRecordHandler
     // Pagination batch size (100 documents).
     private static final int QUERY_BATCH_SIZE = 100;
 
+    // How long the shard keeps the scroll's search context alive between two batches.
+    private static final TimeValue SCROLL_KEEP_ALIVE = TimeValue.timeValueMinutes(1);
+
     private final AwsRestHighLevelClientFactory clientFactory;
-    private final ElasticsearchTypeUtils typeUtils;
 
     public ElasticsearchRecordHandler()
     {
         super(AmazonS3ClientBuilder.defaultClient(), AWSSecretsManagerClientBuilder.defaultClient(),
                 AmazonAthenaClientBuilder.defaultClient(), SOURCE_TYPE);
 
-        this.typeUtils = new ElasticsearchTypeUtils();
         this.clientFactory = new AwsRestHighLevelClientFactory(getEnv(AUTO_DISCOVER_ENDPOINT)
                 .equalsIgnoreCase("true"));
         this.queryTimeout = Long.parseLong(getEnv(QUERY_TIMEOUT_SEARCH));
@@ -93,7 +95,6 @@ public class ElasticsearchRecordHandler
     {
         super(amazonS3, secretsManager, amazonAthena, SOURCE_TYPE);
 
-        this.typeUtils = new ElasticsearchTypeUtils();
         this.clientFactory = clientFactory;
         this.queryTimeout = queryTimeout;
     }
@@ -143,42 +144,58 @@ public class ElasticsearchRecordHandler
         if (queryStatusChecker.isQueryRunning()) {
             AwsRestHighLevelClient client = clientFactory.getOrCreateClient(endpoint);
             try {
-                // Create field extractors for all data types in the schema.
-                GeneratedRowWriter rowWriter = createFieldExtractors(recordsRequest);
+                // Decodes the schema's fields from each hit's source straight into the Block, applying constraints.
+                ElasticsearchSourceDecoder decoder = ElasticsearchSourceDecoder.compile(recordsRequest.getSchema(),
+                        recordsRequest.getConstraints().getSummary());
 
                 // Create a new search-source injected with the projection, predicate, and the pagination batch size.
+                // Sorting on _doc lets the shard return hits in index order without scoring or sorting them.
                 SearchSourceBuilder searchSource = new SearchSourceBuilder().size(QUERY_BATCH_SIZE)
                         .timeout(new TimeValue(queryTimeout, TimeUnit.SECONDS))
                         .fetchSource(ElasticsearchQueryUtils.getProjection(recordsRequest.getSchema()))
-                        .query(ElasticsearchQueryUtils.getQuery(recordsRequest.getConstraints().getSummary()));
-                // Create a new search-request for the specified index.
-                SearchRequest searchRequest = new SearchRequest(index).preference(shard);
-                int hitsNum;
-                int currPosition = 0;
-                do {
-                    // Process the search request injecting the search-source, and setting the from position
-                    // used for pagination of results.
-                    SearchResponse searchResponse = client
-                            .getDocuments(searchRequest.source(searchSource.from(currPosition)));
-
-                    // Throw on query timeout.
-                    if (searchResponse.isTimedOut()) {
-                        throw new RuntimeException("Request for index (" + index + ") " + shard + " timed out.");
+                        .query(ElasticsearchQueryUtils.getQuery(recordsRequest.getConstraints().getSummary()))
+                        .sort(FieldSortBuilder.DOC_FIELD_NAME, SortOrder.ASC);
+                // Large shards are divided into slices, each read by its own split.
+                String sliceId = recordsRequest.getSplit().getProperty(ElasticsearchMetadataHandler.SLICE_ID_KEY);
+                String sliceMax = recordsRequest.getSplit().getProperty(ElasticsearchMetadataHandler.SLICE_MAX_KEY);
+                if (sliceId != null && sliceMax != null) {
+                    searchSource.slice(new SliceBuilder(Integer.parseInt(sliceId), Integer.parseInt(sliceMax)));
+                }
+                // Create a new scrolling search-request for the specified index. Each following batch continues where
+                // the previous one ended instead of collecting and skipping all preceding hits again.
+                SearchRequest searchRequest = new SearchRequest(index).preference(shard)
+                        .scroll(SCROLL_KEEP_ALIVE)
+                        .source(searchSource);
+                SearchResponse searchResponse = client.getDocuments(searchRequest);
+                String scrollId = searchResponse.getScrollId();
+                try {
+                    while (true) {
+                        // Throw on query timeout.
+                        if (searchResponse.isTimedOut()) {
+                            throw new RuntimeException("Request for index (" + index + ") " + shard + " timed out.");
+                        }
+
+                        // Process hits.
+                        Iterator<SearchHit> hitIterator = searchResponse.getHits().iterator();
+                        int hitsNum = searchResponse.getHits().getHits().length;
+
+                        while (hitIterator.hasNext() && queryStatusChecker.isQueryRunning()) {
+                            ++numRows;
+                            spiller.writeRows((Block block, int rowNum) ->
+                                    decoder.writeRow(block, rowNum, client.getDocumentSource(hitIterator.next())) ? 1 : 0);
+                        }
+                        // if hitsNum < QUERY_BATCH_SIZE, then this is the last batch of documents.
+                        if (hitsNum < QUERY_BATCH_SIZE || !queryStatusChecker.isQueryRunning()) {
+                            break;
+                        }
+
+                        searchResponse = client.scrollDocuments(new SearchScrollRequest(scrollId).scroll(SCROLL_KEEP_ALIVE));
+                        scrollId = searchResponse.getScrollId();
                     }
-
-                    // Increment current position to next batch of results.
-                    currPosition += QUERY_BATCH_SIZE;
-                    // Process hits.
-                    Iterator<SearchHit> hitIterator = searchResponse.getHits().iterator();
-                    hitsNum = searchResponse.getHits().getHits().length;
-
-                    while (hitIterator.hasNext() && queryStatusChecker.isQueryRunning()) {
-                        ++numRows;
-                        spiller.writeRows((Block block, int rowNum) ->
-                                rowWriter.writeRow(block, rowNum, client.getDocument(hitIterator.next())) ? 1 : 0);
-                    }
-                    // if hitsNum < QUERY_BATCH_SIZE, then this is the last batch of documents.
-                } while (hitsNum == QUERY_BATCH_SIZE && queryStatusChecker.isQueryRunning());
+                }
+                finally {
+                    clearScroll(client, scrollId);
+                }
             }
             catch (IOException error) {
                 throw new RuntimeException("Error sending search query: " + error.getMessage(), error);
@@ -189,30 +206,20 @@ public class ElasticsearchRecordHandler
     }
 
     /**
-     * Creates field extractors to aid in extracting values from retrieved documents. Method makeExtractor()
-     * is used for creating the extractors for simple data types (e.g. INT, BIGINT, etc...) Complex data types such as
-     * LIST and STRUCT, however require the makeFactory() method to create the extractors.
-     * @param recordsRequest Details of the read request that include the constraints and list of fields in the schema.
-     * @return GeneratedRowWriter which includes all field extractors used for processing of retrieved documents.
+     * Releases the scroll's search context on the shard instead of leaving it open until its keep-alive expires.
+     * Failing to do so is not fatal for the query.
      */
-    private GeneratedRowWriter createFieldExtractors(ReadRecordsRequest recordsRequest)
+    private void clearScroll(AwsRestHighLevelClient client, String scrollId)
     {
-        GeneratedRowWriter.RowWriterBuilder builder =
-                GeneratedRowWriter.newBuilder(recordsRequest.getConstraints());
-
-        for (Field field : recordsRequest.getSchema().getFields()) {
-            Extractor extractor = typeUtils.makeExtractor(field);
-            if (extractor != null) {
-                // Simple data types (e.g. INT, BIGINT, etc...)
-                builder.withExtractor(field.getName(), extractor);
-            }
-            else {
-                // Complex data types (e.g. LIST, STRUCT)
-                builder.withFieldWriterFactory(field.getName(), typeUtils.makeFactory(field));
-            }
+        if (scrollId == null) {
+            return;
+        }
+        try {
+            client.clearDocumentsScroll(scrollId);
+        }
+        catch (IOException | RuntimeException error) {
+            logger.warn("clearScroll: Unable to clear scroll: {}", error.getMessage());
         }
-
-        return builder.build();
     }
 
     /**
@@ -0,0 +1,784 @@
+/*-
+ * #%L
+ * athena-elasticsearch
+ * %%
+ * Copyright (C) 2019 - 2020 Amazon Web Services
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package com.amazonaws.athena.connectors.elasticsearch;
+
+import com.amazonaws.athena.connector.lambda.data.Block;
+import com.amazonaws.athena.connector.lambda.data.BlockUtils;
+import com.amazonaws.athena.connector.lambda.domain.predicate.ValueSet;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import org.apache.arrow.vector.BigIntVector;
+import org.apache.arrow.vector.BitVector;
+import org.apache.arrow.vector.DateMilliVector;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.Float4Vector;
+import org.apache.arrow.vector.Float8Vector;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.SmallIntVector;
+import org.apache.arrow.vector.TinyIntVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.complex.ListVector;
+import org.apache.arrow.vector.complex.StructVector;
+import org.apache.arrow.vector.types.Types;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.apache.arrow.vector.types.pojo.Schema;
+import org.apache.lucene.util.BytesRef;
+import org.elasticsearch.common.bytes.BytesReference;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.format.ResolverStyle;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A projection plan, compiled once per request from the requested Schema, which decodes the raw _source of search hits
+ * straight into the Apache Arrow vectors of a Block. The source is walked once with a streaming JSON parser: fields
+ * that were not projected are skipped without being materialized, scalar values are written as primitives and
+ * STRUCT/LIST fields are written into their child vectors without first building Maps or Lists.
+ * <p>
+ * Values are coerced into the type of the field they are written to: numbers may be sent as JSON numbers or strings,
+ * and only the first element of an array is read into a non-LIST field. Fields which have a constraint on them are
+ * checked against it as they are written, using the value GeneratedRowWriter would have used.
+ */
+public class ElasticsearchSourceDecoder
+{
+    private static final Logger logger = LoggerFactory.getLogger(ElasticsearchSourceDecoder.class);
+
+    private static final JsonFactory jsonFactory = new JsonFactory();
+
+    private static final DateTimeFormatter ZONED_DATE_TIME_FORMATTER =
+            DateTimeFormatter.ISO_ZONED_DATE_TIME.withResolverStyle(ResolverStyle.SMART);
+    private static final DateTimeFormatter LOCAL_DATE_TIME_FORMATTER =
+            DateTimeFormatter.ISO_LOCAL_DATE_TIME.withResolverStyle(ResolverStyle.SMART);
+
+    private final FieldSet fields;
+    private Block lastBlock;
+    private FieldVector[] vectors;
+
+    private ElasticsearchSourceDecoder(FieldSet fields)
+    {
+        this.fields = fields;
+    }
+
+    /**
+     * Compiles a projection plan for the given Schema.
+     * @param schema is the schema of the Blocks that this plan will write to.
+     * @param constraintSummary are the constraints of the request, values of scalar fields present in this map are
+     * checked as they are written.
+     * @return the compiled projection plan.
+     */
+    public static ElasticsearchSourceDecoder compile(Schema schema, Map<String, ValueSet> constraintSummary)
+    {
+        List<FieldDecoder> decoders = new ArrayList<>();
+        for (Field field : schema.getFields()) {
+            ValueSet constraint = constraintSummary == null ? null : constraintSummary.get(field.getName());
+            decoders.add(makeDecoder(field, constraint, false));
+        }
+        return new ElasticsearchSourceDecoder(new FieldSet(decoders));
+    }
+
+    /**
+     * Writes the projected fields of a document's source to the given row of the Block. Fields which are missing from
+     * the source are set to null.
+     * @param block is the Block to write to.
+     * @param rowNum is the row to write.
+     * @param source is the hit's _source as returned by SearchHit.getSourceRef().
+     * @return true if the row satisfied all constraints, false otherwise.
+     * @throws IOException if the source is not valid JSON.
+     */
+    public boolean writeRow(Block block, int rowNum, BytesReference source)
+            throws IOException
+    {
+        if (block != lastBlock) {
+            vectors = new FieldVector[fields.decoders.length];
+            for (int i = 0; i < vectors.length; i++) {
+                vectors[i] = block.getFieldVector(fields.decoders[i].field.getName());
+            }
+            lastBlock = block;
+        }
+
+        if (source == null) {
+            return fields.writeNulls(vectors, rowNum);
+        }
+
+        BytesRef bytes = source.toBytesRef();
+        try (JsonParser parser = jsonFactory.createParser(bytes.bytes, bytes.offset, bytes.length)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("Document source is not a JSON object.");
+            }
+            return fields.write(parser, vectors, rowNum);
+        }
+    }
+
+    /**
+     * @param constraint is the constraint on the field, only applied to top-level scalar fields.
+     * @param nested is true for the children of STRUCT and LIST fields.
+     */
+    private static FieldDecoder makeDecoder(Field field, ValueSet constraint, boolean nested)
+    {
+        Types.MinorType fieldType = Types.getMinorTypeForArrowType(field.getType());
+        switch (fieldType) {
+            case VARCHAR:
+                return new VarCharDecoder(field, constraint, nested);
+            case BIGINT:
+                if (field.getMetadata().containsKey("scaling_factor")) {
+                    // scaled_float w/scaling_factor - a float represented as a long.
+                    double scalingFactor = Double.parseDouble(field.getMetadata().get("scaling_factor"));
+                    return new ScaledBigIntDecoder(field, constraint, scalingFactor);
+                }
+                return new BigIntDecoder(field, constraint);
+            case INT:
+                return new IntDecoder(field, constraint);
+            case SMALLINT:
+                return new SmallIntDecoder(field, constraint);
+            case TINYINT:
+                return new TinyIntDecoder(field, constraint);
+            case FLOAT8:
+                return new Float8Decoder(field, constraint);
+            case FLOAT4:
+                return new Float4Decoder(field, constraint);
+            case DATEMILLI:
+                return new DateMilliDecoder(field, constraint);
+            case BIT:
+                return new BitDecoder(field, constraint);
+            case STRUCT:
+                List<FieldDecoder> children = new ArrayList<>();
+                for (Field child : field.getChildren()) {
+                    children.add(makeDecoder(child, null, true));
+                }
+                return new StructDecoder(field, new FieldSet(children));
+            case LIST:
+                return new ListDecoder(field, makeDecoder(field.getChildren().get(0), null, true));
+            default:
+                throw new RuntimeException(fieldType + " is not supported");
+        }
+    }
+
+    /**
+     * Skips the remaining elements of the array the parser is in, including the closing END_ARRAY.
+     */
+    private static void skipRemainingElements(JsonParser parser)
+            throws IOException
+    {
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            parser.skipChildren();
+        }
+    }
+
+    /**
+     * @return the integral value of the current numeric or string token, truncating fractions.
+     */
+    private static long readLong(JsonParser parser)
+            throws IOException
+    {
+        switch (parser.currentToken()) {
+            case VALUE_NUMBER_INT:
+                return parser.getNumberType() == JsonParser.NumberType.BIG_INTEGER ?
+                        parser.getBigIntegerValue().longValue() : parser.getLongValue();
+            case VALUE_NUMBER_FLOAT:
+                return (long) parser.getDoubleValue();
+            default:
+                return (long) Double.parseDouble(parser.getText());
+        }
+    }
+
+    /**
+     * @return the value of the current numeric or string token.
+     */
+    private static double readDouble(JsonParser parser)
+            throws IOException
+    {
+        return parser.currentToken() == JsonToken.VALUE_STRING ?
+                Double.parseDouble(parser.getText()) : parser.getDoubleValue();
+    }
+
+    /**
+     * Converts a date-time string to epoch-milliseconds. The ISO_ZONED_DATE_TIME format will be attempted first,
+     * followed by the ISO_LOCAL_DATE_TIME format if the previous one fails. Examples of formats that will work:
+     * 1) "2020-05-18T10:15:30.123456789"
+     * 2) "2020-05-15T06:50:01.123Z"
+     * 3) "2020-05-15T06:49:30.123-05:00".
+     * Nanoseconds will be rounded to the nearest millisecond.
+     * @param dateTimeValue is the date-time value to be converted to epoch-milliseconds.
+     * @return a long value representing the epoch-milliseconds derived from dateTimeValue.
+     * @throws DateTimeParseException
+     */
+    private static long toEpochMillis(String dateTimeValue)
+            throws DateTimeParseException
+    {
+        long epochSeconds;
+        double nanoSeconds;
+
+        try {
+            ZonedDateTime zonedDateTime = ZonedDateTime.parse(dateTimeValue, ZONED_DATE_TIME_FORMATTER);
+            epochSeconds = zonedDateTime.toEpochSecond();
+            nanoSeconds = zonedDateTime.getNano();
+        }
+        catch (DateTimeParseException error) {
+            LocalDateTime localDateTime = LocalDateTime.parse(dateTimeValue, LOCAL_DATE_TIME_FORMATTER);
+            epochSeconds = localDateTime.toEpochSecond(ZoneOffset.UTC);
+            nanoSeconds = localDateTime.getNano();
+        }
+
+        return epochSeconds * 1000 + Math.round(nanoSeconds / 1000000);
+    }
+
+    private static boolean isNumberOrString(JsonToken token)
+    {
+        return token == JsonToken.VALUE_NUMBER_INT || token == JsonToken.VALUE_NUMBER_FLOAT ||
+                token == JsonToken.VALUE_STRING;
+    }
+
+    /**
+     * The fields of a document, or of a STRUCT, that were projected along with the decoders used to write them.
+     */
+    private static class FieldSet
+    {
+        private final FieldDecoder[] decoders;
+        private final Map<String, Integer> positions = new HashMap<>();
+        private final boolean[] seen;
+
+        FieldSet(List<FieldDecoder> decoders)
+        {
+            this.decoders = decoders.toArray(new FieldDecoder[0]);
+            this.seen = new boolean[this.decoders.length];
+            for (int i = 0; i < this.decoders.length; i++) {
+                positions.put(this.decoders[i].field.getName(), i);
+            }
+        }
+
+        /**
+         * Reads the object the parser is positioned at, writing each projected field into the matching vector.
+         */
+        boolean write(JsonParser parser, FieldVector[] vectors, int index)
+                throws IOException
+        {
+            Arrays.fill(seen, false);
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                Integer pos = positions.get(parser.getCurrentName());
+                parser.nextToken();
+                if (pos == null || seen[pos]) {
+                    parser.skipChildren();
+                    continue;
+                }
+                seen[pos] = true;
+                if (!decoders[pos].write(parser, vectors[pos], index)) {
+                    return false;
+                }
+            }
+
+            for (int i = 0; i < decoders.length; i++) {
+                if (!seen[i] && !decoders[i].writeNull(vectors[i], index)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        boolean writeNulls(FieldVector[] vectors, int index)
+        {
+            for (int i = 0; i < decoders.length; i++) {
+                if (!decoders[i].writeNull(vectors[i], index)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Writes the current value of a JsonParser into a specific FieldVector.
+     */
+    private abstract static class FieldDecoder
+    {
+        protected final Field field;
+        private final ValueSet constraint;
+
+        FieldDecoder(Field field, ValueSet constraint)
+        {
+            this.field = field;
+            this.constraint = constraint;
+        }
+
+        /**
+         * Writes the value the parser is positioned at and leaves the parser on its last token. An array written into
+         * a non-LIST field contributes its first element only, objects written into scalar fields are skipped.
+         * @return true if the value satisfied the field's constraint, false otherwise.
+         */
+        boolean write(JsonParser parser, FieldVector vector, int index)
+                throws IOException
+        {
+            try {
+                switch (parser.currentToken()) {
+                    case VALUE_NULL:
+                        return writeNull(vector, index);
+                    case START_ARRAY:
+                        if (parser.nextToken() == JsonToken.END_ARRAY) {
+                            return writeNull(vector, index);
+                        }
+                        boolean result = write(parser, vector, index);
+                        skipRemainingElements(parser);
+                        return result;
+                    case START_OBJECT:
+                        parser.skipChildren();
+                        return writeNull(vector, index);
+                    default:
+                        return writeValue(parser, vector, index);
+                }
+            }
+            catch (RuntimeException ex) {
+                throw new RuntimeException("Error while processing field " + field.getName(), ex);
+            }
+        }
+
+        /**
+         * Writes the scalar token the parser is positioned at.
+         */
+        abstract boolean writeValue(JsonParser parser, FieldVector vector, int index)
+                throws IOException;
+
+        boolean writeNull(FieldVector vector, int index)
+        {
+            if (!test(null)) {
+                return false;
+            }
+            BlockUtils.setValue(vector, index, null);
+            return true;
+        }
+
+        /**
+         * Decoders only box their value when the field has a constraint.
+         */
+        boolean isConstrained()
+        {
+            return constraint != null;
+        }
+
+        boolean test(Object value)
+        {
+            return constraint == null || constraint.containsValue(value);
+        }
+    }
+
+    private static class VarCharDecoder
+            extends FieldDecoder
+    {
+        private final boolean scalarsAsText;
+
+        /**
+         * @param scalarsAsText writes numbers and booleans as their text, used for the children of STRUCT and LIST
+         * fields. Top-level fields only accept strings.
+         */
+        VarCharDecoder(Field field, ValueSet constraint, boolean scalarsAsText)
+        {
+            super(field, constraint);
+            this.scalarsAsText = scalarsAsText;
+        }
+
+        @Override
+        boolean writeValue(JsonParser parser, FieldVector vector, int index)
+                throws IOException
+        {
+            if (parser.currentToken() != JsonToken.VALUE_STRING && !scalarsAsText) {
+                return writeNull(vector, index);
+            }
+            String value = parser.getText();
+            if (!test(value)) {
+                return false;
+            }
+            ((VarCharVector) vector).setSafe(index, value.getBytes(StandardCharsets.UTF_8));
+            return true;
+        }
+    }
+
+    private static class BigIntDecoder
+            extends FieldDecoder
+    {
+        BigIntDecoder(Field field, ValueSet constraint)
+        {
+            super(field, constraint);
+        }
+
+        @Override
+        boolean writeValue(JsonParser parser, FieldVector vector, int index)
+                throws IOException
+        {
+            if (!isNumberOrString(parser.currentToken())) {
+                return writeNull(vector, index);
+            }
+            long value = readLong(parser);
+            if (isConstrained() && !test(value)) {
+                return false;
+            }
+            ((BigIntVector) vector).setSafe(index, value);
+            return true;
+        }
+    }
+
+    private static class ScaledBigIntDecoder
+            extends FieldDecoder
+    {
+        private final double scalingFactor;
+
+        ScaledBigIntDecoder(Field field, ValueSet constraint, double scalingFactor)
+        {
+            super(field, constraint);
+            this.scalingFactor = scalingFactor;
+        }
+
+        @Override
+        boolean writeValue(JsonParser parser, FieldVector vector, int index)
+                throws IOException
+        {
+            if (!isNumberOrString(parser.currentToken())) {
+                return writeNull(vector, index);
+            }
+            long value = Math.round(readDouble(parser) * scalingFactor);
+            if (isConstrained() && !test(value)) {
+                return false;
+            }
+            ((BigIntVector) vector).setSafe(index, value);
+            return true;
+        }
+    }
+
+    private static class IntDecoder
+            extends FieldDecoder
+    {
+        IntDecoder(Field field, ValueSet constraint)
+        {
+            super(field, constraint);
+        }
+
+        @Override
+        boolean writeValue(JsonParser parser, FieldVector vector, int index)
+                throws IOException
+        {
+            if (!isNumberOrString(parser.currentToken())) {
+                return writeNull(vector, index);
+            }
+            int value = (int) readLong(parser);
+            if (isConstrained() && !test(value)) {
+                return false;
+            }
+            ((IntVector) vector).setSafe(index, value);
+            return true;
+        }
+    }
+
+    private static class SmallIntDecoder
+            extends FieldDecoder
+    {
+        SmallIntDecoder(Field field, ValueSet constraint)
+        {
+            super(field, constraint);
+        }
+
+        @Override
+        boolean writeValue(JsonParser parser, FieldVector vector, int index)
+                throws IOException
+        {
+            if (!isNumberOrString(parser.currentToken())) {
+                return writeNull(vector, index);
+            }
+            short value = (short) readLong(parser);
+            if (isConstrained() && !test(value)) {
+                return false;
+            }
+            ((SmallIntVector) vector).setSafe(index, value);
+            return true;
+        }
+    }
+
+    private static class TinyIntDecoder
+            extends FieldDecoder
+    {
+        TinyIntDecoder(Field field, ValueSet constraint)
+        {
+            super(field, constraint);
+        }
+
+        @Override
+        boolean writeValue(JsonParser parser, FieldVector vector, int index)
+                throws IOException
+        {
+            if (!isNumberOrString(parser.currentToken())) {
+                return writeNull(vector, index);
+            }
+            byte value = (byte) readLong(parser);
+            if (isConstrained() && !test(value)) {
+                return false;
+            }
+            ((TinyIntVector) vector).setSafe(index, value);
+            return true;
+        }
+    }
+
+    private static class Float8Decoder
+            extends FieldDecoder
+    {
+        Float8Decoder(Field field, ValueSet constraint)
+        {
+            super(field, constraint);
+        }
+
+        @Override
+        boolean writeValue(JsonParser parser, FieldVector vector, int index)
+                throws IOException
+        {
+            if (!isNumberOrString(parser.currentToken())) {
+                return writeNull(vector, index);
+            }
+            double value = readDouble(parser);
+            if (isConstrained() && !test(value)) {
+                return false;
+            }
+            ((Float8Vector) vector).setSafe(index, value);
+            return true;
+        }
+    }
+
+    private static class Float4Decoder
+            extends FieldDecoder
+    {
+        Float4Decoder(Field field, ValueSet constraint)
+        {
+            super(field, constraint);
+        }
+
+        @Override
+        boolean writeValue(JsonParser parser, FieldVector vector, int index)
+                throws IOException
+        {
+            float value;
+            switch (parser.currentToken()) {
+                case VALUE_NUMBER_INT:
+                    value = (float) readLong(parser);
+                    break;
+                case VALUE_NUMBER_FLOAT:
+                    value = parser.getFloatValue();
+                    break;
+                case VALUE_STRING:
+                    value = Float.parseFloat(parser.getText());
+                    break;
+                default:
+                    return writeNull(vector, index);
+            }
+            if (isConstrained() && !test(value)) {
+                return false;
+            }
+            ((Float4Vector) vector).setSafe(index, value);
+            return true;
+        }
+    }
+
+    /**
+     * Dates are sent either as epoch milliseconds or as ISO-8601 date-time strings, see toEpochMillis(...).
+     */
+    private static class DateMilliDecoder
+            extends FieldDecoder
+    {
+        DateMilliDecoder(Field field, ValueSet constraint)
+        {
+            super(field, constraint);
+        }
+
+        @Override
+        boolean writeValue(JsonParser parser, FieldVector vector, int index)
+                throws IOException
+        {
+            long value;
+            switch (parser.currentToken()) {
+                case VALUE_NUMBER_INT:
+                case VALUE_NUMBER_FLOAT:
+                    value = readLong(parser);
+                    break;
+                case VALUE_STRING:
+                    try {
+                        value = toEpochMillis(parser.getText());
+                    }
+                    catch (DateTimeParseException error) {
+                        logger.warn("Error parsing localDateTime: {}.", error.getMessage());
+                        return writeNull(vector, index);
+                    }
+                    break;
+                default:
+                    return writeNull(vector, index);
+            }
+            if (isConstrained() && !test(LocalDateTime.ofInstant(Instant.ofEpochMilli(value), ZoneOffset.UTC))) {
+                return false;
+            }
+            ((DateMilliVector) vector).setSafe(index, value);
+            return true;
+        }
+    }
+
+    private static class BitDecoder
+            extends FieldDecoder
+    {
+        BitDecoder(Field field, ValueSet constraint)
+        {
+            super(field, constraint);
+        }
+
+        @Override
+        boolean writeValue(JsonParser parser, FieldVector vector, int index)
+                throws IOException
+        {
+            boolean value;
+            switch (parser.currentToken()) {
+                case VALUE_TRUE:
+                case VALUE_FALSE:
+                    value = parser.getBooleanValue();
+                    break;
+                case VALUE_STRING:
+                    value = Boolean.parseBoolean(parser.getText());
+                    break;
+                default:
+                    return writeNull(vector, index);
+            }
+            if (isConstrained() && !test(value)) {
+                return false;
+            }
+            ((BitVector) vector).setSafe(index, value ? 1 : 0);
+            return true;
+        }
+    }
+
+    private static class StructDecoder
+            extends FieldDecoder
+    {
+        private final FieldSet children;
+        private StructVector lastVector;
+        private FieldVector[] childVectors;
+
+        StructDecoder(Field field, FieldSet children)
+        {
+            super(field, null);
+            this.children = children;
+        }
+
+        @Override
+        boolean write(JsonParser parser, FieldVector vector, int index)
+                throws IOException
+        {
+            if (parser.currentToken() != JsonToken.START_OBJECT) {
+                return super.write(parser, vector, index);
+            }
+
+            StructVector structVector = (StructVector) vector;
+            if (structVector != lastVector) {
+                childVectors = new FieldVector[children.decoders.length];
+                for (int i = 0; i < childVectors.length; i++) {
+                    childVectors[i] = (FieldVector) structVector.getChild(children.decoders[i].field.getName());
+                }
+                lastVector = structVector;
+            }
+
+            children.write(parser, childVectors, index);
+            structVector.setIndexDefined(index);
+            return true;
+        }
+
+        @Override
+        boolean writeValue(JsonParser parser, FieldVector vector, int index)
+        {
+            throw new RuntimeException("Invalid field value encountered in Document for field: " + field +
+                    ",value: " + parser.currentToken());
+        }
+
+        @Override
+        boolean writeNull(FieldVector vector, int index)
+        {
+            ((StructVector) vector).setNull(index);
+            return true;
+        }
+    }
+
+    /**
+     * Writes every element of an array, or a single value as a list of one element.
+     */
+    private static class ListDecoder
+            extends FieldDecoder
+    {
+        private final FieldDecoder element;
+
+        ListDecoder(Field field, FieldDecoder element)
+        {
+            super(field, null);
+            this.element = element;
+        }
+
+        @Override
+        boolean write(JsonParser parser, FieldVector vector, int index)
+                throws IOException
+        {
+            switch (parser.currentToken()) {
+                case VALUE_NULL:
+                    return writeNull(vector, index);
+                case START_OBJECT:
+                    throw new RuntimeException("Invalid field value encountered in Document for field: " + field +
+                            ",value: " + parser.currentToken());
+                default:
+                    return writeValue(parser, vector, index);
+            }
+        }
+
+        @Override
+        boolean writeValue(JsonParser parser, FieldVector vector, int index)
+                throws IOException
+        {
+            ListVector listVector = (ListVector) vector;
+            FieldVector dataVector = listVector.getDataVector();
+            int offset = listVector.startNewValue(index);
+            int size = 0;
+            if (parser.currentToken() == JsonToken.START_ARRAY) {
+                while (parser.nextToken() != JsonToken.END_ARRAY) {
+                    element.write(parser, dataVector, offset + size++);
+                }
+            }
+            else {
+                element.write(parser, dataVector, offset + size++);
+            }
+            listVector.endValue(index, size);
+            return true;
+        }
+
+        @Override
+        boolean writeNull(FieldVector vector, int index)
+        {
+            ((ListVector) vector).setNull(index);
+            return true;
+        }
+    }
+}
@@ -441,6 +441,52 @@ public class ElasticsearchMetadataHandlerTest
         logger.info("doGetSplits: exit");
     }
 
+    /**
+     * Used to test that doGetSplits() divides large shards into slices.
+     */
+    @Test
+    public void doGetSplitsWithSlices()
+            throws Exception
+    {
+        logger.info("doGetSplitsWithSlices: enter");
+
+        GetSplitsRequest req = new GetSplitsRequest(fakeIdentity(),
+                "queryId",
+                "elasticsearch",
+                new TableName("movies", "customer"),
+                BlockUtils.newBlock(allocator, "partitionId", Types.MinorType.INT.getType(), 0),
+                new ArrayList<>(),
+                new Constraints(new HashMap<>()),
+                null);
+
+        String domain = "movies";
+        String endpoint = "https://search-movies-ne3fcqzfipy6jcrew2wca6kyqu.us-east-1.es.amazonaws.com";
+        when(domainMapProvider.getDomainMap(null)).thenReturn(ImmutableMap.of(domain, endpoint));
+        when(mockClient.getShardIds(anyString(), anyLong())).thenReturn(ImmutableSet.of(0, 1));
+        // Shard 0 is divided into 3 slices by its document count, shard 1 is read by a single split.
+        when(mockClient.getPrimaryShardSizes(anyString())).thenReturn(ImmutableMap.of(
+                0, new AwsRestHighLevelClient.ShardSize(1_200_000L, 300L * 1024 * 1024),
+                1, new AwsRestHighLevelClient.ShardSize(1_000L, 1024L)));
+
+        handler = new ElasticsearchMetadataHandler(awsGlue, new LocalKeyFactory(), awsSecretsManager, amazonAthena,
+                "spill-bucket", "spill-prefix", domainMapProvider, clientFactory, 10);
+
+        GetSplitsResponse response = handler.doGetSplits(allocator, req);
+
+        Set<String> slices = new HashSet<>();
+        response.getSplits().forEach(split -> slices.add(split.getProperty(ElasticsearchMetadataHandler.SHARD_KEY) + " " +
+                split.getProperty(ElasticsearchMetadataHandler.SLICE_ID_KEY) + "/" +
+                split.getProperty(ElasticsearchMetadataHandler.SLICE_MAX_KEY)));
+        assertEquals(ImmutableSet.of("_shards:0 0/3", "_shards:0 1/3", "_shards:0 2/3", "_shards:1 null/null"), slices);
+
+        // The store size can also call for more slices, and their number is capped.
+        assertEquals(1, ElasticsearchMetadataHandler.getSliceCount(null));
+        assertEquals(4, ElasticsearchMetadataHandler.getSliceCount(new AwsRestHighLevelClient.ShardSize(10L, 2L * 1024 * 1024 * 1024)));
+        assertEquals(32, ElasticsearchMetadataHandler.getSliceCount(new AwsRestHighLevelClient.ShardSize(1_000_000_000L, 0L)));
+
+        logger.info("doGetSplitsWithSlices: exit");
+    }
+
     private static FederatedIdentity fakeIdentity()
     {
         return new FederatedIdentity("access_key_id",
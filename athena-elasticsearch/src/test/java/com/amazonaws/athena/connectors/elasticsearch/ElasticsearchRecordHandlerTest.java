@@ -44,7 +44,6 @@ import com.amazonaws.services.s3.model.PutObjectResult;
 import com.amazonaws.services.s3.model.S3Object;
 import com.amazonaws.services.s3.model.S3ObjectInputStream;
 import com.amazonaws.services.secretsmanager.AWSSecretsManager;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.io.ByteStreams;
@@ -55,8 +54,12 @@ import org.apache.arrow.vector.types.pojo.Schema;
 import org.apache.lucene.search.TotalHits;
 import org.elasticsearch.action.search.SearchRequest;
 import org.elasticsearch.action.search.SearchResponse;
+import org.elasticsearch.action.search.SearchScrollRequest;
+import org.elasticsearch.common.bytes.BytesArray;
+import org.elasticsearch.common.bytes.BytesReference;
 import org.elasticsearch.search.SearchHit;
 import org.elasticsearch.search.SearchHits;
+import org.elasticsearch.search.sort.FieldSortBuilder;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -86,6 +89,7 @@ import static org.mockito.Matchers.anyObject;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.anyString;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.when;
 import static org.mockito.Mockito.verify;
 
@@ -134,7 +138,7 @@ public class ElasticsearchRecordHandlerTest
     {
         logger.info("setUpBefore - enter");
 
-        Map <String, Object> document1 = new ObjectMapper().readValue(
+        BytesReference document1 = new BytesArray(
                 "{\n" +
                 "  \"mytext\" : \"My favorite Sci-Fi movie is Interstellar.\",\n" +
                 "  \"mykeyword\" : \"I love keywords.\",\n" +
@@ -176,9 +180,9 @@ public class ElasticsearchRecordHandlerTest
                 "      \"l2binary\" : \"U29tZSBiaW5hcnkgYmxvYg==\"\n" +
                 "    }\n" +
                 "  }\n" +
-                "}\n", HashMap.class);
+                "}\n");
 
-        Map <String, Object> document2 = new ObjectMapper().readValue(
+        BytesReference document2 = new BytesArray(
                 "{\n" +
                 "  \"mytext\" : \"My favorite TV comedy is Seinfeld.\",\n" +
                 "  \"mykeyword\" : \"I hate key-values.\",\n" +
@@ -217,7 +221,7 @@ public class ElasticsearchRecordHandlerTest
                 "      \"l2binary\" : \"U29tZSBiaW5hcnkgYmxvYg==\"\n" +
                 "    }\n" +
                 "  }\n" +
-                "}\n", HashMap.class);
+                "}\n");
 
         mapping = SchemaBuilder.newBuilder()
                 .addField("mytext", Types.MinorType.VARCHAR.getType())
@@ -287,7 +291,8 @@ public class ElasticsearchRecordHandlerTest
 
         when(clientFactory.getOrCreateClient(anyString())).thenReturn(mockClient);
         when(mockClient.getDocuments(any())).thenReturn(mockResponse);
-        when(mockClient.getDocument(any())).thenReturn(document1, document2);
+        when(mockClient.scrollDocuments(any())).thenReturn(mockResponse);
+        when(mockClient.getDocumentSource(any())).thenReturn(document1, document2);
 
         handler = new ElasticsearchRecordHandler(amazonS3, awsSecretsManager, athena, clientFactory, 720);
 
@@ -346,6 +351,10 @@ public class ElasticsearchRecordHandlerTest
         // Get the actual predicate and compare to the expected one.
         String actualPredicate = searchRequest.source().query().queryName();
         assertEquals("Predicates do not match", expectedPredicate, actualPredicate);
+        // Batches are read with a scroll sorted on _doc.
+        assertNotNull("Scroll not set", searchRequest.scroll());
+        assertEquals("Sort does not match", "_doc", ((FieldSortBuilder) searchRequest.source().sorts().get(0)).getFieldName());
+        verify(mockClient, times(0)).scrollDocuments(any());
 
         assertTrue(rawResponse instanceof ReadRecordsResponse);
 
@@ -360,6 +369,43 @@ public class ElasticsearchRecordHandlerTest
         logger.info("doReadRecordsNoSpill: exit");
     }
 
+    @Test
+    public void doReadRecordsSlice()
+            throws Exception
+    {
+        SearchHit searchHit[] = new SearchHit[1];
+        searchHit[0] = new SearchHit(1);
+        when(mockResponse.getHits()).thenReturn(new SearchHits(searchHit, new TotalHits(1, TotalHits.Relation.EQUAL_TO), 4));
+
+        Split slice = Split.newBuilder(makeSpillLocation(), null)
+                .add("movies", "https://search-movies-ne3fcqzfipy6jcrew2wca6kyqu.us-east-1.es.amazonaws.com")
+                .add(ElasticsearchMetadataHandler.SHARD_KEY, "_shards:1")
+                .add(ElasticsearchMetadataHandler.SLICE_ID_KEY, "2")
+                .add(ElasticsearchMetadataHandler.SLICE_MAX_KEY, "3")
+                .build();
+
+        ReadRecordsRequest request = new ReadRecordsRequest(fakeIdentity(),
+                "elasticsearch",
+                "queryId-" + System.currentTimeMillis(),
+                new TableName("movies", "mishmash"),
+                mapping,
+                slice,
+                new Constraints(new HashMap<>()),
+                100_000_000_000L,
+                100_000_000_000L
+        );
+
+        ReadRecordsResponse response = (ReadRecordsResponse) handler.doReadRecords(allocator, request);
+        assertEquals(1, response.getRecords().getRowCount());
+
+        ArgumentCaptor<SearchRequest> argumentCaptor = ArgumentCaptor.forClass(SearchRequest.class);
+        verify(mockClient).getDocuments(argumentCaptor.capture());
+        SearchRequest searchRequest = argumentCaptor.getValue();
+        assertEquals("_shards:1", searchRequest.preference());
+        assertEquals(2, searchRequest.source().slice().getId());
+        assertEquals(3, searchRequest.source().slice().getMax());
+    }
+
     @Test
     public void doReadRecordsSpill()
             throws Exception
@@ -381,6 +427,7 @@ public class ElasticsearchRecordHandlerTest
                 new SearchHits(searchHit2, new TotalHits(2, TotalHits.Relation.EQUAL_TO), 4);
         when(mockResponse.getHits())
                 .thenReturn(searchHits1, searchHits1, searchHits2, searchHits2);
+        when(mockResponse.getScrollId()).thenReturn("scroll-1");
 
         Map<String, ValueSet> constraintsMap = new HashMap<>();
         constraintsMap.put("myshort", SortedRangeSet.copyOf(Types.MinorType.SMALLINT.getType(),
@@ -405,6 +452,12 @@ public class ElasticsearchRecordHandlerTest
         try (RemoteReadRecordsResponse response = (RemoteReadRecordsResponse) rawResponse) {
             logger.info("doReadRecordsSpill: remoteBlocks[{}]", response.getRemoteBlocks().size());
 
+            // The second batch continues the scroll opened by the first one, which is cleared at the end.
+            ArgumentCaptor<SearchScrollRequest> scrollCaptor = ArgumentCaptor.forClass(SearchScrollRequest.class);
+            verify(mockClient, times(1)).scrollDocuments(scrollCaptor.capture());
+            assertEquals("scroll-1", scrollCaptor.getValue().scrollId());
+            verify(mockClient, times(1)).clearDocumentsScroll("scroll-1");
+
             assertEquals(3, response.getNumberBlocks());
 
             int blockNum = 0;
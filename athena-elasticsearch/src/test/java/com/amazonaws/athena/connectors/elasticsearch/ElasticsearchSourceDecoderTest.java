@@ -0,0 +1,781 @@
+/*-
+ * #%L
+ * athena-elasticsearch
+ * %%
+ * Copyright (C) 2019 - 2020 Amazon Web Services
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package com.amazonaws.athena.connectors.elasticsearch;
+
+import com.amazonaws.athena.connector.lambda.data.Block;
+import com.amazonaws.athena.connector.lambda.data.BlockAllocator;
+import com.amazonaws.athena.connector.lambda.data.BlockAllocatorImpl;
+import com.amazonaws.athena.connector.lambda.data.SchemaBuilder;
+import com.amazonaws.athena.connector.lambda.domain.predicate.Range;
+import com.amazonaws.athena.connector.lambda.domain.predicate.SortedRangeSet;
+import com.amazonaws.athena.connector.lambda.domain.predicate.ValueSet;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.types.Types;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.apache.arrow.vector.types.pojo.FieldType;
+import org.apache.arrow.vector.types.pojo.Schema;
+import org.apache.arrow.vector.util.Text;
+import org.elasticsearch.common.bytes.BytesArray;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * This class is used to test the ElasticsearchSourceDecoder class.
+ */
+public class ElasticsearchSourceDecoderTest
+{
+    private static final Logger logger = LoggerFactory.getLogger(ElasticsearchSourceDecoderTest.class);
+
+    private BlockAllocator allocator;
+
+    @Before
+    public void setUp()
+    {
+        allocator = new BlockAllocatorImpl();
+    }
+
+    @After
+    public void tearDown()
+    {
+        allocator.close();
+    }
+
+    /**
+     * Test that only the projected fields are decoded, including the children of STRUCT and LIST fields.
+     * @throws Exception
+     */
+    @Test
+    public void decodeProjectedFieldsTest()
+            throws Exception
+    {
+        Schema mapping = SchemaBuilder.newBuilder()
+                .addField("mytext", Types.MinorType.VARCHAR.getType())
+                .addField(new Field("mylong", FieldType.nullable(Types.MinorType.LIST.getType()),
+                        Collections.singletonList(new Field("mylong",
+                                FieldType.nullable(Types.MinorType.BIGINT.getType()), null))))
+                .addField("myfloat", Types.MinorType.FLOAT8.getType())
+                .addField("mybool", Types.MinorType.BIT.getType())
+                .addField("mynull", Types.MinorType.VARCHAR.getType())
+                .addField("mymissing", Types.MinorType.VARCHAR.getType())
+                .addField("myobject", Types.MinorType.VARCHAR.getType())
+                .addField(new Field("mystruct", FieldType.nullable(Types.MinorType.STRUCT.getType()),
+                        ImmutableList.of(
+                                new Field("street", FieldType.nullable(Types.MinorType.VARCHAR.getType()), null),
+                                new Field("geo", FieldType.nullable(Types.MinorType.STRUCT.getType()),
+                                        ImmutableList.of(
+                                                new Field("lat", FieldType.nullable(Types.MinorType.FLOAT8.getType()), null),
+                                                new Field("lon", FieldType.nullable(Types.MinorType.FLOAT8.getType()), null))))))
+                .addField(new Field("mylist", FieldType.nullable(Types.MinorType.LIST.getType()),
+                        Collections.singletonList(new Field("mylist", FieldType.nullable(Types.MinorType.STRUCT.getType()),
+                                Collections.singletonList(
+                                        new Field("name", FieldType.nullable(Types.MinorType.VARCHAR.getType()), null))))))
+                .build();
+
+        String document = "{" +
+                "\"mytext\":\"My favorite Sci-Fi movie is Interstellar.\"," +
+                "\"mylong\":[4294967296,2]," +
+                "\"myfloat\":1.5," +
+                "\"mybool\":true," +
+                "\"mynull\":null," +
+                "\"unprojected\":{\"deep\":[{\"a\":1},{\"b\":[1,2,3]}],\"text\":\"skipped\"}," +
+                "\"mystruct\":{\"street\":\"Main\",\"ignored\":{\"x\":1},\"geo\":{\"lat\":1.25,\"lon\":[2]}}," +
+                "\"mylist\":[{\"name\":\"a\",\"ignored\":1},{\"name\":\"b\"}]," +
+                "\"myobject\":{\"key\":\"value\"}" +
+                "}";
+
+        Map<String, Object> expectedResults = new HashMap<>();
+        expectedResults.put("mytext", "My favorite Sci-Fi movie is Interstellar.");
+        expectedResults.put("mylong", ImmutableList.of(4294967296L, 2L));
+        expectedResults.put("myfloat", 1.5D);
+        expectedResults.put("mybool", true);
+        expectedResults.put("mynull", null);
+        expectedResults.put("mymissing", null);
+        expectedResults.put("myobject", null);
+        expectedResults.put("mystruct", ImmutableMap.of("street", "Main",
+                "geo", ImmutableMap.of("lat", 1.25D, "lon", 2.0D)));
+        expectedResults.put("mylist", ImmutableList.of(ImmutableMap.of("name", "a"), ImmutableMap.of("name", "b")));
+
+        assertEquals("Decoded results are not as expected!", expectedResults, decode(mapping, document));
+    }
+
+    /**
+     * Test that a missing or empty source sets all fields to null.
+     * @throws Exception
+     */
+    @Test
+    public void decodeEmptySourceTest()
+            throws Exception
+    {
+        Schema mapping = SchemaBuilder.newBuilder()
+                .addField("mytext", Types.MinorType.VARCHAR.getType())
+                .addField(new Field("mylong", FieldType.nullable(Types.MinorType.LIST.getType()),
+                        Collections.singletonList(new Field("mylong",
+                                FieldType.nullable(Types.MinorType.BIGINT.getType()), null))))
+                .build();
+        ElasticsearchSourceDecoder decoder = ElasticsearchSourceDecoder.compile(mapping, Collections.emptyMap());
+
+        try (Block block = allocator.createBlock(mapping)) {
+            assertTrue(decoder.writeRow(block, 0, null));
+            assertTrue(decoder.writeRow(block, 1, new BytesArray("{}")));
+            block.setRowCount(2);
+
+            for (int row = 0; row < 2; row++) {
+                assertNull(block.getFieldVector("mytext").getObject(row));
+                assertNull(block.getFieldVector("mylong").getObject(row));
+            }
+        }
+    }
+
+    /**
+     * Test that constraints are evaluated on the decoded values, and that a rejected row is re-used.
+     * @throws Exception
+     */
+    @Test
+    public void decodeWithConstraintsTest()
+            throws Exception
+    {
+        Schema mapping = SchemaBuilder.newBuilder()
+                .addField(new Field("mylong", FieldType.nullable(Types.MinorType.LIST.getType()),
+                        Collections.singletonList(new Field("mylong",
+                                FieldType.nullable(Types.MinorType.BIGINT.getType()), null))))
+                .addField("mytext", Types.MinorType.VARCHAR.getType())
+                .addField("myshort", Types.MinorType.SMALLINT.getType())
+                .build();
+        Map<String, ValueSet> constraintsMap = new HashMap<>();
+        constraintsMap.put("myshort", SortedRangeSet.copyOf(Types.MinorType.SMALLINT.getType(),
+                ImmutableList.of(Range.range(allocator, Types.MinorType.SMALLINT.getType(),
+                        (short) 1955, false, (short) 1972, true)), false));
+        ElasticsearchSourceDecoder decoder = ElasticsearchSourceDecoder.compile(mapping, constraintsMap);
+
+        try (Block block = allocator.createBlock(mapping)) {
+            assertTrue(decoder.writeRow(block, 0,
+                    new BytesArray("{\"myshort\":1972,\"mytext\":\"first\",\"mylong\":[1,2]}")));
+            // Fails the constraint on 'myshort' after the other fields were written, the row is then re-used.
+            assertFalse(decoder.writeRow(block, 1,
+                    new BytesArray("{\"mylong\":[3],\"mytext\":\"rejected\",\"myshort\":\"1900\"}")));
+            // A missing value does not satisfy the constraint either.
+            assertFalse(decoder.writeRow(block, 1, new BytesArray("{\"mytext\":\"rejected\"}")));
+            assertTrue(decoder.writeRow(block, 1, new BytesArray("{\"myshort\":\"1971.1\"}")));
+            block.setRowCount(2);
+
+            assertEquals((short) 1972, block.getFieldVector("myshort").getObject(0));
+            assertEquals("first", block.getFieldVector("mytext").getObject(0).toString());
+            assertEquals(ImmutableList.of(1L, 2L), block.getFieldVector("mylong").getObject(0));
+            assertEquals((short) 1971, block.getFieldVector("myshort").getObject(1));
+            assertNull(block.getFieldVector("mytext").getObject(1));
+            assertNull(block.getFieldVector("mylong").getObject(1));
+        }
+    }
+
+    /**
+     * Test the coercion of values into LIST fields.
+     * @throws Exception
+     */
+    @Test
+    public void decodeListTest()
+            throws Exception
+    {
+        logger.info("decodeListTest - enter");
+
+        Schema mapping = SchemaBuilder.newBuilder()
+                .addField(new Field("mytext", FieldType.nullable(Types.MinorType.LIST.getType()),
+                        Collections.singletonList(new Field("mytext",
+                                FieldType.nullable(Types.MinorType.VARCHAR.getType()), null))))
+                .addField(new Field("myscaled", FieldType.nullable(Types.MinorType.LIST.getType()),
+                        Collections.singletonList(new Field("myscaled",
+                                new FieldType(true, Types.MinorType.BIGINT.getType(), null,
+                                        ImmutableMap.of("scaling_factor", "100")), null))))
+                .addField(new Field("mylong", FieldType.nullable(Types.MinorType.LIST.getType()),
+                        Collections.singletonList(new Field("mylong",
+                                FieldType.nullable(Types.MinorType.BIGINT.getType()), null))))
+                .addField(new Field("myint", FieldType.nullable(Types.MinorType.LIST.getType()),
+                        Collections.singletonList(new Field("myint",
+                                FieldType.nullable(Types.MinorType.INT.getType()), null))))
+                .addField(new Field("mysingle", FieldType.nullable(Types.MinorType.LIST.getType()),
+                        Collections.singletonList(new Field("mysingle",
+                                FieldType.nullable(Types.MinorType.INT.getType()), null))))
+                .addField(new Field("myshort", FieldType.nullable(Types.MinorType.LIST.getType()),
+                        Collections.singletonList(new Field("myshort",
+                                FieldType.nullable(Types.MinorType.SMALLINT.getType()), null))))
+                .addField(new Field("mybyte", FieldType.nullable(Types.MinorType.LIST.getType()),
+                        Collections.singletonList(new Field("mybyte",
+                                FieldType.nullable(Types.MinorType.TINYINT.getType()), null))))
+                .addField(new Field("mydouble", FieldType.nullable(Types.MinorType.LIST.getType()),
+                        Collections.singletonList(new Field("mydouble",
+                                FieldType.nullable(Types.MinorType.FLOAT8.getType()), null))))
+                .addField(new Field("myfloat", FieldType.nullable(Types.MinorType.LIST.getType()),
+                        Collections.singletonList(new Field("myfloat",
+                                FieldType.nullable(Types.MinorType.FLOAT4.getType()), null))))
+                .addField(new Field("mydate", FieldType.nullable(Types.MinorType.LIST.getType()),
+                        Collections.singletonList(new Field("mydate",
+                                FieldType.nullable(Types.MinorType.DATEMILLI.getType()), null))))
+                .addField(new Field("myboolean", FieldType.nullable(Types.MinorType.LIST.getType()),
+                        Collections.singletonList(new Field("myboolean",
+                                FieldType.nullable(Types.MinorType.BIT.getType()), null))))
+                .build();
+
+        String document = "{\n" +
+                "  \"mytext\" :\n" +
+                "   [\n" +
+                "    \"My favorite Sci-Fi movie is Interstellar.\",\n" +
+                "    \"My favorite TV comedy show is Seinfeld.\"\n" +
+                "   ],\n" +
+                "  \"myscaled\" :\n" +
+                "   [\n" +
+                "    \"0.888\",\n" +
+                "    0.746\n" +
+                "   ],\n" +
+                "  \"mylong\" :\n" +
+                "   [\n" +
+                "    \"298347394.343\",\n" +
+                "    385793575.34\n" +
+                "   ],\n" +
+                "  \"myint\" :\n" +
+                "   [\n" +
+                "    \"384637.434\",\n" +
+                "    234734.44\n" +
+                "   ],\n" +
+                "  \"mysingle\" : 12345,\n" +
+                "  \"myshort\" :\n" +
+                "   [\n" +
+                "    \"234.5\",\n" +
+                "    344.2\n" +
+                "   ],\n" +
+                "  \"mybyte\" :\n" +
+                "   [\n" +
+                "    \"1.2\",\n" +
+                "    2.4\n" +
+                "   ],\n" +
+                "  \"mydouble\" :\n" +
+                "   [\n" +
+                "    \"10405624\",\n" +
+                "    143534543,\n" +
+                "    \"103434.8643\",\n" +
+                "    14353254.232\n" +
+                "   ],\n" +
+                "  \"myfloat\" :\n" +
+                "   [\n" +
+                "    \"10624\",\n" +
+                "    14543,\n" +
+                "    \"103.83\",\n" +
+                "    13354.32\n" +
+                "   ],\n" +
+                "  \"mydate\" :\n" +
+                "   [\n" +
+                "    \"2020-05-19T10:15:30.456789\",\n" +
+                "    \"2020-05-15T06:49:30.123-05:00\",\n" +
+                "    1589969730789\n" +
+                "   ],\n" +
+                "  \"myboolean\" :\n" +
+                "   [\n" +
+                "    \"true\",\n" +
+                "    \"false\",\n" +
+                "    true,\n" +
+                "    false\n" +
+                "   ]\n" +
+                "}\n";
+
+        Map<String, Object> expectedResults = new HashMap<>();
+        expectedResults.put("mytext", ImmutableList.
+                of("My favorite Sci-Fi movie is Interstellar.", "My favorite TV comedy show is Seinfeld."));
+        expectedResults.put("myscaled", ImmutableList.of(new Long(89), new Long(75)));
+        expectedResults.put("mylong", ImmutableList.of(new Long(298347394), new Long(385793575)));
+        expectedResults.put("myint", ImmutableList.of(new Integer(384637), new Integer(234734)));
+        expectedResults.put("mysingle", Collections.singletonList(new Integer(12345)));
+        expectedResults.put("myshort", ImmutableList.of(new Short("234"), new Short("344")));
+        expectedResults.put("mybyte", ImmutableList.of(new Byte("1"), new Byte("2")));
+        expectedResults.put("mydouble", ImmutableList.of(new Double(10405624), new Double(143534543),
+                new Double(103434.8643), new Double(14353254.232)));
+        expectedResults.put("myfloat", ImmutableList.of(new Float(10624), new Float(14543),
+                new Float(103.83), new Float(13354.32)));
+        expectedResults.put("mydate", ImmutableList.of(new Long("1589883330457"), new Long("1589543370123"),
+                new Long("1589969730789")));
+        expectedResults.put("myboolean", ImmutableList.of(true, false, true, false));
+
+        Map<String, Object> decodedResults = decode(mapping, document);
+        logger.info("decodeListTest - Expected: {}, Decoded: {}", expectedResults, decodedResults);
+        assertEquals("Decoded results are not as expected!", expectedResults, decodedResults);
+
+        logger.info("decodeListTest - exit");
+    }
+
+    /**
+     * Test the decoding of VARCHAR values.
+     * @throws Exception
+     */
+    @Test
+    public void decodeVarCharTest()
+            throws Exception
+    {
+        logger.info("decodeVarCharTest - enter");
+
+        Schema mapping = SchemaBuilder.newBuilder()
+                .addField("mytext", Types.MinorType.VARCHAR.getType())
+                .addField("mytextlist", Types.MinorType.VARCHAR.getType())
+                .build();
+
+        String document = "{\n" +
+                "  \"mytext\" : \"My favorite Sci-Fi movie is Interstellar.\",\n" +
+                "  \"mytextlist\" : [\n" +
+                "    \"Hey, this is an array!\",\n" +
+                "    \"Wasn't expecting this!\"\n" +
+                "  ]\n" +
+                "}\n";
+
+        Map<String, Object> expectedResults = ImmutableMap.of(
+                "mytext", "My favorite Sci-Fi movie is Interstellar.",
+                "mytextlist", "Hey, this is an array!");
+        Map<String, Object> decodedResults = decode(mapping, document);
+        logger.info("decodeVarCharTest - Expected: {}, Decoded: {}", expectedResults, decodedResults);
+        assertEquals("Decoded results are not as expected!", expectedResults, decodedResults);
+
+        logger.info("decodeVarCharTest - exit");
+    }
+
+    /**
+     * Test the decoding of BIGINT values, including scaled_float values.
+     * @throws Exception
+     */
+    @Test
+    public void decodeBigIntTest()
+            throws Exception
+    {
+        logger.info("decodeBigIntTest - enter");
+
+        Schema mapping = SchemaBuilder.newBuilder()
+                .addField(new Field("myscaledfloat",
+                        new FieldType(true, Types.MinorType.BIGINT.getType(), null,
+                                ImmutableMap.of("scaling_factor", "10.51")), null))
+                .addField(new Field("myscaledstring",
+                        new FieldType(true, Types.MinorType.BIGINT.getType(), null,
+                                ImmutableMap.of("scaling_factor", "100.0")), null))
+                .addField(new Field("myscaledfloatlist",
+                        new FieldType(true, Types.MinorType.BIGINT.getType(), null,
+                                ImmutableMap.of("scaling_factor", "10")), null))
+                .addField(new Field("myscaledstringlist",
+                        new FieldType(true, Types.MinorType.BIGINT.getType(), null,
+                                ImmutableMap.of("scaling_factor", "10.0")), null))
+                .addField("mylong", Types.MinorType.BIGINT.getType())
+                .addField("mylongstring", Types.MinorType.BIGINT.getType())
+                .addField("mylonglist", Types.MinorType.BIGINT.getType())
+                .addField("mylongstringlist", Types.MinorType.BIGINT.getType())
+                .build();
+
+        String document = "{\n" +
+                "  \"myscaledfloat\" : 0.666,\n" +
+                "  \"myscaledstring\" : \"0.999\",\n" +
+                "  \"myscaledfloatlist\" : [\n" +
+                "    0.777,\n" +
+                "    0.888\n" +
+                "  ],\n" +
+                "  \"myscaledstringlist\" : [\n" +
+                "    \"0.5\",\n" +
+                "    \"0.2\"\n" +
+                "  ],\n" +
+                "  \"mylong\" : 1234567.8910,\n" +
+                "  \"mylongstring\" : \"54345.55\",\n" +
+                "  \"mylonglist\" : [\n" +
+                "    2374637.342,\n" +
+                "    1000304594\n" +
+                "  ],\n" +
+                "  \"mylongstringlist\" : [\n" +
+                "    \"0945857834.33\",\n" +
+                "    \"33433535\"\n" +
+                "  ]\n" +
+                "}\n";
+
+        Map<String, Object> expectedResults = new HashMap<>();
+        expectedResults.put("myscaledfloat", new Long(7));
+        expectedResults.put("myscaledstring", new Long(100));
+        expectedResults.put("myscaledfloatlist", new Long(8));
+        expectedResults.put("myscaledstringlist", new Long(5));
+        expectedResults.put("mylong", new Long(1234567));
+        expectedResults.put("mylongstring", new Long(54345));
+        expectedResults.put("mylonglist", new Long(2374637));
+        expectedResults.put("mylongstringlist", new Long(945857834));
+        Map<String, Object> decodedResults = decode(mapping, document);
+        logger.info("decodeBigIntTest - Expected: {}, Decoded: {}", expectedResults, decodedResults);
+        assertEquals("Decoded results are not as expected!", expectedResults, decodedResults);
+
+        logger.info("decodeBigIntTest - exit");
+    }
+
+    /**
+     * Test the decoding of INT values.
+     * @throws Exception
+     */
+    @Test
+    public void decodeIntTest()
+            throws Exception
+    {
+        logger.info("decodeIntTest - enter");
+
+        Schema mapping = SchemaBuilder.newBuilder()
+                .addField("myint", Types.MinorType.INT.getType())
+                .addField("myintstring", Types.MinorType.INT.getType())
+                .addField("myintlist", Types.MinorType.INT.getType())
+                .addField("myintstringlist", Types.MinorType.INT.getType())
+                .build();
+
+        String document = "{\n" +
+                "  \"myint\" : 5329347.8910,\n" +
+                "  \"myintstring\" : \"0479374.55\",\n" +
+                "  \"myintlist\" : [\n" +
+                "    472394.342,\n" +
+                "    1000304594\n" +
+                "  ],\n" +
+                "  \"myintstringlist\" : [\n" +
+                "    \"34875934.33\",\n" +
+                "    \"33433535\"\n" +
+                "  ]\n" +
+                "}\n";
+
+        Map<String, Object> expectedResults = ImmutableMap.of(
+                "myint", new Integer(5329347),
+                "myintstring", new Integer(479374),
+                "myintlist", new Integer(472394),
+                "myintstringlist", new Integer(34875934));
+        Map<String, Object> decodedResults = decode(mapping, document);
+        logger.info("decodeIntTest - Expected: {}, Decoded: {}", expectedResults, decodedResults);
+        assertEquals("Decoded results are not as expected!", expectedResults, decodedResults);
+
+        logger.info("decodeIntTest - exit");
+    }
+
+    /**
+     * Test the decoding of SMALLINT values.
+     * @throws Exception
+     */
+    @Test
+    public void decodeSmallIntTest()
+            throws Exception
+    {
+        logger.info("decodeSmallIntTest - enter");
+
+        Schema mapping = SchemaBuilder.newBuilder()
+                .addField("myshort", Types.MinorType.SMALLINT.getType())
+                .addField("myshortstring", Types.MinorType.SMALLINT.getType())
+                .addField("myshortlist", Types.MinorType.SMALLINT.getType())
+                .addField("myshortstringlist", Types.MinorType.SMALLINT.getType())
+                .build();
+
+        String document = "{\n" +
+                "  \"myshort\" : 123.5,\n" +
+                "  \"myshortstring\" : \"055.55\",\n" +
+                "  \"myshortlist\" : [\n" +
+                "    543.342,\n" +
+                "    1000304594\n" +
+                "  ],\n" +
+                "  \"myshortstringlist\" : [\n" +
+                "    \"334.33\",\n" +
+                "    \"33433535\"\n" +
+                "  ]\n" +
+                "}\n";
+
+        Map<String, Object> expectedResults = ImmutableMap.of(
+                "myshort", new Short((short) 123),
+                "myshortstring", new Short((short) 55),
+                "myshortlist", new Short((short) 543),
+                "myshortstringlist", new Short((short) 334));
+        Map<String, Object> decodedResults = decode(mapping, document);
+        logger.info("decodeSmallIntTest - Expected: {}, Decoded: {}", expectedResults, decodedResults);
+        assertEquals("Decoded results are not as expected!", expectedResults, decodedResults);
+
+        logger.info("decodeSmallIntTest - exit");
+    }
+
+    /**
+     * Test the decoding of TINYINT values.
+     * @throws Exception
+     */
+    @Test
+    public void decodeTinyIntTest()
+            throws Exception
+    {
+        logger.info("decodeTinyIntTest - enter");
+
+        Schema mapping = SchemaBuilder.newBuilder()
+                .addField("mybyte", Types.MinorType.TINYINT.getType())
+                .addField("mybytestring", Types.MinorType.TINYINT.getType())
+                .addField("mybytelist", Types.MinorType.TINYINT.getType())
+                .addField("mybytestringlist", Types.MinorType.TINYINT.getType())
+                .build();
+
+        String document = "{\n" +
+                "  \"mybyte\" : 5,\n" +
+                "  \"mybytestring\" : \"6.5\",\n" +
+                "  \"mybytelist\" : [\n" +
+                "    1.5,\n" +
+                "    2\n" +
+                "  ],\n" +
+                "  \"mybytestringlist\" : [\n" +
+                "    \"3.3\",\n" +
+                "    \"4\"\n" +
+                "  ]\n" +
+                "}\n";
+
+        Map<String, Object> expectedResults = ImmutableMap.of(
+                "mybyte", new Byte((byte) 5),
+                "mybytestring", new Byte((byte) 6),
+                "mybytelist", new Byte((byte) 1),
+                "mybytestringlist", new Byte((byte) 3));
+        Map<String, Object> decodedResults = decode(mapping, document);
+        logger.info("decodeTinyIntTest - Expected: {}, Decoded: {}", expectedResults, decodedResults);
+        assertEquals("Decoded results are not as expected!", expectedResults, decodedResults);
+
+        logger.info("decodeTinyIntTest - exit");
+    }
+
+    /**
+     * Test the decoding of FLOAT8 values.
+     * @throws Exception
+     */
+    @Test
+    public void decodeFloat8Test()
+            throws Exception
+    {
+        logger.info("decodeFloat8Test - enter");
+
+        Schema mapping = SchemaBuilder.newBuilder()
+                .addField("mydouble", Types.MinorType.FLOAT8.getType())
+                .addField("mydoublestring", Types.MinorType.FLOAT8.getType())
+                .addField("mydoublelist", Types.MinorType.FLOAT8.getType())
+                .addField("mydoublestringlist", Types.MinorType.FLOAT8.getType())
+                .build();
+
+        String document = "{\n" +
+                "  \"mydouble\" : 529388745.45784,\n" +
+                "  \"mydoublestring\" : \"923643764.2325\",\n" +
+                "  \"mydoublelist\" : [\n" +
+                "    65,\n" +
+                "    2\n" +
+                "  ],\n" +
+                "  \"mydoublestringlist\" : [\n" +
+                "    \"10\",\n" +
+                "    \"4\"\n" +
+                "  ]\n" +
+                "}\n";
+
+        Map<String, Object> expectedResults = ImmutableMap.of(
+                "mydouble", new Double(529388745.45784),
+                "mydoublestring", new Double(923643764.2325),
+                "mydoublelist", new Double(65.0),
+                "mydoublestringlist", new Double(10.0));
+        Map<String, Object> decodedResults = decode(mapping, document);
+        logger.info("decodeFloat8Test - Expected: {}, Decoded: {}", expectedResults, decodedResults);
+        assertEquals("Decoded results are not as expected!", expectedResults, decodedResults);
+
+        logger.info("decodeFloat8Test - exit");
+    }
+
+    /**
+     * Test the decoding of FLOAT4 values.
+     * @throws Exception
+     */
+    @Test
+    public void decodeFloat4Test()
+            throws Exception
+    {
+        logger.info("decodeFloat4Test - enter");
+
+        Schema mapping = SchemaBuilder.newBuilder()
+                .addField("myfloat", Types.MinorType.FLOAT4.getType())
+                .addField("myfloatstring", Types.MinorType.FLOAT4.getType())
+                .addField("myfloatlist", Types.MinorType.FLOAT4.getType())
+                .addField("myfloatstringlist", Types.MinorType.FLOAT4.getType())
+                .build();
+
+        String document = "{\n" +
+                "  \"myfloat\" : 529.84,\n" +
+                "  \"myfloatstring\" : \"764.25\",\n" +
+                "  \"myfloatlist\" : [\n" +
+                "    23,\n" +
+                "    2\n" +
+                "  ],\n" +
+                "  \"myfloatstringlist\" : [\n" +
+                "    \"45\",\n" +
+                "    \"4\"\n" +
+                "  ]\n" +
+                "}\n";
+
+        Map<String, Object> expectedResults = ImmutableMap.of(
+                "myfloat", new Float(529.84),
+                "myfloatstring", new Float(764.25),
+                "myfloatlist", new Float(23.0),
+                "myfloatstringlist", new Float(45.0));
+        Map<String, Object> decodedResults = decode(mapping, document);
+        logger.info("decodeFloat4Test - Expected: {}, Decoded: {}", expectedResults, decodedResults);
+        assertEquals("Decoded results are not as expected!", expectedResults, decodedResults);
+
+        logger.info("decodeFloat4Test - exit");
+    }
+
+    /**
+     * Test the decoding of DATEMILLI values from epoch milliseconds and date-time strings.
+     * @throws Exception
+     */
+    @Test
+    public void decodeDateMilliTest()
+            throws Exception
+    {
+        logger.info("decodeDateMilliTest - enter");
+
+        Schema mapping = SchemaBuilder.newBuilder()
+                .addField("mydate", Types.MinorType.DATEMILLI.getType())
+                .addField("mydatestring", Types.MinorType.DATEMILLI.getType())
+                .addField("mydatelist", Types.MinorType.DATEMILLI.getType())
+                .addField("mydatestringlist", Types.MinorType.DATEMILLI.getType())
+                .build();
+
+        String document = "{\n" +
+                "  \"mydate\" : 1589796930124,\n" +
+                "  \"mydatestring\" : \"2020-05-19T10:15:30.456789\",\n" +
+                "  \"mydatelist\" : [\n" +
+                "    1589969730789,\n" +
+                "    0\n" +
+                "  ],\n" +
+                "  \"mydatestringlist\" : [\n" +
+                "    \"2020-05-15T06:49:30.123-05:00\",\n" +
+                "    \"0\"\n" +
+                "  ]\n" +
+                "}\n";
+
+        Map<String, Object> expectedResults = ImmutableMap.of(
+                "mydate", new Long("1589796930124"),
+                "mydatestring", new Long("1589883330457"),
+                "mydatelist", new Long("1589969730789"),
+                "mydatestringlist", new Long("1589543370123"));
+        Map<String, Object> decodedResults = decode(mapping, document);
+        logger.info("decodeDateMilliTest - Expected: {}, Decoded: {}", expectedResults, decodedResults);
+        assertEquals("Decoded results are not as expected!", expectedResults, decodedResults);
+
+        logger.info("decodeDateMilliTest - exit");
+    }
+
+    /**
+     * Test the decoding of BIT values.
+     * @throws Exception
+     */
+    @Test
+    public void decodeBooleanTest()
+            throws Exception
+    {
+        logger.info("decodeBooleanTest - enter");
+
+        Schema mapping = SchemaBuilder.newBuilder()
+                .addField("myboolean", Types.MinorType.BIT.getType())
+                .addField("mybooleanstring", Types.MinorType.BIT.getType())
+                .addField("mybooleanlist", Types.MinorType.BIT.getType())
+                .addField("mybooleanstringlist", Types.MinorType.BIT.getType())
+                .build();
+
+        String document = "{\n" +
+                "  \"myboolean\" : true,\n" +
+                "  \"mybooleanstring\" : \"false\",\n" +
+                "  \"mybooleanlist\" : [\n" +
+                "    false,\n" +
+                "    true\n" +
+                "  ],\n" +
+                "  \"mybooleanstringlist\" : [\n" +
+                "    \"true\",\n" +
+                "    \"false\"\n" +
+                "  ]\n" +
+                "}\n";
+
+        Map<String, Object> expectedResults = ImmutableMap.of(
+                "myboolean", true,
+                "mybooleanstring", false,
+                "mybooleanlist", false,
+                "mybooleanstringlist", true);
+        Map<String, Object> decodedResults = decode(mapping, document);
+        logger.info("decodeBooleanTest - Expected: {}, Decoded: {}", expectedResults, decodedResults);
+        assertEquals("Decoded results are not as expected!", expectedResults, decodedResults);
+
+        logger.info("decodeBooleanTest - exit");
+    }
+
+    /**
+     * Decodes a document into the first row of a new Block and reads the values back.
+     * @param mapping is the metadata definitions of the document being processed.
+     * @param document is the document source.
+     * @return a map of the field names and their associated values read from the Block.
+     * @throws IOException
+     */
+    private Map<String, Object> decode(Schema mapping, String document)
+            throws IOException
+    {
+        ElasticsearchSourceDecoder decoder = ElasticsearchSourceDecoder.compile(mapping, Collections.emptyMap());
+        try (Block block = allocator.createBlock(mapping)) {
+            assertTrue(decoder.writeRow(block, 0, new BytesArray(document)));
+            block.setRowCount(1);
+
+            Map<String, Object> results = new HashMap<>();
+            for (Field field : mapping.getFields()) {
+                FieldVector vector = block.getFieldVector(field.getName());
+                results.put(field.getName(), toJava(vector.getObject(0)));
+            }
+            return results;
+        }
+    }
+
+    /**
+     * Converts the values read from Arrow vectors into the types used by the expected results.
+     */
+    private static Object toJava(Object value)
+    {
+        if (value instanceof Text) {
+            return value.toString();
+        }
+        else if (value instanceof LocalDateTime) {
+            return ((LocalDateTime) value).toInstant(ZoneOffset.UTC).toEpochMilli();
+        }
+        else if (value instanceof List) {
+            List<Object> values = new ArrayList<>();
+            ((List<?>) value).forEach(next -> values.add(toJava(next)));
+            return values;
+        }
+        else if (value instanceof Map) {
+            Map<String, Object> values = new LinkedHashMap<>();
+            ((Map<?, ?>) value).forEach((key, next) -> values.put(key.toString(), toJava(next)));
+            return values;
+        }
+        return value;
+    }
+}
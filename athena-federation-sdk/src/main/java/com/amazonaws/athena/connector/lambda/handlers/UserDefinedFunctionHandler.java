@@ -58,6 +58,8 @@ import com.amazonaws.services.lambda.runtime.Context;
 import com.amazonaws.services.lambda.runtime.RequestStreamHandler;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Lists;
 import org.apache.arrow.vector.FieldVector;
 import org.apache.arrow.vector.complex.reader.FieldReader;
@@ -78,14 +80,18 @@ import org.slf4j.LoggerFactory;
 
 import java.io.InputStream;
 import java.io.OutputStream;
-import java.lang.reflect.InvocationTargetException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Method;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
-import java.util.Objects;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 import static com.amazonaws.athena.connector.lambda.handlers.FederationCapabilities.CAPABILITIES;
@@ -94,6 +100,14 @@ import static com.google.common.base.Preconditions.checkState;
 
 /**
  * Athena UDF users are expected to extend this class to create UDFs.
+ * <p>
+ * A UDF is usually a public method whose name and boxed argument types match the function signature defined in SQL,
+ * it is then called once per row. A UDF may instead (or additionally) be implemented as a vectorized method which is
+ * called once per batch: a public void method with the same name taking the Arrow vector of every input column,
+ * followed by the Arrow vector to write the results into (e.g. {@code void add(BigIntVector a, BigIntVector b,
+ * BigIntVector out)}). The number of rows is the value count of the input vectors, the output vector has been
+ * allocated for that many rows and any row left unset is returned as null. When both forms exist the vectorized one
+ * is preferred.
  */
 public abstract class UserDefinedFunctionHandler
         implements RequestStreamHandler
@@ -101,6 +115,22 @@ public abstract class UserDefinedFunctionHandler
     private static final Logger logger = LoggerFactory.getLogger(UserDefinedFunctionHandler.class);
 
     private static final int RETURN_COLUMN_COUNT = 1;
+
+    //The boxed argument types that Method.invoke, and so a MethodHandle adapted to take Objects, unboxes and widens
+    //into each primitive parameter type.
+    private static final Map<Class<?>, Set<Class<?>>> PRIMITIVE_ARGUMENT_TYPES = ImmutableMap.<Class<?>, Set<Class<?>>>builder()
+            .put(boolean.class, ImmutableSet.of(Boolean.class))
+            .put(byte.class, ImmutableSet.of(Byte.class))
+            .put(char.class, ImmutableSet.of(Character.class))
+            .put(short.class, ImmutableSet.of(Short.class, Byte.class))
+            .put(int.class, ImmutableSet.of(Integer.class, Short.class, Byte.class, Character.class))
+            .put(long.class, ImmutableSet.of(Long.class, Integer.class, Short.class, Byte.class, Character.class))
+            .put(float.class, ImmutableSet.of(Float.class, Long.class, Integer.class, Short.class, Byte.class, Character.class))
+            .put(double.class, ImmutableSet.of(Double.class, Float.class, Long.class, Integer.class, Short.class, Byte.class, Character.class))
+            .build();
+
+    //UDF methods bound to this handler, resolved once per method rather than through reflection on every row.
+    private final Map<Method, MethodHandle> boundMethods = new ConcurrentHashMap<>();
     //Used to tag log lines generated by this connector for diagnostic purposes when interacting with Athena.
     private final String sourceType;
 
@@ -166,10 +196,16 @@ public abstract class UserDefinedFunctionHandler
     private UserDefinedFunctionResponse processScalarFunction(BlockAllocator allocator, UserDefinedFunctionRequest req)
             throws Exception
     {
-        Method udfMethod = extractScalarFunctionMethod(req);
         Block inputRecords = req.getInputRecords();
         Schema outputSchema = req.getOutputSchema();
 
+        Method vectorizedMethod = extractVectorizedFunctionMethod(req);
+        if (vectorizedMethod != null) {
+            Block outputRecords = processBatch(allocator, vectorizedMethod, inputRecords, outputSchema);
+            return new UserDefinedFunctionResponse(outputRecords, vectorizedMethod.getName());
+        }
+
+        Method udfMethod = extractScalarFunctionMethod(req);
         Block outputRecords = processRows(allocator, udfMethod, inputRecords, outputSchema);
         return new UserDefinedFunctionResponse(outputRecords, udfMethod.getName());
     }
@@ -180,8 +216,8 @@ public abstract class UserDefinedFunctionHandler
      * <p>
      * UDF methods are invoked row-by-row in a for loop. Arrow values are converted to Java Objects and then passed into
      * the UDF java method. This is not very efficient because we might potentially be doing a lot of data copying.
-     * Advanced users could choose to override this method and directly deal with Arrow data to achieve better
-     * performance.
+     * Advanced users could choose to implement a vectorized UDF (see {@link #processBatch}) or override this method
+     * and directly deal with Arrow data to achieve better performance.
      *
      * @param allocator arrow memory allocator
      * @param udfMethod the extracted java method matching the User-Defined-Function defined in Athena.
@@ -226,6 +262,93 @@ public abstract class UserDefinedFunctionHandler
         return outputRecords;
     }
 
+    /**
+     * Processes a group of rows with a vectorized UDF. The UDF method is invoked once for the whole block with the
+     * Arrow vectors of the input columns and the (allocated but empty) output vector, avoiding the per row conversion
+     * to and from Java Objects done by processRows.
+     *
+     * @param allocator arrow memory allocator
+     * @param udfMethod the extracted vectorized java method matching the User-Defined-Function defined in Athena.
+     * @param inputRecords input data in Arrow format
+     * @param outputSchema output data schema in Arrow format
+     * @return output data in Arrow format
+     */
+    protected Block processBatch(BlockAllocator allocator, Method udfMethod, Block inputRecords, Schema outputSchema)
+            throws Exception
+    {
+        int rowCount = inputRecords.getRowCount();
+        List<FieldVector> inputVectors = inputRecords.getFieldVectors();
+
+        Block outputRecords = allocator.createBlock(outputSchema);
+        try {
+            FieldVector outputVector = outputRecords.getFieldVectors().get(0);
+            Class<?> outputType = udfMethod.getParameterTypes()[inputVectors.size()];
+            if (!outputType.isInstance(outputVector)) {
+                throw new IllegalArgumentException("signature return type " + outputVector.getClass().getName()
+                        + " does not match vectorized udf implementation output type " + outputType.getName());
+            }
+            outputVector.setInitialCapacity(rowCount);
+            outputVector.allocateNew();
+
+            Object[] arguments = new Object[inputVectors.size() + 1];
+            for (int col = 0; col < inputVectors.size(); ++col) {
+                arguments[col] = inputVectors.get(col);
+            }
+            arguments[inputVectors.size()] = outputVector;
+            invokeMethod(udfMethod, arguments);
+
+            outputRecords.setRowCount(rowCount);
+        }
+        catch (Throwable t) {
+            try {
+                outputRecords.close();
+            }
+            catch (Exception e) {
+                logger.error("Error closing output block", e);
+            }
+            throw t;
+        }
+
+        return outputRecords;
+    }
+
+    /**
+     * Looks for a vectorized java method matching the UDF function defined in Athena SQL, that is a void method with
+     * the UDF's name taking one Arrow vector per input column plus the output vector.
+     *
+     * @param req UDF request
+     * @return the vectorized java method matching the UDF defined in Athena query, null if there isn't one.
+     */
+    private Method extractVectorizedFunctionMethod(UserDefinedFunctionRequest req)
+    {
+        String methodName = req.getMethodName();
+        List<FieldVector> inputVectors = req.getInputRecords().getFieldVectors();
+        if (inputVectors.isEmpty()) {
+            //the row count of a vectorized call is carried by its input vectors.
+            return null;
+        }
+
+        for (Method method : this.getClass().getMethods()) {
+            Class<?>[] parameterTypes = method.getParameterTypes();
+            if (!method.getName().equals(methodName) || method.getReturnType() != void.class
+                    || parameterTypes.length != inputVectors.size() + 1
+                    || !FieldVector.class.isAssignableFrom(parameterTypes[inputVectors.size()])) {
+                continue;
+            }
+
+            boolean matches = true;
+            for (int col = 0; col < inputVectors.size() && matches; ++col) {
+                matches = parameterTypes[col].isInstance(inputVectors.get(col));
+            }
+
+            if (matches) {
+                logger.info("Found vectorized UDF method {} with parameter types {}", methodName, Arrays.toString(parameterTypes));
+                return method;
+            }
+        }
+        return null;
+    }
+
     /**
      * Use reflection to find tha java method that maches the UDF function defined in Athena SQL.
      *
@@ -517,24 +640,61 @@ public abstract class UserDefinedFunctionHandler
             arguments[col] = valueProjectors.get(col).project(inputRowNum);
         }
 
+        return invokeMethod(udfMethod, arguments);
+    }
+
+    private Object invokeMethod(Method udfMethod, Object[] arguments)
+    {
+        MethodHandle handle = boundMethods.computeIfAbsent(udfMethod, this::bindMethod);
+        checkArguments(udfMethod, arguments);
         try {
-            return udfMethod.invoke(this, arguments);
+            return (Object) handle.invokeExact(arguments);
         }
-        catch (IllegalAccessException e) {
-            throw new RuntimeException(e);
+        catch (Throwable t) {
+            throw new RuntimeException(t);
         }
-        catch (InvocationTargetException e) {
-            if (Objects.isNull(e)) {
-                throw new RuntimeException(e);
+    }
+
+    /**
+     * Validates the arguments the way Method.invoke does before the bound MethodHandle casts and unboxes them, so that
+     * any ClassCastException or NullPointerException thrown by the invocation comes from the UDF itself.
+     *
+     * @throws IllegalArgumentException if an argument does not match its parameter type, including a null argument
+     * for a primitive parameter.
+     */
+    private static void checkArguments(Method udfMethod, Object[] arguments)
+    {
+        Class<?>[] parameterTypes = udfMethod.getParameterTypes();
+        for (int i = 0; i < parameterTypes.length; i++) {
+            Object argument = arguments[i];
+            boolean matches = parameterTypes[i].isPrimitive()
+                    ? argument != null && PRIMITIVE_ARGUMENT_TYPES.get(parameterTypes[i]).contains(argument.getClass())
+                    : argument == null || parameterTypes[i].isInstance(argument);
+            if (!matches) {
+                String msg = String.format("argument %d of %s does not match its parameter type. Expected function types %s, got types %s",
+                        i,
+                        udfMethod.getName(),
+                        Arrays.stream(parameterTypes).map(clazz -> clazz.getName()).collect(Collectors.toList()),
+                        Arrays.stream(arguments).map(arg -> arg == null ? "null" : arg.getClass().getName()).collect(Collectors.toList()));
+                throw new IllegalArgumentException(msg);
             }
-            throw new RuntimeException(e.getCause());
         }
-        catch (IllegalArgumentException e) {
-            String msg = String.format("%s. Expected function types %s, got types %s",
-                    e.getMessage(),
-                    Arrays.stream(udfMethod.getParameterTypes()).map(clazz -> clazz.getName()).collect(Collectors.toList()),
-                    Arrays.stream(arguments).map(arg -> arg.getClass().getName()).collect(Collectors.toList()));
-            throw new RuntimeException(msg, e);
+    }
+
+    /**
+     * Binds the UDF method to this handler as a MethodHandle taking the arguments as an Object[] and returning an
+     * Object, so that each invocation skips the access checks and argument validation done by Method.invoke.
+     */
+    private MethodHandle bindMethod(Method udfMethod)
+    {
+        try {
+            return MethodHandles.lookup().unreflect(udfMethod)
+                    .bindTo(this)
+                    .asSpreader(Object[].class, udfMethod.getParameterCount())
+                    .asType(MethodType.methodType(Object.class, Object[].class));
+        }
+        catch (IllegalAccessException e) {
+            throw new RuntimeException("Unable to access UDF method " + udfMethod, e);
         }
     }
 }
@@ -108,6 +108,38 @@ public class UserDefinedFunctionHandlerTest
         }
     }
 
+    @Test
+    public void testVectorizedInvocation()
+            throws Exception
+    {
+        int rowCount = 20;
+        UserDefinedFunctionRequest udfRequest = createUDFRequest(rowCount, Integer.class, "test_vectorized_udf", true, Integer.class, Integer.class);
+
+        UserDefinedFunctionResponse udfResponse = handler.processFunction(allocator, udfRequest);
+        Block responseBlock = udfResponse.getRecords();
+
+        assertEquals("test_vectorized_udf", udfResponse.getMethodName());
+        assertEquals(1, responseBlock.getFieldReaders().size());
+        assertEquals(rowCount, responseBlock.getRowCount());
+
+        FieldReader fieldReader = responseBlock.getFieldReaders().get(0);
+
+        for (int pos = 0; pos < rowCount; ++pos) {
+            fieldReader.setPosition(pos);
+            assertEquals(2 * (pos + 100), (int) UnitTestBlockUtils.getValue(fieldReader, pos));
+        }
+
+        UserDefinedFunctionRequest nullRequest = createUDFRequest(rowCount, Integer.class, "test_vectorized_udf", false, Integer.class, Integer.class);
+        Block nullBlock = handler.processFunction(allocator, nullRequest).getRecords();
+        assertEquals(rowCount, nullBlock.getRowCount());
+
+        FieldReader nullReader = nullBlock.getFieldReaders().get(0);
+        for (int pos = 0; pos < rowCount; ++pos) {
+            nullReader.setPosition(pos);
+            assertFalse(nullReader.isSet());
+        }
+    }
+
     @Test
     public void testInvocationWithListType()
             throws Exception
@@ -185,6 +217,22 @@ public class UserDefinedFunctionHandlerTest
         }
     }
 
+    @Test
+    public void testClassCastExceptionFromUdfBody()
+    {
+        UserDefinedFunctionRequest udfRequest = createUDFRequest(20, Integer.class, "test_scalar_udf_with_cast_error", true, Integer.class);
+
+        try {
+            handler.processFunction(allocator, udfRequest);
+            fail("Expected the UDF to fail");
+        }
+        catch (Exception e) {
+            //the arguments match the UDF's parameters, the failure is reported as thrown by the UDF
+            assertTrue(e.getCause() instanceof ClassCastException);
+            assertFalse(e.getMessage().contains("Expected function types"));
+        }
+    }
+
     @Test
     public void testRequestTypeValidation()
             throws Exception
@@ -364,6 +412,26 @@ public class UserDefinedFunctionHandlerTest
             return col1 + col2;
         }
 
+        public Integer test_vectorized_udf(Integer col1, Integer col2)
+        {
+            throw new UnsupportedOperationException("The vectorized variant should have been preferred");
+        }
+
+        public void test_vectorized_udf(IntVector col1, IntVector col2, IntVector result)
+        {
+            for (int row = 0; row < col1.getValueCount(); ++row) {
+                if (!col1.isNull(row) && !col2.isNull(row)) {
+                    result.set(row, col1.get(row) + col2.get(row));
+                }
+            }
+        }
+
+        public Integer test_scalar_udf_with_cast_error(Integer col1)
+        {
+            Object value = String.valueOf(col1);
+            return (Integer) value;
+        }
+
         public Boolean test_scalar_function_with_null_value(Integer col1)
         {
             if (col1 == null) {
@@ -43,6 +43,32 @@ public class BigQueryConstants
      */
     public static final String ENV_BIG_QUERY_CREDS_SM_ID = "secret_manager_gcp_creds_name";
 
+    /**
+     * When set to true, splits are generated from a BigQuery Storage API read session (one split per read stream)
+     * instead of a count(*) query followed by LIMIT/OFFSET pages.
+     */
+    public static final String ENV_STORAGE_API_ENABLED = "storage_api_enabled";
+
+    /**
+     * The maximum number of read streams (and therefore splits) to request when creating a Storage API read session.
+     */
+    public static final String ENV_STORAGE_API_MAX_STREAMS = "storage_api_max_streams";
+
+    /**
+     * The default for {@link #ENV_STORAGE_API_MAX_STREAMS}, BigQuery may return fewer streams for small tables.
+     */
+    public static final int DEFAULT_STORAGE_API_MAX_STREAMS = 50;
+
+    /**
+     * Split property holding the fully qualified name of the Storage API read stream the split covers.
+     */
+    public static final String STORAGE_STREAM_PROPERTY = "storage_stream";
+
+    /**
+     * Split property holding the Base64 encoded Arrow IPC schema of the read session, needed to decode record batches.
+     */
+    public static final String STORAGE_SCHEMA_PROPERTY = "storage_schema";
+
     private BigQueryConstants()
     {
     }
@@ -50,6 +50,14 @@ import com.google.cloud.bigquery.Table;
 import com.google.cloud.bigquery.TableDefinition;
 import com.google.cloud.bigquery.TableId;
 import com.google.cloud.bigquery.TableResult;
+import com.google.cloud.bigquery.storage.v1beta1.BigQueryStorageClient;
+import com.google.cloud.bigquery.storage.v1beta1.ReadOptions.TableReadOptions;
+import com.google.cloud.bigquery.storage.v1beta1.Storage.CreateReadSessionRequest;
+import com.google.cloud.bigquery.storage.v1beta1.Storage.DataFormat;
+import com.google.cloud.bigquery.storage.v1beta1.Storage.ReadSession;
+import com.google.cloud.bigquery.storage.v1beta1.Storage.ShardingStrategy;
+import com.google.cloud.bigquery.storage.v1beta1.Storage.Stream;
+import com.google.cloud.bigquery.storage.v1beta1.TableReferenceProto.TableReference;
 import com.google.common.annotations.VisibleForTesting;
 import org.apache.arrow.vector.types.pojo.Schema;
 import org.slf4j.Logger;
@@ -57,6 +65,7 @@ import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Base64;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -76,18 +85,30 @@ public class BigQueryMetadataHandler
      * The {@link BigQuery} client to interact with the BigQuery Service.
      */
     private final BigQuery bigQuery;
+    /**
+     * The {@link BigQueryStorageClient} used to create read sessions, null unless the Storage API is enabled.
+     */
+    private final BigQueryStorageClient storageClient;
 
     BigQueryMetadataHandler()
         throws IOException
     {
-        this(BigQueryUtils.getBigQueryClient());
+        this(BigQueryUtils.getBigQueryClient(),
+                BigQueryUtils.isStorageApiEnabled() ? BigQueryUtils.getBigQueryStorageClient() : null);
     }
 
     @VisibleForTesting
     public BigQueryMetadataHandler(BigQuery bigQuery)
+    {
+        this(bigQuery, null);
+    }
+
+    @VisibleForTesting
+    public BigQueryMetadataHandler(BigQuery bigQuery, BigQueryStorageClient storageClient)
     {
         super(BigQueryConstants.SOURCE_TYPE);
         this.bigQuery = bigQuery;
+        this.storageClient = storageClient;
     }
 
     @Override
@@ -196,6 +217,10 @@ public class BigQueryMetadataHandler
     @Override
     public GetSplitsResponse doGetSplits(BlockAllocator allocator, GetSplitsRequest request) throws IOException, InterruptedException
     {
+        if (storageClient != null) {
+            return doGetStorageSplits(request);
+        }
+
         int constraintsSize = request.getConstraints().getSummary().size();
         if (constraintsSize > 0) {
             //Every split must have a unique location if we wish to spill to avoid failures
@@ -240,6 +265,64 @@ public class BigQueryMetadataHandler
         }
     }
 
+    /**
+     * Creates a BigQuery Storage API read session for the table and makes one split per read stream. The session
+     * carries the constraints as a row restriction so BigQuery only streams matching rows, and each split carries the
+     * session's Arrow schema so the record handler can decode the streamed record batches without another call.
+     * GetSplitsRequest does not tell us which columns the query projects, so the session reads every column and the
+     * record handler only decodes the ones it was asked for.
+     *
+     * @param request Provides details of the catalog, database, table, and partition(s) being queried as well as
+     * any filter predicate.
+     * @return One split per read stream, no splits if BigQuery found nothing to read.
+     */
+    private GetSplitsResponse doGetStorageSplits(GetSplitsRequest request)
+    {
+        String projectName = BigQueryUtils.getProjectName(request);
+        String dataSetName = fixCaseForDatasetName(projectName, request.getTableName().getSchemaName(), bigQuery);
+        String tableName = fixCaseForTableName(projectName, dataSetName, request.getTableName().getTableName(), bigQuery);
+
+        TableReadOptions.Builder readOptions = TableReadOptions.newBuilder();
+        String rowRestriction = BigQuerySqlUtils.buildRowRestriction(request.getConstraints());
+        if (rowRestriction != null) {
+            readOptions.setRowRestriction(rowRestriction);
+        }
+
+        CreateReadSessionRequest sessionRequest = CreateReadSessionRequest.newBuilder()
+                .setParent("projects/" + projectName)
+                .setTableReference(TableReference.newBuilder()
+                        .setProjectId(projectName)
+                        .setDatasetId(dataSetName)
+                        .setTableId(tableName))
+                .setReadOptions(readOptions)
+                .setRequestedStreams(getMaxStreams())
+                .setFormat(DataFormat.ARROW)
+                .setShardingStrategy(ShardingStrategy.BALANCED)
+                .build();
+        logger.info("doGetStorageSplits: creating read session for {}.{}.{} with row restriction {}",
+                projectName, dataSetName, tableName, rowRestriction);
+
+        ReadSession session = storageClient.createReadSession(sessionRequest);
+        String encodedSchema = Base64.getEncoder().encodeToString(session.getArrowSchema().getSerializedSchema().toByteArray());
+
+        Set<Split> splits = new HashSet<>();
+        for (Stream stream : session.getStreamsList()) {
+            splits.add(Split.newBuilder(makeSpillLocation(request), makeEncryptionKey())
+                    .add(BigQueryConstants.STORAGE_STREAM_PROPERTY, stream.getName())
+                    .add(BigQueryConstants.STORAGE_SCHEMA_PROPERTY, encodedSchema)
+                    .build());
+        }
+        logger.info("doGetStorageSplits: read session {} has {} streams", session.getName(), splits.size());
+        return new GetSplitsResponse(request.getCatalogName(), splits);
+    }
+
+    private static int getMaxStreams()
+    {
+        String maxStreams = System.getenv(BigQueryConstants.ENV_STORAGE_API_MAX_STREAMS);
+        return (maxStreams == null || maxStreams.isEmpty())
+                ? BigQueryConstants.DEFAULT_STORAGE_API_MAX_STREAMS : Integer.parseInt(maxStreams);
+    }
+
     /**
      * Getting Bigquery table schema details
      * @param projectName
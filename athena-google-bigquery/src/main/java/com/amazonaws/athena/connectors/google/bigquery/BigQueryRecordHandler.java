@@ -33,6 +33,7 @@ import com.amazonaws.services.s3.AmazonS3;
 import com.amazonaws.services.s3.AmazonS3ClientBuilder;
 import com.amazonaws.services.secretsmanager.AWSSecretsManager;
 import com.amazonaws.services.secretsmanager.AWSSecretsManagerClientBuilder;
+import com.google.api.gax.rpc.ServerStream;
 import com.google.cloud.bigquery.BigQuery;
 import com.google.cloud.bigquery.BigQueryException;
 import com.google.cloud.bigquery.FieldValue;
@@ -43,6 +44,11 @@ import com.google.cloud.bigquery.JobInfo;
 import com.google.cloud.bigquery.QueryJobConfiguration;
 import com.google.cloud.bigquery.QueryParameterValue;
 import com.google.cloud.bigquery.TableResult;
+import com.google.cloud.bigquery.storage.v1beta1.BigQueryStorageClient;
+import com.google.cloud.bigquery.storage.v1beta1.Storage.ReadRowsRequest;
+import com.google.cloud.bigquery.storage.v1beta1.Storage.ReadRowsResponse;
+import com.google.cloud.bigquery.storage.v1beta1.Storage.Stream;
+import com.google.cloud.bigquery.storage.v1beta1.Storage.StreamPosition;
 import com.google.common.annotations.VisibleForTesting;
 import org.apache.arrow.vector.types.pojo.Field;
 import org.slf4j.Logger;
@@ -50,6 +56,7 @@ import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Base64;
 import java.util.List;
 import java.util.Objects;
 import java.util.UUID;
@@ -73,6 +80,10 @@ public class BigQueryRecordHandler
      * The {@link BigQuery} client to interact with the BigQuery Service.
      */
     private final BigQuery bigQueryClient;
+    /**
+     * The {@link BigQueryStorageClient} used to read splits made from read streams, created on first use.
+     */
+    private BigQueryStorageClient storageClient;
 
     BigQueryRecordHandler()
             throws IOException
@@ -86,15 +97,28 @@ public class BigQueryRecordHandler
 
     @VisibleForTesting
     public BigQueryRecordHandler(AmazonS3 amazonS3, AWSSecretsManager secretsManager, AmazonAthena athena, BigQuery bigQueryClient)
+    {
+        this(amazonS3, secretsManager, athena, bigQueryClient, null);
+    }
+
+    @VisibleForTesting
+    public BigQueryRecordHandler(AmazonS3 amazonS3, AWSSecretsManager secretsManager, AmazonAthena athena, BigQuery bigQueryClient,
+            BigQueryStorageClient storageClient)
     {
         super(amazonS3, secretsManager, athena, BigQueryConstants.SOURCE_TYPE);
         this.bigQueryClient = bigQueryClient;
+        this.storageClient = storageClient;
     }
 
     @Override
     public void readWithConstraint(BlockSpiller spiller, ReadRecordsRequest recordsRequest, QueryStatusChecker queryStatusChecker)
             throws Exception
     {
+        if (recordsRequest.getSplit().getProperty(BigQueryConstants.STORAGE_STREAM_PROPERTY) != null) {
+            readStream(spiller, recordsRequest, queryStatusChecker);
+            return;
+        }
+
         List<QueryParameterValue> parameterValues = new ArrayList<>();
         String sqlToExecute = "";
         invoker.setBlockSpiller(spiller);
@@ -156,6 +180,48 @@ public class BigQueryRecordHandler
         outputResults(spiller, recordsRequest, result);
     }
 
+    /**
+     * Reads the Storage API read stream named by the split and decodes its Arrow record batches into the spiller.
+     * There is no query job to create or wait for, rows start streaming as soon as the call is made.
+     *
+     * @param spiller        The {@link BlockSpiller} provided when readWithConstraints() is called.
+     * @param recordsRequest The {@link ReadRecordsRequest} provided when readWithConstraints() is called.
+     * @param queryStatusChecker Used to stop reading once the query is no longer running.
+     */
+    private void readStream(BlockSpiller spiller, ReadRecordsRequest recordsRequest, QueryStatusChecker queryStatusChecker)
+            throws IOException
+    {
+        String streamName = recordsRequest.getSplit().getProperty(BigQueryConstants.STORAGE_STREAM_PROPERTY);
+        byte[] serializedSchema = Base64.getDecoder().decode(
+                recordsRequest.getSplit().getProperty(BigQueryConstants.STORAGE_SCHEMA_PROPERTY));
+        ReadRowsRequest readRowsRequest = ReadRowsRequest.newBuilder()
+                .setReadPosition(StreamPosition.newBuilder().setStream(Stream.newBuilder().setName(streamName)))
+                .build();
+        logger.info("readStream: reading {}", streamName);
+
+        long rows = 0;
+        try (BigQueryStorageReader reader = new BigQueryStorageReader(serializedSchema, recordsRequest.getSchema())) {
+            ServerStream<ReadRowsResponse> stream = getStorageClient().readRowsCallable().call(readRowsRequest);
+            for (ReadRowsResponse response : stream) {
+                if (!queryStatusChecker.isQueryRunning()) {
+                    stream.cancel();
+                    break;
+                }
+                rows += reader.writeBatch(response.getArrowRecordBatch().getSerializedRecordBatch(), spiller);
+            }
+        }
+        logger.info("readStream: read {} rows from {}", rows, streamName);
+    }
+
+    private synchronized BigQueryStorageClient getStorageClient()
+            throws IOException
+    {
+        if (storageClient == null) {
+            storageClient = BigQueryUtils.getBigQueryStorageClient();
+        }
+        return storageClient;
+    }
+
     /**
      * Iterates through all the results that comes back from BigQuery and saves the result to be read by the Athena Connector.
      *
@@ -27,6 +27,7 @@ import com.amazonaws.athena.connector.lambda.domain.predicate.Range;
 import com.amazonaws.athena.connector.lambda.domain.predicate.SortedRangeSet;
 import com.amazonaws.athena.connector.lambda.domain.predicate.ValueSet;
 import com.google.cloud.bigquery.QueryParameterValue;
+import com.google.cloud.bigquery.StandardSQLTypeName;
 import com.google.common.base.Joiner;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableList;
@@ -40,12 +41,13 @@ import org.slf4j.LoggerFactory;
 import java.math.BigDecimal;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
 import java.util.StringJoiner;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Utilities that help with Sql operations.
@@ -110,6 +112,33 @@ public class BigQuerySqlUtils
         return sqlBuilder.toString();
     }
 
+    /**
+     * Builds the row restriction of a BigQuery Storage API read session from the constraints. The Storage API does not
+     * support query parameters so values are rendered as literals. Constraints on columns whose type can not be
+     * rendered are left out, the ConstraintEvaluator will still filter those rows.
+     *
+     * @param constraints The constraints that we want to apply to the read session.
+     * @return The row restriction or null if none of the constraints could be pushed down.
+     */
+    public static String buildRowRestriction(Constraints constraints)
+    {
+        List<String> clauses = new ArrayList<>();
+        if (constraints.getSummary() != null) {
+            for (Map.Entry<String, ValueSet> next : constraints.getSummary().entrySet()) {
+                if (!(next.getValue() instanceof SortedRangeSet)) {
+                    continue;
+                }
+                try {
+                    clauses.add(toPredicate(next.getKey(), next.getValue(), next.getValue().getType(), BigQuerySqlUtils::toLiteral));
+                }
+                catch (UnsupportedOperationException ex) {
+                    LOGGER.info("buildRowRestriction: unable to push down constraint on {}, {}", next.getKey(), ex.getMessage());
+                }
+            }
+        }
+        return clauses.isEmpty() ? null : Joiner.on(" AND ").join(clauses);
+    }
+
     private static String quote(final String identifier)
     {
         return BIGQUERY_QUOTE_CHAR + identifier + BIGQUERY_QUOTE_CHAR;
@@ -128,14 +157,22 @@ public class BigQuerySqlUtils
                 ValueSet valueSet = constraints.getSummary().get(column.getName());
                 if (valueSet != null) {
                     LOGGER.info("valueSet: ", valueSet);
-                    builder.add(toPredicate(column.getName(), valueSet, type, parameterValues));
+                    builder.add(toPredicate(column.getName(), valueSet, type, parameterBinder(parameterValues)));
                 }
             }
         }
         return builder.build();
     }
 
-    private static String toPredicate(String columnName, ValueSet valueSet, ArrowType type, List<QueryParameterValue> parameterValues)
+    private static Function<QueryParameterValue, String> parameterBinder(List<QueryParameterValue> parameterValues)
+    {
+        return (QueryParameterValue value) -> {
+            parameterValues.add(value);
+            return "?";
+        };
+    }
+
+    private static String toPredicate(String columnName, ValueSet valueSet, ArrowType type, Function<QueryParameterValue, String> binder)
     {
         List<String> disjuncts = new ArrayList<>();
         List<Object> singleValues = new ArrayList<>();
@@ -163,10 +200,10 @@ public class BigQuerySqlUtils
                     if (!range.getLow().isLowerUnbounded()) {
                         switch (range.getLow().getBound()) {
                             case ABOVE:
-                                rangeConjuncts.add(toPredicate(columnName, ">", range.getLow().getValue(), type, parameterValues));
+                                rangeConjuncts.add(toPredicate(columnName, ">", range.getLow().getValue(), type, binder));
                                 break;
                             case EXACTLY:
-                                rangeConjuncts.add(toPredicate(columnName, ">=", range.getLow().getValue(), type, parameterValues));
+                                rangeConjuncts.add(toPredicate(columnName, ">=", range.getLow().getValue(), type, binder));
                                 break;
                             case BELOW:
                                 throw new IllegalArgumentException("Low marker should never use BELOW bound");
@@ -179,10 +216,10 @@ public class BigQuerySqlUtils
                             case ABOVE:
                                 throw new IllegalArgumentException("High marker should never use ABOVE bound");
                             case EXACTLY:
-                                rangeConjuncts.add(toPredicate(columnName, "<=", range.getHigh().getValue(), type, parameterValues));
+                                rangeConjuncts.add(toPredicate(columnName, "<=", range.getHigh().getValue(), type, binder));
                                 break;
                             case BELOW:
-                                rangeConjuncts.add(toPredicate(columnName, "<", range.getHigh().getValue(), type, parameterValues));
+                                rangeConjuncts.add(toPredicate(columnName, "<", range.getHigh().getValue(), type, binder));
                                 break;
                             default:
                                 throw new AssertionError("Unhandled bound: " + range.getHigh().getBound());
@@ -196,13 +233,12 @@ public class BigQuerySqlUtils
 
             // Add back all of the possible single values either as an equality or an IN predicate
             if (singleValues.size() == 1) {
-                disjuncts.add(toPredicate(columnName, "=", Iterables.getOnlyElement(singleValues), type, parameterValues));
+                disjuncts.add(toPredicate(columnName, "=", Iterables.getOnlyElement(singleValues), type, binder));
             }
             else if (singleValues.size() > 1) {
-                for (Object value : singleValues) {
-                    parameterValues.add(getValueForWhereClause(columnName, value, type));
-                }
-                String values = Joiner.on(",").join(Collections.nCopies(singleValues.size(), "?"));
+                String values = singleValues.stream()
+                        .map(value -> binder.apply(getValueForWhereClause(columnName, value, type)))
+                        .collect(Collectors.joining(","));
                 disjuncts.add(quote(columnName) + " IN (" + values + ")");
             }
         }
@@ -211,10 +247,42 @@ public class BigQuerySqlUtils
     }
 
     private static String toPredicate(String columnName, String operator, Object value, ArrowType type,
-            List<QueryParameterValue> parameterValues)
+            Function<QueryParameterValue, String> binder)
+    {
+        return quote(columnName) + " " + operator + " " + binder.apply(getValueForWhereClause(columnName, value, type));
+    }
+
+    //Renders a query parameter as a GoogleSQL literal, used where parameters are not supported (ie row restrictions).
+    private static String toLiteral(QueryParameterValue value)
+    {
+        StandardSQLTypeName type = value.getType();
+        switch (type) {
+            case INT64:
+            case BOOL:
+                return value.getValue();
+            case FLOAT64:
+                double doubleValue = Double.parseDouble(value.getValue());
+                if (Double.isNaN(doubleValue)) {
+                    return "CAST('nan' AS FLOAT64)";
+                }
+                if (Double.isInfinite(doubleValue)) {
+                    return doubleValue > 0 ? "CAST('inf' AS FLOAT64)" : "CAST('-inf' AS FLOAT64)";
+                }
+                return value.getValue();
+            case STRING:
+                return quoteString(value.getValue());
+            case NUMERIC:
+            case DATE:
+            case DATETIME:
+                return type.name() + " " + quoteString(value.getValue());
+            default:
+                throw new UnsupportedOperationException("The BigQuery type: " + type + " can not be rendered as a literal");
+        }
+    }
+
+    private static String quoteString(String value)
     {
-        parameterValues.add(getValueForWhereClause(columnName, value, type));
-        return quote(columnName) + " " + operator + " ?";
+        return "'" + value.replace("\\", "\\\\").replace("'", "\\'") + "'";
     }
 
     //Gets the representation of a value that can be used in a where clause, ie String values need to be quoted, numeric doesn't.
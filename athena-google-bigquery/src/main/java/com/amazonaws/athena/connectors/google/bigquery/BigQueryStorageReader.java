@@ -0,0 +1,191 @@
+
+/*-
+ * #%L
+ * athena-google-bigquery
+ * %%
+ * Copyright (C) 2019 Amazon Web Services
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package com.amazonaws.athena.connectors.google.bigquery;
+
+import com.amazonaws.athena.connector.lambda.data.Block;
+import com.amazonaws.athena.connector.lambda.data.BlockSpiller;
+import com.google.protobuf.ByteString;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.BigIntVector;
+import org.apache.arrow.vector.BitVector;
+import org.apache.arrow.vector.DateDayVector;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.Float8Vector;
+import org.apache.arrow.vector.TimeMicroVector;
+import org.apache.arrow.vector.TimeStampMicroTZVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.VectorLoader;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.ipc.ReadChannel;
+import org.apache.arrow.vector.ipc.message.ArrowRecordBatch;
+import org.apache.arrow.vector.ipc.message.MessageSerializer;
+import org.apache.arrow.vector.types.Types;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.apache.arrow.vector.types.pojo.Schema;
+import org.apache.arrow.vector.util.Text;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decodes the Arrow record batches streamed by a BigQuery Storage API read session into Blocks. The session schema
+ * is deserialized once and every record batch is loaded into the same VectorSchemaRoot, the projected columns are
+ * then copied row by row into the BlockSpiller using a reader bound to the source vector's type.
+ */
+public class BigQueryStorageReader
+        implements AutoCloseable
+{
+    private final BufferAllocator allocator;
+    private final VectorSchemaRoot root;
+    private final VectorLoader loader;
+    private final List<ColumnReader> columns = new ArrayList<>();
+
+    /**
+     * @param serializedSchema The Arrow IPC schema message of the read session.
+     * @param projection The schema of the columns to write into the Blocks.
+     */
+    public BigQueryStorageReader(byte[] serializedSchema, Schema projection)
+            throws IOException
+    {
+        this.allocator = new RootAllocator(Long.MAX_VALUE);
+        Schema sessionSchema = MessageSerializer.deserializeSchema(
+                new ReadChannel(Channels.newChannel(new ByteArrayInputStream(serializedSchema))));
+        this.root = VectorSchemaRoot.create(sessionSchema, allocator);
+        this.loader = new VectorLoader(root);
+        for (Field field : projection.getFields()) {
+            FieldVector vector = root.getVector(field.getName());
+            if (vector == null) {
+                throw new IllegalArgumentException("Column " + field.getName() + " is not part of the read session schema "
+                        + sessionSchema);
+            }
+            columns.add(new ColumnReader(field.getName(), makeValueReader(vector)));
+        }
+    }
+
+    /**
+     * Decodes a serialized Arrow record batch and writes its rows into the spiller.
+     *
+     * @param serializedRecordBatch The Arrow IPC record batch message from a ReadRowsResponse.
+     * @param spiller The BlockSpiller to write the rows into.
+     * @return The number of rows in the record batch.
+     */
+    public long writeBatch(ByteString serializedRecordBatch, BlockSpiller spiller)
+            throws IOException
+    {
+        try (ArrowRecordBatch batch = MessageSerializer.deserializeRecordBatch(
+                new ReadChannel(Channels.newChannel(serializedRecordBatch.newInput())), allocator)) {
+            loader.load(batch);
+        }
+
+        int rowCount = root.getRowCount();
+        for (int i = 0; i < rowCount; i++) {
+            final int row = i;
+            spiller.writeRows((Block block, int rowNum) -> {
+                for (ColumnReader next : columns) {
+                    if (!block.offerValue(next.name, rowNum, next.reader.read(row))) {
+                        return 0;
+                    }
+                }
+                return 1;
+            });
+        }
+        return rowCount;
+    }
+
+    /**
+     * Picks the cheapest way to turn a value of the source vector into what the Block expects for the column type
+     * that BigQueryMetadataHandler advertised, matching the values produced for query results.
+     */
+    private static ValueReader makeValueReader(FieldVector vector)
+    {
+        switch (Types.getMinorTypeForArrowType(vector.getField().getType())) {
+            case BIGINT:
+                BigIntVector bigIntVector = (BigIntVector) vector;
+                return (int row) -> bigIntVector.isNull(row) ? null : bigIntVector.get(row);
+            case FLOAT8:
+                Float8Vector float8Vector = (Float8Vector) vector;
+                return (int row) -> float8Vector.isNull(row) ? null : float8Vector.get(row);
+            case BIT:
+                BitVector bitVector = (BitVector) vector;
+                return (int row) -> bitVector.isNull(row) ? null : bitVector.get(row) == 1;
+            case VARCHAR:
+                VarCharVector varCharVector = (VarCharVector) vector;
+                return (int row) -> varCharVector.isNull(row) ? null
+                        : new String(varCharVector.get(row), StandardCharsets.UTF_8);
+            case DATEDAY:
+                DateDayVector dateDayVector = (DateDayVector) vector;
+                return (int row) -> dateDayVector.isNull(row) ? null : dateDayVector.get(row);
+            case TIMESTAMPMICROTZ:
+                //TIMESTAMP columns are exposed as strings, rendered the same way as for query results.
+                TimeStampMicroTZVector timestampVector = (TimeStampMicroTZVector) vector;
+                return (int row) -> {
+                    if (timestampVector.isNull(row)) {
+                        return null;
+                    }
+                    long micros = timestampVector.get(row);
+                    return Instant.ofEpochSecond(Math.floorDiv(micros, 1_000_000L),
+                            TimeUnit.MICROSECONDS.toNanos(Math.floorMod(micros, 1_000_000L)));
+                };
+            case TIMEMICRO:
+                TimeMicroVector timeVector = (TimeMicroVector) vector;
+                return (int row) -> timeVector.isNull(row) ? null
+                        : LocalTime.ofNanoOfDay(TimeUnit.MICROSECONDS.toNanos(timeVector.get(row)));
+            default:
+                //DECIMAL (BigDecimal), DATETIME (LocalDateTime) and anything else the Block knows how to coerce.
+                return (int row) -> {
+                    Object value = vector.getObject(row);
+                    return (value instanceof Text) ? value.toString() : value;
+                };
+        }
+    }
+
+    @Override
+    public void close()
+    {
+        root.close();
+        allocator.close();
+    }
+
+    private interface ValueReader
+    {
+        Object read(int row);
+    }
+
+    private static class ColumnReader
+    {
+        private final String name;
+        private final ValueReader reader;
+
+        private ColumnReader(String name, ValueReader reader)
+        {
+            this.name = name;
+            this.reader = reader;
+        }
+    }
+}
@@ -25,6 +25,7 @@ import com.amazonaws.services.secretsmanager.AWSSecretsManager;
 import com.amazonaws.services.secretsmanager.AWSSecretsManagerClientBuilder;
 import com.amazonaws.services.secretsmanager.model.GetSecretValueRequest;
 import com.amazonaws.services.secretsmanager.model.GetSecretValueResult;
+import com.google.api.gax.core.FixedCredentialsProvider;
 import com.google.api.gax.paging.Page;
 import com.google.auth.Credentials;
 import com.google.auth.oauth2.ServiceAccountCredentials;
@@ -35,6 +36,8 @@ import com.google.cloud.bigquery.DatasetId;
 import com.google.cloud.bigquery.FieldValue;
 import com.google.cloud.bigquery.LegacySQLTypeName;
 import com.google.cloud.bigquery.Table;
+import com.google.cloud.bigquery.storage.v1beta1.BigQueryStorageClient;
+import com.google.cloud.bigquery.storage.v1beta1.BigQueryStorageSettings;
 import org.apache.arrow.vector.types.DateUnit;
 import org.apache.arrow.vector.types.FloatingPointPrecision;
 import org.apache.arrow.vector.types.Types;
@@ -75,6 +78,24 @@ public class BigQueryUtils
         return bigqueryBuilder.build().getService();
     }
 
+    public static BigQueryStorageClient getBigQueryStorageClient()
+        throws IOException
+    {
+        BigQueryStorageSettings settings = BigQueryStorageSettings.newBuilder()
+                .setCredentialsProvider(FixedCredentialsProvider.create(getCredentialsFromSecretsManager()))
+                .build();
+        return BigQueryStorageClient.create(settings);
+    }
+
+    /**
+     * @return True if the storage_api_enabled environment variable asks for splits to be read through the
+     * BigQuery Storage API.
+     */
+    public static boolean isStorageApiEnabled()
+    {
+        return Boolean.parseBoolean(System.getenv(BigQueryConstants.ENV_STORAGE_API_ENABLED));
+    }
+
     public static String getEnvBigQueryCredsSmId()
     {
         return getEnvVar(BigQueryConstants.ENV_BIG_QUERY_CREDS_SM_ID);
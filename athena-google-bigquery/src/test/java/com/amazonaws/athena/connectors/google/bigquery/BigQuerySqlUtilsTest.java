@@ -42,6 +42,7 @@ import java.util.List;
 import java.util.Map;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 
 public class BigQuerySqlUtilsTest
 {
@@ -104,6 +105,28 @@ public class BigQuerySqlUtilsTest
         }
     }
 
+    @Test
+    public void testRowRestriction()
+            throws Exception
+    {
+        Map<String, ValueSet> constraintMap = new LinkedHashMap<>();
+        constraintMap.put("integerRange", SortedRangeSet.newBuilder(INT_TYPE, true).add(new Range(Marker.above(new BlockAllocatorImpl(), INT_TYPE, 10),
+                Marker.exactly(new BlockAllocatorImpl(), INT_TYPE, 20))).build());
+        constraintMap.put("stringIn", SortedRangeSet.newBuilder(STRING_TYPE, false)
+                .add(new Range(Marker.exactly(new BlockAllocatorImpl(), STRING_TYPE, "it's"), Marker.exactly(new BlockAllocatorImpl(), STRING_TYPE, "it's")))
+                .add(new Range(Marker.exactly(new BlockAllocatorImpl(), STRING_TYPE, "z"), Marker.exactly(new BlockAllocatorImpl(), STRING_TYPE, "z")))
+                .build());
+
+        try (Constraints constraints = new Constraints(constraintMap)) {
+            assertEquals("((integerRange IS NULL) OR (`integerRange` > 10 AND `integerRange` <= 20)) " +
+                    "AND (`stringIn` IN ('it\\'s','z'))", BigQuerySqlUtils.buildRowRestriction(constraints));
+        }
+
+        try (Constraints constraints = new Constraints(Collections.emptyMap())) {
+            assertNull(BigQuerySqlUtils.buildRowRestriction(constraints));
+        }
+    }
+
     private Schema makeSchema(Map<String, ValueSet> constraintMap)
     {
         SchemaBuilder builder = new SchemaBuilder();
@@ -0,0 +1,300 @@
+/*-
+ * #%L
+ * athena-google-bigquery
+ * %%
+ * Copyright (C) 2019 - 2022 Amazon Web Services
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package com.amazonaws.athena.connectors.google.bigquery;
+
+import com.amazonaws.athena.connector.lambda.QueryStatusChecker;
+import com.amazonaws.athena.connector.lambda.data.Block;
+import com.amazonaws.athena.connector.lambda.data.BlockAllocator;
+import com.amazonaws.athena.connector.lambda.data.BlockAllocatorImpl;
+import com.amazonaws.athena.connector.lambda.data.BlockUtils;
+import com.amazonaws.athena.connector.lambda.data.S3BlockSpiller;
+import com.amazonaws.athena.connector.lambda.data.SchemaBuilder;
+import com.amazonaws.athena.connector.lambda.data.SpillConfig;
+import com.amazonaws.athena.connector.lambda.domain.Split;
+import com.amazonaws.athena.connector.lambda.domain.TableName;
+import com.amazonaws.athena.connector.lambda.domain.predicate.ConstraintEvaluator;
+import com.amazonaws.athena.connector.lambda.domain.predicate.Constraints;
+import com.amazonaws.athena.connector.lambda.domain.predicate.Range;
+import com.amazonaws.athena.connector.lambda.domain.predicate.SortedRangeSet;
+import com.amazonaws.athena.connector.lambda.domain.predicate.ValueSet;
+import com.amazonaws.athena.connector.lambda.domain.spill.S3SpillLocation;
+import com.amazonaws.athena.connector.lambda.metadata.GetSplitsRequest;
+import com.amazonaws.athena.connector.lambda.metadata.GetSplitsResponse;
+import com.amazonaws.athena.connector.lambda.records.ReadRecordsRequest;
+import com.amazonaws.athena.connector.lambda.security.FederatedIdentity;
+import com.amazonaws.athena.connector.lambda.security.LocalKeyFactory;
+import com.amazonaws.services.athena.AmazonAthena;
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.secretsmanager.AWSSecretsManager;
+import com.google.api.gax.core.NoCredentialsProvider;
+import com.google.api.gax.grpc.GrpcTransportChannel;
+import com.google.api.gax.rpc.FixedTransportChannelProvider;
+import com.google.cloud.bigquery.BigQuery;
+import com.google.cloud.bigquery.Dataset;
+import com.google.cloud.bigquery.DatasetId;
+import com.google.cloud.bigquery.Table;
+import com.google.cloud.bigquery.storage.v1beta1.ArrowProto;
+import com.google.cloud.bigquery.storage.v1beta1.BigQueryStorageClient;
+import com.google.cloud.bigquery.storage.v1beta1.BigQueryStorageGrpc;
+import com.google.cloud.bigquery.storage.v1beta1.BigQueryStorageSettings;
+import com.google.cloud.bigquery.storage.v1beta1.Storage;
+import com.google.common.collect.ImmutableList;
+import com.google.protobuf.ByteString;
+import io.grpc.ManagedChannel;
+import io.grpc.Server;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.StreamObserver;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.BigIntVector;
+import org.apache.arrow.vector.TimeStampMicroTZVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.VectorUnloader;
+import org.apache.arrow.vector.ipc.WriteChannel;
+import org.apache.arrow.vector.ipc.message.ArrowRecordBatch;
+import org.apache.arrow.vector.ipc.message.MessageSerializer;
+import org.apache.arrow.vector.types.TimeUnit;
+import org.apache.arrow.vector.types.Types;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.apache.arrow.vector.types.pojo.FieldType;
+import org.apache.arrow.vector.types.pojo.Schema;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Runs the Storage API split generation and stream decoding against an in-process gRPC stand-in for BigQuery.
+ */
+public class BigQueryStorageReaderTest
+{
+    private static final String PROJECT = BigQueryTestUtils.PROJECT_1_NAME;
+    private static final TableName TABLE_NAME = new TableName("dataset1", "table1");
+
+    private final FederatedIdentity identity = mock(FederatedIdentity.class);
+    private final Map<String, ByteString> batches = new HashMap<>();
+    private final List<Storage.CreateReadSessionRequest> sessionRequests = new ArrayList<>();
+    private BufferAllocator arrowAllocator;
+    private BlockAllocator allocator;
+    private Schema sessionSchema;
+    private Server server;
+    private ManagedChannel channel;
+    private BigQueryStorageClient storageClient;
+    private BigQuery bigQuery;
+
+    @Before
+    public void setUp()
+            throws IOException
+    {
+        System.setProperty("aws.region", "us-east-1");
+        arrowAllocator = new RootAllocator(Long.MAX_VALUE);
+        allocator = new BlockAllocatorImpl();
+
+        sessionSchema = new Schema(ImmutableList.of(
+                Field.nullable("id", Types.MinorType.BIGINT.getType()),
+                Field.nullable("name", Types.MinorType.VARCHAR.getType()),
+                Field.nullable("unprojected", Types.MinorType.VARCHAR.getType()),
+                new Field("ts", FieldType.nullable(new ArrowType.Timestamp(TimeUnit.MICROSECOND, "UTC")), null)));
+        batches.put("streams/0", makeBatch(new Long[] {1L, 2L}, new String[] {"a", null}, new Long[] {1_500L, null}));
+        batches.put("streams/1", makeBatch(new Long[] {3L}, new String[] {"c"}, new Long[] {-1L}));
+
+        String serverName = InProcessServerBuilder.generateName();
+        server = InProcessServerBuilder.forName(serverName).directExecutor().addService(new FakeBigQueryStorage()).build().start();
+        channel = InProcessChannelBuilder.forName(serverName).directExecutor().build();
+        storageClient = BigQueryStorageClient.create(BigQueryStorageSettings.newBuilder()
+                .setCredentialsProvider(NoCredentialsProvider.create())
+                .setTransportChannelProvider(FixedTransportChannelProvider.create(GrpcTransportChannel.create(channel)))
+                .build());
+
+        BigQueryPage<Dataset> datasets = new BigQueryPage<>(BigQueryTestUtils.getDatasetList(PROJECT, 2));
+        BigQueryPage<Table> tables = new BigQueryPage<>(BigQueryTestUtils.getTableList(PROJECT, "dataset1", 2));
+        bigQuery = mock(BigQuery.class);
+        when(bigQuery.listDatasets(anyString())).thenReturn(datasets);
+        when(bigQuery.listTables(any(DatasetId.class))).thenReturn(tables);
+    }
+
+    @After
+    public void tearDown()
+    {
+        storageClient.close();
+        channel.shutdownNow();
+        server.shutdownNow();
+        allocator.close();
+        arrowAllocator.close();
+    }
+
+    @Test
+    public void readSplits()
+            throws Exception
+    {
+        Map<String, ValueSet> constraintsMap = new HashMap<>();
+        constraintsMap.put("id", SortedRangeSet.copyOf(Types.MinorType.BIGINT.getType(),
+                ImmutableList.of(Range.greaterThan(allocator, Types.MinorType.BIGINT.getType(), 0L)), false));
+
+        BigQueryMetadataHandler metadataHandler = new BigQueryMetadataHandler(bigQuery, storageClient);
+        GetSplitsResponse splitsResponse = metadataHandler.doGetSplits(allocator, new GetSplitsRequest(identity,
+                "queryId", PROJECT, TABLE_NAME, mock(Block.class), Collections.<String>emptyList(),
+                new Constraints(constraintsMap), null));
+
+        assertEquals(1, sessionRequests.size());
+        Storage.CreateReadSessionRequest sessionRequest = sessionRequests.get(0);
+        assertEquals("projects/" + PROJECT, sessionRequest.getParent());
+        assertEquals("table1", sessionRequest.getTableReference().getTableId());
+        assertEquals("((`id` > 0))", sessionRequest.getReadOptions().getRowRestriction());
+        assertEquals(Storage.DataFormat.ARROW, sessionRequest.getFormat());
+        assertEquals(BigQueryConstants.DEFAULT_STORAGE_API_MAX_STREAMS, sessionRequest.getRequestedStreams());
+        assertEquals(2, splitsResponse.getSplits().size());
+
+        Schema projection = SchemaBuilder.newBuilder()
+                .addBigIntField("id")
+                .addStringField("name")
+                .addStringField("ts")
+                .build();
+        BigQueryRecordHandler recordHandler = new BigQueryRecordHandler(mock(AmazonS3.class), mock(AWSSecretsManager.class),
+                mock(AmazonAthena.class), bigQuery, storageClient);
+        QueryStatusChecker queryStatusChecker = mock(QueryStatusChecker.class);
+        when(queryStatusChecker.isQueryRunning()).thenReturn(true);
+
+        List<String> rows = new ArrayList<>();
+        for (Split split : splitsResponse.getSplits()) {
+            try (ReadRecordsRequest request = new ReadRecordsRequest(identity, PROJECT, "queryId", TABLE_NAME, projection,
+                    split, new Constraints(Collections.emptyMap()), 100_000_000L, 100_000_000L);
+                    S3BlockSpiller spiller = new S3BlockSpiller(mock(AmazonS3.class), makeSpillConfig(), allocator, projection,
+                            ConstraintEvaluator.emptyEvaluator())) {
+                recordHandler.readWithConstraint(spiller, request, queryStatusChecker);
+                Block block = spiller.getBlock();
+                for (int i = 0; i < block.getRowCount(); i++) {
+                    rows.add(BlockUtils.rowToString(block, i));
+                }
+            }
+        }
+        Collections.sort(rows);
+
+        assertEquals(Arrays.asList(
+                "[id : 1], [name : a], [ts : 1970-01-01T00:00:00.001500Z]",
+                "[id : 2], [name : null], [ts : null]",
+                "[id : 3], [name : c], [ts : 1969-12-31T23:59:59.999999Z]"), rows);
+    }
+
+    private SpillConfig makeSpillConfig()
+    {
+        return SpillConfig.newBuilder()
+                .withEncryptionKey(new LocalKeyFactory().create())
+                .withMaxBlockBytes(100_000)
+                .withMaxInlineBlockBytes(100_000)
+                .withNumSpillThreads(0)
+                .withRequestId(UUID.randomUUID().toString())
+                .withSpillLocation(S3SpillLocation.newBuilder()
+                        .withBucket("bucket")
+                        .withSplitId(UUID.randomUUID().toString())
+                        .withQueryId("queryId")
+                        .withIsDirectory(true)
+                        .build())
+                .build();
+    }
+
+    private ByteString makeBatch(Long[] ids, String[] names, Long[] timestamps)
+            throws IOException
+    {
+        try (VectorSchemaRoot root = VectorSchemaRoot.create(sessionSchema, arrowAllocator)) {
+            BigIntVector idVector = (BigIntVector) root.getVector("id");
+            VarCharVector nameVector = (VarCharVector) root.getVector("name");
+            VarCharVector unprojectedVector = (VarCharVector) root.getVector("unprojected");
+            TimeStampMicroTZVector tsVector = (TimeStampMicroTZVector) root.getVector("ts");
+            for (int i = 0; i < ids.length; i++) {
+                idVector.setSafe(i, ids[i]);
+                unprojectedVector.setSafe(i, "x".getBytes(StandardCharsets.UTF_8));
+                if (names[i] != null) {
+                    nameVector.setSafe(i, names[i].getBytes(StandardCharsets.UTF_8));
+                }
+                if (timestamps[i] != null) {
+                    tsVector.setSafe(i, timestamps[i]);
+                }
+            }
+            root.setRowCount(ids.length);
+
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            try (ArrowRecordBatch batch = new VectorUnloader(root).getRecordBatch()) {
+                MessageSerializer.serialize(new WriteChannel(Channels.newChannel(out)), batch);
+            }
+            return ByteString.copyFrom(out.toByteArray());
+        }
+    }
+
+    private ByteString serializeSchema()
+            throws IOException
+    {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        MessageSerializer.serialize(new WriteChannel(Channels.newChannel(out)), sessionSchema);
+        return ByteString.copyFrom(out.toByteArray());
+    }
+
+    private class FakeBigQueryStorage
+            extends BigQueryStorageGrpc.BigQueryStorageImplBase
+    {
+        @Override
+        public void createReadSession(Storage.CreateReadSessionRequest request, StreamObserver<Storage.ReadSession> responseObserver)
+        {
+            sessionRequests.add(request);
+            try {
+                responseObserver.onNext(Storage.ReadSession.newBuilder()
+                        .setName("session")
+                        .setArrowSchema(ArrowProto.ArrowSchema.newBuilder().setSerializedSchema(serializeSchema()))
+                        .addStreams(Storage.Stream.newBuilder().setName("streams/0"))
+                        .addStreams(Storage.Stream.newBuilder().setName("streams/1"))
+                        .build());
+                responseObserver.onCompleted();
+            }
+            catch (IOException ex) {
+                responseObserver.onError(ex);
+            }
+        }
+
+        @Override
+        public void readRows(Storage.ReadRowsRequest request, StreamObserver<Storage.ReadRowsResponse> responseObserver)
+        {
+            ByteString batch = batches.get(request.getReadPosition().getStream().getName());
+            responseObserver.onNext(Storage.ReadRowsResponse.newBuilder()
+                    .setArrowRecordBatch(ArrowProto.ArrowRecordBatch.newBuilder().setSerializedRecordBatch(batch))
+                    .build());
+            responseObserver.onCompleted();
+        }
+    }
+}
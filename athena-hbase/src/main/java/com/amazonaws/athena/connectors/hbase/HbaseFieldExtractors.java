@@ -0,0 +1,191 @@
+/*-
+ * #%L
+ * athena-hbase
+ * %%
+ * Copyright (C) 2019 Amazon Web Services
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package com.amazonaws.athena.connectors.hbase;
+
+import com.amazonaws.athena.connector.lambda.data.BlockUtils;
+import com.amazonaws.athena.connector.lambda.data.writers.GeneratedRowWriter;
+import com.amazonaws.athena.connector.lambda.data.writers.extractors.BigIntExtractor;
+import com.amazonaws.athena.connector.lambda.data.writers.extractors.BitExtractor;
+import com.amazonaws.athena.connector.lambda.data.writers.extractors.Extractor;
+import com.amazonaws.athena.connector.lambda.data.writers.extractors.Float4Extractor;
+import com.amazonaws.athena.connector.lambda.data.writers.extractors.Float8Extractor;
+import com.amazonaws.athena.connector.lambda.data.writers.extractors.IntExtractor;
+import com.amazonaws.athena.connector.lambda.data.writers.extractors.VarBinaryExtractor;
+import com.amazonaws.athena.connector.lambda.data.writers.extractors.VarCharExtractor;
+import com.amazonaws.athena.connector.lambda.data.writers.fieldwriters.FieldWriter;
+import com.amazonaws.athena.connector.lambda.data.writers.fieldwriters.FieldWriterFactory;
+import com.amazonaws.athena.connector.lambda.data.writers.holders.NullableVarBinaryHolder;
+import com.amazonaws.athena.connector.lambda.data.writers.holders.NullableVarCharHolder;
+import com.amazonaws.athena.connector.lambda.domain.predicate.ConstraintProjector;
+import com.amazonaws.athena.connector.lambda.domain.predicate.Constraints;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.holders.NullableBigIntHolder;
+import org.apache.arrow.vector.holders.NullableBitHolder;
+import org.apache.arrow.vector.holders.NullableFloat4Holder;
+import org.apache.arrow.vector.holders.NullableFloat8Holder;
+import org.apache.arrow.vector.holders.NullableIntHolder;
+import org.apache.arrow.vector.types.Types;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.apache.arrow.vector.types.pojo.Schema;
+import org.apache.hadoop.hbase.client.Result;
+import org.apache.hadoop.hbase.util.Bytes;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Builds the GeneratedRowWriter used to copy HBase Results into Apache Arrow. All of the per-column work (resolving the
+ * Arrow type, splitting the 'family:qualifier' name and encoding it to bytes) is done once per request when the
+ * Extractors are created, leaving only the cell lookup and value decoding for every row.
+ */
+public final class HbaseFieldExtractors
+{
+    private HbaseFieldExtractors() {}
+
+    /**
+     * Creates a row writer for the requested projection. The row writer evaluates the constraints for each field as it
+     * writes the value directly into the Block's vectors.
+     *
+     * @param projection The fields to write.
+     * @param constraints The constraints that a row must satisfy to be written.
+     * @param isNative True if the values are stored in HBase using native byte[] vs being serialized as Strings.
+     * @return The GeneratedRowWriter, whose context object is the HBase Result for the row being written.
+     */
+    public static GeneratedRowWriter makeRowWriter(Schema projection, Constraints constraints, boolean isNative)
+    {
+        GeneratedRowWriter.RowWriterBuilder builder = GeneratedRowWriter.newBuilder(constraints);
+        for (Field next : projection.getFields()) {
+            Extractor extractor = makeExtractor(isNative, next);
+            if (extractor != null) {
+                builder.withExtractor(next.getName(), extractor);
+            }
+            else {
+                //Column is actually a Column Family stored as a STRUCT.
+                builder.withFieldWriterFactory(next.getName(), makeStructFactory(isNative, next));
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * Creates an Extractor for the given primitive field.
+     *
+     * @param isNative True if the values are stored in HBase using native byte[] vs being serialized as Strings.
+     * @param field The field to create an Extractor for.
+     * @return The Extractor or null if the field is a STRUCT (column family).
+     */
+    protected static Extractor makeExtractor(boolean isNative, Field field)
+    {
+        Types.MinorType minorType = Types.getMinorTypeForArrowType(field.getType());
+
+        //Is this field the special 'row' field that can be used to group column families that may
+        //have been spread across different region servers if they are needed in the same query.
+        if (HbaseSchemaUtils.ROW_COLUMN_NAME.equals(field.getName())) {
+            return (VarCharExtractor) (Object context, NullableVarCharHolder dst) -> {
+                byte[] row = ((Result) context).getRow();
+                dst.isSet = (row != null) ? 1 : 0;
+                dst.value = (row != null) ? Bytes.toString(row) : null;
+            };
+        }
+
+        if (minorType == Types.MinorType.STRUCT) {
+            return null;
+        }
+
+        //We expect the column name format to be <FAMILY>:<QUALIFIER>
+        String[] columnParts = HbaseSchemaUtils.extractColumnParts(field.getName());
+        if (columnParts.length != 2) {
+            throw new RuntimeException("Column name " + field.getName() + " does not meet family:column hbase convention.");
+        }
+        byte[] family = columnParts[0].getBytes(UTF_8);
+        byte[] qualifier = columnParts[1].getBytes(UTF_8);
+
+        switch (minorType) {
+            case VARCHAR:
+                return (VarCharExtractor) (Object context, NullableVarCharHolder dst) -> {
+                    byte[] value = ((Result) context).getValue(family, qualifier);
+                    dst.isSet = (value != null) ? 1 : 0;
+                    dst.value = (value != null) ? Bytes.toString(value) : null;
+                };
+            case INT:
+                return (IntExtractor) (Object context, NullableIntHolder dst) -> {
+                    byte[] value = ((Result) context).getValue(family, qualifier);
+                    dst.isSet = (value != null) ? 1 : 0;
+                    if (value != null) {
+                        dst.value = isNative ? Bytes.toInt(value) : Integer.parseInt(Bytes.toString(value));
+                    }
+                };
+            case BIGINT:
+                return (BigIntExtractor) (Object context, NullableBigIntHolder dst) -> {
+                    byte[] value = ((Result) context).getValue(family, qualifier);
+                    dst.isSet = (value != null) ? 1 : 0;
+                    if (value != null) {
+                        dst.value = isNative ? Bytes.toLong(value) : Long.parseLong(Bytes.toString(value));
+                    }
+                };
+            case FLOAT4:
+                return (Float4Extractor) (Object context, NullableFloat4Holder dst) -> {
+                    byte[] value = ((Result) context).getValue(family, qualifier);
+                    dst.isSet = (value != null) ? 1 : 0;
+                    if (value != null) {
+                        dst.value = isNative ? Bytes.toFloat(value) : Float.parseFloat(Bytes.toString(value));
+                    }
+                };
+            case FLOAT8:
+                return (Float8Extractor) (Object context, NullableFloat8Holder dst) -> {
+                    byte[] value = ((Result) context).getValue(family, qualifier);
+                    dst.isSet = (value != null) ? 1 : 0;
+                    if (value != null) {
+                        dst.value = isNative ? Bytes.toDouble(value) : Double.parseDouble(Bytes.toString(value));
+                    }
+                };
+            case BIT:
+                return (BitExtractor) (Object context, NullableBitHolder dst) -> {
+                    byte[] value = ((Result) context).getValue(family, qualifier);
+                    dst.isSet = (value != null) ? 1 : 0;
+                    if (value != null) {
+                        boolean bit = isNative ? value[0] != 0 : Boolean.parseBoolean(Bytes.toString(value));
+                        dst.value = bit ? 1 : 0;
+                    }
+                };
+            case VARBINARY:
+                return (VarBinaryExtractor) (Object context, NullableVarBinaryHolder dst) -> {
+                    byte[] value = ((Result) context).getValue(family, qualifier);
+                    dst.isSet = (value != null) ? 1 : 0;
+                    dst.value = value;
+                };
+            default:
+                throw new IllegalArgumentException(field.getType() + " with minorType[" + minorType + "] is not supported.");
+        }
+    }
+
+    /**
+     * Since GeneratedRowWriter doesn't support complex types we write column families stored as STRUCTs using
+     * HbaseFieldResolver.
+     */
+    private static FieldWriterFactory makeStructFactory(boolean isNative, Field field)
+    {
+        HbaseFieldResolver resolver = HbaseFieldResolver.resolver(isNative, field.getName());
+        return (FieldVector vector, Extractor extractor, ConstraintProjector constraint) ->
+                (FieldWriter) (Object context, int rowNum) -> {
+                    BlockUtils.setComplexValue(vector, rowNum, resolver, context);
+                    return true;
+                };
+    }
+}
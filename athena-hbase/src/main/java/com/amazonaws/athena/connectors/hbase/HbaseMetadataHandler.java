@@ -24,6 +24,7 @@ import com.amazonaws.athena.connector.lambda.data.BlockAllocator;
 import com.amazonaws.athena.connector.lambda.data.BlockWriter;
 import com.amazonaws.athena.connector.lambda.data.SchemaBuilder;
 import com.amazonaws.athena.connector.lambda.domain.Split;
+import com.amazonaws.athena.connector.lambda.domain.predicate.ValueSet;
 import com.amazonaws.athena.connector.lambda.handlers.GlueMetadataHandler;
 import com.amazonaws.athena.connector.lambda.metadata.GetSplitsRequest;
 import com.amazonaws.athena.connector.lambda.metadata.GetSplitsResponse;
@@ -58,6 +59,7 @@ import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 
 /**
@@ -257,8 +259,17 @@ public class HbaseMetadataHandler
     {
         Set<Split> splits = new HashSet<>();
 
+        //Any constraint on the row key lets us skip regions that can not contain a matching row.
+        ValueSet rowConstraint = request.getConstraints().getSummary().get(HbaseSchemaUtils.ROW_COLUMN_NAME);
+        Optional<List<HbaseRowKeyRange>> rowRanges = HbaseRowKeyRange.fromValueSet(rowConstraint);
+
         //We can read each region in parallel
         for (HRegionInfo info : getOrCreateConn(request).getTableRegions(HbaseSchemaUtils.getQualifiedTable(request.getTableName()))) {
+            if (rowRanges.isPresent() && !HbaseRowKeyRange.intersectsAny(rowRanges.get(), info.getStartKey(), info.getEndKey())) {
+                logger.info("doGetSplits: Pruned region {} using the row key constraint.", info.getRegionNameAsString());
+                continue;
+            }
+
             Split.Builder splitBuilder = Split.newBuilder(makeSpillLocation(request), makeEncryptionKey())
                     .add(HBASE_CONN_STR, getConnStr(request))
                     .add(START_KEY_FIELD, new String(info.getStartKey()))
@@ -22,6 +22,7 @@ package com.amazonaws.athena.connectors.hbase;
 import com.amazonaws.athena.connector.lambda.QueryStatusChecker;
 import com.amazonaws.athena.connector.lambda.data.Block;
 import com.amazonaws.athena.connector.lambda.data.BlockSpiller;
+import com.amazonaws.athena.connector.lambda.data.writers.GeneratedRowWriter;
 import com.amazonaws.athena.connector.lambda.domain.Split;
 import com.amazonaws.athena.connector.lambda.domain.predicate.Constraints;
 import com.amazonaws.athena.connector.lambda.domain.predicate.ValueSet;
@@ -35,29 +36,38 @@ import com.amazonaws.services.s3.AmazonS3;
 import com.amazonaws.services.s3.AmazonS3ClientBuilder;
 import com.amazonaws.services.secretsmanager.AWSSecretsManager;
 import com.amazonaws.services.secretsmanager.AWSSecretsManagerClientBuilder;
+import com.google.common.collect.Lists;
 import org.apache.arrow.util.VisibleForTesting;
 import org.apache.arrow.vector.types.Types;
-import org.apache.arrow.vector.types.pojo.ArrowType;
 import org.apache.arrow.vector.types.pojo.Field;
 import org.apache.arrow.vector.types.pojo.Schema;
+import org.apache.hadoop.hbase.TableName;
+import org.apache.hadoop.hbase.client.Get;
 import org.apache.hadoop.hbase.client.Result;
 import org.apache.hadoop.hbase.client.ResultScanner;
 import org.apache.hadoop.hbase.client.Scan;
-import org.apache.hadoop.hbase.filter.BinaryComparator;
 import org.apache.hadoop.hbase.filter.CompareFilter;
 import org.apache.hadoop.hbase.filter.Filter;
-import org.apache.hadoop.hbase.filter.RowFilter;
+import org.apache.hadoop.hbase.filter.FilterList;
+import org.apache.hadoop.hbase.filter.MultiRowRangeFilter;
 import org.apache.hadoop.hbase.filter.SingleColumnValueFilter;
-import org.apache.hadoop.hbase.util.Bytes;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.function.BiConsumer;
+import java.util.stream.Collectors;
 
 import static com.amazonaws.athena.connectors.hbase.HbaseMetadataHandler.END_KEY_FIELD;
 import static com.amazonaws.athena.connectors.hbase.HbaseMetadataHandler.HBASE_CONN_STR;
 import static com.amazonaws.athena.connectors.hbase.HbaseMetadataHandler.HBASE_NATIVE_STORAGE_FLAG;
+import static com.amazonaws.athena.connectors.hbase.HbaseMetadataHandler.REGION_NAME_FIELD;
 import static com.amazonaws.athena.connectors.hbase.HbaseMetadataHandler.START_KEY_FIELD;
 import static java.nio.charset.StandardCharsets.UTF_8;
 
@@ -77,9 +87,21 @@ public class HbaseRecordHandler
 
     //Used to denote the 'type' of this connector for diagnostic purposes.
     private static final String SOURCE_TYPE = "hbase";
+    //The max number of row keys to fetch in a single multi-get.
+    private static final int MAX_GETS_PER_BATCH = 1000;
+    //Env variable for the number of rows the scanner fetches per RPC to the region server, defaults to the HBase client's setting.
+    protected static final String SCAN_CACHING_ENV = "scan_caching";
+    //Env variable for the max bytes the scanner fetches per RPC to the region server, defaults to the HBase client's setting.
+    protected static final String SCAN_MAX_RESULT_SIZE_ENV = "scan_max_result_size";
+    //Env variable used to let scans populate the region servers' block cache, off by default so that our large
+    //sequential reads don't evict the blocks other clients of the cluster are serving from the cache.
+    protected static final String SCAN_CACHE_BLOCKS_ENV = "scan_cache_blocks";
 
     private final AmazonS3 amazonS3;
     private final HbaseConnectionFactory connectionFactory;
+    private final Integer scanCaching;
+    private final Long scanMaxResultSize;
+    private final boolean scanCacheBlocks;
 
     public HbaseRecordHandler()
     {
@@ -95,6 +117,9 @@ public class HbaseRecordHandler
         super(amazonS3, secretsManager, athena, SOURCE_TYPE);
         this.amazonS3 = amazonS3;
         this.connectionFactory = connectionFactory;
+        this.scanCaching = (System.getenv(SCAN_CACHING_ENV) != null) ? Integer.parseInt(System.getenv(SCAN_CACHING_ENV)) : null;
+        this.scanMaxResultSize = (System.getenv(SCAN_MAX_RESULT_SIZE_ENV) != null) ? Long.parseLong(System.getenv(SCAN_MAX_RESULT_SIZE_ENV)) : null;
+        this.scanCacheBlocks = Boolean.parseBoolean(System.getenv(SCAN_CACHE_BLOCKS_ENV));
     }
 
     private HBaseConnection getOrCreateConn(String conStr)
@@ -117,94 +142,115 @@ public class HbaseRecordHandler
         String conStr = split.getProperty(HBASE_CONN_STR);
         boolean isNative = projection.getCustomMetadata().get(HBASE_NATIVE_STORAGE_FLAG) != null;
 
-        //setup the scan so that we only read the key range associated with the region represented by our Split.
-        Scan scan = new Scan(split.getProperty(START_KEY_FIELD).getBytes(), split.getProperty(END_KEY_FIELD).getBytes());
+        TableName tableName = HbaseSchemaUtils.getQualifiedTable(request.getTableName());
+        byte[] regionStartKey = split.getProperty(START_KEY_FIELD).getBytes();
+        byte[] regionEndKey = split.getProperty(END_KEY_FIELD).getBytes();
+
+        //narrow the key range associated with the region represented by our Split using any constraint on the row key.
+        ValueSet rowConstraint = request.getConstraints().getSummary().get(HbaseSchemaUtils.ROW_COLUMN_NAME);
+        List<HbaseRowKeyRange> rowRanges = HbaseRowKeyRange.fromValueSet(rowConstraint)
+                .map(ranges -> ranges.stream()
+                        .map(next -> next.clip(regionStartKey, regionEndKey))
+                        .filter(Optional::isPresent)
+                        .map(Optional::get)
+                        .collect(Collectors.toList()))
+                .orElse(Collections.singletonList(new HbaseRowKeyRange(regionStartKey, regionEndKey)));
+
+        if (rowRanges.isEmpty()) {
+            logger.info("readWithConstraint: No row keys in region {} satisfy the row constraint.",
+                    split.getProperty(REGION_NAME_FIELD));
+            return;
+        }
+
+        //compile the per-field accessors once for the request rather than resolving them for every cell.
+        GeneratedRowWriter rowWriter = HbaseFieldExtractors.makeRowWriter(projection, request.getConstraints(), isNative);
 
         //attempts to push down a partial predicate using HBase Filters
-        scan.setFilter(pushdownPredicate(isNative, request.getConstraints()));
+        Filter filter = pushdownPredicate(isNative, request.getConstraints());
+
+        //point lookups on the row key are cheaper as batched Gets than as a scan over the region.
+        if (rowRanges.stream().allMatch(HbaseRowKeyRange::isSingleRow)) {
+            List<Get> gets = new ArrayList<>(rowRanges.size());
+            for (HbaseRowKeyRange next : rowRanges) {
+                Get get = new Get(next.getStartRow());
+                get.setFilter(filter);
+                for (Field field : projection.getFields()) {
+                    addToProjection(get::addColumn, field);
+                }
+                gets.add(get);
+            }
+
+            for (List<Get> batch : Lists.partition(gets, MAX_GETS_PER_BATCH)) {
+                List<Result> results = Arrays.stream(getOrCreateConn(conStr).getRows(tableName, batch))
+                        .filter(next -> next != null && !next.isEmpty())
+                        .collect(Collectors.toList());
+                scanFilterProject(results, rowWriter, blockSpiller, queryStatusChecker);
+                if (!queryStatusChecker.isQueryRunning()) {
+                    return;
+                }
+            }
+            return;
+        }
+
+        //setup the scan so that we only read the key range that can satisfy the row constraint, skipping any gaps
+        //between disjoint ranges using a MultiRowRangeFilter.
+        Scan scan = new Scan(rowRanges.get(0).getStartRow(), rowRanges.get(rowRanges.size() - 1).getStopRow());
+        if (rowRanges.size() > 1) {
+            List<MultiRowRangeFilter.RowRange> filterRanges = rowRanges.stream()
+                    .map(next -> new MultiRowRangeFilter.RowRange(next.getStartRow(), true, next.getStopRow(), false))
+                    .collect(Collectors.toList());
+            Filter rangeFilter = new MultiRowRangeFilter(filterRanges);
+            filter = (filter == null) ? rangeFilter : new FilterList(FilterList.Operator.MUST_PASS_ALL, rangeFilter, filter);
+        }
+        scan.setFilter(filter);
+        configureScan(scan);
 
         //setup the projection so we only pull columns/families that we need
-        for (Field next : request.getSchema().getFields()) {
-            addToProjection(scan, next);
+        for (Field next : projection.getFields()) {
+            addToProjection(scan::addColumn, next);
         }
 
-        getOrCreateConn(conStr).scanTable(HbaseSchemaUtils.getQualifiedTable(request.getTableName()),
+        getOrCreateConn(conStr).scanTable(tableName,
                 scan,
-                (ResultScanner scanner) -> scanFilterProject(scanner, request, blockSpiller, queryStatusChecker));
+                (ResultScanner scanner) -> scanFilterProject(scanner, rowWriter, blockSpiller, queryStatusChecker));
     }
 
-    private boolean scanFilterProject(ResultScanner scanner, ReadRecordsRequest request, BlockSpiller blockSpiller, QueryStatusChecker queryStatusChecker)
+    private boolean scanFilterProject(Iterable<Result> scanner, GeneratedRowWriter rowWriter, BlockSpiller blockSpiller, QueryStatusChecker queryStatusChecker)
     {
-        Schema projection = request.getSchema();
-        boolean isNative = projection.getCustomMetadata().get(HBASE_NATIVE_STORAGE_FLAG) != null;
-
         for (Result row : scanner) {
             if (!queryStatusChecker.isQueryRunning()) {
                 return true;
             }
-            blockSpiller.writeRows((Block block, int rowNum) -> {
-                boolean match = true;
-                for (Field field : projection.getFields()) {
-                    if (match) {
-                        match &= writeField(block, field, isNative, row, rowNum);
-                    }
-                }
-                return match ? 1 : 0;
-            });
+            blockSpiller.writeRows((Block block, int rowNum) -> rowWriter.writeRow(block, rowNum, row) ? 1 : 0);
         }
         return true;
     }
 
     /**
-     * Used to filter and write field values from the HBase scan to the response block.
+     * Applies the configured scanner caching, result size and block cache settings to the Scan.
      *
-     * @param block The Block we should write to.
-     * @param field The Apache Arrow Field we need to write.
-     * @param isNative Boolean indicating if the HBase value is stored as a String (false) or as Native byte[] (true).
-     * @param row The HBase row from which we should extract a value for the field denoted by vector.
-     * @param rowNum The rowNumber to write into on the vector.
-     * @return True if the value passed the ConstraintEvaluator's test.
+     * @param scan The scan object that will be used to read data from HBase.
+     * @note We don't set the Scan's batch size since that splits wide rows across multiple Results which would then
+     * be written as separate rows.
      */
-    private boolean writeField(Block block, Field field, boolean isNative, Result row, int rowNum)
+    private void configureScan(Scan scan)
     {
-        String fieldName = field.getName();
-        ArrowType type = field.getType();
-        Types.MinorType minorType = Types.getMinorTypeForArrowType(type);
-        try {
-            //Is this field the special 'row' field that can be used to group column families that may
-            //have been spread across different region servers if they are needed in the same query.
-            if (HbaseSchemaUtils.ROW_COLUMN_NAME.equals(fieldName)) {
-                String value = Bytes.toString(row.getRow());
-                return block.offerValue(fieldName, rowNum, value);
-            }
-
-            switch (minorType) {
-                case STRUCT:
-                    //Column is actually a Column Family stored as a STRUCT.
-                    return block.offerComplexValue(fieldName,
-                            rowNum,
-                            HbaseFieldResolver.resolver(isNative, fieldName),
-                            row);
-                default:
-                    //We expect the column name format to be <FAMILY>:<QUALIFIER>
-                    String[] columnParts = HbaseSchemaUtils.extractColumnParts(fieldName);
-                    byte[] rawValue = row.getValue(columnParts[0].getBytes(), columnParts[1].getBytes());
-                    Object value = HbaseSchemaUtils.coerceType(isNative, type, rawValue);
-                    return block.offerValue(fieldName, rowNum, value);
-            }
+        if (scanCaching != null) {
+            scan.setCaching(scanCaching);
         }
-        catch (RuntimeException ex) {
-            throw new RuntimeException("Exception while processing field " + fieldName + " type " + minorType, ex);
+        if (scanMaxResultSize != null) {
+            scan.setMaxResultSize(scanMaxResultSize);
         }
+        scan.setCacheBlocks(scanCacheBlocks);
     }
 
     /**
-     * Addes the specified Apache Arrow field to the Scan to satisfy the requested projection.
+     * Addes the specified Apache Arrow field to the Scan or Get to satisfy the requested projection.
      *
-     * @param scan The scan object that will be used to read data from HBase.
+     * @param addColumn The addColumn(family, qualifier) method of the Scan or Get that will be used to read data from HBase.
      * @param field The field to be added to the scan.
      */
-    private void addToProjection(Scan scan, Field field)
+    private void addToProjection(BiConsumer<byte[], byte[]> addColumn, Field field)
     {
         //ignore the special 'row' column since we get that by default.
         if (HbaseSchemaUtils.ROW_COLUMN_NAME.equalsIgnoreCase(field.getName())) {
@@ -215,7 +261,7 @@ public class HbaseRecordHandler
         switch (columnType) {
             case STRUCT:
                 for (Field child : field.getChildren()) {
-                    scan.addColumn(field.getName().getBytes(UTF_8), child.getName().getBytes(UTF_8));
+                    addColumn.accept(field.getName().getBytes(UTF_8), child.getName().getBytes(UTF_8));
                 }
                 return;
             default:
@@ -223,7 +269,7 @@ public class HbaseRecordHandler
                 if (nameParts.length != 2) {
                     throw new RuntimeException("Column name " + field.getName() + " does not meet family:column hbase convention.");
                 }
-                scan.addColumn(nameParts[0].getBytes(UTF_8), nameParts[1].getBytes(UTF_8));
+                addColumn.accept(nameParts[0].getBytes(UTF_8), nameParts[1].getBytes(UTF_8));
         }
     }
 
@@ -234,20 +280,21 @@ public class HbaseRecordHandler
      * @param constraints The constraints that we can attempt to push into HBase as part of the scan.
      * @return A filter if we found a predicate we can push down, null otherwise/
      * @note Currently this method only supports constraints that can be represented by HBase's SingleColumnValueFilter
-     * or RowFilter and CompareOp of EQUAL. In the future we can add > and < for certain field types.
+     * and CompareOp of EQUAL, constraints on the row key are handled by HbaseRowKeyRange. In the future we can add > and < for certain field types.
      */
     private Filter pushdownPredicate(boolean isNative, Constraints constraints)
     {
         for (Map.Entry<String, ValueSet> next : constraints.getSummary().entrySet()) {
+            //constraints on the row key are applied as the key range(s) of the Scan or Get instead.
+            if (next.getKey().equals(HbaseSchemaUtils.ROW_COLUMN_NAME)) {
+                continue;
+            }
+
             if (next.getValue().isSingleValue() && !next.getValue().isNullAllowed()) {
                 byte[] value = HbaseSchemaUtils.toBytes(isNative, next.getValue().getSingleValue());
                 String[] colParts = HbaseSchemaUtils.extractColumnParts(next.getKey());
                 CompareFilter.CompareOp compareOp = CompareFilter.CompareOp.EQUAL;
-                boolean isRowKey = next.getKey().equals(HbaseSchemaUtils.ROW_COLUMN_NAME);
-
-                return isRowKey ?
-                       new RowFilter(compareOp, new BinaryComparator(value)) :
-                       new SingleColumnValueFilter(colParts[0].getBytes(), colParts[1].getBytes(), compareOp, value);
+                return new SingleColumnValueFilter(colParts[0].getBytes(), colParts[1].getBytes(), compareOp, value);
             }
         }
 
@@ -0,0 +1,168 @@
+/*-
+ * #%L
+ * athena-hbase
+ * %%
+ * Copyright (C) 2019 Amazon Web Services
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package com.amazonaws.athena.connectors.hbase;
+
+import com.amazonaws.athena.connector.lambda.domain.predicate.EquatableValueSet;
+import com.amazonaws.athena.connector.lambda.domain.predicate.Marker;
+import com.amazonaws.athena.connector.lambda.domain.predicate.Range;
+import com.amazonaws.athena.connector.lambda.domain.predicate.SortedRangeSet;
+import com.amazonaws.athena.connector.lambda.domain.predicate.ValueSet;
+import org.apache.arrow.vector.types.Types;
+import org.apache.hadoop.hbase.HConstants;
+import org.apache.hadoop.hbase.util.Bytes;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * A range of HBase row keys, from an inclusive start row to an exclusive stop row where an empty start or stop row
+ * leaves that side of the range unbounded (like HBase's own Scan and region boundaries). Used to turn constraints on the
+ * special 'row' column into Scan boundaries, Gets and region pruning.
+ */
+public class HbaseRowKeyRange
+{
+    private final byte[] startRow;
+    private final byte[] stopRow;
+
+    public HbaseRowKeyRange(byte[] startRow, byte[] stopRow)
+    {
+        this.startRow = startRow;
+        this.stopRow = stopRow;
+    }
+
+    /**
+     * Converts the constraint on the 'row' column into row key ranges.
+     *
+     * @param rowConstraint The ValueSet constraining the 'row' column, may be null.
+     * @return The row key ranges containing every row that may satisfy the constraint (empty if no row can), or
+     * Optional.empty() if the constraint does not restrict the row keys to be read.
+     */
+    public static Optional<List<HbaseRowKeyRange>> fromValueSet(ValueSet rowConstraint)
+    {
+        if (rowConstraint == null || Types.getMinorTypeForArrowType(rowConstraint.getType()) != Types.MinorType.VARCHAR) {
+            return Optional.empty();
+        }
+
+        List<HbaseRowKeyRange> ranges = new ArrayList<>();
+        if (rowConstraint instanceof SortedRangeSet) {
+            for (Range range : ((SortedRangeSet) rowConstraint).getOrderedRanges()) {
+                Marker low = range.getLow();
+                Marker high = range.getHigh();
+                byte[] startRow = low.isLowerUnbounded() ? HConstants.EMPTY_START_ROW
+                        : (low.getBound() == Marker.Bound.EXACTLY) ? toRowKey(low.getValue()) : nextRowKey(toRowKey(low.getValue()));
+                byte[] stopRow = high.isUpperUnbounded() ? HConstants.EMPTY_END_ROW
+                        : (high.getBound() == Marker.Bound.EXACTLY) ? nextRowKey(toRowKey(high.getValue())) : toRowKey(high.getValue());
+                HbaseRowKeyRange next = new HbaseRowKeyRange(startRow, stopRow);
+                if (!next.isEmpty()) {
+                    ranges.add(next);
+                }
+            }
+            return Optional.of(ranges);
+        }
+
+        if (rowConstraint instanceof EquatableValueSet && ((EquatableValueSet) rowConstraint).isWhiteList()) {
+            EquatableValueSet values = (EquatableValueSet) rowConstraint;
+            for (int i = 0; i < values.getValues().getRowCount(); i++) {
+                Object value = values.getValue(i);
+                if (value != null) {
+                    byte[] row = toRowKey(value);
+                    ranges.add(new HbaseRowKeyRange(row, nextRowKey(row)));
+                }
+            }
+            return Optional.of(ranges);
+        }
+
+        return Optional.empty();
+    }
+
+    /**
+     * @return True if any of the ranges contains rows that are hosted by the region with the given boundaries.
+     */
+    public static boolean intersectsAny(List<HbaseRowKeyRange> ranges, byte[] regionStartKey, byte[] regionEndKey)
+    {
+        return ranges.stream().anyMatch(next -> next.clip(regionStartKey, regionEndKey).isPresent());
+    }
+
+    /**
+     * Restricts this range to the rows hosted by the region with the given boundaries.
+     *
+     * @return The part of this range within the region, or Optional.empty() if they do not intersect.
+     */
+    public Optional<HbaseRowKeyRange> clip(byte[] regionStartKey, byte[] regionEndKey)
+    {
+        byte[] start = (regionStartKey.length > 0 && Bytes.compareTo(regionStartKey, startRow) > 0) ? regionStartKey : startRow;
+        byte[] stop = stopRow;
+        if (regionEndKey.length > 0 && (stop.length == 0 || Bytes.compareTo(regionEndKey, stop) < 0)) {
+            stop = regionEndKey;
+        }
+        HbaseRowKeyRange clipped = new HbaseRowKeyRange(start, stop);
+        return clipped.isEmpty() ? Optional.empty() : Optional.of(clipped);
+    }
+
+    /**
+     * @return True if this range contains exactly one row key, which can be read with a Get.
+     */
+    public boolean isSingleRow()
+    {
+        return Arrays.equals(nextRowKey(startRow), stopRow);
+    }
+
+    public byte[] getStartRow()
+    {
+        return startRow;
+    }
+
+    public byte[] getStopRow()
+    {
+        return stopRow;
+    }
+
+    private boolean isEmpty()
+    {
+        return stopRow.length > 0 && Bytes.compareTo(startRow, stopRow) >= 0;
+    }
+
+    /**
+     * The 'row' column holds the row key as a UTF-8 String.
+     */
+    private static byte[] toRowKey(Object value)
+    {
+        return Bytes.toBytes(value.toString());
+    }
+
+    /**
+     * @return The smallest row key that sorts after the given row key.
+     */
+    private static byte[] nextRowKey(byte[] row)
+    {
+        return Arrays.copyOf(row, row.length + 1);
+    }
+
+    @Override
+    public String toString()
+    {
+        return "HbaseRowKeyRange{" +
+                "startRow=" + Bytes.toStringBinary(startRow) +
+                ", stopRow=" + Bytes.toStringBinary(stopRow) +
+                '}';
+    }
+}
@@ -27,6 +27,8 @@ import org.apache.hadoop.hbase.TableName;
 import org.apache.hadoop.hbase.client.Admin;
 import org.apache.hadoop.hbase.client.Connection;
 import org.apache.hadoop.hbase.client.ConnectionFactory;
+import org.apache.hadoop.hbase.client.Get;
+import org.apache.hadoop.hbase.client.Result;
 import org.apache.hadoop.hbase.client.ResultScanner;
 import org.apache.hadoop.hbase.client.Scan;
 import org.apache.hadoop.hbase.client.Table;
@@ -156,6 +158,22 @@ public class HBaseConnection
         });
     }
 
+    /**
+     * Used to fetch a batch of rows by row key, HBase groups the Gets by region server and issues them as multi-gets.
+     *
+     * @param tableName The HBase table to read from.
+     * @param gets The HBase gets (row key, columns, etc...) to run.
+     * @return The Results in the same order as the Gets, Results for rows that do not exist are empty.
+     */
+    public Result[] getRows(TableName tableName, List<Get> gets)
+    {
+        return callWithReconnectAndRetry(() -> {
+            try (Table table = connection.getTable(tableName)) {
+                return table.get(gets);
+            }
+        });
+    }
+
     /**
      * Used to close this connection by closing the underlying HBase Connection.
      */
@@ -0,0 +1,129 @@
+/*-
+ * #%L
+ * athena-hbase
+ * %%
+ * Copyright (C) 2019 Amazon Web Services
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package com.amazonaws.athena.connectors.hbase;
+
+import com.amazonaws.athena.connector.lambda.data.Block;
+import com.amazonaws.athena.connector.lambda.data.BlockAllocator;
+import com.amazonaws.athena.connector.lambda.data.BlockAllocatorImpl;
+import com.amazonaws.athena.connector.lambda.data.SchemaBuilder;
+import com.amazonaws.athena.connector.lambda.data.writers.GeneratedRowWriter;
+import com.amazonaws.athena.connector.lambda.domain.predicate.Constraints;
+import com.amazonaws.athena.connector.lambda.domain.predicate.EquatableValueSet;
+import com.amazonaws.athena.connector.lambda.domain.predicate.ValueSet;
+import org.apache.arrow.vector.types.Types;
+import org.apache.arrow.vector.types.pojo.Schema;
+import org.apache.hadoop.hbase.client.Result;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class HbaseFieldExtractorsTest
+{
+    private BlockAllocator allocator;
+    private Schema schema;
+
+    @Before
+    public void setUp()
+    {
+        allocator = new BlockAllocatorImpl();
+        schema = SchemaBuilder.newBuilder()
+                .addStringField(HbaseSchemaUtils.ROW_COLUMN_NAME)
+                .addStringField("family1:col1")
+                .addIntField("family1:col2")
+                .addBigIntField("family1:col3")
+                .addFloat8Field("family1:col4")
+                .addBitField("family1:col5")
+                .build();
+    }
+
+    @After
+    public void tearDown()
+    {
+        allocator.close();
+    }
+
+    @Test
+    public void writeRowNative()
+            throws Exception
+    {
+        Result result = mock(Result.class);
+        when(result.getRow()).thenReturn(Bytes.toBytes("row1"));
+        when(result.getValue(Bytes.toBytes("family1"), Bytes.toBytes("col1"))).thenReturn(Bytes.toBytes("varchar"));
+        when(result.getValue(Bytes.toBytes("family1"), Bytes.toBytes("col2"))).thenReturn(Bytes.toBytes(12));
+        when(result.getValue(Bytes.toBytes("family1"), Bytes.toBytes("col3"))).thenReturn(Bytes.toBytes(123L));
+        when(result.getValue(Bytes.toBytes("family1"), Bytes.toBytes("col4"))).thenReturn(Bytes.toBytes(1.5D));
+        when(result.getValue(Bytes.toBytes("family1"), Bytes.toBytes("col5"))).thenReturn(new byte[] {1});
+
+        GeneratedRowWriter rowWriter = HbaseFieldExtractors.makeRowWriter(schema, new Constraints(Collections.emptyMap()), true);
+        try (Block block = allocator.createBlock(schema)) {
+            assertTrue(rowWriter.writeRow(block, 0, result));
+            block.setRowCount(1);
+
+            assertEquals("row1", block.getFieldReader(HbaseSchemaUtils.ROW_COLUMN_NAME).readText().toString());
+            assertEquals("varchar", block.getFieldReader("family1:col1").readText().toString());
+            assertEquals(12, block.getFieldReader("family1:col2").readInteger().intValue());
+            assertEquals(123L, block.getFieldReader("family1:col3").readLong().longValue());
+            assertEquals(1.5D, block.getFieldReader("family1:col4").readDouble(), 0.0D);
+            assertTrue(block.getFieldReader("family1:col5").readBoolean());
+        }
+    }
+
+    @Test
+    public void writeRowStringWithConstraint()
+            throws Exception
+    {
+        Result matching = mock(Result.class);
+        when(matching.getRow()).thenReturn(Bytes.toBytes("row1"));
+        when(matching.getValue(Bytes.toBytes("family1"), Bytes.toBytes("col2"))).thenReturn(Bytes.toBytes("12"));
+        when(matching.getValue(Bytes.toBytes("family1"), Bytes.toBytes("col5"))).thenReturn(Bytes.toBytes("true"));
+
+        Result filtered = mock(Result.class);
+        when(filtered.getRow()).thenReturn(Bytes.toBytes("row2"));
+        when(filtered.getValue(Bytes.toBytes("family1"), Bytes.toBytes("col2"))).thenReturn(Bytes.toBytes("13"));
+
+        Map<String, ValueSet> constraintsMap = new HashMap<>();
+        constraintsMap.put("family1:col2", EquatableValueSet.newBuilder(allocator, Types.MinorType.INT.getType(), true, false)
+                .add(12).build());
+
+        GeneratedRowWriter rowWriter = HbaseFieldExtractors.makeRowWriter(schema, new Constraints(constraintsMap), false);
+        try (Block block = allocator.createBlock(schema)) {
+            assertTrue(rowWriter.writeRow(block, 0, matching));
+            assertFalse(rowWriter.writeRow(block, 1, filtered));
+            block.setRowCount(1);
+
+            assertEquals(12, block.getFieldReader("family1:col2").readInteger().intValue());
+            assertTrue(block.getFieldReader("family1:col5").readBoolean());
+            assertNull(block.getFieldReader("family1:col3").readLong());
+            assertEquals("row1", block.getFieldReader(HbaseSchemaUtils.ROW_COLUMN_NAME).readText().toString());
+        }
+    }
+}
@@ -26,6 +26,9 @@ import com.amazonaws.athena.connector.lambda.data.BlockUtils;
 import com.amazonaws.athena.connector.lambda.data.SchemaBuilder;
 import com.amazonaws.athena.connector.lambda.domain.TableName;
 import com.amazonaws.athena.connector.lambda.domain.predicate.Constraints;
+import com.amazonaws.athena.connector.lambda.domain.predicate.Range;
+import com.amazonaws.athena.connector.lambda.domain.predicate.SortedRangeSet;
+import com.amazonaws.athena.connector.lambda.domain.predicate.ValueSet;
 import com.amazonaws.athena.connector.lambda.metadata.GetSplitsRequest;
 import com.amazonaws.athena.connector.lambda.metadata.GetSplitsResponse;
 import com.amazonaws.athena.connector.lambda.metadata.GetTableLayoutRequest;
@@ -70,6 +73,7 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import static com.amazonaws.athena.connector.lambda.metadata.ListTablesRequest.UNLIMITED_PAGE_SIZE_VALUE;
@@ -281,4 +285,39 @@ public class HbaseMetadataHandlerTest
         assertTrue("Continuation criteria violated", response.getSplits().size() == 4);
         assertTrue("Continuation criteria violated", response.getContinuationToken() == null);
     }
+
+    @Test
+    public void doGetSplitsPrunesRegionsByRowKey()
+            throws IOException
+    {
+        org.apache.hadoop.hbase.TableName tableName = org.apache.hadoop.hbase.TableName.valueOf("schema1", "table1");
+        List<HRegionInfo> regionServers = new ArrayList<>();
+        regionServers.add(new HRegionInfo(tableName, new byte[0], "b".getBytes(), false, 1));
+        regionServers.add(new HRegionInfo(tableName, "b".getBytes(), "d".getBytes(), false, 2));
+        regionServers.add(new HRegionInfo(tableName, "d".getBytes(), "f".getBytes(), false, 3));
+        regionServers.add(new HRegionInfo(tableName, "f".getBytes(), new byte[0], false, 4));
+
+        when(mockClient.getTableRegions(any())).thenReturn(regionServers);
+
+        Map<String, ValueSet> constraintsMap = new HashMap<>();
+        constraintsMap.put(HbaseSchemaUtils.ROW_COLUMN_NAME, SortedRangeSet.copyOf(Types.MinorType.VARCHAR.getType(),
+                Collections.singletonList(Range.range(allocator, Types.MinorType.VARCHAR.getType(), "c", true, "e", true)),
+                false));
+
+        GetSplitsRequest req = new GetSplitsRequest(IDENTITY,
+                QUERY_ID,
+                DEFAULT_CATALOG,
+                TABLE_NAME,
+                BlockUtils.newBlock(allocator, "partitionId", Types.MinorType.INT.getType(), 0),
+                new ArrayList<>(),
+                new Constraints(constraintsMap),
+                null);
+
+        GetSplitsResponse response = handler.doGetSplits(allocator, req);
+
+        Set<String> regionIds = new HashSet<>();
+        response.getSplits().forEach(next -> regionIds.add(next.getProperty(HbaseMetadataHandler.REGION_ID_FIELD)));
+        assertEquals(new HashSet<>(java.util.Arrays.asList("2", "3")), regionIds);
+        assertNull(response.getContinuationToken());
+    }
 }
@@ -27,6 +27,7 @@ import com.amazonaws.athena.connector.lambda.data.S3BlockSpillReader;
 import com.amazonaws.athena.connector.lambda.domain.Split;
 import com.amazonaws.athena.connector.lambda.domain.TableName;
 import com.amazonaws.athena.connector.lambda.domain.predicate.Constraints;
+import com.amazonaws.athena.connector.lambda.domain.predicate.EquatableValueSet;
 import com.amazonaws.athena.connector.lambda.domain.predicate.Range;
 import com.amazonaws.athena.connector.lambda.domain.predicate.SortedRangeSet;
 import com.amazonaws.athena.connector.lambda.domain.predicate.ValueSet;
@@ -58,17 +59,21 @@ import com.google.common.collect.ImmutableList;
 import com.google.common.io.ByteStreams;
 import org.apache.arrow.vector.types.Types;
 import org.apache.arrow.vector.types.pojo.Schema;
+import org.apache.hadoop.hbase.HConstants;
 import org.apache.hadoop.hbase.client.Connection;
+import org.apache.hadoop.hbase.client.Get;
 import org.apache.hadoop.hbase.client.Result;
 import org.apache.hadoop.hbase.client.ResultScanner;
 import org.apache.hadoop.hbase.client.Scan;
 import org.apache.hadoop.hbase.client.Table;
+import org.apache.hadoop.hbase.filter.MultiRowRangeFilter;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.TestName;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.invocation.InvocationOnMock;
 import org.mockito.runners.MockitoJUnitRunner;
@@ -95,6 +100,8 @@ import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyObject;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -299,6 +306,101 @@ public class HbaseRecordHandlerTest
         }
     }
 
+    @Test
+    public void doReadRecordsRowKeyRanges()
+            throws Exception
+    {
+        List<Result> results = TestUtils.makeResults(1);
+        when(results.get(0).getRow()).thenReturn("row1".getBytes());
+        when(results.get(1).getRow()).thenReturn("row5".getBytes());
+        when(results.get(2).getRow()).thenReturn("row6".getBytes());
+        ResultScanner mockScanner = mock(ResultScanner.class);
+        when(mockScanner.iterator()).thenReturn(results.iterator());
+
+        ArgumentCaptor<Scan> scanCaptor = ArgumentCaptor.forClass(Scan.class);
+        when(mockClient.scanTable(anyObject(), scanCaptor.capture(), anyObject())).thenAnswer((InvocationOnMock invocationOnMock) -> {
+            ResultProcessor processor = (ResultProcessor) invocationOnMock.getArguments()[2];
+            return processor.scan(mockScanner);
+        });
+
+        Map<String, ValueSet> constraintsMap = new HashMap<>();
+        constraintsMap.put(HbaseSchemaUtils.ROW_COLUMN_NAME, SortedRangeSet.copyOf(Types.MinorType.VARCHAR.getType(),
+                ImmutableList.of(Range.range(allocator, Types.MinorType.VARCHAR.getType(), "row1", true, "row3", false),
+                        Range.greaterThan(allocator, Types.MinorType.VARCHAR.getType(), "row5")), false));
+
+        ReadRecordsRequest request = makeRequest(constraintsMap, "", "");
+        ReadRecordsResponse response = (ReadRecordsResponse) handler.doReadRecords(allocator, request);
+
+        //row5 is outside of the requested ranges so it is filtered even though the mock scanner returned it.
+        assertEquals(2, response.getRecords().getRowCount());
+
+        Scan scan = scanCaptor.getValue();
+        assertArrayEquals("row1".getBytes(), scan.getStartRow());
+        assertArrayEquals(HConstants.EMPTY_END_ROW, scan.getStopRow());
+        assertTrue(scan.getFilter() instanceof MultiRowRangeFilter);
+        assertEquals(2, ((MultiRowRangeFilter) scan.getFilter()).getRowRanges().size());
+    }
+
+    @Test
+    public void doReadRecordsRowKeyGets()
+            throws Exception
+    {
+        List<Result> results = TestUtils.makeResults(1);
+        when(results.get(0).getRow()).thenReturn("row1".getBytes());
+        when(results.get(2).getRow()).thenReturn("row9".getBytes());
+        Result missingRow = mock(Result.class);
+        when(missingRow.isEmpty()).thenReturn(true);
+
+        ArgumentCaptor<List> getsCaptor = ArgumentCaptor.forClass(List.class);
+        when(mockClient.getRows(anyObject(), getsCaptor.capture()))
+                .thenReturn(new Result[] {results.get(0), missingRow, results.get(2)});
+
+        Map<String, ValueSet> constraintsMap = new HashMap<>();
+        constraintsMap.put(HbaseSchemaUtils.ROW_COLUMN_NAME, EquatableValueSet.newBuilder(allocator, Types.MinorType.VARCHAR.getType(), true, false)
+                .add("row1").add("row4").add("row9").add("zzz").build());
+
+        //the split's region ends before 'zzz' so it should not be requested.
+        ReadRecordsRequest request = makeRequest(constraintsMap, "", "row99");
+        ReadRecordsResponse response = (ReadRecordsResponse) handler.doReadRecords(allocator, request);
+
+        assertEquals(2, response.getRecords().getRowCount());
+        verify(mockClient, never()).scanTable(anyObject(), any(Scan.class), anyObject());
+
+        List<Get> gets = getsCaptor.getValue();
+        assertEquals(3, gets.size());
+        assertArrayEquals("row1".getBytes(), gets.get(0).getRow());
+        assertArrayEquals("row4".getBytes(), gets.get(1).getRow());
+        assertArrayEquals("row9".getBytes(), gets.get(2).getRow());
+    }
+
+    private ReadRecordsRequest makeRequest(Map<String, ValueSet> constraintsMap, String startKey, String endKey)
+    {
+        S3SpillLocation splitLoc = S3SpillLocation.newBuilder()
+                .withBucket(UUID.randomUUID().toString())
+                .withSplitId(UUID.randomUUID().toString())
+                .withQueryId(UUID.randomUUID().toString())
+                .withIsDirectory(true)
+                .build();
+
+        Split.Builder splitBuilder = Split.newBuilder(splitLoc, keyFactory.create())
+                .add(HBASE_CONN_STR, "fake_con_str")
+                .add(START_KEY_FIELD, startKey)
+                .add(END_KEY_FIELD, endKey)
+                .add(REGION_ID_FIELD, "fake_region_id")
+                .add(REGION_NAME_FIELD, "fake_region_name");
+
+        return new ReadRecordsRequest(IDENTITY,
+                DEFAULT_CATALOG,
+                "queryId-" + System.currentTimeMillis(),
+                new TableName(DEFAULT_SCHEMA, TEST_TABLE),
+                schemaForRead,
+                splitBuilder.build(),
+                new Constraints(constraintsMap),
+                100_000_000_000L,
+                100_000_000_000L
+        );
+    }
+
     private class ByteHolder
     {
         private byte[] bytes;
@@ -22,6 +22,10 @@ package com.amazonaws.athena.connectors.hortonworks;
 import com.amazonaws.athena.connector.lambda.data.*;
 import com.amazonaws.athena.connector.lambda.domain.TableName;
 import com.amazonaws.athena.connector.lambda.domain.predicate.Constraints;
+import com.amazonaws.athena.connector.lambda.domain.predicate.EquatableValueSet;
+import com.amazonaws.athena.connector.lambda.domain.predicate.Range;
+import com.amazonaws.athena.connector.lambda.domain.predicate.SortedRangeSet;
+import com.amazonaws.athena.connector.lambda.domain.predicate.ValueSet;
 import com.amazonaws.athena.connector.lambda.metadata.*;
 import com.amazonaws.athena.connector.lambda.security.FederatedIdentity;
 import com.amazonaws.athena.connectors.jdbc.TestBase;
@@ -32,6 +36,7 @@ import com.amazonaws.services.athena.AmazonAthena;
 import com.amazonaws.services.secretsmanager.AWSSecretsManager;
 import com.amazonaws.services.secretsmanager.model.GetSecretValueRequest;
 import com.amazonaws.services.secretsmanager.model.GetSecretValueResult;
+import org.apache.arrow.vector.complex.reader.FieldReader;
 import org.apache.arrow.vector.types.pojo.Field;
 import org.apache.arrow.vector.types.pojo.Schema;
 import org.junit.Assert;
@@ -308,4 +313,84 @@ public class HiveMetadataHandlerTest
                 .thenThrow(new SQLException());
         this.hiveMetadataHandler.doGetTable(this.blockAllocator, new GetTableRequest(this.federatedIdentity, "testQueryId", "testCatalog", inputTableName));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void doGetTableLayoutPrunesTypedPartitions()
+            throws Exception
+    {
+        BlockAllocator blockAllocator = new BlockAllocatorImpl();
+        ResultSet describeResultSet = mockResultSet(new String[] {"data_type", "col_name"}, new Object[][] {{"STRING", "name"}, {"DATE", "dt"}, {"STRING", "region"}}, new AtomicInteger(-1));
+        Schema schema = SchemaBuilder.newBuilder()
+                .addField("name", org.apache.arrow.vector.types.Types.MinorType.VARCHAR.getType())
+                .addField("dt", org.apache.arrow.vector.types.Types.MinorType.DATEDAY.getType())
+                .addField("region", org.apache.arrow.vector.types.Types.MinorType.VARCHAR.getType())
+                .addField("partition", org.apache.arrow.vector.types.Types.MinorType.VARCHAR.getType())
+                .build();
+        // dt = 2020-01-02 and region <> 'eu'
+        ValueSet dt = SortedRangeSet.copyOf(org.apache.arrow.vector.types.Types.MinorType.DATEDAY.getType(),
+                Collections.singletonList(Range.equal(blockAllocator, org.apache.arrow.vector.types.Types.MinorType.DATEDAY.getType(), 18263)), false);
+        ValueSet region = EquatableValueSet.newBuilder(blockAllocator, org.apache.arrow.vector.types.Types.MinorType.VARCHAR.getType(), false, true).add("eu").build();
+        Map<String, ValueSet> summary = new HashMap<>();
+        summary.put("dt", dt);
+        summary.put("region", region);
+        TableName tempTableName = new TableName("testSchema", "testTable");
+        GetTableLayoutRequest getTableLayoutRequest = new GetTableLayoutRequest(this.federatedIdentity, "testQueryId",
+                "testCatalogName", tempTableName, new Constraints(summary), schema, new HashSet<>(Arrays.asList("partition", "dt", "region")));
+        PreparedStatement describeStatement = Mockito.mock(PreparedStatement.class);
+        Mockito.when(this.connection.prepareStatement(HiveMetadataHandler.GET_METADATA_QUERY + "TESTTABLE")).thenReturn(describeStatement);
+        Mockito.when(describeStatement.executeQuery()).thenReturn(describeResultSet);
+        Statement statement = Mockito.mock(Statement.class);
+        Mockito.when(this.connection.createStatement()).thenReturn(statement);
+        ResultSet partitionedResultSet = mockResultSet(new String[] {"col"}, new int[] {Types.VARCHAR}, new Object[][] {{"partitioned:true"}}, new AtomicInteger(-1));
+        Mockito.when(statement.executeQuery("show table extended like TESTTABLE")).thenReturn(partitionedResultSet);
+        Mockito.when(partitionedResultSet.getString(1)).thenReturn("partitioned:true");
+        ResultSet partitionResultSet = mockResultSet(new String[] {"Partition"}, new int[] {Types.VARCHAR},
+                new Object[][] {{"dt=2020-01-02/region=us%3Aeast"}, {"dt=2020-01-02/region=eu"}, {"dt=2020-01-02/region=__HIVE_DEFAULT_PARTITION__"}}, new AtomicInteger(-1));
+        Mockito.when(statement.executeQuery("show partitions TESTTABLE partition(dt='2020-01-02')")).thenReturn(partitionResultSet);
+
+        GetTableLayoutResponse getTableLayoutResponse = this.hiveMetadataHandler.doGetTableLayout(blockAllocator, getTableLayoutRequest);
+
+        Assert.assertEquals(2, getTableLayoutResponse.getPartitions().getRowCount());
+        Set<String> partitions = new HashSet<>();
+        FieldReader partitionReader = getTableLayoutResponse.getPartitions().getFieldReader("partition");
+        for (int i = 0; i < getTableLayoutResponse.getPartitions().getRowCount(); i++) {
+            partitionReader.setPosition(i);
+            partitions.add(partitionReader.readText().toString());
+        }
+        Assert.assertEquals(new HashSet<>(Arrays.asList(" dt=2020-01-02 and region='us:east'", " dt=2020-01-02 and region is NULL")), partitions);
+    }
+
+    @Test
+    public void doGetTableWithPartitionColumns()
+            throws Exception
+    {
+        Object[][] describeValues = {{"string", "name"}, {"date", "dt"}, {"", "# Partition Information"}, {"data_type", "# col_name"}, {"", ""}, {"date", "dt"}};
+        String[] describeColumns = {"data_type", "col_name"};
+        ResultSet columns = mockResultSet(new String[] {"DATA_TYPE", "COLUMN_SIZE", "COLUMN_NAME", "DECIMAL_DIGITS", "NUM_PREC_RADIX"},
+                new Object[][] {{Types.VARCHAR, 25, "name", 0, 0}, {Types.DATE, 91, "dt", 0, 0}}, new AtomicInteger(-1));
+        TableName inputTableName = new TableName("TESTSCHEMA", "TESTTABLE");
+        PreparedStatement describeStatement = Mockito.mock(PreparedStatement.class);
+        Mockito.when(this.connection.prepareStatement(HiveMetadataHandler.GET_METADATA_QUERY + "TESTTABLE")).thenReturn(describeStatement);
+        ResultSet describe = mockResultSet(describeColumns, describeValues, new AtomicInteger(-1));
+        ResultSet describePartitions = mockResultSet(describeColumns, describeValues, new AtomicInteger(-1));
+        Mockito.when(describeStatement.executeQuery()).thenReturn(describe, describePartitions);
+        Mockito.when(this.connection.getMetaData().getSearchStringEscape()).thenReturn(null);
+        Mockito.when(this.connection.getMetaData().getColumns("testCatalog", inputTableName.getSchemaName(), inputTableName.getTableName(), null)).thenReturn(columns);
+        Mockito.when(this.connection.getCatalog()).thenReturn("testCatalog");
+
+        GetTableResponse getTableResponse = this.hiveMetadataHandler.doGetTable(
+                this.blockAllocator, new GetTableRequest(this.federatedIdentity, "testQueryId", "testCatalog", inputTableName));
+
+        Assert.assertEquals(new HashSet<>(Arrays.asList("partition", "dt")), getTableResponse.getPartitionColumns());
+    }
+
+    @Test
+    public void parsePartitionSpec()
+    {
+        Map<String, String> expected = new LinkedHashMap<>();
+        expected.put("dt", "2020-01-01");
+        expected.put("region", "us/east");
+        expected.put("hour", null);
+        Assert.assertEquals(expected, HiveMetadataHandler.parsePartitionSpec("dt=2020-01-01/region=us%2Feast/hour=__HIVE_DEFAULT_PARTITION__"));
+    }
+}
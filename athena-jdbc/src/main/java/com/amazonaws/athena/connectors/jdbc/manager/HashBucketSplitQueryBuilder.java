@@ -0,0 +1,70 @@
+/*-
+ * #%L
+ * athena-jdbc
+ * %%
+ * Copyright (C) 2019 Amazon Web Services
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package com.amazonaws.athena.connectors.jdbc.manager;
+
+import com.amazonaws.athena.connector.lambda.domain.Split;
+import com.amazonaws.athena.connectors.jdbc.splits.HashBucket;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Query builder for dialects whose metadata handler splits tables into {@link HashBucket}s. Each split is restricted
+ * to its bucket with `MOD(ABS(hash), N) = i`, where the row hash is dialect specific.
+ */
+public abstract class HashBucketSplitQueryBuilder
+        extends JdbcSplitQueryBuilder
+{
+    /**
+     * @param quoteCharacters database quote character for enclosing identifiers.
+     */
+    public HashBucketSplitQueryBuilder(String quoteCharacters)
+    {
+        super(quoteCharacters);
+    }
+
+    @Override
+    protected List<String> getSplitWhereClauses(final Split split, final List<String> quotedColumnNames)
+    {
+        Optional<HashBucket> hashBucket = getHashBucket(split);
+        if (!hashBucket.isPresent()) {
+            return Collections.emptyList();
+        }
+        return Collections.singletonList(String.format("MOD(ABS(%s), %d) = %d",
+                getHashExpression(quotedColumnNames), hashBucket.get().getBucketCount(), hashBucket.get().getBucket()));
+    }
+
+    /**
+     * Hash bucket read by the split.
+     *
+     * @param split table split.
+     * @return bucket to restrict the query to, or empty to read the split without a hash predicate.
+     */
+    protected abstract Optional<HashBucket> getHashBucket(final Split split);
+
+    /**
+     * Engine specific deterministic row hash, e.g. `HASH(*)`.
+     *
+     * @param quotedColumnNames quoted projected column names, identical for every split of a query.
+     * @return SQL expression evaluating to an integer hash of the row.
+     */
+    protected abstract String getHashExpression(final List<String> quotedColumnNames);
+}
@@ -137,9 +137,11 @@ public abstract class JdbcRecordHandler
                 readRecordsRequest.getSplit().getProperties());
         try (Connection connection = this.jdbcConnectionFactory.getConnection(getCredentialProvider())) {
             connection.setAutoCommit(false); // For consistency. This is needed to be false to enable streaming for some database types.
+            long startNanos = System.nanoTime();
             try (PreparedStatement preparedStatement = buildSplitSql(connection, readRecordsRequest.getCatalogName(), readRecordsRequest.getTableName(),
                     readRecordsRequest.getSchema(), readRecordsRequest.getConstraints(), readRecordsRequest.getSplit());
                     ResultSet resultSet = preparedStatement.executeQuery()) {
+                long executedNanos = System.nanoTime() - startNanos;
                 Map<String, String> partitionValues = readRecordsRequest.getSplit().getProperties();
 
                 GeneratedRowWriter.RowWriterBuilder rowWriterBuilder = GeneratedRowWriter.newBuilder(readRecordsRequest.getConstraints());
@@ -154,14 +156,19 @@ public abstract class JdbcRecordHandler
 
                 GeneratedRowWriter rowWriter = rowWriterBuilder.build();
                 int rowsReturnedFromDatabase = 0;
+                long firstRowNanos = -1;
                 while (resultSet.next()) {
                     if (!queryStatusChecker.isQueryRunning()) {
                         return;
                     }
+                    if (firstRowNanos < 0) {
+                        firstRowNanos = System.nanoTime() - startNanos;
+                    }
                     blockSpiller.writeRows((Block block, int rowNum) -> rowWriter.writeRow(block, rowNum, resultSet) ? 1 : 0);
                     rowsReturnedFromDatabase++;
                 }
-                LOGGER.info("{} rows returned by database.", rowsReturnedFromDatabase);
+                LOGGER.info("{} rows returned by database. Statement prepared and executed in {} ms, first row after {} ms.", rowsReturnedFromDatabase,
+                        TimeUnit.NANOSECONDS.toMillis(executedNanos), firstRowNanos < 0 ? "-" : TimeUnit.NANOSECONDS.toMillis(firstRowNanos));
 
                 connection.commit();
             }
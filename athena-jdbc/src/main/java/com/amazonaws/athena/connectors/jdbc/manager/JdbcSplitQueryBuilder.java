@@ -26,17 +26,23 @@ import com.amazonaws.athena.connector.lambda.domain.predicate.SortedRangeSet;
 import com.amazonaws.athena.connector.lambda.domain.predicate.ValueSet;
 import com.google.common.base.Joiner;
 import com.google.common.base.Preconditions;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.Iterables;
+import com.google.common.collect.Lists;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import org.apache.arrow.vector.types.Types;
 import org.apache.arrow.vector.types.pojo.ArrowType;
 import org.apache.arrow.vector.types.pojo.Field;
 import org.apache.arrow.vector.types.pojo.Schema;
+import org.apache.arrow.vector.util.Text;
 import org.apache.commons.lang3.Validate;
+import org.apache.commons.lang3.tuple.Pair;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.math.BigDecimal;
+import java.nio.ByteBuffer;
 import java.sql.Connection;
 import java.sql.Date;
 import java.sql.PreparedStatement;
@@ -45,9 +51,13 @@ import java.sql.Timestamp;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
@@ -60,8 +70,29 @@ public abstract class JdbcSplitQueryBuilder
 
     private static final int MILLIS_SHIFT = 12;
 
+    /**
+     * Default maximum number of values in one IN clause. Oracle rejects longer lists and most drivers slow down well
+     * before that.
+     */
+    private static final int DEFAULT_IN_LIST_CHUNK_SIZE = 1000;
+    /**
+     * Default maximum number of bind parameters of a split query before its longest predicates are widened to their span.
+     */
+    private static final int DEFAULT_MAX_BIND_PARAMETERS = 10000;
+    /**
+     * Minimum number of consecutive integral values worth replacing by a two parameter range.
+     */
+    private static final int MIN_DENSE_RUN_LENGTH = 3;
+    private static final int SQL_TEMPLATE_CACHE_SIZE = 64;
+    private static final int SQL_TEMPLATE_CACHE_TTL_MINUTES = 10;
+
     private final String quoteCharacters;
     private final String emptyString = "";
+    // Owned by the builder instance, which is specific to one dialect, so the key does not need to carry the dialect.
+    private final Cache<SqlTemplateKey, SqlTemplate> sqlTemplateCache = CacheBuilder.newBuilder()
+            .maximumSize(SQL_TEMPLATE_CACHE_SIZE)
+            .expireAfterWrite(SQL_TEMPLATE_CACHE_TTL_MINUTES, TimeUnit.MINUTES)
+            .build();
 
     /**
      * @param quoteCharacters database quote character for enclosing identifiers.
@@ -95,25 +126,19 @@ public abstract class JdbcSplitQueryBuilder
             final Split split)
             throws SQLException
     {
-        StringBuilder sql = new StringBuilder();
-
-        String columnNames = tableSchema.getFields().stream()
-                .map(Field::getName)
-                .filter(c -> !split.getProperties().containsKey(c))
-                .map(this::quote)
-                .collect(Collectors.joining(", "));
+        SqlTemplate template = getSqlTemplate(catalog, schema, table, tableSchema, constraints, split);
 
+        StringBuilder sql = new StringBuilder();
         sql.append("SELECT ");
-        sql.append(columnNames);
-        if (columnNames.isEmpty()) {
+        sql.append(template.getColumnNames());
+        if (template.getColumnNames().isEmpty()) {
             sql.append("null");
         }
         sql.append(getFromClauseWithSplit(catalog, schema, table, split));
 
-        List<TypeAndValue> accumulator = new ArrayList<>();
-
-        List<String> clauses = toConjuncts(tableSchema.getFields(), constraints, accumulator, split.getProperties());
+        List<String> clauses = new ArrayList<>(template.getConjuncts());
         clauses.addAll(getPartitionWhereClauses(split));
+        clauses.addAll(getSplitWhereClauses(split, template.getQuotedColumnNames()));
         if (!clauses.isEmpty()) {
             sql.append(" WHERE ")
                     .append(Joiner.on(" AND ").join(clauses));
@@ -123,10 +148,17 @@ public abstract class JdbcSplitQueryBuilder
         PreparedStatement statement = jdbcConnection.prepareStatement(sql.toString());
 
         // TODO all types, converts Arrow values to JDBC.
-        for (int i = 0; i < accumulator.size(); i++) {
-            TypeAndValue typeAndValue = accumulator.get(i);
+        List<TypeAndValue> parameters = template.getParameters();
+        for (int i = 0; i < parameters.size(); i++) {
+            TypeAndValue typeAndValue = parameters.get(i);
+
+            Types.MinorType minorTypeForArrowType = typeAndValue.getMinorType();
 
-            Types.MinorType minorTypeForArrowType = Types.getMinorTypeForArrowType(typeAndValue.getType());
+            if (typeAndValue.getArrayTypeName() != null) {
+                statement.setArray(i + 1, jdbcConnection.createArrayOf(typeAndValue.getArrayTypeName(),
+                        toArrayElements(minorTypeForArrowType, (List<?>) typeAndValue.getValue())));
+                continue;
+            }
 
             switch (minorTypeForArrowType) {
                 case BIGINT:
@@ -175,13 +207,170 @@ public abstract class JdbcSplitQueryBuilder
         return statement;
     }
 
+    /**
+     * The column list, the predicates rendered from the constraints and their bind parameters are identical for every
+     * split of a query that has the same split property names, only the FROM clause and the split specific where clauses
+     * differ. Every split arrives with its own deserialized Constraints, so templates are keyed on the constraint values
+     * and reused for the remaining splits of the query the handler instance reads.
+     */
+    private SqlTemplate getSqlTemplate(String catalog, String schema, String table, Schema tableSchema, Constraints constraints, Split split)
+    {
+        Set<String> splitColumns = tableSchema.getFields().stream()
+                .map(Field::getName)
+                .filter(split.getProperties()::containsKey)
+                .collect(Collectors.toSet());
+        SqlTemplateKey key = new SqlTemplateKey(catalog, schema, table, tableSchema, splitColumns, fingerprint(tableSchema, constraints, splitColumns));
+
+        SqlTemplate template = sqlTemplateCache.getIfPresent(key);
+        if (template != null) {
+            LOGGER.debug("Reusing SQL template for {}.{}", schema, table);
+            return template;
+        }
+
+        List<String> quotedColumnNames = tableSchema.getFields().stream()
+                .map(Field::getName)
+                .filter(c -> !splitColumns.contains(c))
+                .map(this::quote)
+                .collect(Collectors.toList());
+        List<TypeAndValue> accumulator = new ArrayList<>();
+        List<String> conjuncts = toConjuncts(tableSchema.getFields(), constraints, accumulator, split.getProperties());
+
+        template = new SqlTemplate(quotedColumnNames, conjuncts, accumulator);
+        sqlTemplateCache.put(key, template);
+        return template;
+    }
+
+    /**
+     * Captures everything {@link #toPredicate(String, ValueSet, ArrowType, List)} reads from the constraints as plain
+     * values that compare by content. The ValueSets themselves can not be kept in a cache key since their blocks are
+     * released with the request.
+     */
+    private static List<Object> fingerprint(Schema tableSchema, Constraints constraints, Set<String> splitColumns)
+    {
+        List<Object> fingerprint = new ArrayList<>();
+        if (constraints.getSummary() == null) {
+            return fingerprint;
+        }
+        for (Field column : tableSchema.getFields()) {
+            ValueSet valueSet = constraints.getSummary().get(column.getName());
+            if (valueSet == null || splitColumns.contains(column.getName())) {
+                continue;
+            }
+            fingerprint.add(column.getName());
+            if (!(valueSet instanceof SortedRangeSet)) {
+                fingerprint.add(valueSet.getClass().getName());
+                continue;
+            }
+            fingerprint.add(valueSet.isNullAllowed());
+            List<Range> ranges = valueSet.getRanges().getOrderedRanges();
+            fingerprint.add(ranges.size());
+            for (Range range : ranges) {
+                if (range.isSingleValue()) {
+                    fingerprint.add(canonicalValue(range.getLow().getValue()));
+                    continue;
+                }
+                fingerprint.add(Arrays.asList(range.getLow().getBound(), range.getLow().isLowerUnbounded() ? null : canonicalValue(range.getLow().getValue()),
+                        range.getHigh().getBound(), range.getHigh().isUpperUnbounded() ? null : canonicalValue(range.getHigh().getValue())));
+            }
+        }
+        return fingerprint;
+    }
+
+    /**
+     * Values read from a block compare by identity (byte[]) or are mutable (Text), neither of which can be held in a key.
+     */
+    private static Object canonicalValue(Object value)
+    {
+        if (value instanceof byte[]) {
+            return ByteBuffer.wrap(((byte[]) value).clone());
+        }
+        if (value instanceof Text) {
+            return value.toString();
+        }
+        return value;
+    }
+
+    private static Object[] toArrayElements(final Types.MinorType minorType, final List<?> values)
+    {
+        Object[] elements = new Object[values.size()];
+        for (int i = 0; i < elements.length; i++) {
+            Object value = values.get(i);
+            switch (minorType) {
+                case DATEDAY:
+                    elements[i] = new Date(TimeUnit.DAYS.toMillis(((Number) value).longValue()));
+                    break;
+                case DATEMILLI:
+                    elements[i] = new Timestamp(((LocalDateTime) value).toInstant(ZoneOffset.UTC).toEpochMilli());
+                    break;
+                case VARCHAR:
+                    elements[i] = String.valueOf(value);
+                    break;
+                default:
+                    elements[i] = value;
+            }
+        }
+        return elements;
+    }
+
     protected abstract String getFromClauseWithSplit(final String catalog, final String schema, final String table, final Split split);
 
     protected abstract List<String> getPartitionWhereClauses(final Split split);
 
+    /**
+     * Split specific where clauses that depend on the projected columns, e.g. the hash bucket predicate added by
+     * {@link HashBucketSplitQueryBuilder}.
+     *
+     * @param split table split.
+     * @param quotedColumnNames quoted projected column names, identical for every split of a query.
+     * @return where clauses.
+     */
+    protected List<String> getSplitWhereClauses(final Split split, final List<String> quotedColumnNames)
+    {
+        return Collections.emptyList();
+    }
+
+    /**
+     * Maximum number of values rendered into a single IN clause, longer lists are split into several OR-ed IN clauses.
+     *
+     * @return chunk size.
+     */
+    protected int getInListChunkSize()
+    {
+        return DEFAULT_IN_LIST_CHUNK_SIZE;
+    }
+
+    /**
+     * Maximum number of bind parameters of a whole split query. Split specific clauses are rendered without parameters, so
+     * the budget is shared by the predicates of all constrained columns. When they need more, the predicates with the most
+     * parameters are pushed down as a range over their span instead and the rows in between are filtered by the record
+     * handler, which evaluates the full constraints on every row it writes. Dialects with a lower driver parameter limit
+     * should override this.
+     *
+     * @return parameter limit.
+     */
+    protected int getMaxBindParameters()
+    {
+        return DEFAULT_MAX_BIND_PARAMETERS;
+    }
+
+    /**
+     * Database array type used to bind IN lists longer than {@link #getInListChunkSize()} as a single `= ANY(?)`
+     * parameter, see {@link Connection#createArrayOf(String, Object[])}.
+     *
+     * @param type Arrow type of the column.
+     * @return array element type name, or empty if the dialect can not bind arrays of this type.
+     */
+    protected Optional<String> getArrayTypeName(final ArrowType type)
+    {
+        return Optional.empty();
+    }
+
     private List<String> toConjuncts(List<Field> columns, Constraints constraints, List<TypeAndValue> accumulator, Map<String, String> partitionSplit)
     {
+        List<Field> constrainedColumns = new ArrayList<>();
         List<String> conjuncts = new ArrayList<>();
+        List<List<TypeAndValue>> columnParameters = new ArrayList<>();
+        int parameterCount = 0;
         for (Field column : columns) {
             if (partitionSplit.containsKey(column.getName())) {
                 continue; // Ignore constraints on partition name as RDBMS does not contain these as columns. Presto will filter these values.
@@ -190,10 +379,47 @@ public abstract class JdbcSplitQueryBuilder
             if (constraints.getSummary() != null && !constraints.getSummary().isEmpty()) {
                 ValueSet valueSet = constraints.getSummary().get(column.getName());
                 if (valueSet != null) {
-                    conjuncts.add(toPredicate(column.getName(), valueSet, type, accumulator));
+                    List<TypeAndValue> parameters = new ArrayList<>();
+                    constrainedColumns.add(column);
+                    conjuncts.add(toPredicate(column.getName(), valueSet, type, parameters));
+                    columnParameters.add(parameters);
+                    parameterCount += parameters.size();
+                }
+            }
+        }
+
+        if (parameterCount > getMaxBindParameters()) {
+            // Widen the predicates with the most parameters first until the statement fits the budget.
+            List<Integer> byParameterCount = new ArrayList<>();
+            for (int i = 0; i < constrainedColumns.size(); i++) {
+                byParameterCount.add(i);
+            }
+            byParameterCount.sort((left, right) -> Integer.compare(columnParameters.get(right).size(), columnParameters.get(left).size()));
+            for (int i : byParameterCount) {
+                if (parameterCount <= getMaxBindParameters()) {
+                    break;
+                }
+                Field column = constrainedColumns.get(i);
+                ValueSet valueSet = constraints.getSummary().get(column.getName());
+                if (!(valueSet instanceof SortedRangeSet)) {
+                    continue;
+                }
+                List<TypeAndValue> parameters = new ArrayList<>();
+                String conjunct = toSpanPredicate(column.getName(), (SortedRangeSet) valueSet, column.getType(), parameters);
+                if (parameters.size() < columnParameters.get(i).size()) {
+                    LOGGER.info("Predicate on {} with {} bind parameters exceeds the statement budget of {}, pushing down its span instead",
+                            column.getName(), columnParameters.get(i).size(), getMaxBindParameters());
+                    parameterCount -= columnParameters.get(i).size() - parameters.size();
+                    conjuncts.set(i, conjunct);
+                    columnParameters.set(i, parameters);
                 }
             }
+            if (parameterCount > getMaxBindParameters()) {
+                LOGGER.warn("Split query needs {} bind parameters after widening, more than the limit of {}", parameterCount, getMaxBindParameters());
+            }
         }
+
+        columnParameters.forEach(accumulator::addAll);
         return conjuncts;
     }
 
@@ -223,38 +449,7 @@ public abstract class JdbcSplitQueryBuilder
                     singleValues.add(range.getLow().getValue());
                 }
                 else {
-                    List<String> rangeConjuncts = new ArrayList<>();
-                    if (!range.getLow().isLowerUnbounded()) {
-                        switch (range.getLow().getBound()) {
-                            case ABOVE:
-                                rangeConjuncts.add(toPredicate(columnName, ">", range.getLow().getValue(), type, accumulator));
-                                break;
-                            case EXACTLY:
-                                rangeConjuncts.add(toPredicate(columnName, ">=", range.getLow().getValue(), type, accumulator));
-                                break;
-                            case BELOW:
-                                throw new IllegalArgumentException("Low marker should never use BELOW bound");
-                            default:
-                                throw new AssertionError("Unhandled bound: " + range.getLow().getBound());
-                        }
-                    }
-                    if (!range.getHigh().isUpperUnbounded()) {
-                        switch (range.getHigh().getBound()) {
-                            case ABOVE:
-                                throw new IllegalArgumentException("High marker should never use ABOVE bound");
-                            case EXACTLY:
-                                rangeConjuncts.add(toPredicate(columnName, "<=", range.getHigh().getValue(), type, accumulator));
-                                break;
-                            case BELOW:
-                                rangeConjuncts.add(toPredicate(columnName, "<", range.getHigh().getValue(), type, accumulator));
-                                break;
-                            default:
-                                throw new AssertionError("Unhandled bound: " + range.getHigh().getBound());
-                        }
-                    }
-                    // If rangeConjuncts is null, then the range was ALL, which should already have been checked for
-                    Preconditions.checkState(!rangeConjuncts.isEmpty());
-                    disjuncts.add("(" + Joiner.on(" AND ").join(rangeConjuncts) + ")");
+                    disjuncts.add(toPredicate(columnName, range, type, accumulator));
                 }
             }
 
@@ -262,18 +457,148 @@ public abstract class JdbcSplitQueryBuilder
             if (singleValues.size() == 1) {
                 disjuncts.add(toPredicate(columnName, "=", Iterables.getOnlyElement(singleValues), type, accumulator));
             }
+            else if (singleValues.size() > getInListChunkSize()) {
+                disjuncts.addAll(toLargeInPredicates(columnName, singleValues, type, accumulator));
+            }
             else if (singleValues.size() > 1) {
-                for (Object value : singleValues) {
-                    accumulator.add(new TypeAndValue(type, value));
-                }
-                String values = Joiner.on(",").join(Collections.nCopies(singleValues.size(), "?"));
-                disjuncts.add(quote(columnName) + " IN (" + values + ")");
+                disjuncts.add(toInPredicate(columnName, singleValues, type, accumulator));
             }
         }
 
         return "(" + Joiner.on(" OR ").join(disjuncts) + ")";
     }
 
+    /**
+     * Renders the smallest range covering all values of the set, plus `IS NULL` when nulls are allowed.
+     */
+    private String toSpanPredicate(String columnName, SortedRangeSet valueSet, ArrowType type, List<TypeAndValue> accumulator)
+    {
+        List<String> disjuncts = new ArrayList<>();
+        if (valueSet.isNullAllowed()) {
+            disjuncts.add(String.format("(%s IS NULL)", quote(columnName)));
+        }
+        if (!valueSet.isNone()) {
+            Range span = valueSet.getSpan();
+            if (span.isSingleValue()) {
+                disjuncts.add(toPredicate(columnName, "=", span.getLow().getValue(), type, accumulator));
+            }
+            else {
+                disjuncts.add(toPredicate(columnName, span, type, accumulator));
+            }
+        }
+        return "(" + Joiner.on(" OR ").join(disjuncts) + ")";
+    }
+
+    private String toPredicate(String columnName, Range range, ArrowType type, List<TypeAndValue> accumulator)
+    {
+        List<String> rangeConjuncts = new ArrayList<>();
+        if (!range.getLow().isLowerUnbounded()) {
+            switch (range.getLow().getBound()) {
+                case ABOVE:
+                    rangeConjuncts.add(toPredicate(columnName, ">", range.getLow().getValue(), type, accumulator));
+                    break;
+                case EXACTLY:
+                    rangeConjuncts.add(toPredicate(columnName, ">=", range.getLow().getValue(), type, accumulator));
+                    break;
+                case BELOW:
+                    throw new IllegalArgumentException("Low marker should never use BELOW bound");
+                default:
+                    throw new AssertionError("Unhandled bound: " + range.getLow().getBound());
+            }
+        }
+        if (!range.getHigh().isUpperUnbounded()) {
+            switch (range.getHigh().getBound()) {
+                case ABOVE:
+                    throw new IllegalArgumentException("High marker should never use ABOVE bound");
+                case EXACTLY:
+                    rangeConjuncts.add(toPredicate(columnName, "<=", range.getHigh().getValue(), type, accumulator));
+                    break;
+                case BELOW:
+                    rangeConjuncts.add(toPredicate(columnName, "<", range.getHigh().getValue(), type, accumulator));
+                    break;
+                default:
+                    throw new AssertionError("Unhandled bound: " + range.getHigh().getBound());
+            }
+        }
+        // If rangeConjuncts is null, then the range was ALL, which should already have been checked for
+        Preconditions.checkState(!rangeConjuncts.isEmpty());
+        return "(" + Joiner.on(" AND ").join(rangeConjuncts) + ")";
+    }
+
+    /**
+     * Pushes down an IN list that is too long for a single IN clause. Dialects that bind arrays receive the list as one
+     * `= ANY(?)` parameter. Otherwise runs of consecutive integral values are collapsed into ranges and the remaining
+     * values are split into IN clauses of at most {@link #getInListChunkSize()} values. Lists that leave the statement
+     * above {@link #getMaxBindParameters()} parameters are widened afterwards, see toConjuncts.
+     */
+    private List<String> toLargeInPredicates(String columnName, List<Object> singleValues, ArrowType type, List<TypeAndValue> accumulator)
+    {
+        Optional<String> arrayTypeName = getArrayTypeName(type);
+        if (arrayTypeName.isPresent()) {
+            accumulator.add(new TypeAndValue(type, singleValues, arrayTypeName.get()));
+            return Collections.singletonList(quote(columnName) + " = ANY(?)");
+        }
+
+        List<Object> inValues = new ArrayList<>();
+        List<Pair<Object, Object>> denseRuns = new ArrayList<>();
+        collapseDenseRuns(singleValues, type, inValues, denseRuns);
+
+        List<String> disjuncts = new ArrayList<>();
+        for (Pair<Object, Object> run : denseRuns) {
+            disjuncts.add(toRangePredicate(columnName, run.getLeft(), run.getRight(), type, accumulator));
+        }
+        for (List<Object> chunk : Lists.partition(inValues, getInListChunkSize())) {
+            disjuncts.add(toInPredicate(columnName, chunk, type, accumulator));
+        }
+        return disjuncts;
+    }
+
+    /**
+     * Splits sorted values into runs of at least {@link #MIN_DENSE_RUN_LENGTH} consecutive integers, which are cheaper
+     * to send as a range, and the values left over. Non integral types are never collapsed.
+     */
+    private static void collapseDenseRuns(List<Object> sortedValues, ArrowType type, List<Object> remainingValues, List<Pair<Object, Object>> denseRuns)
+    {
+        switch (Types.getMinorTypeForArrowType(type)) {
+            case TINYINT:
+            case SMALLINT:
+            case INT:
+            case BIGINT:
+            case DATEDAY:
+                break;
+            default:
+                remainingValues.addAll(sortedValues);
+                return;
+        }
+
+        int runStart = 0;
+        for (int i = 1; i <= sortedValues.size(); i++) {
+            if (i < sortedValues.size() && ((Number) sortedValues.get(i)).longValue() == ((Number) sortedValues.get(i - 1)).longValue() + 1) {
+                continue;
+            }
+            if (i - runStart >= MIN_DENSE_RUN_LENGTH) {
+                denseRuns.add(Pair.of(sortedValues.get(runStart), sortedValues.get(i - 1)));
+            }
+            else {
+                remainingValues.addAll(sortedValues.subList(runStart, i));
+            }
+            runStart = i;
+        }
+    }
+
+    private String toInPredicate(String columnName, List<Object> values, ArrowType type, List<TypeAndValue> accumulator)
+    {
+        for (Object value : values) {
+            accumulator.add(new TypeAndValue(type, value));
+        }
+        return quote(columnName) + " IN (" + Joiner.on(",").join(Collections.nCopies(values.size(), "?")) + ")";
+    }
+
+    private String toRangePredicate(String columnName, Object low, Object high, ArrowType type, List<TypeAndValue> accumulator)
+    {
+        return "(" + toPredicate(columnName, ">=", low, type, accumulator) + " AND " + toPredicate(columnName, "<=", high, type, accumulator) + ")";
+    }
+
     private String toPredicate(String columnName, String operator, Object value, ArrowType type,
             List<TypeAndValue> accumulator)
     {
@@ -290,12 +615,24 @@ public abstract class JdbcSplitQueryBuilder
     private static class TypeAndValue
     {
         private final ArrowType type;
+        private final Types.MinorType minorType;
         private final Object value;
+        private final String arrayTypeName;
 
         TypeAndValue(ArrowType type, Object value)
+        {
+            this(type, value, null);
+        }
+
+        /**
+         * @param arrayTypeName database array element type when value is a list bound as one array parameter, otherwise null.
+         */
+        TypeAndValue(ArrowType type, Object value, String arrayTypeName)
         {
             this.type = Validate.notNull(type, "type is null");
+            this.minorType = Types.getMinorTypeForArrowType(type);
             this.value = Validate.notNull(value, "value is null");
+            this.arrayTypeName = arrayTypeName;
         }
 
         ArrowType getType()
@@ -303,20 +640,114 @@ public abstract class JdbcSplitQueryBuilder
             return type;
         }
 
+        Types.MinorType getMinorType()
+        {
+            return minorType;
+        }
+
         Object getValue()
         {
             return value;
         }
 
+        String getArrayTypeName()
+        {
+            return arrayTypeName;
+        }
+
         @Override
         public String toString()
         {
             return "TypeAndValue{" +
                     "type=" + type +
                     ", value=" + value +
+                    ", arrayTypeName=" + arrayTypeName +
                     '}';
         }
     }
+    /**
+     * Split independent part of a split query: projected columns, constraint predicates and their bind parameters.
+     */
+    private static class SqlTemplate
+    {
+        private final List<String> quotedColumnNames;
+        private final String columnNames;
+        private final List<String> conjuncts;
+        private final List<TypeAndValue> parameters;
+
+        SqlTemplate(List<String> quotedColumnNames, List<String> conjuncts, List<TypeAndValue> parameters)
+        {
+            this.quotedColumnNames = Collections.unmodifiableList(quotedColumnNames);
+            this.columnNames = Joiner.on(", ").join(quotedColumnNames);
+            this.conjuncts = Collections.unmodifiableList(conjuncts);
+            this.parameters = Collections.unmodifiableList(parameters);
+        }
+
+        List<String> getQuotedColumnNames()
+        {
+            return quotedColumnNames;
+        }
+
+        String getColumnNames()
+        {
+            return columnNames;
+        }
+
+        List<String> getConjuncts()
+        {
+            return conjuncts;
+        }
+
+        List<TypeAndValue> getParameters()
+        {
+            return parameters;
+        }
+    }
+
+    private static class SqlTemplateKey
+    {
+        private final String catalog;
+        private final String schema;
+        private final String table;
+        private final Schema tableSchema;
+        private final Set<String> splitColumns;
+        private final List<Object> constraints;
+
+        SqlTemplateKey(String catalog, String schema, String table, Schema tableSchema, Set<String> splitColumns, List<Object> constraints)
+        {
+            this.catalog = catalog;
+            this.schema = schema;
+            this.table = table;
+            this.tableSchema = tableSchema;
+            this.splitColumns = splitColumns;
+            this.constraints = constraints;
+        }
+
+        @Override
+        public boolean equals(Object o)
+        {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            SqlTemplateKey that = (SqlTemplateKey) o;
+            return Objects.equals(catalog, that.catalog) &&
+                    Objects.equals(schema, that.schema) &&
+                    Objects.equals(table, that.table) &&
+                    Objects.equals(tableSchema, that.tableSchema) &&
+                    Objects.equals(splitColumns, that.splitColumns) &&
+                    Objects.equals(constraints, that.constraints);
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return Objects.hash(catalog, schema, table, tableSchema, splitColumns, constraints);
+        }
+    }
+
     protected String appendLimitOffset(Split split)
     {
         return emptyString;
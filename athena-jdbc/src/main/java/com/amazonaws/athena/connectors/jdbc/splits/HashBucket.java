@@ -0,0 +1,129 @@
+/*-
+ * #%L
+ * athena-jdbc
+ * %%
+ * Copyright (C) 2019 Amazon Web Services
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package com.amazonaws.athena.connectors.jdbc.splits;
+
+import org.apache.commons.lang3.Validate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * One of N disjoint buckets of a table, where a row belongs to bucket `MOD(ABS(hash(row)), N)`. Used to split tables that
+ * have no numeric key to range split on. Unlike LIMIT/OFFSET pages every bucket costs the same to read and the row to
+ * bucket assignment is stable across splits.
+ *
+ * Encoded as a split property value, e.g. `bucket-3-of-16`.
+ */
+public class HashBucket
+{
+    private static final Pattern SPLIT_VALUE_PATTERN = Pattern.compile("^bucket-(\\d+)-of-(\\d+)$");
+
+    private final int bucket;
+    private final int bucketCount;
+
+    /**
+     * @param bucket zero based bucket index.
+     * @param bucketCount total number of buckets the table is split into.
+     */
+    public HashBucket(final int bucket, final int bucketCount)
+    {
+        Validate.isTrue(bucketCount > 0, "bucketCount must be positive");
+        Validate.isTrue(bucket >= 0 && bucket < bucketCount, "bucket must be in [0, bucketCount)");
+        this.bucket = bucket;
+        this.bucketCount = bucketCount;
+    }
+
+    /**
+     * @param bucketCount number of buckets.
+     * @return all buckets `0..bucketCount-1`, together covering every row of the table.
+     */
+    public static List<HashBucket> allOf(final int bucketCount)
+    {
+        List<HashBucket> buckets = new ArrayList<>(bucketCount);
+        for (int i = 0; i < bucketCount; i++) {
+            buckets.add(new HashBucket(i, bucketCount));
+        }
+        return buckets;
+    }
+
+    /**
+     * @param splitValue split property value.
+     * @return bucket if the value was produced by {@link #toSplitValue()}, empty otherwise.
+     */
+    public static Optional<HashBucket> fromSplitValue(final String splitValue)
+    {
+        if (splitValue == null) {
+            return Optional.empty();
+        }
+        Matcher matcher = SPLIT_VALUE_PATTERN.matcher(splitValue);
+        if (!matcher.matches()) {
+            return Optional.empty();
+        }
+        return Optional.of(new HashBucket(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2))));
+    }
+
+    public String toSplitValue()
+    {
+        return "bucket-" + bucket + "-of-" + bucketCount;
+    }
+
+    public int getBucket()
+    {
+        return bucket;
+    }
+
+    public int getBucketCount()
+    {
+        return bucketCount;
+    }
+
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        HashBucket that = (HashBucket) o;
+        return bucket == that.bucket &&
+                bucketCount == that.bucketCount;
+    }
+
+    @Override
+    public int hashCode()
+    {
+        return Objects.hash(bucket, bucketCount);
+    }
+
+    @Override
+    public String toString()
+    {
+        return "HashBucket{" +
+                "bucket=" + bucket +
+                ", bucketCount=" + bucketCount +
+                '}';
+    }
+}
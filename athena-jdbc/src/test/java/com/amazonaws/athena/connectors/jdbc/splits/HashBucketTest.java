@@ -0,0 +1,58 @@
+/*-
+ * #%L
+ * athena-jdbc
+ * %%
+ * Copyright (C) 2019 Amazon Web Services
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package com.amazonaws.athena.connectors.jdbc.splits;
+
+import com.google.common.collect.ImmutableList;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Optional;
+
+public class HashBucketTest
+{
+    @Test
+    public void allOf()
+    {
+        Assert.assertEquals(ImmutableList.of(new HashBucket(0, 3), new HashBucket(1, 3), new HashBucket(2, 3)), HashBucket.allOf(3));
+    }
+
+    @Test
+    public void splitValueRoundTrip()
+    {
+        HashBucket hashBucket = new HashBucket(7, 16);
+        Assert.assertEquals("bucket-7-of-16", hashBucket.toSplitValue());
+        Assert.assertEquals(Optional.of(hashBucket), HashBucket.fromSplitValue(hashBucket.toSplitValue()));
+    }
+
+    @Test
+    public void fromSplitValueNotABucket()
+    {
+        Assert.assertFalse(HashBucket.fromSplitValue(null).isPresent());
+        Assert.assertFalse(HashBucket.fromSplitValue("*").isPresent());
+        Assert.assertFalse(HashBucket.fromSplitValue("p0").isPresent());
+        Assert.assertFalse(HashBucket.fromSplitValue("bucket-1-of-x").isPresent());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void bucketOutOfRange()
+    {
+        new HashBucket(3, 3);
+    }
+}
@@ -19,6 +19,8 @@
  */
 package com.amazonaws.athena.connectors.mysql;
 
+import com.amazonaws.athena.connector.lambda.data.BlockAllocator;
+import com.amazonaws.athena.connector.lambda.data.BlockAllocatorImpl;
 import com.amazonaws.athena.connector.lambda.data.FieldBuilder;
 import com.amazonaws.athena.connector.lambda.data.SchemaBuilder;
 import com.amazonaws.athena.connector.lambda.domain.Split;
@@ -28,6 +30,11 @@ import com.amazonaws.athena.connector.lambda.domain.predicate.Marker;
 import com.amazonaws.athena.connector.lambda.domain.predicate.Range;
 import com.amazonaws.athena.connector.lambda.domain.predicate.SortedRangeSet;
 import com.amazonaws.athena.connector.lambda.domain.predicate.ValueSet;
+import com.amazonaws.athena.connector.lambda.domain.spill.S3SpillLocation;
+import com.amazonaws.athena.connector.lambda.records.ReadRecordsRequest;
+import com.amazonaws.athena.connector.lambda.request.FederationRequest;
+import com.amazonaws.athena.connector.lambda.security.FederatedIdentity;
+import com.amazonaws.athena.connector.lambda.serde.VersionedObjectMapperFactory;
 import com.amazonaws.athena.connectors.jdbc.connection.DatabaseConnectionConfig;
 import com.amazonaws.athena.connectors.jdbc.connection.JdbcConnectionFactory;
 import com.amazonaws.athena.connectors.jdbc.connection.JdbcCredentialProvider;
@@ -35,6 +42,8 @@ import com.amazonaws.athena.connectors.jdbc.manager.JdbcSplitQueryBuilder;
 import com.amazonaws.services.athena.AmazonAthena;
 import com.amazonaws.services.s3.AmazonS3;
 import com.amazonaws.services.secretsmanager.AWSSecretsManager;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.base.Joiner;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import org.apache.arrow.vector.types.Types;
@@ -47,7 +56,9 @@ import org.mockito.Mockito;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
 
 import static com.amazonaws.athena.connectors.mysql.MySqlConstants.MYSQL_NAME;
 
@@ -148,6 +159,133 @@ public class MySqlRecordHandlerTest
         Mockito.verify(preparedStatement, Mockito.times(1)).setBoolean(11, true);
     }
 
+    @Test
+    public void buildSplitSqlWithLargeInList()
+            throws SQLException
+    {
+        // 0..1999 is collapsed into a range, the 1500 sparse values are split into IN lists of at most 1000 values
+        List<Integer> values = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            values.add(i);
+        }
+        for (int i = 0; i < 1500; i++) {
+            values.add(3001 + 2 * i);
+        }
+
+        String expectedSql = "SELECT `testCol1` FROM `testSchema`.`testTable` PARTITION(p0)  WHERE ((`testCol1` >= ? AND `testCol1` <= ?) OR `testCol1` IN ("
+                + Joiner.on(",").join(Collections.nCopies(1000, "?")) + ") OR `testCol1` IN (" + Joiner.on(",").join(Collections.nCopies(500, "?")) + "))";
+        PreparedStatement preparedStatement = buildSplitSqlForInList(values, expectedSql);
+
+        Mockito.verify(preparedStatement, Mockito.times(1)).setInt(1, 0);
+        Mockito.verify(preparedStatement, Mockito.times(1)).setInt(2, 1999);
+        Mockito.verify(preparedStatement, Mockito.times(1)).setInt(3, 3001);
+        Mockito.verify(preparedStatement, Mockito.times(1)).setInt(1502, 5999);
+        Mockito.verify(preparedStatement, Mockito.times(1502)).setInt(Mockito.anyInt(), Mockito.anyInt());
+    }
+
+    @Test
+    public void buildSplitSqlWithInListAboveBindLimit()
+            throws SQLException
+    {
+        List<Integer> values = new ArrayList<>();
+        for (int i = 0; i < 12000; i++) {
+            values.add(2 * i);
+        }
+
+        String expectedSql = "SELECT `testCol1` FROM `testSchema`.`testTable` PARTITION(p0)  WHERE ((`testCol1` >= ? AND `testCol1` <= ?))";
+        PreparedStatement preparedStatement = buildSplitSqlForInList(values, expectedSql);
+
+        Mockito.verify(preparedStatement, Mockito.times(1)).setInt(1, 0);
+        Mockito.verify(preparedStatement, Mockito.times(1)).setInt(2, 23998);
+        Mockito.verify(preparedStatement, Mockito.times(2)).setInt(Mockito.anyInt(), Mockito.anyInt());
+    }
+
+    @Test
+    public void buildSplitSqlAcrossSplitsAndConstraints()
+            throws Exception
+    {
+        TableName tableName = new TableName("testSchema", "testTable");
+        Schema schema = SchemaBuilder.newBuilder()
+                .addField(FieldBuilder.newBuilder("testCol1", Types.MinorType.INT.getType()).build())
+                .addField(FieldBuilder.newBuilder("partition_name", Types.MinorType.VARCHAR.getType()).build())
+                .build();
+        S3SpillLocation spillLocation = S3SpillLocation.newBuilder()
+                .withBucket("testBucket")
+                .withPrefix("testPrefix")
+                .withQueryId("testQueryId")
+                .withSplitId("testSplitId")
+                .withIsDirectory(true)
+                .build();
+        FederatedIdentity identity = new FederatedIdentity("arn", "account", Collections.emptyMap(), Collections.emptyList());
+
+        try (BlockAllocator allocator = new BlockAllocatorImpl()) {
+            ObjectMapper mapper = VersionedObjectMapperFactory.create(allocator);
+            for (int value : new int[] {7, 8}) {
+                boolean firstSplit = true;
+                for (String partition : ImmutableList.of("p0", "p1", "p0")) {
+                    // every split reaches the handler in its own request with its own deserialized Constraints
+                    byte[] serialized;
+                    try (ReadRecordsRequest request = new ReadRecordsRequest(identity, "testCatalogName", "testQueryId", tableName, schema,
+                            Split.newBuilder(spillLocation, null).add("partition_name", partition).build(),
+                            new Constraints(Collections.singletonMap("testCol1",
+                                    SortedRangeSet.of(Range.greaterThan(allocator, Types.MinorType.INT.getType(), value)))),
+                            1024, 1024)) {
+                        serialized = mapper.writeValueAsBytes(request);
+                    }
+
+                    try (ReadRecordsRequest request = (ReadRecordsRequest) mapper.readValue(serialized, FederationRequest.class)) {
+                        PreparedStatement expectedPreparedStatement = Mockito.mock(PreparedStatement.class);
+                        Mockito.when(this.connection.prepareStatement(Mockito.eq("SELECT `testCol1` FROM `testSchema`.`testTable` PARTITION(" + partition + ")  WHERE ((`testCol1` > ?))")))
+                                .thenReturn(expectedPreparedStatement);
+
+                        // only rendering the predicate asks for the span, building the template key does not
+                        SortedRangeSet valueSet = Mockito.spy((SortedRangeSet) request.getConstraints().getSummary().get("testCol1"));
+                        Constraints constraints = new Constraints(Collections.singletonMap("testCol1", valueSet));
+                        PreparedStatement preparedStatement = this.mySqlRecordHandler.buildSplitSql(this.connection, "testCatalogName", tableName,
+                                request.getSchema(), constraints, request.getSplit());
+
+                        Assert.assertEquals(expectedPreparedStatement, preparedStatement);
+                        Mockito.verify(preparedStatement, Mockito.times(1)).setInt(1, value);
+                        // the template built for the first split is reused for the other splits with equal constraints
+                        Mockito.verify(valueSet, Mockito.times(firstSplit ? 1 : 0)).getSpan();
+                        firstSplit = false;
+                    }
+                }
+            }
+        }
+    }
+
+    private PreparedStatement buildSplitSqlForInList(List<Integer> values, String expectedSql)
+            throws SQLException
+    {
+        TableName tableName = new TableName("testSchema", "testTable");
+        Schema schema = SchemaBuilder.newBuilder()
+                .addField(FieldBuilder.newBuilder("testCol1", Types.MinorType.INT.getType()).build())
+                .addField(FieldBuilder.newBuilder("partition_name", Types.MinorType.VARCHAR.getType()).build())
+                .build();
+
+        Split split = Mockito.mock(Split.class);
+        Mockito.when(split.getProperties()).thenReturn(Collections.singletonMap("partition_name", "p0"));
+        Mockito.when(split.getProperty(Mockito.eq("partition_name"))).thenReturn("p0");
+
+        PreparedStatement expectedPreparedStatement = Mockito.mock(PreparedStatement.class);
+        Mockito.when(this.connection.prepareStatement(Mockito.eq(expectedSql))).thenReturn(expectedPreparedStatement);
+
+        try (BlockAllocator allocator = new BlockAllocatorImpl()) {
+            List<Range> ranges = new ArrayList<>();
+            for (Integer value : values) {
+                ranges.add(Range.equal(allocator, Types.MinorType.INT.getType(), value));
+            }
+            Constraints constraints = new Constraints(Collections.singletonMap("testCol1",
+                    SortedRangeSet.copyOf(Types.MinorType.INT.getType(), ranges, false)));
+
+            PreparedStatement preparedStatement = this.mySqlRecordHandler.buildSplitSql(this.connection, "testCatalogName", tableName, schema, constraints, split);
+
+            Assert.assertEquals(expectedPreparedStatement, preparedStatement);
+            return preparedStatement;
+        }
+    }
+
     private ValueSet getSingleValueSet(Object value) {
         Range range = Mockito.mock(Range.class, Mockito.RETURNS_DEEP_STUBS);
         Mockito.when(range.isSingleValue()).thenReturn(true);
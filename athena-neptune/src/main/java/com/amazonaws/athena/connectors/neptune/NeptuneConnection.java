@@ -28,14 +28,27 @@ import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSo
 
 public class NeptuneConnection
 {
+    // The Gremlin driver's own default number of results Neptune sends per response message.
+    public static final int DEFAULT_RESULT_ITERATION_BATCH_SIZE = 64;
+
     private static Cluster cluster = null;
 
+    private final int resultIterationBatchSize;
+
     NeptuneConnection(String neptuneEndpoint, String neptunePort, boolean enabledIAM)
     {
+        this(neptuneEndpoint, neptunePort, enabledIAM, DEFAULT_RESULT_ITERATION_BATCH_SIZE);
+    }
+
+    NeptuneConnection(String neptuneEndpoint, String neptunePort, boolean enabledIAM, int resultIterationBatchSize)
+    {
+        this.resultIterationBatchSize = resultIterationBatchSize;
+
         Cluster.Builder builder = Cluster.build();
         builder.addContactPoint(neptuneEndpoint)
                .port(Integer.parseInt(neptunePort))
-               .enableSsl(true);
+               .enableSsl(true)
+               .resultIterationBatchSize(resultIterationBatchSize);
                
         if (enabledIAM) {
             builder = builder.channelizer(SigV4WebSocketChannelizer.class);
@@ -55,6 +68,15 @@ public class NeptuneConnection
         return AnonymousTraversalSource.traversal().withRemote(connection);
     }
 
+    /**
+     * @return The number of results Neptune sends per response message, which is also the number of results the
+     * record handler pulls from a traversal at a time.
+     */
+    public int getResultIterationBatchSize()
+    {
+        return resultIterationBatchSize;
+    }
+
     void closeCluster()
     {
         cluster.close();
@@ -75,14 +75,23 @@ public class NeptuneMetadataHandler extends GlueMetadataHandler
     private final Logger logger = LoggerFactory.getLogger(NeptuneMetadataHandler.class);
     private static final String SOURCE_TYPE = "neptune"; // Used to denote the 'type' of this connector for diagnostic
                                                          // purposes.
+    // Split properties holding the (inclusive) lower and (exclusive) upper bound of the ids read by a split.
+    public static final String ID_LOWER_BOUND_PROPERTY = "id_lower_bound";
+    public static final String ID_UPPER_BOUND_PROPERTY = "id_upper_bound";
+    private static final String ID_RANGE_SPLITS = "id_range_splits";
+    // Ids are split on their first 2 hex digits, see getIdRangeBounds(...)
+    private static final int MAX_ID_RANGE_SPLITS = 256;
+
     private final AWSGlue glue;
     private final String glueDBName;
+    private final int idRangeSplits;
 
     public NeptuneMetadataHandler()
     {
         super(false, SOURCE_TYPE);
         this.glue = getAwsGlue();
         this.glueDBName = System.getenv("glue_database_name");
+        this.idRangeSplits = getIdRangeSplits();
     }
 
     @VisibleForTesting
@@ -92,6 +101,13 @@ public class NeptuneMetadataHandler extends GlueMetadataHandler
         super(glue, keyFactory, awsSecretsManager, athena, SOURCE_TYPE, spillBucket, spillPrefix);
         this.glue = glue;
         this.glueDBName = System.getenv("glue_database_name");
+        this.idRangeSplits = getIdRangeSplits();
+    }
+
+    private static int getIdRangeSplits()
+    {
+        String splits = System.getenv(ID_RANGE_SPLITS);
+        return (splits == null || splits.isEmpty()) ? 1 : Integer.parseInt(splits);
     }
 
     /**
@@ -211,19 +227,51 @@ public class NeptuneMetadataHandler extends GlueMetadataHandler
      */
 
     /*
-     * Since our connector does not support parallel scans we generate a single
-     * Split and include the connection details as a property on the split so that
-     * the RecordHandler has easy access to it.
+     * By default we generate a single Split which scans the whole label. When id_range_splits is set the label's
+     * vertices or edges are instead divided into that many id ranges, each read by its own Split in parallel.
      */
     @Override
     public GetSplitsResponse doGetSplits(BlockAllocator blockAllocator, GetSplitsRequest request) 
     {
-        // Every split must have a unique location if we wish to spill to avoid failures
-        SpillLocation spillLocation = makeSpillLocation(request);
+        List<String> bounds = getIdRangeBounds(idRangeSplits);
+        Set<Split> splits = new HashSet<>();
+        for (int i = 0; i <= bounds.size(); i++) {
+            // Every split must have a unique location if we wish to spill to avoid failures
+            SpillLocation spillLocation = makeSpillLocation(request);
+            Split.Builder splitBuilder = Split.newBuilder(spillLocation, makeEncryptionKey());
+
+            if (i > 0) {
+                splitBuilder.add(ID_LOWER_BOUND_PROPERTY, bounds.get(i - 1));
+            }
+
+            if (i < bounds.size()) {
+                splitBuilder.add(ID_UPPER_BOUND_PROPERTY, bounds.get(i));
+            }
+
+            splits.add(splitBuilder.build());
+        }
+
+        logger.info("doGetSplits: {} splits for table {}", splits.size(), request.getTableName());
+        return new GetSplitsResponse(request.getCatalogName(), splits);
+    }
 
-        // Since our connector does not support parallel reads we return a fixed split.
-        return new GetSplitsResponse(request.getCatalogName(),
-                Split.newBuilder(spillLocation, makeEncryptionKey()).build());
+    /**
+     * Neptune ids are strings, by default UUIDs, so the id space is divided evenly on the first two (lower case) hex
+     * digits. The ranges are contiguous and unbounded at both ends, every id falls in exactly one of them whatever its
+     * form, user supplied ids just won't be as evenly spread.
+     *
+     * @param splits The number of id ranges wanted.
+     * @return The boundaries between consecutive id ranges, empty for a single range.
+     */
+    @VisibleForTesting
+    static List<String> getIdRangeBounds(int splits)
+    {
+        int ranges = Math.min(Math.max(splits, 1), MAX_ID_RANGE_SPLITS);
+        List<String> bounds = new ArrayList<>();
+        for (int i = 1; i < ranges; i++) {
+            bounds.add(String.format("%02x", i * MAX_ID_RANGE_SPLITS / ranges));
+        }
+        return bounds;
     }
 
     @Override
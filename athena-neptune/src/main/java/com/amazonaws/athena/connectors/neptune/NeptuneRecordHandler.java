@@ -65,7 +65,8 @@ public class NeptuneRecordHandler extends RecordHandler
     {
         this(AmazonS3ClientBuilder.defaultClient(), AWSSecretsManagerClientBuilder.defaultClient(),
                 AmazonAthenaClientBuilder.defaultClient(), new NeptuneConnection(System.getenv("neptune_endpoint"),
-                        System.getenv("neptune_port"), Boolean.parseBoolean(System.getenv("iam_enabled"))));
+                        System.getenv("neptune_port"), Boolean.parseBoolean(System.getenv("iam_enabled")),
+                        getResultIterationBatchSize()));
     }
 
     @VisibleForTesting
@@ -76,6 +77,13 @@ public class NeptuneRecordHandler extends RecordHandler
         this.neptuneConnection = neptuneConnection;
     }
 
+    private static int getResultIterationBatchSize()
+    {
+        String batchSize = System.getenv("result_iteration_batch_size");
+        return (batchSize == null || batchSize.isEmpty()) ? NeptuneConnection.DEFAULT_RESULT_ITERATION_BATCH_SIZE
+                : Integer.parseInt(batchSize);
+    }
+
     /**
      * Used to read the row data associated with the provided Split.
      *
@@ -20,12 +20,16 @@
 
 package com.amazonaws.athena.connectors.neptune.propertygraph;
 
+import com.amazonaws.athena.connector.lambda.domain.predicate.EquatableValueSet;
+import com.amazonaws.athena.connector.lambda.domain.predicate.Marker;
 import com.amazonaws.athena.connector.lambda.domain.predicate.Marker.Bound;
+import com.amazonaws.athena.connector.lambda.domain.predicate.Range;
 import org.apache.arrow.vector.types.Types;
 import org.apache.arrow.vector.types.pojo.ArrowType;
 import org.apache.tinkerpop.gremlin.process.traversal.P;
-import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
-import org.apache.tinkerpop.gremlin.structure.Element;
+
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * This class is a Utility class to general gremlin query equivalents of
@@ -39,93 +43,120 @@ public final class GremlinQueryPreProcessor
     }
 
     public enum Operator {
-        LESSTHAN, GREATERTHAN, EQUALTO, NOTEQUALTO
+        LESSTHAN, GREATERTHAN
     }
 
     /**
-     * Pick and Process pre-defined templates based on parameters to generate
-     * gremlin query
-     * @param traversal Gremlin Traversal
-     * @param key       Query Condition Key
+     * Generates the predicate equivalent to a SortedRangeSet's ranges. Single values are grouped into one within(...)
+     * (or eq(...)) and the remaining ranges are combined with it using or(...), so that every range of the
+     * constraint is pushed down rather than only the first one.
+     * @param ranges    Ordered, disjoint ranges of the constraint
+     * @param type      Type of the constrained column
+     * @return A Gremlin predicate equivalent to the ranges, null if they can not be pushed down.
+     */
+    public static P<Object> generateRangePredicate(List<Range> ranges, ArrowType type)
+    {
+        List<Object> values = new ArrayList<>();
+        P<Object> predicate = null;
+        for (Range range : ranges) {
+            if (range.isSingleValue()) {
+                Object value = toGremlinValue(range.getSingleValue().toString(), type);
+                if (value == null) {
+                    return null;
+                }
+                values.add(value);
+                continue;
+            }
+
+            P<Object> lower = toBoundPredicate(range.getLow(), type, Operator.GREATERTHAN);
+            P<Object> upper = toBoundPredicate(range.getHigh(), type, Operator.LESSTHAN);
+            if ((lower == null && !range.getLow().isNullValue()) || (upper == null && !range.getHigh().isNullValue())) {
+                //a bound whose type can't be pushed down
+                return null;
+            }
+            if (lower == null && upper == null) {
+                //the range matches every value, there is nothing to filter on.
+                return null;
+            }
+
+            P<Object> next = (lower == null) ? upper : (upper == null) ? lower : lower.and(upper);
+            predicate = (predicate == null) ? next : predicate.or(next);
+        }
+
+        if (!values.isEmpty()) {
+            P<Object> next = (values.size() == 1) ? P.eq(values.get(0)) : P.within(values);
+            predicate = (predicate == null) ? next : next.or(predicate);
+        }
+        return predicate;
+    }
+
+    /**
+     * Generates the predicate equivalent to an EquatableValueSet, within(...) for an IN list and without(...) for a
+     * NOT IN list.
+     * @param valueSet  The constraint
+     * @return A Gremlin predicate equivalent to the value set, null if it can not be pushed down.
+     */
+    public static P<Object> generateValueSetPredicate(EquatableValueSet valueSet)
+    {
+        int valueCount = valueSet.getValues().getRowCount();
+        List<Object> values = new ArrayList<>(valueCount);
+        for (int i = 0; i < valueCount; i++) {
+            Object value = toGremlinValue(valueSet.getValue(i).toString(), valueSet.getType());
+            if (value == null) {
+                return null;
+            }
+            values.add(value);
+        }
+
+        if (values.size() == 1) {
+            return valueSet.isWhiteList() ? P.eq(values.get(0)) : P.neq(values.get(0));
+        }
+        return valueSet.isWhiteList() ? P.within(values) : P.without(values);
+    }
+
+    /**
+     * Converts a constraint value to the type Neptune stores for the column's type.
      * @param value     Query Condition Value
-     * @param bound     Query Condition Value Range
-     * @param operator  Query Operator representing conditional operators e.g < , <=, >, >= , =
-     * @return A Gremlin Query Part equivalent to Contraint.
+     * @param type      Type of the constrained column
+     * @return The converted value, null if the type is not supported for push down.
      */
-    public static GraphTraversal<Element, Element> generateGremlinQueryPart(GraphTraversal<Element, Element> traversal, String key, String value, ArrowType type, Bound bound, Operator operator) 
+    private static Object toGremlinValue(String value, ArrowType type)
     {
         Types.MinorType minorType = Types.getMinorTypeForArrowType(type);
 
         switch (minorType) {
             case BIT:
-
-                traversal = updateTraversal(traversal, bound, operator, key, Boolean.parseBoolean(value));
-
-                break;
-
+                return Boolean.parseBoolean(value);
             case INT:
-
-                traversal = updateTraversal(traversal, bound, operator, key, Integer.parseInt(value));
-
-                break;
-
+                return Integer.parseInt(value);
             case BIGINT:
-
-                traversal = updateTraversal(traversal, bound, operator, key, Long.parseLong(value));
-
-                break;
-
+                return Long.parseLong(value);
             case FLOAT4:
-
-                traversal = updateTraversal(traversal, bound, operator, key, Float.parseFloat(value));
-
-                break;
-
+                return Float.parseFloat(value);
             case FLOAT8:
-
-                traversal = updateTraversal(traversal, bound, operator, key, Double.parseDouble(value));
-
-                break;
-
+                return Double.parseDouble(value);
             case VARCHAR:
-
-                traversal = updateTraversal(traversal, bound, operator, key, value);
-
-                break;
+                return value;
+            default:
+                return null;
         }
-        return traversal;
     }
 
-    /**
-     * Pick and Process pre-defined templates based on parameters to generate
-     * gremlin query
-     * @param traversal Gremlin Traversal
-     * @param key       Query Condition Key
-     * @param value     Query Condition Value
-     * @param bound     Query Condition Value Range
-     * @param operator  Query Operator representing conditional operators e.g < , <=, >, >= , =
-     * @return A Gremlin Query Part equivalent for all Types
-     */
-    private static GraphTraversal<Element, Element> updateTraversal(GraphTraversal<Element, Element> traversal, Bound bound, Operator operator, String key, Object value) 
+    private static P<Object> toBoundPredicate(Marker marker, ArrowType type, Operator operator)
     {
-        if (operator.equals(Operator.GREATERTHAN)) {
-            traversal = bound.equals(Bound.EXACTLY) ? traversal.has(key, P.gte(value))
-                    : traversal.has(key, P.gt(value));
-        }
-
-        if (operator.equals(Operator.LESSTHAN)) {
-            traversal = bound.equals(Bound.EXACTLY) ? traversal.has(key, P.lte(value))
-                    : traversal.has(key, P.lt(value));
+        if (marker.isNullValue()) {
+            return null;
         }
 
-        if (operator.equals(Operator.EQUALTO)) {
-            traversal = traversal.has(key, P.eq(value));
+        Object value = toGremlinValue(marker.getValue().toString(), type);
+        if (value == null) {
+            return null;
         }
 
-        if (operator.equals(Operator.NOTEQUALTO)) {
-            traversal = traversal.has(key, P.neq(value));
+        boolean inclusive = marker.getBound().equals(Bound.EXACTLY);
+        if (operator.equals(Operator.GREATERTHAN)) {
+            return inclusive ? P.gte(value) : P.gt(value);
         }
-
-        return traversal;
+        return inclusive ? P.lte(value) : P.lt(value);
     }
 }
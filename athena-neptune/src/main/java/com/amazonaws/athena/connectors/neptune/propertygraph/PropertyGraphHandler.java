@@ -23,8 +23,8 @@ import com.amazonaws.athena.connector.lambda.QueryStatusChecker;
 import com.amazonaws.athena.connector.lambda.data.Block;
 import com.amazonaws.athena.connector.lambda.data.BlockSpiller;
 import com.amazonaws.athena.connector.lambda.data.writers.GeneratedRowWriter;
+import com.amazonaws.athena.connector.lambda.domain.Split;
 import com.amazonaws.athena.connector.lambda.domain.predicate.EquatableValueSet;
-import com.amazonaws.athena.connector.lambda.domain.predicate.Range;
 import com.amazonaws.athena.connector.lambda.domain.predicate.SortedRangeSet;
 import com.amazonaws.athena.connector.lambda.domain.predicate.ValueSet;
 import com.amazonaws.athena.connector.lambda.records.ReadRecordsRequest;
@@ -37,15 +37,19 @@ import org.apache.arrow.util.VisibleForTesting;
 import org.apache.arrow.vector.types.pojo.Field;
 import org.apache.tinkerpop.gremlin.driver.Client;
 import org.apache.tinkerpop.gremlin.groovy.jsr223.GroovyTranslator;
+import org.apache.tinkerpop.gremlin.process.traversal.P;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.WithOptions;
+import org.apache.tinkerpop.gremlin.structure.T;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
+
+import static com.amazonaws.athena.connectors.neptune.NeptuneMetadataHandler.ID_LOWER_BOUND_PROPERTY;
+import static com.amazonaws.athena.connectors.neptune.NeptuneMetadataHandler.ID_UPPER_BOUND_PROPERTY;
 
 /**
  * This class is part of an tutorial that will walk you through how to build a
@@ -117,6 +121,7 @@ public class PropertyGraphHandler
             switch (tableSchemaMetaType) {
                 case VERTEX:
                     graphTraversal = graphTraversalSource.V().hasLabel(labelName);
+                    getQueryPartForIdRange(graphTraversal, recordsRequest.getSplit());
                     getQueryPartForContraintsMap(graphTraversal, recordsRequest);
                     graphTraversal = graphTraversal.valueMap().with(WithOptions.tokens);
 
@@ -128,6 +133,7 @@ public class PropertyGraphHandler
 
                 case EDGE:
                     graphTraversal = graphTraversalSource.E().hasLabel(labelName);
+                    getQueryPartForIdRange(graphTraversal, recordsRequest.getSplit());
                     getQueryPartForContraintsMap(graphTraversal, recordsRequest);
                     graphTraversal = graphTraversal.elementMap();
 
@@ -145,21 +151,53 @@ public class PropertyGraphHandler
 
         final GraphTraversal graphTraversalFinal1 = graphTraversal;
         final GeneratedRowWriter rowWriter1 = builder.build();
+        // pull results a driver batch at a time rather than making a hasNext()/next() round for each element
+        final int resultBatchSize = neptuneConnection.getResultIterationBatchSize();
+
+        while (queryStatusChecker.isQueryRunning()) {
+            final List results = graphTraversalFinal1.next(resultBatchSize);
+            if (results.isEmpty()) {
+                break;
+            }
 
-        while (graphTraversalFinal1.hasNext() && queryStatusChecker.isQueryRunning()) {
-            numRows++;
+            for (final Object obj : results) {
+                numRows++;
 
-            spiller.writeRows((final Block block, final int rowNum) -> {
-                final Map obj = (Map) graphTraversalFinal1.next();
-                return (rowWriter1.writeRow(block, rowNum, (Object) obj) ? 1 : 0);
-            });
+                spiller.writeRows((final Block block, final int rowNum) ->
+                        (rowWriter1.writeRow(block, rowNum, obj) ? 1 : 0));
+            }
         }
 
         logger.info("readWithConstraint: numRows[{}]", numRows);
     }
 
     /**
-     * Used to generate Gremlin Query part for Constraint Map
+     * Used to restrict the traversal to the id range of the split, if NeptuneMetadataHandler split the label by id.
+     *
+     * @param traversal Gremlin Traversal, traversal is updated based on the split
+     * @param split     The split being read
+     *
+     * @return A Gremlin Query Part equivalent to the split's id range.
+     */
+    public GraphTraversal getQueryPartForIdRange(GraphTraversal traversal, final Split split)
+    {
+        String lowerBound = split.getProperty(ID_LOWER_BOUND_PROPERTY);
+        String upperBound = split.getProperty(ID_UPPER_BOUND_PROPERTY);
+
+        if (lowerBound != null) {
+            traversal = traversal.has(T.id, P.gte(lowerBound));
+        }
+
+        if (upperBound != null) {
+            traversal = traversal.has(T.id, P.lt(upperBound));
+        }
+
+        return traversal;
+    }
+
+    /**
+     * Used to generate Gremlin Query part for Constraint Map. IN lists are pushed down as within()/without() and
+     * disjoint ranges as or() of the individual ranges, constraints that can not be expressed are left to Athena.
      * 
      * @param traversal Gremlin Traversal, traversal is updated based on constraints
      *                  map
@@ -177,48 +215,21 @@ public class PropertyGraphHandler
 
         logger.info("readWithContraint: Constaints Map " + hashMap.toString());
 
-        final Set<String> setOfkeys = (Set<String>) (hashMap.keySet());
-        for (final String key : setOfkeys) {
-            if (hashMap.get(key) instanceof SortedRangeSet) {
-                final List<Range> ranges = ((SortedRangeSet) hashMap.get(key)).getOrderedRanges();
-
-                for (final Range range : ranges) {
-                    if (!range.getLow().isNullValue() && !range.getHigh().isNullValue()) {
-                        if (range.getLow().getValue().toString().equals(range.getHigh().getValue().toString())) {
-                            traversal = GremlinQueryPreProcessor.generateGremlinQueryPart(traversal, key,
-                                    range.getLow().getValue().toString(), range.getType(), range.getLow().getBound(),
-                                    GremlinQueryPreProcessor.Operator.EQUALTO);
-                            break;
-                        }
-                    }
+        for (final Map.Entry<String, ValueSet> entry : hashMap.entrySet()) {
+            final ValueSet valueSet = entry.getValue();
+            P predicate = null;
 
-                    if (!range.getLow().isNullValue()) {
-                        traversal = GremlinQueryPreProcessor.generateGremlinQueryPart(traversal, key,
-                                range.getLow().getValue().toString(), range.getType(), range.getLow().getBound(),
-                                GremlinQueryPreProcessor.Operator.GREATERTHAN);
-                    }
+            if (valueSet instanceof SortedRangeSet) {
+                predicate = GremlinQueryPreProcessor.generateRangePredicate(
+                        ((SortedRangeSet) valueSet).getOrderedRanges(), valueSet.getType());
+            }
 
-                    if (!range.getHigh().isNullValue()) {
-                        traversal = GremlinQueryPreProcessor.generateGremlinQueryPart(traversal, key,
-                                range.getHigh().getValue().toString(), range.getType(), range.getHigh().getBound(),
-                                GremlinQueryPreProcessor.Operator.LESSTHAN);
-                    }
-                }
+            if (valueSet instanceof EquatableValueSet) {
+                predicate = GremlinQueryPreProcessor.generateValueSetPredicate((EquatableValueSet) valueSet);
             }
 
-            if (hashMap.get(key) instanceof EquatableValueSet) {
-                final EquatableValueSet valueSet = ((EquatableValueSet) hashMap.get(key));
-
-                if (valueSet.isWhiteList()) {
-                    traversal = GremlinQueryPreProcessor.generateGremlinQueryPart(traversal, key,
-                            valueSet.getValue(0).toString(), valueSet.getType(), null,
-                            GremlinQueryPreProcessor.Operator.EQUALTO);
-                } 
-                else {
-                    traversal = GremlinQueryPreProcessor.generateGremlinQueryPart(traversal, key,
-                            valueSet.getValue(0).toString(), valueSet.getType(), null,
-                            GremlinQueryPreProcessor.Operator.NOTEQUALTO);
-                }
+            if (predicate != null) {
+                traversal = traversal.has(entry.getKey(), predicate);
             }
         }
 
@@ -19,14 +19,19 @@
  */
 package com.amazonaws.athena.connectors.neptune;
 
+import com.amazonaws.athena.connector.lambda.data.Block;
 import com.amazonaws.athena.connector.lambda.data.BlockAllocatorImpl;
+import com.amazonaws.athena.connector.lambda.domain.Split;
 import com.amazonaws.athena.connector.lambda.domain.TableName;
+import com.amazonaws.athena.connector.lambda.metadata.GetSplitsRequest;
+import com.amazonaws.athena.connector.lambda.metadata.GetSplitsResponse;
 import com.amazonaws.athena.connector.lambda.metadata.GetTableRequest;
 import com.amazonaws.athena.connector.lambda.metadata.GetTableResponse;
 import com.amazonaws.athena.connector.lambda.metadata.ListSchemasRequest;
 import com.amazonaws.athena.connector.lambda.metadata.ListSchemasResponse;
 import com.amazonaws.athena.connector.lambda.metadata.ListTablesRequest;
 import com.amazonaws.athena.connector.lambda.metadata.ListTablesResponse;
+import com.amazonaws.athena.connector.lambda.domain.predicate.Constraints;
 import com.amazonaws.athena.connector.lambda.security.LocalKeyFactory;
 import com.amazonaws.services.athena.AmazonAthena;
 import com.amazonaws.services.glue.AWSGlue;
@@ -47,6 +52,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -180,4 +187,28 @@ public class NeptuneMetadataHandlerTest extends TestBase {
         logger.info("doGetTable - exit");
     }
 
+    @Test
+    public void doGetSplits() {
+        logger.info("doGetSplits - enter");
+
+        GetSplitsRequest req = new GetSplitsRequest(IDENTITY, "queryId", "default",
+                new TableName("schema1", "table1"), mock(Block.class),
+                Collections.emptyList(), new Constraints(new HashMap<>()), null);
+
+        GetSplitsResponse res = handler.doGetSplits(allocator, req);
+        assertEquals(1, res.getSplits().size());
+        Split split = res.getSplits().iterator().next();
+        assertNull(split.getProperty(NeptuneMetadataHandler.ID_LOWER_BOUND_PROPERTY));
+        assertNull(split.getProperty(NeptuneMetadataHandler.ID_UPPER_BOUND_PROPERTY));
+
+        logger.info("doGetSplits - exit");
+    }
+
+    @Test
+    public void getIdRangeBounds() {
+        assertTrue(NeptuneMetadataHandler.getIdRangeBounds(1).isEmpty());
+        assertEquals(Arrays.asList("40", "80", "c0"), NeptuneMetadataHandler.getIdRangeBounds(4));
+        assertEquals(Arrays.asList("55", "aa"), NeptuneMetadataHandler.getIdRangeBounds(3));
+        assertEquals(255, NeptuneMetadataHandler.getIdRangeBounds(1000).size());
+    }
 }
@@ -53,6 +53,7 @@ import com.amazonaws.services.s3.model.PutObjectResult;
 import com.amazonaws.services.s3.model.S3Object;
 import com.amazonaws.services.s3.model.S3ObjectInputStream;
 import com.amazonaws.services.secretsmanager.AWSSecretsManager;
+import com.google.common.collect.ImmutableList;
 import com.google.common.io.ByteStreams;
 import org.apache.arrow.vector.types.Types;
 import org.apache.arrow.vector.types.pojo.Schema;
@@ -81,6 +82,7 @@ import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -186,6 +188,8 @@ public class NeptuneRecordHandlerTest extends TestBase {
 
                 when(neptuneConnection.getNeptuneClientConnection()).thenReturn(client);
                 when(neptuneConnection.getTraversalSource(any(Client.class))).thenReturn(graphTraversalSource);
+                // small batches so results span several next(n) calls
+                when(neptuneConnection.getResultIterationBatchSize()).thenReturn(2);
 
                 // Build Tinker Pop Graph
                 TinkerGraph tinkerGraph = TinkerGraph.open();
@@ -351,6 +355,46 @@ public class NeptuneRecordHandlerTest extends TestBase {
 
                 invokeAndAssert(schemaPGVertexForRead, constraintsMap9, 2);
 
+                // String IN list
+                HashMap<String, ValueSet> constraintsMap11 = new HashMap<>();
+                constraintsMap11.put("property2",
+                                EquatableValueSet.newBuilder(allocator, Types.MinorType.VARCHAR.getType(), true, false)
+                                                .add("string1").add("string3").build());
+
+                invokeAndAssert(schemaPGVertexForRead, constraintsMap11, 2);
+
+                // String NOT IN list
+                HashMap<String, ValueSet> constraintsMap12 = new HashMap<>();
+                constraintsMap12.put("property2",
+                                EquatableValueSet.newBuilder(allocator, Types.MinorType.VARCHAR.getType(), false, false)
+                                                .add("string1").add("string3").build());
+
+                invokeAndAssert(schemaPGVertexForRead, constraintsMap12, 1);
+
+                // Int IN list, sent as single value ranges
+                HashMap<String, ValueSet> constraintsMap13 = new HashMap<>();
+                constraintsMap13.put("property1", SortedRangeSet.copyOf(Types.MinorType.INT.getType(),
+                                ImmutableList.of(Range.equal(allocator, Types.MinorType.INT.getType(), 5),
+                                                Range.equal(allocator, Types.MinorType.INT.getType(), 10)), false));
+
+                invokeAndAssert(schemaPGVertexForRead, constraintsMap13, 2);
+
+                // Disjoint ranges
+                HashMap<String, ValueSet> constraintsMap14 = new HashMap<>();
+                constraintsMap14.put("property1", SortedRangeSet.copyOf(Types.MinorType.INT.getType(),
+                                ImmutableList.of(Range.lessThan(allocator, Types.MinorType.INT.getType(), 6),
+                                                Range.greaterThan(allocator, Types.MinorType.INT.getType(), 9)), false));
+
+                invokeAndAssert(schemaPGVertexForRead, constraintsMap14, 2);
+
+                // Disjoint ranges and single values
+                HashMap<String, ValueSet> constraintsMap15 = new HashMap<>();
+                constraintsMap15.put("property1", SortedRangeSet.copyOf(Types.MinorType.INT.getType(),
+                                ImmutableList.of(Range.lessThan(allocator, Types.MinorType.INT.getType(), 6),
+                                                Range.equal(allocator, Types.MinorType.INT.getType(), 9)), false));
+
+                invokeAndAssert(schemaPGVertexForRead, constraintsMap15, 2);
+
                 // Check for null values, expect all vertices to return as part of resultset
                 invokeAndAssert(schemaPGVertexForRead, new HashMap<>(), 5);
 
@@ -371,6 +415,19 @@ public class NeptuneRecordHandlerTest extends TestBase {
          */
         private void invokeAndAssert(Schema schemaPG, HashMap<String, ValueSet> constraintMap, Integer expectedRecordCount)
                         throws Exception {
+                buildGraphTraversal();
+                invokeAndAssert(schemaPG, constraintMap, new HashMap<>(), expectedRecordCount);
+        }
+
+        /**
+         * Used to invoke each test condition against the current mock graph and assert
+         *
+         * @param constraintMap       Constraint Map for Gremlin Query
+         * @param splitProperties     Properties of the split to read
+         * @param expectedRecordCount Expected Row Count as per Gremlin Query Response
+         */
+        private void invokeAndAssert(Schema schemaPG, HashMap<String, ValueSet> constraintMap,
+                        Map<String, String> splitProperties, Integer expectedRecordCount) throws Exception {
 
                 S3SpillLocation spillLoc = S3SpillLocation.newBuilder().withBucket(UUID.randomUUID().toString())
                                 .withSplitId(UUID.randomUUID().toString()).withQueryId(UUID.randomUUID().toString())
@@ -378,10 +435,11 @@ public class NeptuneRecordHandlerTest extends TestBase {
 
                 allocator = new BlockAllocatorImpl();
 
-                buildGraphTraversal();
+                Split.Builder splitBuilder = Split.newBuilder(spillLoc, null);
+                splitProperties.forEach(splitBuilder::add);
 
                 ReadRecordsRequest request = new ReadRecordsRequest(IDENTITY, DEFAULT_CATALOG, QUERY_ID, TABLE_NAME,
-                schemaPG, Split.newBuilder(spillLoc, null).build(), new Constraints(constraintMap),
+                schemaPG, splitBuilder.build(), new Constraints(constraintMap),
                                 100_000_000_000L, 100_000_000_000L);
 
                 RecordResponse rawResponse = handler.doReadRecords(allocator, request);
@@ -400,6 +458,33 @@ public class NeptuneRecordHandlerTest extends TestBase {
                 invokeAndAssertForEdge(); 
         }
 
+        @Test
+        public void doReadRecordsIdRange() throws Exception {
+                GraphTraversalSource graphTraversalSource = mock(GraphTraversalSource.class);
+                when(neptuneConnection.getNeptuneClientConnection()).thenReturn(mock(Client.class));
+                when(neptuneConnection.getTraversalSource(any(Client.class))).thenReturn(graphTraversalSource);
+                when(neptuneConnection.getResultIterationBatchSize()).thenReturn(64);
+
+                TinkerGraph tinkerGraph = TinkerGraph.open();
+                for (String id : ImmutableList.of("0b6c", "3f1a", "40", "7fff", "80a1", "c000", "ffff")) {
+                        tinkerGraph.addVertex(T.id, id, T.label, "default").property("property1", 1);
+                }
+                when(graphTraversalSource.V()).thenAnswer(invocation -> tinkerGraph.traversal().V());
+
+                Map<String, String> lowerSplit = new HashMap<>();
+                lowerSplit.put(NeptuneMetadataHandler.ID_UPPER_BOUND_PROPERTY, "40");
+                invokeAndAssert(schemaPGVertexForRead, new HashMap<>(), lowerSplit, 2);
+
+                Map<String, String> middleSplit = new HashMap<>();
+                middleSplit.put(NeptuneMetadataHandler.ID_LOWER_BOUND_PROPERTY, "40");
+                middleSplit.put(NeptuneMetadataHandler.ID_UPPER_BOUND_PROPERTY, "c0");
+                invokeAndAssert(schemaPGVertexForRead, new HashMap<>(), middleSplit, 3);
+
+                Map<String, String> upperSplit = new HashMap<>();
+                upperSplit.put(NeptuneMetadataHandler.ID_LOWER_BOUND_PROPERTY, "c0");
+                invokeAndAssert(schemaPGVertexForRead, new HashMap<>(), upperSplit, 2);
+        }
+
         @Test
         public void doReadRecordsSpill() throws Exception {
                 S3SpillLocation splitLoc = S3SpillLocation.newBuilder().withBucket(UUID.randomUUID().toString())
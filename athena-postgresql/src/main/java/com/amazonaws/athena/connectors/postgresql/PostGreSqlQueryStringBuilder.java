@@ -22,14 +22,18 @@ package com.amazonaws.athena.connectors.postgresql;
 import com.amazonaws.athena.connector.lambda.domain.Split;
 import com.amazonaws.athena.connectors.jdbc.manager.JdbcSplitQueryBuilder;
 import com.google.common.base.Strings;
+import org.apache.arrow.vector.types.Types;
+import org.apache.arrow.vector.types.pojo.ArrowType;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Extends {@link JdbcSplitQueryBuilder} and implements PostGreSql specific SQL clauses for split.
  *
- * PostGreSql partitions through child tables that can be used in a FROM clause.
+ * PostGreSql partitions through child tables that can be used in a FROM clause. Long IN lists are bound as a single
+ * array parameter.
  */
 public class PostGreSqlQueryStringBuilder
         extends JdbcSplitQueryBuilder
@@ -72,4 +76,31 @@ public class PostGreSqlQueryStringBuilder
 
         return Collections.emptyList();
     }
+
+    @Override
+    protected Optional<String> getArrayTypeName(final ArrowType type)
+    {
+        switch (Types.getMinorTypeForArrowType(type)) {
+            case SMALLINT:
+                return Optional.of("int2");
+            case INT:
+                return Optional.of("int4");
+            case BIGINT:
+                return Optional.of("int8");
+            case FLOAT4:
+                return Optional.of("float4");
+            case FLOAT8:
+                return Optional.of("float8");
+            case DECIMAL:
+                return Optional.of("numeric");
+            case DATEDAY:
+                return Optional.of("date");
+            case DATEMILLI:
+                return Optional.of("timestamp");
+            case VARCHAR:
+                return Optional.of("text");
+            default:
+                return Optional.empty();
+        }
+    }
 }
@@ -19,6 +19,8 @@
  */
 package com.amazonaws.athena.connectors.postgresql;
 
+import com.amazonaws.athena.connector.lambda.data.BlockAllocator;
+import com.amazonaws.athena.connector.lambda.data.BlockAllocatorImpl;
 import com.amazonaws.athena.connector.lambda.data.FieldBuilder;
 import com.amazonaws.athena.connector.lambda.data.SchemaBuilder;
 import com.amazonaws.athena.connector.lambda.domain.Split;
@@ -44,16 +46,20 @@ import org.apache.arrow.vector.types.pojo.Schema;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.math.BigDecimal;
+import java.sql.Array;
 import java.sql.Connection;
 import java.sql.Date;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 
 import static com.amazonaws.athena.connectors.postgresql.PostGreSqlConstants.POSTGRES_NAME;
@@ -167,6 +173,48 @@ public class PostGreSqlRecordHandlerTest extends TestBase
         logger.info("buildSplitSqlTest - exit");
     }
 
+    @Test
+    public void buildSplitSqlWithLargeInListTest()
+            throws SQLException
+    {
+        TableName tableName = new TableName("testSchema", "testTable");
+
+        Schema schema = SchemaBuilder.newBuilder()
+                .addField(FieldBuilder.newBuilder("testCol1", Types.MinorType.BIGINT.getType()).build())
+                .addField(FieldBuilder.newBuilder("partition_schema_name", Types.MinorType.VARCHAR.getType()).build())
+                .addField(FieldBuilder.newBuilder("partition_name", Types.MinorType.VARCHAR.getType()).build())
+                .build();
+
+        Split split = Mockito.mock(Split.class);
+        Mockito.when(split.getProperties()).thenReturn(ImmutableMap.of("partition_schema_name", "s0", "partition_name", "p0"));
+        Mockito.when(split.getProperty(Mockito.eq(PostGreSqlMetadataHandler.BLOCK_PARTITION_SCHEMA_COLUMN_NAME))).thenReturn("s0");
+        Mockito.when(split.getProperty(Mockito.eq(PostGreSqlMetadataHandler.BLOCK_PARTITION_COLUMN_NAME))).thenReturn("p0");
+
+        String expectedSql = "SELECT \"testCol1\" FROM \"s0\".\"p0\"  WHERE (\"testCol1\" = ANY(?))";
+        PreparedStatement expectedPreparedStatement = Mockito.mock(PreparedStatement.class);
+        Mockito.when(this.connection.prepareStatement(Mockito.eq(expectedSql))).thenReturn(expectedPreparedStatement);
+        Array array = Mockito.mock(Array.class);
+        Mockito.when(this.connection.createArrayOf(Mockito.eq("int8"), Mockito.any(Object[].class))).thenReturn(array);
+
+        try (BlockAllocator allocator = new BlockAllocatorImpl()) {
+            List<Range> ranges = new ArrayList<>();
+            for (long i = 0; i < 5000; i++) {
+                ranges.add(Range.equal(allocator, Types.MinorType.BIGINT.getType(), 3 * i));
+            }
+            Constraints constraints = new Constraints(Collections.singletonMap("testCol1",
+                    SortedRangeSet.copyOf(Types.MinorType.BIGINT.getType(), ranges, false)));
+
+            PreparedStatement preparedStatement = this.postGreSqlRecordHandler.buildSplitSql(this.connection, "testCatalogName", tableName, schema, constraints, split);
+
+            Assert.assertEquals(expectedPreparedStatement, preparedStatement);
+            ArgumentCaptor<Object[]> elements = ArgumentCaptor.forClass(Object[].class);
+            Mockito.verify(this.connection, Mockito.times(1)).createArrayOf(Mockito.eq("int8"), elements.capture());
+            Assert.assertEquals(5000, elements.getValue().length);
+            Assert.assertEquals(14997L, elements.getValue()[4999]);
+            Mockito.verify(preparedStatement, Mockito.times(1)).setArray(1, array);
+        }
+    }
+
     @Test
     public void buildSplitSqlForDateTest()
             throws SQLException
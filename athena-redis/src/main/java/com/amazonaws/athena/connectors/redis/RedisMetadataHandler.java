@@ -91,6 +91,8 @@ public class RedisMetadataHandler
     protected static final String KEY_COLUMN_NAME = "_key_";
     protected static final String SPLIT_START_INDEX = "start-index";
     protected static final String SPLIT_END_INDEX = "end-index";
+    //Split property holding the id of the cluster node whose keys the split should SCAN.
+    protected static final String REDIS_CLUSTER_NODE_ID = "redis-cluster-node-id";
 
     //Defines the table property name used to set the Redis Key Type for the table. (e.g. prefix, zset)
     protected static final String KEY_TYPE = "redis-key-type";
@@ -305,7 +307,7 @@ public class RedisMetadataHandler
 
         Set<Split> splits = new HashSet<>();
         for (String next : splitInputs) {
-            splits.addAll(makeSplits(request, syncCommands, redisEndpoint, next, keyType, redisValueType, sslEnabled,
+            splits.addAll(makeSplits(request, connection, redisEndpoint, next, keyType, redisValueType, sslEnabled,
                                      isCluster, dbNumber));
         }
 
@@ -316,7 +318,7 @@ public class RedisMetadataHandler
      * For a given key prefix this method attempts to break up all the matching keys into N buckets (aka N splits).
      *
      * @param request
-     * @param syncCommands The Lettuce Client
+     * @param connection The Lettuce Client connection
      * @param endpoint The redis endpoint to query.
      * @param keyPrefix The key prefix to scan.
      * @param keyType The KeyType (prefix or zset).
@@ -325,8 +327,10 @@ public class RedisMetadataHandler
      * @param isCluster The value from the REDIS_CLUSTER_FLAG on the table being queried.
      * @param dbNumber The value from the REDIS_DB_NUMBER on the table being queried.
      * @return A Set of splits to optionally parallelize reading the values associated with the keyPrefix.
+     * @note In cluster mode a key prefix is split by upstream node, each split only scans the keys of its node so the
+     * number of splits (and read parallelism) grows with the number of nodes in the cluster.
      */
-    private Set<Split> makeSplits(GetSplitsRequest request, RedisCommandsWrapper<String, String> syncCommands,
+    private Set<Split> makeSplits(GetSplitsRequest request, RedisConnectionWrapper<String, String> connection,
                                   String endpoint, String keyPrefix, KeyType keyType, String valueType,
                                   boolean sslEnabled, boolean isCluster, String dbNumber)
     {
@@ -334,9 +338,27 @@ public class RedisMetadataHandler
         long numberOfKeys = 1;
 
         if (keyType == KeyType.ZSET) {
-            numberOfKeys = syncCommands.zcount(keyPrefix, Range.unbounded());
+            numberOfKeys = connection.sync().zcount(keyPrefix, Range.unbounded());
             logger.info("makeSplits: ZCOUNT[{}] found [{}]", keyPrefix, numberOfKeys);
         }
+        else if (isCluster) {
+            for (String nodeId : connection.getUpstreamNodeIds()) {
+                splits.add(Split.newBuilder(makeSpillLocation(request), makeEncryptionKey())
+                        .add(KEY_PREFIX_TABLE_PROP, keyPrefix)
+                        .add(KEY_TYPE, keyType.getId())
+                        .add(VALUE_TYPE_TABLE_PROP, valueType)
+                        .add(REDIS_ENDPOINT_PROP, endpoint)
+                        .add(SPLIT_START_INDEX, "0")
+                        .add(SPLIT_END_INDEX, "-1")
+                        .add(REDIS_SSL_FLAG, String.valueOf(sslEnabled))
+                        .add(REDIS_CLUSTER_FLAG, String.valueOf(isCluster))
+                        .add(REDIS_CLUSTER_NODE_ID, nodeId)
+                        .add(REDIS_DB_NUMBER, dbNumber)
+                        .build());
+            }
+            logger.info("makeSplits: Generated [{}] node splits for prefix [{}]", splits.size(), keyPrefix);
+            return splits;
+        }
 
         long stride = (numberOfKeys > REDIS_MAX_SPLITS) ? 1 + (numberOfKeys / REDIS_MAX_SPLITS) : numberOfKeys;
 
@@ -25,6 +25,7 @@ import com.amazonaws.athena.connector.lambda.data.BlockSpiller;
 import com.amazonaws.athena.connector.lambda.domain.Split;
 import com.amazonaws.athena.connector.lambda.handlers.RecordHandler;
 import com.amazonaws.athena.connector.lambda.records.ReadRecordsRequest;
+import com.amazonaws.athena.connectors.redis.lettuce.RedisAsyncCommandsWrapper;
 import com.amazonaws.athena.connectors.redis.lettuce.RedisCommandsWrapper;
 import com.amazonaws.athena.connectors.redis.lettuce.RedisConnectionFactory;
 import com.amazonaws.athena.connectors.redis.lettuce.RedisConnectionWrapper;
@@ -34,7 +35,9 @@ import com.amazonaws.services.s3.AmazonS3;
 import com.amazonaws.services.s3.AmazonS3ClientBuilder;
 import com.amazonaws.services.secretsmanager.AWSSecretsManager;
 import com.amazonaws.services.secretsmanager.AWSSecretsManagerClientBuilder;
+import com.google.common.collect.Lists;
 import io.lettuce.core.KeyScanCursor;
+import io.lettuce.core.KeyValue;
 import io.lettuce.core.ScanArgs;
 import io.lettuce.core.ScanCursor;
 import io.lettuce.core.ScoredValue;
@@ -44,17 +47,24 @@ import org.apache.arrow.vector.types.pojo.Field;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.stream.Collectors;
 
 import static com.amazonaws.athena.connectors.redis.RedisMetadataHandler.KEY_COLUMN_NAME;
 import static com.amazonaws.athena.connectors.redis.RedisMetadataHandler.KEY_PREFIX_TABLE_PROP;
 import static com.amazonaws.athena.connectors.redis.RedisMetadataHandler.KEY_TYPE;
 import static com.amazonaws.athena.connectors.redis.RedisMetadataHandler.REDIS_CLUSTER_FLAG;
+import static com.amazonaws.athena.connectors.redis.RedisMetadataHandler.REDIS_CLUSTER_NODE_ID;
 import static com.amazonaws.athena.connectors.redis.RedisMetadataHandler.REDIS_DB_NUMBER;
 import static com.amazonaws.athena.connectors.redis.RedisMetadataHandler.REDIS_ENDPOINT_PROP;
 import static com.amazonaws.athena.connectors.redis.RedisMetadataHandler.REDIS_SSL_FLAG;
@@ -83,6 +93,9 @@ public class RedisRecordHandler
 
     //The page size for Jedis scans.
     private static final int SCAN_COUNT_SIZE = 100;
+    //The max number of keys per MGET and the max number of HMGETs we pipeline before waiting for their results.
+    private static final int MAX_COMMANDS_IN_FLIGHT = 100;
+    private static final long COMMAND_TIMEOUT_SECONDS = 60;
 
     private final RedisConnectionFactory redisConnectionFactory;
     private final AmazonS3 amazonS3;
@@ -141,30 +154,39 @@ public class RedisRecordHandler
         RedisConnectionWrapper<String, String> connection = getOrCreateClient(split.getProperty(REDIS_ENDPOINT_PROP),
                                                                               sslEnabled, isCluster, dbNumber);
         RedisCommandsWrapper<String, String> syncCommands = connection.sync();
+        RedisAsyncCommandsWrapper<String, String> asyncCommands = connection.async();
+
+        //Splits of a cluster are generated per node, only SCAN the keys of this split's node.
+        String nodeId = split.getProperty(REDIS_CLUSTER_NODE_ID);
+        RedisCommandsWrapper<String, String> scanCommands = (nodeId != null) ? connection.syncForNode(nodeId) : syncCommands;
 
         do {
             Set<String> keys = new HashSet<>();
             //Load all the keys associated with this split
-            keyCursor = loadKeys(syncCommands, split, keyCursor, keys);
+            keyCursor = loadKeys(scanCommands, split, keyCursor, keys);
+
+            if (!queryStatusChecker.isQueryRunning()) {
+                return;
+            }
 
             //Scan the data associated with all the keys.
-            for (String nextKey : keys) {
-                if (!queryStatusChecker.isQueryRunning()) {
-                    return;
-                }
-                switch (valueType) {
-                    case LITERAL:   //The key value is a row with single column
-                        loadLiteralRow(syncCommands, nextKey, spiller, fieldList);
-                        break;
-                    case HASH:
-                        loadHashRow(syncCommands, nextKey, spiller, fieldList);
-                        break;
-                    case ZSET:
+            switch (valueType) {
+                case LITERAL:   //The key value is a row with single column
+                    loadLiteralRows(asyncCommands, new ArrayList<>(keys), spiller, fieldList);
+                    break;
+                case HASH:
+                    loadHashRows(asyncCommands, new ArrayList<>(keys), spiller, fieldList);
+                    break;
+                case ZSET:
+                    for (String nextKey : keys) {
+                        if (!queryStatusChecker.isQueryRunning()) {
+                            return;
+                        }
                         loadZSetRows(syncCommands, nextKey, spiller, fieldList);
-                        break;
-                    default:
-                        throw new RuntimeException("Unsupported value type " + valueType);
-                }
+                    }
+                    break;
+                default:
+                    throw new RuntimeException("Unsupported value type " + valueType);
             }
         }
         while (keyCursor != null && !keyCursor.isFinished());
@@ -202,41 +224,81 @@ public class RedisRecordHandler
         }
     }
 
-    private void loadLiteralRow(RedisCommandsWrapper<String, String> syncCommands, String keyString, BlockSpiller spiller, List<Field> fieldList)
+    /**
+     * Reads the values for a page of literal keys using one MGET per batch of keys.
+     */
+    private void loadLiteralRows(RedisAsyncCommandsWrapper<String, String> asyncCommands, List<String> keys, BlockSpiller spiller,
+                                 List<Field> fieldList)
     {
-        spiller.writeRows((Block block, int row) -> {
-            if (fieldList.size() != 1) {
-                throw new RuntimeException("Ambiguous field mapping, more than 1 field for literal value type.");
-            }
+        for (List<String> batch : Lists.partition(keys, MAX_COMMANDS_IN_FLIGHT)) {
+            List<KeyValue<String, String>> values = await(asyncCommands.mget(batch.toArray(new String[0])));
+            for (KeyValue<String, String> next : values) {
+                spiller.writeRows((Block block, int row) -> {
+                    if (fieldList.size() != 1) {
+                        throw new RuntimeException("Ambiguous field mapping, more than 1 field for literal value type.");
+                    }
 
-            Field field = fieldList.get(0);
-            Object value = ValueConverter.convert(field, syncCommands.get(keyString));
-            boolean literalMatched = block.offerValue(KEY_COLUMN_NAME, row, keyString);
-            literalMatched &= block.offerValue(field.getName(), row, value);
-            return literalMatched ? 1 : 0;
-        });
+                    Field field = fieldList.get(0);
+                    Object value = ValueConverter.convert(field, next.getValueOrElse(null));
+                    boolean literalMatched = block.offerValue(KEY_COLUMN_NAME, row, next.getKey());
+                    literalMatched &= block.offerValue(field.getName(), row, value);
+                    return literalMatched ? 1 : 0;
+                });
+            }
+        }
     }
 
-    private void loadHashRow(RedisCommandsWrapper<String, String> syncCommands, String keyString, BlockSpiller spiller,
-                             List<Field> fieldList)
+    /**
+     * Reads the projected fields for a page of hash keys by pipelining an HMGET per key, with at most
+     * MAX_COMMANDS_IN_FLIGHT outstanding at a time.
+     */
+    private void loadHashRows(RedisAsyncCommandsWrapper<String, String> asyncCommands, List<String> keys, BlockSpiller spiller,
+                              List<Field> fieldList)
     {
-        spiller.writeRows((Block block, int row) -> {
-            boolean hashMatched = block.offerValue(KEY_COLUMN_NAME, row, keyString);
+        String[] fieldNames = fieldList.stream().map(Field::getName).toArray(String[]::new);
+        for (List<String> batch : Lists.partition(keys, MAX_COMMANDS_IN_FLIGHT)) {
+            List<CompletableFuture<List<KeyValue<String, String>>>> futures = new ArrayList<>(batch.size());
+            for (String nextKey : batch) {
+                futures.add(fieldNames.length > 0 ? asyncCommands.hmget(nextKey, fieldNames)
+                        : CompletableFuture.completedFuture(Collections.emptyList()));
+            }
 
-            Map<String, String> rawValues = new HashMap<>();
-            //Glue only supports lowercase column names / also could do a better job only fetching the columns
-            //that are needed
-            syncCommands.hgetall(keyString).forEach((key, entry) -> rawValues.put(key.toLowerCase(), entry));
+            List<Map<String, String>> rows = new ArrayList<>(batch.size());
+            Map<Integer, CompletableFuture<Map<String, String>>> fallbacks = new HashMap<>();
+            for (int i = 0; i < batch.size(); i++) {
+                Map<String, String> rawValues = new HashMap<>();
+                await(futures.get(i)).stream()
+                        .filter(KeyValue::hasValue)
+                        .forEach(next -> rawValues.put(next.getKey(), next.getValue()));
+                rows.add(rawValues);
 
-            for (Field hfield : fieldList) {
-                Object hvalue = ValueConverter.convert(hfield, rawValues.get(hfield.getName()));
-                if (hashMatched && !block.offerValue(hfield.getName(), row, hvalue)) {
-                    return 0;
+                //Glue only supports lowercase column names so a missing field may just be stored with a different
+                //case, fall back to reading the whole hash and lower casing its field names.
+                if (rawValues.size() < fieldNames.length) {
+                    fallbacks.put(i, asyncCommands.hgetall(batch.get(i)));
                 }
             }
 
-            return 1;
-        });
+            for (Map.Entry<Integer, CompletableFuture<Map<String, String>>> next : fallbacks.entrySet()) {
+                Map<String, String> rawValues = rows.get(next.getKey());
+                await(next.getValue()).forEach((key, entry) -> rawValues.put(key.toLowerCase(), entry));
+            }
+
+            for (int i = 0; i < batch.size(); i++) {
+                String keyString = batch.get(i);
+                Map<String, String> rawValues = rows.get(i);
+                spiller.writeRows((Block block, int row) -> {
+                    boolean hashMatched = block.offerValue(KEY_COLUMN_NAME, row, keyString);
+                    for (Field hfield : fieldList) {
+                        Object hvalue = ValueConverter.convert(hfield, rawValues.get(hfield.getName()));
+                        if (hashMatched && !block.offerValue(hfield.getName(), row, hvalue)) {
+                            return 0;
+                        }
+                    }
+                    return 1;
+                });
+            }
+        }
     }
 
     private void loadZSetRows(RedisCommandsWrapper<String, String> syncCommands, String keyString, BlockSpiller spiller,
@@ -263,10 +325,22 @@ public class RedisRecordHandler
     }
 
     /**
-     * @param split The split for this request, mostly used to get the redis endpoint and config details.
-     * @param keyString The key to read.
-     * @param spiller The BlockSpiller to write results into.
-     * @param startPos The starting postion in the block
-     * @return The number of rows created in the result block.
+     * Waits for a pipelined command to complete.
+     *
+     * @param future The future for the command's result.
+     * @return The command's result.
      */
+    private static <T> T await(CompletableFuture<T> future)
+    {
+        try {
+            return future.get(COMMAND_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        }
+        catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(ex);
+        }
+        catch (ExecutionException | TimeoutException ex) {
+            throw new RuntimeException("Error while reading values from redis " + ex.getMessage(), ex);
+        }
+    }
 }
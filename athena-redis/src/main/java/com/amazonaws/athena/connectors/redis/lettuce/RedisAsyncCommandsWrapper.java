@@ -0,0 +1,88 @@
+/*-
+ * #%L
+ * athena-redis
+ * %%
+ * Copyright (C) 2019 - 2021 Amazon Web Services
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package com.amazonaws.athena.connectors.redis.lettuce;
+
+import io.lettuce.core.KeyValue;
+import io.lettuce.core.api.async.RedisAsyncCommands;
+import io.lettuce.core.cluster.api.async.RedisAdvancedClusterAsyncCommands;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Async counterpart to RedisCommandsWrapper. Commands issued through this wrapper are pipelined on the underlying
+ * connection, the caller is responsible for bounding how many are in flight before waiting on the results.
+ */
+public class RedisAsyncCommandsWrapper<K, V>
+{
+  private final RedisAsyncCommands<K, V> standaloneCommands;
+  private final RedisAdvancedClusterAsyncCommands<K, V> clusterCommands;
+  private final boolean isCluster;
+
+  public RedisAsyncCommandsWrapper(RedisAsyncCommands<K, V> standaloneCommands,
+                                   RedisAdvancedClusterAsyncCommands<K, V> clusterCommands, boolean isCluster)
+  {
+    this.standaloneCommands = standaloneCommands;
+    this.clusterCommands = clusterCommands;
+    this.isCluster = isCluster;
+    if (isCluster) {
+      requireNonNull(clusterCommands, "RedisAdvancedClusterAsyncCommands is required");
+    }
+    else {
+      requireNonNull(standaloneCommands, "RedisAsyncCommands is required");
+    }
+  }
+
+  /**
+   * In cluster mode Lettuce splits the keys by slot and issues one MGET per slot.
+   */
+  public CompletableFuture<List<KeyValue<K, V>>> mget(K... var1)
+  {
+    if (isCluster) {
+      return clusterCommands.mget(var1).toCompletableFuture();
+    }
+    else {
+      return standaloneCommands.mget(var1).toCompletableFuture();
+    }
+  }
+
+  public CompletableFuture<List<KeyValue<K, V>>> hmget(K var1, K... var2)
+  {
+    if (isCluster) {
+      return clusterCommands.hmget(var1, var2).toCompletableFuture();
+    }
+    else {
+      return standaloneCommands.hmget(var1, var2).toCompletableFuture();
+    }
+  }
+
+  public CompletableFuture<Map<K, V>> hgetall(K var1)
+  {
+    if (isCluster) {
+      return clusterCommands.hgetall(var1).toCompletableFuture();
+    }
+    else {
+      return standaloneCommands.hgetall(var1).toCompletableFuture();
+    }
+  }
+}
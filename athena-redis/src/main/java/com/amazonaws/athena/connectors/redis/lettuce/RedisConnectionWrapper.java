@@ -21,6 +21,11 @@ package com.amazonaws.athena.connectors.redis.lettuce;
 
 import io.lettuce.core.api.StatefulRedisConnection;
 import io.lettuce.core.cluster.api.StatefulRedisClusterConnection;
+import io.lettuce.core.cluster.models.partitions.RedisClusterNode;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
 
 import static java.util.Objects.requireNonNull;
 
@@ -30,6 +35,7 @@ public class RedisConnectionWrapper<K, V>
   private final StatefulRedisClusterConnection<K, V> clusterConnection;
   private final boolean isCluster;
   private final RedisCommandsWrapper<K, V> redisCommandsWrapper;
+  private final RedisAsyncCommandsWrapper<K, V> redisAsyncCommandsWrapper;
 
   public RedisConnectionWrapper(StatefulRedisConnection<K, V> standaloneConnection,
                                 StatefulRedisClusterConnection<K, V> clusterConnection, boolean isCluster)
@@ -40,10 +46,12 @@ public class RedisConnectionWrapper<K, V>
     if (isCluster) {
       requireNonNull(clusterConnection, "Cluster Connection is required");
       redisCommandsWrapper = new RedisCommandsWrapper<K, V>(null, clusterConnection.sync(), isCluster);
+      redisAsyncCommandsWrapper = new RedisAsyncCommandsWrapper<K, V>(null, clusterConnection.async(), isCluster);
     }
     else {
       requireNonNull(standaloneConnection, "Standalone Connection is required");
       redisCommandsWrapper = new RedisCommandsWrapper<K, V>(standaloneConnection.sync(), null, isCluster);
+      redisAsyncCommandsWrapper = new RedisAsyncCommandsWrapper<K, V>(standaloneConnection.async(), null, isCluster);
     }
   }
 
@@ -52,6 +60,41 @@ public class RedisConnectionWrapper<K, V>
     return this.redisCommandsWrapper;
   }
 
+  public RedisAsyncCommandsWrapper<K, V> async()
+  {
+    return this.redisAsyncCommandsWrapper;
+  }
+
+  /**
+   * Lists the upstream (master) nodes of the cluster which currently own hash slots.
+   *
+   * @return The node ids of the upstream nodes.
+   */
+  public List<String> getUpstreamNodeIds()
+  {
+    if (!isCluster) {
+      throw new IllegalStateException("Upstream node ids are only available for cluster connections.");
+    }
+    return StreamSupport.stream(clusterConnection.getPartitions().spliterator(), false)
+        .filter(node -> node.getRole().isUpstream() && !node.getSlots().isEmpty())
+        .map(RedisClusterNode::getNodeId)
+        .collect(Collectors.toList());
+  }
+
+  /**
+   * Provides commands that are sent to a single node of the cluster, for example to SCAN only the keys on that node.
+   *
+   * @param nodeId The id of the cluster node.
+   * @return The commands for the node.
+   */
+  public RedisCommandsWrapper<K, V> syncForNode(String nodeId)
+  {
+    if (!isCluster) {
+      throw new IllegalStateException("Node connections are only available for cluster connections.");
+    }
+    return new RedisCommandsWrapper<K, V>(clusterConnection.getConnection(nodeId).sync(), null, false);
+  }
+
   public void close()
   {
     if (isCluster) {
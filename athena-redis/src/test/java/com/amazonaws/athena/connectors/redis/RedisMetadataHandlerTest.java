@@ -41,6 +41,8 @@ import com.amazonaws.services.glue.AWSGlue;
 import com.amazonaws.services.secretsmanager.AWSSecretsManager;
 import com.amazonaws.services.secretsmanager.model.GetSecretValueRequest;
 import com.amazonaws.services.secretsmanager.model.GetSecretValueResult;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
 import io.lettuce.core.Range;
 import io.lettuce.core.ScanArgs;
 import io.lettuce.core.ScanCursor;
@@ -62,10 +64,12 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 import static com.amazonaws.athena.connectors.redis.RedisMetadataHandler.KEY_PREFIX_TABLE_PROP;
 import static com.amazonaws.athena.connectors.redis.RedisMetadataHandler.REDIS_CLUSTER_FLAG;
+import static com.amazonaws.athena.connectors.redis.RedisMetadataHandler.REDIS_CLUSTER_NODE_ID;
 import static com.amazonaws.athena.connectors.redis.RedisMetadataHandler.REDIS_DB_NUMBER;
 import static com.amazonaws.athena.connectors.redis.RedisMetadataHandler.REDIS_ENDPOINT_PROP;
 import static com.amazonaws.athena.connectors.redis.RedisMetadataHandler.REDIS_SSL_FLAG;
@@ -303,4 +307,49 @@ public class RedisMetadataHandlerTest
         assertTrue("Continuation criteria violated", response.getSplits().size() == 3);
         assertTrue("Continuation criteria violated", response.getContinuationToken() == null);
     }
+
+    @Test
+    public void doGetSplitsPrefixCluster()
+    {
+        when(mockConnection.getUpstreamNodeIds()).thenReturn(ImmutableList.of("node1", "node2", "node3", "node4"));
+
+        Schema schema = SchemaBuilder.newBuilder()
+                .addField("partitionId", Types.MinorType.INT.getType())
+                .addStringField(REDIS_ENDPOINT_PROP)
+                .addStringField(VALUE_TYPE_TABLE_PROP)
+                .addStringField(KEY_PREFIX_TABLE_PROP)
+                .addStringField(ZSET_KEYS_TABLE_PROP)
+                .addStringField(REDIS_SSL_FLAG)
+                .addStringField(REDIS_CLUSTER_FLAG)
+                .addStringField(REDIS_DB_NUMBER)
+                .build();
+
+        Block partitions = allocator.createBlock(schema);
+        partitions.setValue(REDIS_ENDPOINT_PROP, 0, endpoint);
+        partitions.setValue(VALUE_TYPE_TABLE_PROP, 0, "literal");
+        partitions.setValue(KEY_PREFIX_TABLE_PROP, 0, "prefix1-*,prefix2-*");
+        partitions.setValue(ZSET_KEYS_TABLE_PROP, 0, null);
+        partitions.setValue(REDIS_SSL_FLAG, 0, null);
+        partitions.setValue(REDIS_CLUSTER_FLAG, 0, "true");
+        partitions.setValue(REDIS_DB_NUMBER, 0, null);
+        partitions.setRowCount(1);
+
+        GetSplitsRequest req = new GetSplitsRequest(IDENTITY,
+                QUERY_ID,
+                DEFAULT_CATALOG,
+                TABLE_NAME,
+                partitions,
+                new ArrayList<>(),
+                new Constraints(new HashMap<>()),
+                null);
+
+        GetSplitsResponse response = handler.doGetSplits(allocator, req);
+
+        //one split per prefix per upstream node
+        assertEquals(8, response.getSplits().size());
+        Set<String> nodeIds = new HashSet<>();
+        response.getSplits().forEach(next -> nodeIds.add(next.getProperty(REDIS_CLUSTER_NODE_ID)));
+        assertEquals(ImmutableSet.of("node1", "node2", "node3", "node4"), nodeIds);
+        assertNull(response.getContinuationToken());
+    }
 }
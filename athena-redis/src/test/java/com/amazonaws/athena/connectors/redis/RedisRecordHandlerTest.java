@@ -35,6 +35,7 @@ import com.amazonaws.athena.connector.lambda.records.ReadRecordsResponse;
 import com.amazonaws.athena.connector.lambda.records.RecordResponse;
 import com.amazonaws.athena.connector.lambda.security.EncryptionKeyFactory;
 import com.amazonaws.athena.connector.lambda.security.LocalKeyFactory;
+import com.amazonaws.athena.connectors.redis.lettuce.RedisAsyncCommandsWrapper;
 import com.amazonaws.athena.connectors.redis.lettuce.RedisCommandsWrapper;
 import com.amazonaws.athena.connectors.redis.lettuce.RedisConnectionFactory;
 import com.amazonaws.athena.connectors.redis.lettuce.RedisConnectionWrapper;
@@ -50,7 +51,9 @@ import com.amazonaws.services.secretsmanager.AWSSecretsManager;
 import com.amazonaws.services.secretsmanager.model.GetSecretValueRequest;
 import com.amazonaws.services.secretsmanager.model.GetSecretValueResult;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.io.ByteStreams;
+import io.lettuce.core.KeyValue;
 import io.lettuce.core.ScanArgs;
 import io.lettuce.core.ScanCursor;
 import io.lettuce.core.ScoredValue;
@@ -63,6 +66,7 @@ import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.TestName;
 import org.junit.runner.RunWith;
+import org.mockito.Matchers;
 import org.mockito.Mock;
 import org.mockito.invocation.InvocationOnMock;
 import org.mockito.runners.MockitoJUnitRunner;
@@ -72,15 +76,19 @@ import org.slf4j.LoggerFactory;
 import java.io.ByteArrayInputStream;
 import java.io.InputStream;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicLong;
 
 import static com.amazonaws.athena.connectors.redis.RedisMetadataHandler.KEY_COLUMN_NAME;
 import static com.amazonaws.athena.connectors.redis.RedisMetadataHandler.KEY_PREFIX_TABLE_PROP;
 import static com.amazonaws.athena.connectors.redis.RedisMetadataHandler.KEY_TYPE;
+import static com.amazonaws.athena.connectors.redis.RedisMetadataHandler.REDIS_CLUSTER_FLAG;
+import static com.amazonaws.athena.connectors.redis.RedisMetadataHandler.REDIS_CLUSTER_NODE_ID;
 import static com.amazonaws.athena.connectors.redis.RedisMetadataHandler.REDIS_ENDPOINT_PROP;
 import static com.amazonaws.athena.connectors.redis.RedisMetadataHandler.VALUE_TYPE_TABLE_PROP;
 import static org.junit.Assert.*;
@@ -90,6 +98,8 @@ import static org.mockito.Matchers.anyObject;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -116,6 +126,9 @@ public class RedisRecordHandlerTest
     @Mock
     private RedisCommandsWrapper<String, String> mockSyncCommands;
 
+    @Mock
+    private RedisAsyncCommandsWrapper<String, String> mockAsyncCommands;
+
     @Mock
     private AWSSecretsManager mockSecretsManager;
 
@@ -132,6 +145,7 @@ public class RedisRecordHandlerTest
 
         when(mockFactory.getOrCreateConn(eq(decodedEndpoint), anyBoolean(), anyBoolean(), anyString())).thenReturn(mockConnection);
         when(mockConnection.sync()).thenReturn(mockSyncCommands);
+        when(mockConnection.async()).thenReturn(mockAsyncCommands);
 
         allocator = new BlockAllocatorImpl();
 
@@ -215,8 +229,13 @@ public class RedisRecordHandlerTest
         });
 
         AtomicLong value = new AtomicLong(0);
-        when(mockSyncCommands.get(anyString()))
-                .thenAnswer((InvocationOnMock invocationOnMock) -> String.valueOf(value.getAndIncrement()));
+        when(mockAsyncCommands.mget(Matchers.<String>anyVararg())).thenAnswer((InvocationOnMock invocationOnMock) -> {
+            List<KeyValue<String, String>> result = new ArrayList<>();
+            for (Object next : invocationOnMock.getArguments()) {
+                result.add(KeyValue.just((String) next, String.valueOf(value.getAndIncrement())));
+            }
+            return CompletableFuture.completedFuture(result);
+        });
 
         S3SpillLocation splitLoc = S3SpillLocation.newBuilder()
                 .withBucket(UUID.randomUUID().toString())
@@ -302,20 +321,17 @@ public class RedisRecordHandlerTest
             }
         });
 
-        //4 columns per key
+        //only the projected columns are fetched for each key
         AtomicLong intColVal = new AtomicLong(0);
-        when(mockSyncCommands.hgetall(anyString())).then((InvocationOnMock invocationOnMock) -> {
-            Map<String, String> result = new HashMap<>();
-            result.put("intcol", String.valueOf(intColVal.getAndIncrement()));
-            result.put("stringcol", UUID.randomUUID().toString());
-            result.put("extracol", UUID.randomUUID().toString());
-            return result;
+        when(mockAsyncCommands.hmget(anyString(), Matchers.<String>anyVararg())).then((InvocationOnMock invocationOnMock) -> {
+            List<KeyValue<String, String>> result = new ArrayList<>();
+            for (Object next : Arrays.asList(invocationOnMock.getArguments()).subList(1, invocationOnMock.getArguments().length)) {
+                String field = (String) next;
+                result.add(KeyValue.just(field, field.equals("intcol") ? String.valueOf(intColVal.getAndIncrement()) : UUID.randomUUID().toString()));
+            }
+            return CompletableFuture.completedFuture(result);
         });
 
-        AtomicLong value = new AtomicLong(0);
-        when(mockSyncCommands.get(anyString()))
-                .thenAnswer((InvocationOnMock invocationOnMock) -> String.valueOf(value.getAndIncrement()));
-
         S3SpillLocation splitLoc = S3SpillLocation.newBuilder()
                 .withBucket(UUID.randomUUID().toString())
                 .withSplitId(UUID.randomUUID().toString())
@@ -375,6 +391,191 @@ public class RedisRecordHandlerTest
         assertNotNull(stringCol.readText());
     }
 
+    @Test
+    public void doReadRecordsHashMixedCaseFields()
+            throws Exception
+    {
+        when(mockSyncCommands.scan(any(ScanCursor.class), any(ScanArgs.class))).then((InvocationOnMock invocationOnMock) -> {
+            MockKeyScanCursor<String> scanCursor = new MockKeyScanCursor<>();
+            scanCursor.setCursor("0");
+            scanCursor.setKeys(ImmutableList.of("key-1", "key-2"));
+            scanCursor.setFinished(true);
+            return scanCursor;
+        });
+
+        //key-1 stores its fields in lower case, key-2 uses mixed case field names which HMGET can't find.
+        when(mockAsyncCommands.hmget(eq("key-1"), Matchers.<String>anyVararg())).thenReturn(CompletableFuture.completedFuture(
+                ImmutableList.of(KeyValue.just("intcol", "1"), KeyValue.just("stringcol", "value1"))));
+        when(mockAsyncCommands.hmget(eq("key-2"), Matchers.<String>anyVararg())).thenReturn(CompletableFuture.completedFuture(
+                ImmutableList.of(KeyValue.just("intcol", "2"), KeyValue.empty("stringcol"))));
+        Map<String, String> hash = new HashMap<>();
+        hash.put("intcol", "2");
+        hash.put("StringCol", "value2");
+        when(mockAsyncCommands.hgetall(eq("key-2"))).thenReturn(CompletableFuture.completedFuture(hash));
+
+        S3SpillLocation splitLoc = S3SpillLocation.newBuilder()
+                .withBucket(UUID.randomUUID().toString())
+                .withSplitId(UUID.randomUUID().toString())
+                .withQueryId(UUID.randomUUID().toString())
+                .withIsDirectory(true)
+                .build();
+
+        Split split = Split.newBuilder(splitLoc, keyFactory.create())
+                .add(REDIS_ENDPOINT_PROP, endpoint)
+                .add(KEY_TYPE, KeyType.PREFIX.getId())
+                .add(KEY_PREFIX_TABLE_PROP, "key-*")
+                .add(VALUE_TYPE_TABLE_PROP, ValueType.HASH.getId())
+                .build();
+
+        Schema schemaForRead = SchemaBuilder.newBuilder()
+                .addField("_key_", Types.MinorType.VARCHAR.getType())
+                .addField("intcol", Types.MinorType.INT.getType())
+                .addField("stringcol", Types.MinorType.VARCHAR.getType())
+                .build();
+
+        ReadRecordsRequest request = new ReadRecordsRequest(IDENTITY,
+                DEFAULT_CATALOG,
+                "queryId-" + System.currentTimeMillis(),
+                TABLE_NAME,
+                schemaForRead,
+                split,
+                new Constraints(new HashMap<>()),
+                100_000_000_000L, //100GB don't expect this to spill
+                100_000_000_000L
+        );
+
+        ReadRecordsResponse response = (ReadRecordsResponse) handler.doReadRecords(allocator, request);
+        assertEquals(2, response.getRecords().getRowCount());
+
+        Map<String, String> stringColByKey = new HashMap<>();
+        FieldReader keyReader = response.getRecords().getFieldReader(KEY_COLUMN_NAME);
+        FieldReader stringCol = response.getRecords().getFieldReader("stringcol");
+        for (int i = 0; i < response.getRecords().getRowCount(); i++) {
+            keyReader.setPosition(i);
+            stringCol.setPosition(i);
+            stringColByKey.put(keyReader.readText().toString(), stringCol.readText().toString());
+        }
+        assertEquals("value1", stringColByKey.get("key-1"));
+        assertEquals("value2", stringColByKey.get("key-2"));
+        verify(mockAsyncCommands, never()).hgetall(eq("key-1"));
+    }
+
+    @Test
+    public void doReadRecordsHashSparseFields()
+            throws Exception
+    {
+        when(mockSyncCommands.scan(any(ScanCursor.class), any(ScanArgs.class))).then((InvocationOnMock invocationOnMock) -> {
+            MockKeyScanCursor<String> scanCursor = new MockKeyScanCursor<>();
+            scanCursor.setCursor("0");
+            scanCursor.setKeys(ImmutableList.of("key-1"));
+            scanCursor.setFinished(true);
+            return scanCursor;
+        });
+
+        //key-1 doesn't have stringcol in any case, the fallback to HGETALL must still leave it null.
+        when(mockAsyncCommands.hmget(eq("key-1"), Matchers.<String>anyVararg())).thenReturn(CompletableFuture.completedFuture(
+                ImmutableList.of(KeyValue.just("intcol", "1"), KeyValue.empty("stringcol"))));
+        when(mockAsyncCommands.hgetall(eq("key-1"))).thenReturn(CompletableFuture.completedFuture(
+                ImmutableMap.of("intcol", "1", "othercol", "other")));
+
+        S3SpillLocation splitLoc = S3SpillLocation.newBuilder()
+                .withBucket(UUID.randomUUID().toString())
+                .withSplitId(UUID.randomUUID().toString())
+                .withQueryId(UUID.randomUUID().toString())
+                .withIsDirectory(true)
+                .build();
+
+        Split split = Split.newBuilder(splitLoc, keyFactory.create())
+                .add(REDIS_ENDPOINT_PROP, endpoint)
+                .add(KEY_TYPE, KeyType.PREFIX.getId())
+                .add(KEY_PREFIX_TABLE_PROP, "key-*")
+                .add(VALUE_TYPE_TABLE_PROP, ValueType.HASH.getId())
+                .build();
+
+        Schema schemaForRead = SchemaBuilder.newBuilder()
+                .addField("_key_", Types.MinorType.VARCHAR.getType())
+                .addField("intcol", Types.MinorType.INT.getType())
+                .addField("stringcol", Types.MinorType.VARCHAR.getType())
+                .build();
+
+        ReadRecordsRequest request = new ReadRecordsRequest(IDENTITY,
+                DEFAULT_CATALOG,
+                "queryId-" + System.currentTimeMillis(),
+                TABLE_NAME,
+                schemaForRead,
+                split,
+                new Constraints(new HashMap<>()),
+                100_000_000_000L, //100GB don't expect this to spill
+                100_000_000_000L
+        );
+
+        ReadRecordsResponse response = (ReadRecordsResponse) handler.doReadRecords(allocator, request);
+        assertEquals(1, response.getRecords().getRowCount());
+
+        FieldReader intCol = response.getRecords().getFieldReader("intcol");
+        intCol.setPosition(0);
+        assertEquals(Integer.valueOf(1), intCol.readInteger());
+        FieldReader stringCol = response.getRecords().getFieldReader("stringcol");
+        stringCol.setPosition(0);
+        assertFalse(stringCol.isSet());
+        verify(mockAsyncCommands).hgetall(eq("key-1"));
+    }
+
+    @Test
+    public void doReadRecordsClusterNode()
+            throws Exception
+    {
+        RedisCommandsWrapper<String, String> mockNodeCommands = mock(RedisCommandsWrapper.class);
+        when(mockConnection.syncForNode(eq("node1"))).thenReturn(mockNodeCommands);
+        when(mockNodeCommands.scan(any(ScanCursor.class), any(ScanArgs.class))).then((InvocationOnMock invocationOnMock) -> {
+            MockKeyScanCursor<String> scanCursor = new MockKeyScanCursor<>();
+            scanCursor.setCursor("0");
+            scanCursor.setKeys(ImmutableList.of("key-1", "key-2"));
+            scanCursor.setFinished(true);
+            return scanCursor;
+        });
+        when(mockAsyncCommands.mget(Matchers.<String>anyVararg())).thenReturn(CompletableFuture.completedFuture(
+                ImmutableList.of(KeyValue.just("key-1", "1"), KeyValue.just("key-2", "2"))));
+
+        S3SpillLocation splitLoc = S3SpillLocation.newBuilder()
+                .withBucket(UUID.randomUUID().toString())
+                .withSplitId(UUID.randomUUID().toString())
+                .withQueryId(UUID.randomUUID().toString())
+                .withIsDirectory(true)
+                .build();
+
+        Split split = Split.newBuilder(splitLoc, keyFactory.create())
+                .add(REDIS_ENDPOINT_PROP, endpoint)
+                .add(KEY_TYPE, KeyType.PREFIX.getId())
+                .add(KEY_PREFIX_TABLE_PROP, "key-*")
+                .add(VALUE_TYPE_TABLE_PROP, ValueType.LITERAL.getId())
+                .add(REDIS_CLUSTER_FLAG, "true")
+                .add(REDIS_CLUSTER_NODE_ID, "node1")
+                .build();
+
+        Schema schemaForRead = SchemaBuilder.newBuilder()
+                .addField("_key_", Types.MinorType.VARCHAR.getType())
+                .addField("intcol", Types.MinorType.INT.getType())
+                .build();
+
+        ReadRecordsRequest request = new ReadRecordsRequest(IDENTITY,
+                DEFAULT_CATALOG,
+                "queryId-" + System.currentTimeMillis(),
+                TABLE_NAME,
+                schemaForRead,
+                split,
+                new Constraints(new HashMap<>()),
+                100_000_000_000L, //100GB don't expect this to spill
+                100_000_000_000L
+        );
+
+        ReadRecordsResponse response = (ReadRecordsResponse) handler.doReadRecords(allocator, request);
+        assertEquals(2, response.getRecords().getRowCount());
+
+        //keys are only scanned on the split's node
+        verify(mockSyncCommands, never()).scan(any(ScanCursor.class), any(ScanArgs.class));
+    }
+
     @Test
     public void doReadRecordsZset()
             throws Exception
@@ -0,0 +1,43 @@
+/*-
+ * #%L
+ * athena-redshift
+ * %%
+ * Copyright (C) 2019 Amazon Web Services
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package com.amazonaws.athena.connectors.redshift;
+
+import com.amazonaws.athena.connectors.postgresql.PostGreSqlQueryStringBuilder;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+
+import java.util.Optional;
+
+/**
+ * Extends {@link PostGreSqlQueryStringBuilder} for Redshift, which does not support array parameters.
+ */
+public class RedshiftQueryStringBuilder
+        extends PostGreSqlQueryStringBuilder
+{
+    public RedshiftQueryStringBuilder(final String quoteCharacters)
+    {
+        super(quoteCharacters);
+    }
+
+    @Override
+    protected Optional<String> getArrayTypeName(final ArrowType type)
+    {
+        return Optional.empty();
+    }
+}
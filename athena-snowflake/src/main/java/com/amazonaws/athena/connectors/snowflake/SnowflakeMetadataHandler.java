@@ -44,6 +44,7 @@ import com.amazonaws.athena.connectors.jdbc.manager.JDBCUtil;
 import com.amazonaws.athena.connectors.jdbc.manager.JdbcArrowTypeConverter;
 import com.amazonaws.athena.connectors.jdbc.manager.JdbcMetadataHandler;
 import com.amazonaws.athena.connectors.jdbc.manager.PreparedStatementBuilder;
+import com.amazonaws.athena.connectors.jdbc.splits.HashBucket;
 import com.amazonaws.services.athena.AmazonAthena;
 import com.amazonaws.services.secretsmanager.AWSSecretsManager;
 import com.google.common.annotations.VisibleForTesting;
@@ -94,6 +95,13 @@ public class SnowflakeMetadataHandler extends JdbcMetadataHandler
      */
     static final String VIEW_CHECK_QUERY = "SELECT * FROM information_schema.views WHERE table_schema = ? AND table_name = ?";
     static final String ALL_PARTITIONS = "*";
+    /**
+     * Environment variables controlling the number of hash bucket splits, see {@link #getHashBucketCount(long)}.
+     */
+    static final String ROWS_PER_SPLIT_ENV = "rows_per_split";
+    static final String MAX_SPLITS_ENV = "max_splits";
+    private static final long DEFAULT_ROWS_PER_SPLIT = 500_000;
+    private static final long DEFAULT_MAX_SPLITS = 10;
     /**
      * Instantiates handler to be used by Lambda function directly.
      *
@@ -134,7 +142,8 @@ public class SnowflakeMetadataHandler extends JdbcMetadataHandler
         return schemaBuilder.build();
     }
     /**
-     * Snowflake manual partition logic based upon number of records
+     * Snowflake partition logic based upon number of records. Tables are divided into hash buckets, each read by one split
+     * with a `MOD(ABS(HASH(*)), N) = i` predicate, so every split reads a disjoint and similarly sized share of the rows.
      * @param blockWriter
      * @param getTableLayoutRequest
      * @param queryStatusChecker
@@ -146,27 +155,6 @@ public class SnowflakeMetadataHandler extends JdbcMetadataHandler
     {
         LOGGER.info("{}: Schema {}, table {}", getTableLayoutRequest.getQueryId(), getTableLayoutRequest.getTableName().getSchemaName(),
                 getTableLayoutRequest.getTableName().getTableName());
-        Map<String, String> properties = System.getenv();
-        /**
-         * Customized environment variable "pagecount" for pagination based partition. It is currently set to 500000.
-         * It means there will be 500000 rows per partition. The number of partition will be total number of rows divided by
-         * pagecount variable value.
-         */
-        String pagecount = properties.get("pagecount");
-        Long totalpagecount = Long.valueOf(pagecount);
-
-        /**
-         * Customized environment variable "partitionlimit" to limit the number of partitions.
-         * this is to handle timeout issues because of huge partitions
-         */
-        String partitionlimit = properties.get("partitionlimit");
-        Long totalPartitionlimit = Long.valueOf(partitionlimit);
-
-        LOGGER.info(" Total Partition Limit" + totalPartitionlimit);
-        LOGGER.info(" Total Page  Count" +  totalpagecount);
-        long offset = 0;
-        double limit = 0;
-        double totalRecordCount = 0;
         boolean viewFlag = checkForView(getTableLayoutRequest);
         //if the input table is a view , there will be single split
         if (viewFlag) {
@@ -174,62 +162,64 @@ public class SnowflakeMetadataHandler extends JdbcMetadataHandler
                 block.setValue(BLOCK_PARTITION_COLUMN_NAME, rowNum, ALL_PARTITIONS);
                 return 1;
             });
+            return;
         }
-        else {
-            LOGGER.info(COUNT_RECORDS_QUERY);
-            List<String> parameters = Arrays.asList(getTableLayoutRequest.getTableName().getTableName());
 
-            try (Connection connection = getJdbcConnectionFactory().getConnection(getCredentialProvider());
-                 PreparedStatement preparedStatement = new PreparedStatementBuilder().withConnection(connection)
-                         .withQuery(COUNT_RECORDS_QUERY).withParameters(parameters).build();
-                 ResultSet rs = preparedStatement.executeQuery()) {
-                while (rs.next()) {
-                    totalRecordCount = rs.getInt(1);
-                }
-                double limitValue = totalRecordCount / totalpagecount;
-                limit = (int) Math.ceil(limitValue);
-                if (totalRecordCount > 0) {
-                    // if number of partitions are more than defined limit as in environment variable "partitionlimit"
-                    // it will be treated as a single partition.
-                    if (limit > totalPartitionlimit) {
-                        final String partitionVal = BLOCK_PARTITION_COLUMN_NAME + "-limit-" + totalRecordCount + "-offset-" + offset;
-                        LOGGER.info("partitionVal {} ", partitionVal);
-                        blockWriter.writeRows((Block block, int rowNum) ->
-                        {
-                            block.setValue(BLOCK_PARTITION_COLUMN_NAME, rowNum, partitionVal);
-                            return 1;
-                        });
-                    }
-                    else {
-                        /**
-                         * Custom pagination based partition logic will be applied with limit and offset clauses.
-                         * the partition values we are setting the limit and offste values like p-limit-3000-offset-0
-                         */
-                        for (int i = 1; i <= limit; i++) {
-                            if (i > 1) {
-                                offset = offset + totalpagecount;
-                            }
-                            final String partitionVal = BLOCK_PARTITION_COLUMN_NAME + "-limit-" + pagecount + "-offset-" + offset;
-                            LOGGER.info("partitionVal {} ", partitionVal);
-                            blockWriter.writeRows((Block block, int rowNum) ->
-                            {
-                                block.setValue(BLOCK_PARTITION_COLUMN_NAME, rowNum, partitionVal);
-                                return 1;
-                            });
-                        }
-                    }
-                }
-                else {
-                    LOGGER.info("No Records Found for table {}", getTableLayoutRequest.getTableName().getTableName());
-                }
-            }
-            catch (SQLException sqlException) {
-                throw new RuntimeException(sqlException.getErrorCode() + ": " + sqlException.getMessage(), sqlException);
-            }
-            catch (Exception exception) {
-                LOGGER.error("Error occurred while getting the results", exception);
+        LOGGER.info(COUNT_RECORDS_QUERY);
+        List<String> parameters = Arrays.asList(getTableLayoutRequest.getTableName().getTableName());
+        long totalRecordCount = 0;
+        try (Connection connection = getJdbcConnectionFactory().getConnection(getCredentialProvider());
+             PreparedStatement preparedStatement = new PreparedStatementBuilder().withConnection(connection)
+                     .withQuery(COUNT_RECORDS_QUERY).withParameters(parameters).build();
+             ResultSet rs = preparedStatement.executeQuery()) {
+            while (rs.next()) {
+                totalRecordCount = rs.getLong(1);
             }
         }
+        catch (SQLException sqlException) {
+            throw new RuntimeException(sqlException.getErrorCode() + ": " + sqlException.getMessage(), sqlException);
+        }
+
+        if (totalRecordCount <= 0) {
+            LOGGER.info("No Records Found for table {}", getTableLayoutRequest.getTableName().getTableName());
+            return;
+        }
+
+        int bucketCount = getHashBucketCount(totalRecordCount);
+        LOGGER.info("Splitting {} records into {} hash buckets", totalRecordCount, bucketCount);
+        for (HashBucket hashBucket : HashBucket.allOf(bucketCount)) {
+            final String partitionVal = hashBucket.toSplitValue();
+            blockWriter.writeRows((Block block, int rowNum) ->
+            {
+                block.setValue(BLOCK_PARTITION_COLUMN_NAME, rowNum, partitionVal);
+                return 1;
+            });
+        }
+    }
+
+    /**
+     * Number of hash buckets for a table, one per "rows_per_split" records (default 500000) capped at "max_splits"
+     * (default 10). Every bucket scans the table, so the cap bounds the total work done by Snowflake.
+     * @param totalRecordCount
+     * @return
+     */
+    @VisibleForTesting
+    int getHashBucketCount(long totalRecordCount)
+    {
+        long rowsPerSplit = getLongEnv(ROWS_PER_SPLIT_ENV, DEFAULT_ROWS_PER_SPLIT);
+        long maxSplits = getLongEnv(MAX_SPLITS_ENV, DEFAULT_MAX_SPLITS);
+        long bucketCount = (totalRecordCount + rowsPerSplit - 1) / rowsPerSplit;
+        return (int) Math.max(1, Math.min(bucketCount, maxSplits));
+    }
+
+    private static long getLongEnv(String name, long defaultValue)
+    {
+        String value = System.getenv(name);
+        if (value == null || value.trim().isEmpty()) {
+            return defaultValue;
+        }
+        long parsed = Long.parseLong(value.trim());
+        return parsed > 0 ? parsed : defaultValue;
     }
 
     /**
@@ -265,7 +255,6 @@ public class SnowflakeMetadataHandler extends JdbcMetadataHandler
         int partitionContd = decodeContinuationToken(getSplitsRequest);
         Set<Split> splits = new HashSet<>();
         Block partitions = getSplitsRequest.getPartitions();
-        // TODO consider splitting further depending on #rows or data size. Could use Hash key for splitting if no partitions.
         for (int curPartition = partitionContd; curPartition < partitions.getRowCount(); curPartition++) {
             FieldReader locationReader = partitions.getFieldReader(BLOCK_PARTITION_COLUMN_NAME);
             locationReader.setPosition(curPartition);
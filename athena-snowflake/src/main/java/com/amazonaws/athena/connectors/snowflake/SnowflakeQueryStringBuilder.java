@@ -21,22 +21,22 @@
 package com.amazonaws.athena.connectors.snowflake;
 
 import com.amazonaws.athena.connector.lambda.domain.Split;
-import com.amazonaws.athena.connectors.jdbc.manager.JdbcSplitQueryBuilder;
+import com.amazonaws.athena.connectors.jdbc.manager.HashBucketSplitQueryBuilder;
+import com.amazonaws.athena.connectors.jdbc.splits.HashBucket;
 import com.google.common.base.Strings;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
 
 /**
- * Extends {@link JdbcSplitQueryBuilder} and implements MySql specific SQL clauses for split.
+ * Extends {@link HashBucketSplitQueryBuilder} and implements Snowflake specific SQL clauses for split.
  *
- * MySql provides named partitions which can be used in a FROM clause.
+ * Snowflake tables are split into hash buckets, see {@link HashBucket}.
  */
 public class SnowflakeQueryStringBuilder
-        extends JdbcSplitQueryBuilder
+        extends HashBucketSplitQueryBuilder
 {
-    private static final String EMPTY_STRING = "";
-
     public SnowflakeQueryStringBuilder(final String quoteCharacters)
     {
         super(quoteCharacters);
@@ -63,25 +63,25 @@ public class SnowflakeQueryStringBuilder
     }
 
     /**
-     * logic to apply limits in query, if partition value does not contain "-", no limit and offset condition
-     * to be applied, else apply limits and offset as per "p-limit-3000-offset-0" pattern.
+     * Splits written by {@link SnowflakeMetadataHandler} carry either {@link SnowflakeMetadataHandler#ALL_PARTITIONS}
+     * or a hash bucket such as `bucket-3-of-16` in the partition property.
      * @param split
      * @return
      */
     @Override
-    protected String appendLimitOffset(Split split)
+    protected Optional<HashBucket> getHashBucket(Split split)
     {
-        String xLimit = "";
-        String xOffset = "";
-        String partitionVal = split.getProperty(split.getProperties().keySet().iterator().next()); //p-limit-3000-offset-0
-        if (!partitionVal.contains("-")) {
-            return EMPTY_STRING;
-        }
-        else {
-            String[] arr = partitionVal.split("-");
-            xLimit = arr[2];
-            xOffset = arr[4];
-        }
-        return " limit " + xLimit + " offset " + xOffset;
+        return HashBucket.fromSplitValue(split.getProperty(SnowflakeMetadataHandler.BLOCK_PARTITION_COLUMN_NAME));
+    }
+
+    /**
+     * Snowflake's HASH(*) hashes every column of the row, so buckets are balanced even without a key column.
+     * @param quotedColumnNames
+     * @return
+     */
+    @Override
+    protected String getHashExpression(List<String> quotedColumnNames)
+    {
+        return "HASH(*)";
     }
 }
@@ -70,8 +70,8 @@ public class SnowflakeMetadataHandlerTest
     @Before
     public void setup() {
 
-        environmentVariables.set("pagecount", "300000");
-        environmentVariables.set("partitionlimit", "300000");
+        environmentVariables.set("rows_per_split", "300000");
+        environmentVariables.set("max_splits", "300000");
 
         this.jdbcConnectionFactory = Mockito.mock(JdbcConnectionFactory.class , Mockito.RETURNS_DEEP_STUBS);
         this.connection = Mockito.mock(Connection.class, Mockito.RETURNS_DEEP_STUBS);
@@ -95,8 +95,8 @@ public class SnowflakeMetadataHandlerTest
     @Test
     public void doGetTableLayout()
             throws Exception {
-        environmentVariables.set("pagecount", "100000");
-        environmentVariables.set("partitionlimit", "15");
+        environmentVariables.set("rows_per_split", "100000");
+        environmentVariables.set("max_splits", "15");
         BlockAllocator blockAllocator = new BlockAllocatorImpl();
         Constraints constraints = Mockito.mock(Constraints.class);
         TableName tableName = new TableName("testSchema", "testTable");
@@ -114,7 +114,7 @@ public class SnowflakeMetadataHandlerTest
         Mockito.when(preparedStatement.executeQuery()).thenReturn(resultSet);
 
         Mockito.when(this.connection.getMetaData().getSearchStringEscape()).thenReturn(null);
-        Mockito.when(resultSet.getInt(1)).thenReturn(200000);
+        Mockito.when(resultSet.getLong(1)).thenReturn(200000L);
         GetTableLayoutResponse getTableLayoutResponse = this.snowflakeMetadataHandler.doGetTableLayout(blockAllocator, getTableLayoutRequest);
 
         Assert.assertEquals(values.length, getTableLayoutResponse.getPartitions().getRowCount());
@@ -123,8 +123,8 @@ public class SnowflakeMetadataHandlerTest
         for (int i = 0; i < getTableLayoutResponse.getPartitions().getRowCount(); i++) {
             expectedValues.add(BlockUtils.rowToString(getTableLayoutResponse.getPartitions(), i));
         }
-        Assert.assertEquals(expectedValues, Arrays.asList("[partition : partition-limit-100000-offset-0]",
-                "[partition : partition-limit-100000-offset-100000]"));
+        Assert.assertEquals(expectedValues, Arrays.asList("[partition : bucket-0-of-2]",
+                "[partition : bucket-1-of-2]"));
 
         SchemaBuilder expectedSchemaBuilder = SchemaBuilder.newBuilder();
         expectedSchemaBuilder.addField(FieldBuilder.newBuilder("partition", org.apache.arrow.vector.types.Types.MinorType.VARCHAR.getType()).build());
@@ -133,13 +133,13 @@ public class SnowflakeMetadataHandlerTest
         Assert.assertEquals(tableName, getTableLayoutResponse.getTableName());
 
         Mockito.verify(preparedStatement, Mockito.times(1)).setString(1, tableName.getTableName());
-        Mockito.verify(resultSet, Mockito.times(2)).getInt(1);
+        Mockito.verify(resultSet, Mockito.times(2)).getLong(1);
     }
     @Test
-    public void doGetTableLayoutSinglePartition()
+    public void doGetTableLayoutMaxSplits()
             throws Exception {
-        environmentVariables.set("pagecount", "100000");
-        environmentVariables.set("partitionlimit", "5");
+        environmentVariables.set("rows_per_split", "100000");
+        environmentVariables.set("max_splits", "5");
         BlockAllocator blockAllocator = new BlockAllocatorImpl();
         Constraints constraints = Mockito.mock(Constraints.class);
         TableName tableName = new TableName("testSchema", "testTable");
@@ -152,21 +152,22 @@ public class SnowflakeMetadataHandlerTest
 
         String[] columns = {"partition"};
         int[] types = {Types.VARCHAR};
-        Object[][] values = {{"partition-limit-1000000.0-offset-0"}};
+        Object[][] values = {{"1000000"}};
         ResultSet resultSet = mockResultSet(columns, types, values, new AtomicInteger(-1));
         Mockito.when(preparedStatement.executeQuery()).thenReturn(resultSet);
 
         Mockito.when(this.connection.getMetaData().getSearchStringEscape()).thenReturn(null);
-        Mockito.when(resultSet.getInt(1)).thenReturn(1000000);
+        Mockito.when(resultSet.getLong(1)).thenReturn(1000000L);
         GetTableLayoutResponse getTableLayoutResponse = this.snowflakeMetadataHandler.doGetTableLayout(blockAllocator, getTableLayoutRequest);
 
-        Assert.assertEquals(values.length, getTableLayoutResponse.getPartitions().getRowCount());
+        Assert.assertEquals(5, getTableLayoutResponse.getPartitions().getRowCount());
 
         List<String> expectedValues = new ArrayList<>();
         for (int i = 0; i < getTableLayoutResponse.getPartitions().getRowCount(); i++) {
             expectedValues.add(BlockUtils.rowToString(getTableLayoutResponse.getPartitions(), i));
         }
-        Assert.assertEquals(expectedValues, Arrays.asList("[partition : partition-limit-1000000.0-offset-0]"));
+        Assert.assertEquals(expectedValues, Arrays.asList("[partition : bucket-0-of-5]", "[partition : bucket-1-of-5]",
+                "[partition : bucket-2-of-5]", "[partition : bucket-3-of-5]", "[partition : bucket-4-of-5]"));
 
         SchemaBuilder expectedSchemaBuilder = SchemaBuilder.newBuilder();
         expectedSchemaBuilder.addField(FieldBuilder.newBuilder("partition", org.apache.arrow.vector.types.Types.MinorType.VARCHAR.getType()).build());
@@ -175,7 +176,23 @@ public class SnowflakeMetadataHandlerTest
         Assert.assertEquals(tableName, getTableLayoutResponse.getTableName());
 
         Mockito.verify(preparedStatement, Mockito.times(1)).setString(1, tableName.getTableName());
-        Mockito.verify(resultSet, Mockito.times(1)).getInt(1);
+        Mockito.verify(resultSet, Mockito.times(1)).getLong(1);
+    }
+
+    @Test
+    public void getHashBucketCount()
+    {
+        environmentVariables.set("rows_per_split", "1000");
+        environmentVariables.set("max_splits", "5");
+        Assert.assertEquals(1, this.snowflakeMetadataHandler.getHashBucketCount(1));
+        Assert.assertEquals(1, this.snowflakeMetadataHandler.getHashBucketCount(1000));
+        Assert.assertEquals(2, this.snowflakeMetadataHandler.getHashBucketCount(1001));
+        Assert.assertEquals(5, this.snowflakeMetadataHandler.getHashBucketCount(12942));
+
+        environmentVariables.set("rows_per_split", "");
+        environmentVariables.set("max_splits", "");
+        Assert.assertEquals(2, this.snowflakeMetadataHandler.getHashBucketCount(600000));
+        Assert.assertEquals(10, this.snowflakeMetadataHandler.getHashBucketCount(100_000_000));
     }
 
     @Test(expected = RuntimeException.class)
@@ -18,12 +18,16 @@
  * #L%
  */
 package com.amazonaws.athena.connectors.snowflake;
+import com.amazonaws.athena.connector.lambda.data.SchemaBuilder;
 import com.amazonaws.athena.connector.lambda.domain.Split;
+import com.amazonaws.athena.connector.lambda.domain.predicate.Constraints;
+import org.apache.arrow.vector.types.pojo.Schema;
 import org.junit.Assert;
 import org.junit.Test;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 
+import java.sql.Connection;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -41,7 +45,26 @@ public class SnowflakeQueryStringBuilderTest
         Mockito.when(split.getProperties()).thenReturn(Collections.singletonMap("partition", "p0"));
         Mockito.when(split.getProperty(Mockito.eq("partition"))).thenReturn("p1-p2-p3-p4-p5");
         builder.getFromClauseWithSplit("default", "", "table", split);
-        builder.appendLimitOffset(split);
+        Assert.assertFalse(builder.getHashBucket(split).isPresent());
+    }
+
+    @Test
+    public void testBuildSqlWithHashBucket()
+            throws Exception
+    {
+        Split split = Mockito.mock(Split.class);
+        Mockito.when(split.getProperties()).thenReturn(Collections.singletonMap("partition", "bucket-3-of-8"));
+        Mockito.when(split.getProperty(Mockito.eq("partition"))).thenReturn("bucket-3-of-8");
+        Connection connection = Mockito.mock(Connection.class);
+        Schema schema = SchemaBuilder.newBuilder()
+                .addStringField("col1")
+                .addStringField("partition")
+                .build();
+
+        SnowflakeQueryStringBuilder builder = new SnowflakeQueryStringBuilder("\"");
+        builder.buildSql(connection, null, "schema", "table", schema, new Constraints(Collections.emptyMap()), split);
+
+        Mockito.verify(connection).prepareStatement("SELECT \"col1\" FROM \"schema\".\"table\"  WHERE MOD(ABS(HASH(*)), 8) = 3");
     }
 
     @Test
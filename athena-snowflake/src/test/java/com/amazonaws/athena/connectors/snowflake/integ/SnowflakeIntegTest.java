@@ -285,14 +285,14 @@ public class SnowflakeIntegTest extends IntegrationTestBase
         /**
          *  Table: AAB_COMPLETEDCARD
          *  Total Records : 3
-         *  pagecount: 1000
-         *  partitionlimit: 5
+         *  rows_per_split: 1000
+         *  max_splits: 5
          *
          *  Output:
-         *  No partition
+         *  1 hash bucket
          *
          *  Return SQL: SELECT "CARD_ID", "DISP_ID", "TYPE", "YEAR", "MONTH", "DAY", "FULLDATE"
-         *  FROM "CMRN"."AAB_COMPLETEDCARD"  limit 1000 offset 0
+         *  FROM "CMRN"."AAB_COMPLETEDCARD"  WHERE MOD(ABS(HASH(*)), 1) = 0
          */
         fetchDataSelect("CMRN", "AAB_COMPLETEDCARD", lambdaFunctionName);
 
@@ -302,38 +302,28 @@ public class SnowflakeIntegTest extends IntegrationTestBase
          *  Total Records : 4500
          *
          *  Output:
-         *  5 partition
-         *
-         *
+         *  5 hash buckets
          *
          *  SQL1: SELECT "ACCOUNT_ID", "DISTRICT_ID", "FREQUENCY", "PARSEDDATE", "YEAR", "MONTH", "DAY" FROM "CMRN"."AAB_COMPLETEDACCT"
-         *  limit 1000 offset 0
-         *
-         *  SELECT "ACCOUNT_ID", "DISTRICT_ID", "FREQUENCY", "PARSEDDATE", "YEAR", "MONTH", "DAY" FROM "CMRN"."AAB_COMPLETEDACCT"
-         *  limit 1000 offset 1000
-         *
-         *  SELECT "ACCOUNT_ID", "DISTRICT_ID", "FREQUENCY", "PARSEDDATE", "YEAR", "MONTH", "DAY" FROM "CMRN"."AAB_COMPLETEDACCT"
-         *          limit 1000 offset 2000
-         *  SELECT "ACCOUNT_ID", "DISTRICT_ID", "FREQUENCY", "PARSEDDATE", "YEAR", "MONTH", "DAY" FROM "CMRN"."AAB_COMPLETEDACCT"
-         *  limit 1000 offset 3000
-         *
-         * SELECT "ACCOUNT_ID", "DISTRICT_ID", "FREQUENCY", "PARSEDDATE", "YEAR", "MONTH", "DAY" FROM "CMRN"."AAB_COMPLETEDACCT"
-         * limit 1000 offset 4000
+         *  WHERE MOD(ABS(HASH(*)), 5) = 0
+         *  ...
+         *  SQL5: SELECT "ACCOUNT_ID", "DISTRICT_ID", "FREQUENCY", "PARSEDDATE", "YEAR", "MONTH", "DAY" FROM "CMRN"."AAB_COMPLETEDACCT"
+         *  WHERE MOD(ABS(HASH(*)), 5) = 4
          *
          */
         fetchDataSelect("CMRN", "AAB_COMPLETEDACCT", lambdaFunctionName);
 
         /**
-         *  Table: AAB_COMPLETEDACCT
+         *  Table: AAB_COMPLETEDORDER
          *  Total Records : 12942
-         *   pagecount: 1000
-         *   partitionlimit: 5
+         *   rows_per_split: 1000
+         *   max_splits: 5
          *
          *  Output:
          *
          *  Total records 12,942
-         *  Total Limit = 12,942/1000 = 13
-         *  As the limit exceeds the total capacity 5 so no partition
+         *  Buckets = 12,942/1000 = 13
+         *  As the bucket count exceeds max_splits, 5 hash buckets
          *
          */
         fetchDataSelect("CMRN", "AAB_COMPLETEDORDER", lambdaFunctionName);
@@ -73,4 +73,13 @@ public class SqlServerQueryStringBuilder extends JdbcSplitQueryBuilder
         }
         return Collections.emptyList();
     }
+
+    /**
+     * The SQL Server driver rejects statements with more than 2100 parameters.
+     */
+    @Override
+    protected int getMaxBindParameters()
+    {
+        return 2000;
+    }
 }
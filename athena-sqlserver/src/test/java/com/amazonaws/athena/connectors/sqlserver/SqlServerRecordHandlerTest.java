@@ -20,6 +20,8 @@
 
 package com.amazonaws.athena.connectors.sqlserver;
 
+import com.amazonaws.athena.connector.lambda.data.BlockAllocator;
+import com.amazonaws.athena.connector.lambda.data.BlockAllocatorImpl;
 import com.amazonaws.athena.connector.lambda.data.FieldBuilder;
 import com.amazonaws.athena.connector.lambda.data.SchemaBuilder;
 import com.amazonaws.athena.connector.lambda.domain.Split;
@@ -35,6 +37,7 @@ import com.amazonaws.athena.connectors.jdbc.manager.JdbcSplitQueryBuilder;
 import com.amazonaws.services.athena.AmazonAthena;
 import com.amazonaws.services.s3.AmazonS3;
 import com.amazonaws.services.secretsmanager.AWSSecretsManager;
+import com.google.common.base.Joiner;
 import com.google.common.collect.ImmutableMap;
 import org.apache.arrow.vector.types.Types;
 import org.apache.arrow.vector.types.pojo.Schema;
@@ -46,7 +49,9 @@ import org.mockito.Mockito;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
 
 public class SqlServerRecordHandlerTest
 {
@@ -116,4 +121,44 @@ public class SqlServerRecordHandlerTest
         Assert.assertEquals(expectedPreparedStatement, preparedStatement);
         Mockito.verify(preparedStatement, Mockito.times(1)).setString(1, "varcharTest");
     }
+
+    @Test
+    public void buildSplitSqlWithInListsAboveStatementBindLimit()
+            throws SQLException
+    {
+        TableName tableName = new TableName("testSchema", "testTable");
+        Schema schema = SchemaBuilder.newBuilder()
+                .addField(FieldBuilder.newBuilder("testCol1", Types.MinorType.INT.getType()).build())
+                .addField(FieldBuilder.newBuilder("testCol2", Types.MinorType.INT.getType()).build())
+                .build();
+        Split split = Mockito.mock(Split.class);
+
+        // each list fits the 2000 parameter limit on its own, together they do not, so only the longest one is widened
+        String expectedSql = "SELECT `testCol1`, `testCol2` FROM `testSchema`.`testTable`  WHERE ((`testCol1` >= ? AND `testCol1` <= ?)) AND (`testCol2` IN ("
+                + Joiner.on(",").join(Collections.nCopies(800, "?")) + "))";
+        PreparedStatement expectedPreparedStatement = Mockito.mock(PreparedStatement.class);
+        Mockito.when(this.connection.prepareStatement(Mockito.eq(expectedSql))).thenReturn(expectedPreparedStatement);
+
+        try (BlockAllocator allocator = new BlockAllocatorImpl()) {
+            Constraints constraints = new Constraints(ImmutableMap.of(
+                    "testCol1", sparseValues(allocator, 1500),
+                    "testCol2", sparseValues(allocator, 800)));
+            PreparedStatement preparedStatement = this.sqlServerRecordHandler.buildSplitSql(this.connection, "testCatalogName", tableName, schema, constraints, split);
+
+            Assert.assertEquals(expectedPreparedStatement, preparedStatement);
+            Mockito.verify(preparedStatement, Mockito.times(1)).setInt(1, 0);
+            Mockito.verify(preparedStatement, Mockito.times(1)).setInt(2, 2998);
+            Mockito.verify(preparedStatement, Mockito.times(1)).setInt(802, 1598);
+            Mockito.verify(preparedStatement, Mockito.times(802)).setInt(Mockito.anyInt(), Mockito.anyInt());
+        }
+    }
+
+    private ValueSet sparseValues(BlockAllocator allocator, int count)
+    {
+        List<Range> ranges = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            ranges.add(Range.equal(allocator, Types.MinorType.INT.getType(), 2 * i));
+        }
+        return SortedRangeSet.copyOf(Types.MinorType.INT.getType(), ranges, false);
+    }
 }
@@ -93,4 +93,13 @@ public class SynapseQueryStringBuilder extends JdbcSplitQueryBuilder
         }
         return Collections.emptyList();
     }
+
+    /**
+     * The SQL Server driver rejects statements with more than 2100 parameters.
+     */
+    @Override
+    protected int getMaxBindParameters()
+    {
+        return 2000;
+    }
 }
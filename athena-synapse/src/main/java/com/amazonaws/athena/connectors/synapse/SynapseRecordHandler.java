@@ -53,6 +53,7 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 public class SynapseRecordHandler extends JdbcRecordHandler
 {
@@ -97,9 +98,11 @@ public class SynapseRecordHandler extends JdbcRecordHandler
 
         try (Connection connection = getJdbcConnectionFactory().getConnection(getCredentialProvider())) {
             connection.setAutoCommit(false); // For consistency. This is needed to be false to enable streaming for some database types.
+            long startNanos = System.nanoTime();
             try (PreparedStatement preparedStatement = buildSplitSql(connection, readRecordsRequest.getCatalogName(), readRecordsRequest.getTableName(),
                     readRecordsRequest.getSchema(), readRecordsRequest.getConstraints(), readRecordsRequest.getSplit());
                  ResultSet resultSet = preparedStatement.executeQuery()) {
+                long executedNanos = System.nanoTime() - startNanos;
                 Map<String, String> partitionValues = readRecordsRequest.getSplit().getProperties();
 
                 GeneratedRowWriter.RowWriterBuilder rowWriterBuilder = GeneratedRowWriter.newBuilder(readRecordsRequest.getConstraints());
@@ -114,14 +117,19 @@ public class SynapseRecordHandler extends JdbcRecordHandler
 
                 GeneratedRowWriter rowWriter = rowWriterBuilder.build();
                 int rowsReturnedFromDatabase = 0;
+                long firstRowNanos = -1;
                 while (resultSet.next()) {
                     if (!queryStatusChecker.isQueryRunning()) {
                         return;
                     }
+                    if (firstRowNanos < 0) {
+                        firstRowNanos = System.nanoTime() - startNanos;
+                    }
                     blockSpiller.writeRows((Block block, int rowNum) -> rowWriter.writeRow(block, rowNum, resultSet) ? 1 : 0);
                     rowsReturnedFromDatabase++;
                 }
-                LOGGER.info("{} rows returned by database.", rowsReturnedFromDatabase);
+                LOGGER.info("{} rows returned by database. Statement prepared and executed in {} ms, first row after {} ms.", rowsReturnedFromDatabase,
+                        TimeUnit.NANOSECONDS.toMillis(executedNanos), firstRowNanos < 0 ? "-" : TimeUnit.NANOSECONDS.toMillis(firstRowNanos));
 
                 /*
                 SqlServer jdbc driver is using @@TRANCOUNT while performing commit(), it results below RuntimeException.
@@ -44,6 +44,8 @@ import com.amazonaws.athena.connectors.jdbc.manager.PreparedStatementBuilder;
 import com.amazonaws.services.athena.AmazonAthena;
 import com.amazonaws.services.secretsmanager.AWSSecretsManager;
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.ImmutableMap;
 import org.apache.arrow.adapter.jdbc.JdbcFieldInfo;
 import org.apache.arrow.adapter.jdbc.JdbcToArrowUtils;
@@ -61,11 +63,16 @@ import java.sql.DatabaseMetaData;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 /**
@@ -77,6 +84,10 @@ public class TeradataMetadataHandler extends JdbcMetadataHandler
     static final Map<String, String> JDBC_PROPERTIES = ImmutableMap.of("databaseTerm", "SCHEMA");
     static final String ALL_PARTITIONS = "*";
     static final String BLOCK_PARTITION_COLUMN_NAME = "partition";
+    /**
+     * Separates the first and last partition number of a split reading a range of partitions, e.g. `1-31`.
+     */
+    static final String PARTITION_RANGE_SEPARATOR = "-";
 
     private static final Logger LOGGER = LoggerFactory.getLogger(TeradataMetadataHandler.class);
     private static final int MAX_SPLITS_PER_REQUEST = 1000_000;
@@ -84,6 +95,18 @@ public class TeradataMetadataHandler extends JdbcMetadataHandler
      * Query for retrieving view info Teradata
      */
     static final String VIEW_CHECK_QUERY = "SELECT * FROM dbc.Tables WHERE UPPER(DatabaseName) = UPPER(?)  and tablekind='V' and UPPER(TableName)=UPPER(?) ";
+    /**
+     * Query for retrieving the row partitioning expression of a table
+     */
+    static final String PARTITIONING_QUERY = "SELECT ConstraintText FROM DBC.PartitioningConstraintsV WHERE UPPER(DatabaseName) = UPPER(?) and UPPER(TableName) = UPPER(?) ";
+    static final String PARTITION_COUNT_ENV = "partitioncount";
+    static final String PARTITION_CACHE_TTL_ENV = "partition_cache_ttl_seconds";
+    private static final int DEFAULT_PARTITION_COUNT = 500;
+    private static final long DEFAULT_PARTITION_CACHE_TTL_SECONDS = 300;
+
+    private final Cache<TableName, TeradataPartitioning> partitioningCache = CacheBuilder.newBuilder()
+            .expireAfterWrite(getPartitionCacheTtlSeconds(), TimeUnit.SECONDS)
+            .build();
     /**
      * Instantiates handler to be used by Lambda function directly.
      *
@@ -121,11 +144,12 @@ public class TeradataMetadataHandler extends JdbcMetadataHandler
         return schemaBuilder.build();
     }
     /*
-     * We are first checking if input table is a view, if it's a view, it will not have any partition info and
-     * data will be fetched with single split.If it is a table with no partition, then data will be fetched with single split.
-     * If it is a partitioned table, we are fetching the partition info and creating splits equals to the number of partitions
-     * for parallel processing.
-     * Teradata partitions
+     * Partitions are enumerated from the table's partitioning expression in DBC.PartitioningConstraintsV rather than by
+     * reading the table. Views and tables with no partitioning expression are read with a single split. Partitions of a
+     * single level RANGE_N table are pruned against the query constraints on the partitioning column. Layouts that cannot
+     * be enumerated from the expression (e.g. multi level or column partitioning) fall back to reading the distinct
+     * partitions of the table. Enumerated partitions beyond partitioncount are coalesced into ranges of adjacent
+     * partitions. The layout read from the catalog is cached per table for partition_cache_ttl_seconds.
      * @param blockWriter
      * @param getTableLayoutRequest
      * @param queryStatusChecker
@@ -138,137 +162,121 @@ public class TeradataMetadataHandler extends JdbcMetadataHandler
     {
         LOGGER.info("{}: Schema {}, table {}", getTableLayoutRequest.getQueryId(), getTableLayoutRequest.getTableName().getSchemaName(),
                 getTableLayoutRequest.getTableName().getTableName());
-        final String getPartitionsQuery = "Select DISTINCT partition FROM " + getTableLayoutRequest.getTableName().getSchemaName() + "." +
-                getTableLayoutRequest.getTableName().getTableName() + " where 1= ?";
-        boolean viewFlag = false;
-        //Check if input table is a view
-        List<String> viewparameters = Arrays.asList(getTableLayoutRequest.getTableName().getSchemaName(), getTableLayoutRequest.getTableName().getTableName());
-        try (Connection connection = getJdbcConnectionFactory().getConnection(getCredentialProvider())) {
-            try (PreparedStatement preparedStatement = new PreparedStatementBuilder().withConnection(connection).withQuery(VIEW_CHECK_QUERY).withParameters(viewparameters).build();
-                 ResultSet resultSet = preparedStatement.executeQuery()) {
-                if (resultSet.next()) {
-                    viewFlag = true;
-                }
-                LOGGER.debug("viewFlag: {}", viewFlag);
+        TeradataPartitioning partitioning = getPartitioning(getTableLayoutRequest.getTableName());
+        List<String> partitions;
+        if (partitioning == TeradataPartitioning.READ_FROM_TABLE) {
+            LOGGER.info("{}: Partitioning can not be enumerated from the catalog, reading partitions from the table", getTableLayoutRequest.getQueryId());
+            try (Connection connection = getJdbcConnectionFactory().getConnection(getCredentialProvider())) {
+                partitions = getDistinctPartitions(getTableLayoutRequest.getTableName(), connection);
             }
             catch (SQLException sqlException) {
                 throw new RuntimeException(sqlException.getErrorCode() + ": " + sqlException.getMessage(), sqlException);
             }
         }
-        //if the input table is a view , there will be single split
-        if (viewFlag) {
-            blockWriter.writeRows((Block block, int rowNum) -> {
-                block.setValue(BLOCK_PARTITION_COLUMN_NAME, rowNum, ALL_PARTITIONS);
-                return 1;
-            });
-        }
         else {
-             /*
-             It is not a view, check if query should be executed with single split by reading environment variable partitioncount
-             partitioncount is a configurable Environment variable which has been defined. It limits maximum number of
-             partitions, if it exceeds the value, then there will be only single split. This use case has been added to handle scenario
-             where there are huge partitions and query times out. If appropriate predicate filter is applied , then data will be fetched
-             without query getting timed out.
-            */
-            boolean nonPartitionApproach = useNonPartitionApproach(getTableLayoutRequest);
-            if (nonPartitionApproach) {
-                blockWriter.writeRows((Block block, int rowNum) -> {
-                    block.setValue(BLOCK_PARTITION_COLUMN_NAME, rowNum, ALL_PARTITIONS);
-                    return 1;
-                });
-            }
-            else {
-                List<String> parameters = Arrays.asList(Integer.toString(1));
-                try (Connection connection = getJdbcConnectionFactory().getConnection(getCredentialProvider())) {
-                    getPartitionDetails(blockWriter, getPartitionsQuery, parameters, connection);
-                }
-                catch (SQLException sqlException) {
-                    throw new RuntimeException(sqlException.getErrorCode() + ": " + sqlException.getMessage(), sqlException);
-                }
-            }
+            partitions = partitioning.getPartitions(getTableLayoutRequest.getConstraints().getSummary(), getTableLayoutRequest.getSchema());
+        }
+        // Return a single partition if no partitions defined
+        if (!partitioning.isPartitioned() || (partitions.isEmpty() && partitioning == TeradataPartitioning.READ_FROM_TABLE)) {
+            partitions = Collections.singletonList(ALL_PARTITIONS);
+        }
+        /*
+         partitioncount is a configurable Environment variable. It limits maximum number of splits. Enumerated partitions
+         beyond it are coalesced into ranges, partitions read from the table collapse into a single split. This use case
+         has been added to handle scenario where there are huge partitions and query times out. If appropriate predicate filter is applied, then data will be fetched
+         without query getting timed out.
+        */
+        if (partitions.size() > getPartitionCountLimit() && partitioning != TeradataPartitioning.READ_FROM_TABLE) {
+            // Partitioning expressions usually declare far more partitions (e.g. a day per partition over years) than
+            // partitioncount. Adjacent ones are read together rather than collapsing the table into a single split.
+            LOGGER.info("{}: Coalescing {} enumerated partitions into at most {} ranges", getTableLayoutRequest.getQueryId(), partitions.size(), getPartitionCountLimit());
+            partitions = TeradataPartitioning.coalesce(partitions, getPartitionCountLimit());
+        }
+        if (partitions.size() > getPartitionCountLimit()) {
+            LOGGER.info("{}: {} partitions exceed partitioncount, using a single split", getTableLayoutRequest.getQueryId(), partitions.size());
+            partitions = Collections.singletonList(ALL_PARTITIONS);
+        }
+        LOGGER.info("{}: Returning {} partitions", getTableLayoutRequest.getQueryId(), partitions.size());
+        for (String partition : partitions) {
+            blockWriter.writeRows((Block block, int rowNum) -> block.setValue(BLOCK_PARTITION_COLUMN_NAME, rowNum, partition) ? 1 : 0);
         }
     }
 
-    /**
-     * Internal function for non-partition Approach
-     * Configurable Environment variable partitioncount has been defined which limits maximum number of
-     * partitions, if it exceeds the value, then there will be only single split.
-     * @param getTableLayoutRequest
-     * @return
-     * @throws SQLException
-     */
-    private boolean useNonPartitionApproach(GetTableLayoutRequest getTableLayoutRequest) throws SQLException
+    private TeradataPartitioning getPartitioning(TableName tableName)
     {
-        final String getPartitionsCountQuery = "Select  count(distinct partition ) as partition_count FROM " + getTableLayoutRequest.getTableName().getSchemaName() + "." +
-                getTableLayoutRequest.getTableName().getTableName() + " where 1= ?";
-        String partitioncount = System.getenv().get("partitioncount");
-        int totalPartitionCount = Integer.parseInt(partitioncount);
-        int  partitionCount = 0;
-        boolean nonPartitionApproach = false;
-        List<String> params = Arrays.asList(Integer.toString(1));
+        try {
+            return partitioningCache.get(tableName, () -> loadPartitioning(tableName));
+        }
+        catch (ExecutionException ex) {
+            throw new RuntimeException("Exception while attempting to read partitions of " + tableName, ex.getCause());
+        }
+    }
+
+    private TeradataPartitioning loadPartitioning(TableName tableName) throws SQLException
+    {
+        List<String> parameters = Arrays.asList(tableName.getSchemaName(), tableName.getTableName());
         try (Connection connection = getJdbcConnectionFactory().getConnection(getCredentialProvider())) {
-            try (PreparedStatement preparedStatement = new PreparedStatementBuilder().withConnection(connection).withQuery(getPartitionsCountQuery).withParameters(params).build();
+            try (PreparedStatement preparedStatement = new PreparedStatementBuilder().withConnection(connection).withQuery(VIEW_CHECK_QUERY).withParameters(parameters).build();
                  ResultSet resultSet = preparedStatement.executeQuery()) {
+                //if the input table is a view , there will be single split
                 if (resultSet.next()) {
-                    partitionCount = Integer.parseInt(resultSet.getString("partition_count"));
+                    LOGGER.debug("{} is a view", tableName);
+                    return TeradataPartitioning.NOT_PARTITIONED;
                 }
-                if (partitionCount > totalPartitionCount) {
-                    nonPartitionApproach = true;
+            }
+            String constraintText = null;
+            try (PreparedStatement preparedStatement = new PreparedStatementBuilder().withConnection(connection).withQuery(PARTITIONING_QUERY).withParameters(parameters).build();
+                 ResultSet resultSet = preparedStatement.executeQuery()) {
+                if (resultSet.next()) {
+                    constraintText = resultSet.getString("ConstraintText");
                 }
-                LOGGER.info("nonPartitionApproach: {}", nonPartitionApproach);
             }
-            catch (SQLException sqlException) {
-                throw new SQLException(sqlException.getErrorCode() + ": " + sqlException.getMessage(), sqlException);
+            if (constraintText == null) {
+                LOGGER.debug("{} has no partitioning expression", tableName);
+                return TeradataPartitioning.NOT_PARTITIONED;
+            }
+            Optional<TeradataPartitioning> partitioning = TeradataPartitioning.parse(constraintText);
+            if (!partitioning.isPresent()) {
+                LOGGER.info("Partitioning of {} can not be enumerated from {}", tableName, constraintText);
             }
+            return partitioning.orElse(TeradataPartitioning.READ_FROM_TABLE);
         }
-        return nonPartitionApproach;
     }
+
     /**
-     * Internal function to fetch partition details
-     * @param blockWriter
-     * @param getPartitionsQuery
-     * @param parameters
+     * Reads the populated partitions of a table, a full table scan. Only used when they can not be derived from the
+     * partitioning expression, and not cached since partitions populated later would be missed.
+     * @param tableName
      * @param connection
+     * @return
      * @throws SQLException
      */
-    private void getPartitionDetails(BlockWriter blockWriter, String getPartitionsQuery, List<String> parameters, Connection connection) throws SQLException
+    private List<String> getDistinctPartitions(TableName tableName, Connection connection) throws SQLException
     {
-        try (PreparedStatement preparedStatement = new PreparedStatementBuilder().withConnection(connection).withQuery(getPartitionsQuery).withParameters(parameters).build();
+        final String getPartitionsQuery = "Select DISTINCT partition FROM " + tableName.getSchemaName() + "." +
+                tableName.getTableName() + " where 1= ?";
+        List<String> partitions = new ArrayList<>();
+        try (PreparedStatement preparedStatement = new PreparedStatementBuilder().withConnection(connection).withQuery(getPartitionsQuery).withParameters(Collections.singletonList("1")).build();
              ResultSet resultSet = preparedStatement.executeQuery()) {
-            // Return a single partition if no partitions defined
-            if (!resultSet.next()) {
-                blockWriter.writeRows((Block block, int rowNum) -> {
-                    block.setValue(BLOCK_PARTITION_COLUMN_NAME, rowNum, ALL_PARTITIONS);
-                    //we wrote 1 row so we return 1
-                    return 1;
-                });
-            }
-            else {
-                do {
-                    final String partitionName = resultSet.getString(BLOCK_PARTITION_COLUMN_NAME);
-
-                    // 1. Returns all partitions of table, we are not supporting constraints push down to filter partitions.
-                    // 2. This API is not paginated, we could use order by and limit clause with offsets here.
-                    blockWriter.writeRows((Block block, int rowNum) -> {
-                        block.setValue(BLOCK_PARTITION_COLUMN_NAME, rowNum, partitionName);
-                        //we wrote 1 row so we return 1
-                        return 1;
-                    });
-                }
-                while (resultSet.next());
-            }
-        }
-        catch (RuntimeException runtimeException) {
-            LOGGER.info("Exception occurred: {}", runtimeException.getMessage());
-            if (runtimeException.getMessage().equalsIgnoreCase("Invalid Partition field.")) {
-                blockWriter.writeRows((Block block, int rowNum) -> {
-                    block.setValue(BLOCK_PARTITION_COLUMN_NAME, rowNum, ALL_PARTITIONS);
-                    //we wrote 1 row so we return 1
-                    return 1;
-                });
+            while (resultSet.next()) {
+                partitions.add(resultSet.getString(BLOCK_PARTITION_COLUMN_NAME));
             }
         }
+        return partitions;
+    }
+
+    private static int getPartitionCountLimit()
+    {
+        String partitionCount = System.getenv(PARTITION_COUNT_ENV);
+        return partitionCount == null ? DEFAULT_PARTITION_COUNT : Integer.parseInt(partitionCount);
+    }
+
+    private static long getPartitionCacheTtlSeconds()
+    {
+        String ttl = System.getenv(PARTITION_CACHE_TTL_ENV);
+        return ttl == null ? DEFAULT_PARTITION_CACHE_TTL_SECONDS : Long.parseLong(ttl);
     }
+
     @Override
     public GetSplitsResponse doGetSplits(BlockAllocator blockAllocator, GetSplitsRequest getSplitsRequest)
     {
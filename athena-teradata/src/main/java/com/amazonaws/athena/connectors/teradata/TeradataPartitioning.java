@@ -0,0 +1,415 @@
+/*-
+ * #%L
+ * athena-teradata
+ * %%
+ * Copyright (C) 2019 Amazon Web Services
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package com.amazonaws.athena.connectors.teradata;
+
+import com.amazonaws.athena.connector.lambda.domain.predicate.Marker;
+import com.amazonaws.athena.connector.lambda.domain.predicate.Range;
+import com.amazonaws.athena.connector.lambda.domain.predicate.SortedRangeSet;
+import com.amazonaws.athena.connector.lambda.domain.predicate.ValueSet;
+import org.apache.arrow.vector.types.DateUnit;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.apache.arrow.vector.types.pojo.Schema;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Partition layout of a Teradata table, as declared by its row partitioning expression in DBC.PartitioningConstraintsV.
+ * Lets getPartitions enumerate partition numbers from the catalog instead of running `SELECT DISTINCT partition` over
+ * the table.
+ *
+ * A single level RANGE_N over an INTEGER or DATE column gives bounded partitions that are pruned against the query's
+ * constraints on that column. CASE_N gives partition numbers only. NO RANGE, NO CASE and UNKNOWN partitions are never
+ * pruned.
+ */
+class TeradataPartitioning
+{
+    /**
+     * Views and tables without a partitioning expression, read with a single split.
+     */
+    static final TeradataPartitioning NOT_PARTITIONED = new TeradataPartitioning(null, false, Collections.emptyList(), Collections.emptyList());
+
+    /**
+     * Partitioned tables whose partitions can not be enumerated from the partitioning expression, e.g. multi level or
+     * column partitioning. Their populated partitions have to be read from the table.
+     */
+    static final TeradataPartitioning READ_FROM_TABLE = new TeradataPartitioning(null, false, Collections.emptyList(), Collections.emptyList());
+
+    private static final int MAX_PARTITIONS = 65535;
+    private static final Pattern RANGE_N_FIRST_ARG = Pattern.compile("^\\s*(\"[^\"]+\"|\\S+)\\s+BETWEEN\\s+(.+)$", Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
+    private static final Pattern RANGE_N_SEGMENT = Pattern.compile("^\\s*(.+?)\\s+AND\\s+(.+?)(?:\\s+EACH\\s+(.+?))?\\s*$", Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
+    private static final Pattern DATE_LITERAL = Pattern.compile("^(?:DATE\\s*)?'(\\d{4}-\\d{2}-\\d{2})'$", Pattern.CASE_INSENSITIVE);
+    private static final Pattern INTEGER_LITERAL = Pattern.compile("^[+-]?\\d+$");
+    private static final Pattern INTERVAL_LITERAL = Pattern.compile("^INTERVAL\\s*'(\\d+)'\\s*(DAY|MONTH|YEAR)$", Pattern.CASE_INSENSITIVE);
+
+    private final String columnName;
+    private final boolean dateBounds;
+    private final List<long[]> bounds;
+    private final List<String> unboundedPartitions;
+
+    /**
+     * @param columnName RANGE_N partitioning column, null if partitions are not bounded.
+     * @param dateBounds true if bounds are epoch days, false if they are integers.
+     * @param bounds `[low, high)` of partitions `1..bounds.size()`.
+     * @param unboundedPartitions partition numbers that cannot be pruned.
+     */
+    private TeradataPartitioning(String columnName, boolean dateBounds, List<long[]> bounds, List<String> unboundedPartitions)
+    {
+        this.columnName = columnName;
+        this.dateBounds = dateBounds;
+        this.bounds = bounds;
+        this.unboundedPartitions = unboundedPartitions;
+    }
+
+    /**
+     * @param partitions partition numbers, e.g. as read from the table.
+     * @return layout returning the given partitions regardless of constraints.
+     */
+    static TeradataPartitioning of(List<String> partitions)
+    {
+        return new TeradataPartitioning(null, false, Collections.emptyList(), partitions);
+    }
+
+    /**
+     * @param constraintText ConstraintText column of DBC.PartitioningConstraintsV.
+     * @return layout if the expression is a single level RANGE_N or CASE_N that can be enumerated, empty otherwise.
+     */
+    static Optional<TeradataPartitioning> parse(String constraintText)
+    {
+        if (constraintText == null) {
+            return Optional.empty();
+        }
+        String upper = constraintText.toUpperCase(Locale.ROOT);
+        // Multi level and column partitioning are expressed over PARTITION#Ln.
+        if (upper.contains("PARTITION#L")) {
+            return Optional.empty();
+        }
+        int rangeN = upper.indexOf("RANGE_N(");
+        int caseN = upper.indexOf("CASE_N(");
+        if ((rangeN < 0) == (caseN < 0) || upper.indexOf("RANGE_N(", rangeN + 1) >= 0 || upper.indexOf("CASE_N(", caseN + 1) >= 0) {
+            return Optional.empty();
+        }
+        int open = rangeN >= 0 ? rangeN + "RANGE_N".length() : caseN + "CASE_N".length();
+        Optional<List<String>> args = splitArguments(constraintText, open);
+        if (!args.isPresent() || args.get().isEmpty()) {
+            return Optional.empty();
+        }
+        return rangeN >= 0 ? parseRangeN(args.get()) : Optional.of(ofCount(args.get().size()));
+    }
+
+    /**
+     * @param summary constraints of the query.
+     * @param schema table schema, used to check the type of the partitioning column.
+     * @return partition numbers that may hold rows matching the constraints.
+     */
+    List<String> getPartitions(Map<String, ValueSet> summary, Schema schema)
+    {
+        ValueSet valueSet = columnName == null ? null : findValueSet(summary);
+        List<String> partitions = new ArrayList<>();
+        for (int i = 0; i < bounds.size(); i++) {
+            if (valueSet == null || !isComparable(schema) || overlaps(valueSet, bounds.get(i))) {
+                partitions.add(String.valueOf(i + 1));
+            }
+        }
+        partitions.addAll(unboundedPartitions);
+        return partitions;
+    }
+
+    /**
+     * Groups adjacent partition numbers so that a table is read with at most `limit` splits. A group is written as its
+     * first and last partition number joined by {@link TeradataMetadataHandler#PARTITION_RANGE_SEPARATOR}. It also covers
+     * the partitions pruned between them, whose rows the pushed down constraints filter out.
+     *
+     * @param partitions ascending partition numbers, as returned by {@link #getPartitions(Map, Schema)}.
+     * @param limit maximum number of groups.
+     * @return single partitions and partition ranges.
+     */
+    static List<String> coalesce(List<String> partitions, int limit)
+    {
+        if (partitions.size() <= limit || limit <= 0) {
+            return partitions;
+        }
+        int groupSize = (partitions.size() + limit - 1) / limit;
+        List<String> groups = new ArrayList<>();
+        for (int start = 0; start < partitions.size(); start += groupSize) {
+            int end = Math.min(start + groupSize, partitions.size()) - 1;
+            groups.add(start == end ? partitions.get(start)
+                    : partitions.get(start) + TeradataMetadataHandler.PARTITION_RANGE_SEPARATOR + partitions.get(end));
+        }
+        return groups;
+    }
+
+    boolean isPartitioned()
+    {
+        return this != NOT_PARTITIONED;
+    }
+
+    private ValueSet findValueSet(Map<String, ValueSet> summary)
+    {
+        for (Map.Entry<String, ValueSet> entry : summary.entrySet()) {
+            if (entry.getKey().equalsIgnoreCase(columnName)) {
+                return entry.getValue();
+            }
+        }
+        return null;
+    }
+
+    private boolean isComparable(Schema schema)
+    {
+        for (Field field : schema.getFields()) {
+            if (field.getName().equalsIgnoreCase(columnName)) {
+                ArrowType type = field.getType();
+                return dateBounds ? type instanceof ArrowType.Date && ((ArrowType.Date) type).getUnit() == DateUnit.DAY
+                        : type instanceof ArrowType.Int;
+            }
+        }
+        return false;
+    }
+
+    private static boolean overlaps(ValueSet valueSet, long[] bound)
+    {
+        if (!(valueSet instanceof SortedRangeSet)) {
+            return true;
+        }
+        for (Range range : valueSet.getRanges().getOrderedRanges()) {
+            Optional<Long> low = toLong(range.getLow());
+            Optional<Long> high = toLong(range.getHigh());
+            if (!low.isPresent() || !high.isPresent()) {
+                return true;
+            }
+            if (low.get() < bound[1] && high.get() >= bound[0]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return inclusive integer value of the marker, +-infinity for unbounded markers, empty if not numeric.
+     */
+    private static Optional<Long> toLong(Marker marker)
+    {
+        if (marker.isLowerUnbounded()) {
+            return Optional.of(Long.MIN_VALUE);
+        }
+        if (marker.isUpperUnbounded()) {
+            return Optional.of(Long.MAX_VALUE);
+        }
+        if (marker.isNullValue() || !(marker.getValue() instanceof Number)) {
+            return Optional.empty();
+        }
+        long value = ((Number) marker.getValue()).longValue();
+        switch (marker.getBound()) {
+            case ABOVE:
+                return Optional.of(value + 1);
+            case BELOW:
+                return Optional.of(value - 1);
+            default:
+                return Optional.of(value);
+        }
+    }
+
+    private static TeradataPartitioning ofCount(int count)
+    {
+        List<String> partitions = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            partitions.add(String.valueOf(i));
+        }
+        return of(partitions);
+    }
+
+    private static Optional<TeradataPartitioning> parseRangeN(List<String> args)
+    {
+        Matcher first = RANGE_N_FIRST_ARG.matcher(args.get(0));
+        if (!first.matches()) {
+            return Optional.empty();
+        }
+        String column = first.group(1).replace("\"", "");
+        List<String> segments = new ArrayList<>();
+        segments.add(first.group(2));
+        int extras = 0;
+        for (String arg : args.subList(1, args.size())) {
+            String normalized = arg.trim().replaceAll("\\s+", " ").toUpperCase(Locale.ROOT);
+            if (normalized.equals("NO RANGE") || normalized.equals("UNKNOWN") || normalized.equals("NO RANGE OR UNKNOWN")) {
+                extras++;
+            }
+            else if (extras == 0) {
+                segments.add(arg);
+            }
+            else {
+                return Optional.empty();
+            }
+        }
+
+        Boolean dateBounds = null;
+        List<long[]> bounds = new ArrayList<>();
+        for (String segment : segments) {
+            Matcher matcher = RANGE_N_SEGMENT.matcher(segment);
+            if (!matcher.matches()) {
+                return Optional.empty();
+            }
+            String start = matcher.group(1).trim();
+            String end = matcher.group(2).trim();
+            String each = matcher.group(3) == null ? null : matcher.group(3).trim();
+            boolean isDate = DATE_LITERAL.matcher(start).matches() && DATE_LITERAL.matcher(end).matches();
+            boolean isInteger = INTEGER_LITERAL.matcher(start).matches() && INTEGER_LITERAL.matcher(end).matches();
+            if ((!isDate && !isInteger) || (dateBounds != null && dateBounds != isDate)) {
+                return Optional.empty();
+            }
+            dateBounds = isDate;
+            boolean added = isDate ? addDateBounds(bounds, start, end, each) : addIntegerBounds(bounds, start, end, each);
+            if (!added || bounds.size() + extras > MAX_PARTITIONS) {
+                return Optional.empty();
+            }
+        }
+
+        List<String> unbounded = new ArrayList<>(extras);
+        for (int i = 1; i <= extras; i++) {
+            unbounded.add(String.valueOf(bounds.size() + i));
+        }
+        return Optional.of(new TeradataPartitioning(column, dateBounds, bounds, unbounded));
+    }
+
+    private static boolean addIntegerBounds(List<long[]> bounds, String start, String end, String each)
+    {
+        long low = Long.parseLong(start);
+        long high = Long.parseLong(end);
+        long step = high - low + 1;
+        if (each != null) {
+            if (!INTEGER_LITERAL.matcher(each).matches()) {
+                return false;
+            }
+            step = Long.parseLong(each);
+        }
+        if (step <= 0 || high < low) {
+            return false;
+        }
+        for (long lo = low; lo <= high; lo += step) {
+            bounds.add(new long[] {lo, Math.min(lo + step, high + 1)});
+            if (bounds.size() > MAX_PARTITIONS) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean addDateBounds(List<long[]> bounds, String start, String end, String each)
+    {
+        LocalDate low;
+        LocalDate high;
+        try {
+            low = parseDate(start);
+            high = parseDate(end);
+        }
+        catch (DateTimeParseException e) {
+            return false;
+        }
+        if (high.isBefore(low)) {
+            return false;
+        }
+        int amount;
+        String unit;
+        if (each == null) {
+            amount = (int) (high.toEpochDay() - low.toEpochDay() + 1);
+            unit = "DAY";
+        }
+        else if (INTEGER_LITERAL.matcher(each).matches()) {
+            amount = Integer.parseInt(each);
+            unit = "DAY";
+        }
+        else {
+            Matcher interval = INTERVAL_LITERAL.matcher(each);
+            if (!interval.matches()) {
+                return false;
+            }
+            amount = Integer.parseInt(interval.group(1));
+            unit = interval.group(2).toUpperCase(Locale.ROOT);
+        }
+        if (amount <= 0) {
+            return false;
+        }
+        for (LocalDate lo = low; !lo.isAfter(high); ) {
+            LocalDate next = unit.equals("YEAR") ? lo.plusYears(amount) : unit.equals("MONTH") ? lo.plusMonths(amount) : lo.plusDays(amount);
+            bounds.add(new long[] {lo.toEpochDay(), Math.min(next.toEpochDay(), high.toEpochDay() + 1)});
+            if (bounds.size() > MAX_PARTITIONS) {
+                return false;
+            }
+            lo = next;
+        }
+        return true;
+    }
+
+    private static LocalDate parseDate(String literal)
+    {
+        Matcher matcher = DATE_LITERAL.matcher(literal);
+        if (!matcher.matches()) {
+            throw new DateTimeParseException("Not a date literal", literal, 0);
+        }
+        return LocalDate.parse(matcher.group(1));
+    }
+
+    /**
+     * Splits the comma separated arguments of the function call whose opening parenthesis is at `open`, ignoring
+     * commas nested in parentheses or quotes.
+     */
+    private static Optional<List<String>> splitArguments(String text, int open)
+    {
+        if (open >= text.length() || text.charAt(open) != '(') {
+            return Optional.empty();
+        }
+        List<String> args = new ArrayList<>();
+        int depth = 0;
+        boolean quoted = false;
+        int argStart = open + 1;
+        for (int i = open + 1; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '\'') {
+                quoted = !quoted;
+            }
+            else if (quoted) {
+                continue;
+            }
+            else if (c == '(') {
+                depth++;
+            }
+            else if (c == ')' && depth > 0) {
+                depth--;
+            }
+            else if (c == ')') {
+                args.add(text.substring(argStart, i).trim());
+                return Optional.of(args);
+            }
+            else if (c == ',' && depth == 0) {
+                args.add(text.substring(argStart, i).trim());
+                argStart = i + 1;
+            }
+        }
+        return Optional.empty();
+    }
+}
@@ -52,8 +52,13 @@ public class TeradataQueryStringBuilder extends JdbcSplitQueryBuilder
     @Override
     protected List<String> getPartitionWhereClauses(Split split)
     {
-        if (!split.getProperty(TeradataMetadataHandler.BLOCK_PARTITION_COLUMN_NAME).equals("*")) {
-            return Collections.singletonList(TeradataMetadataHandler.BLOCK_PARTITION_COLUMN_NAME + " = " + split.getProperty(TeradataMetadataHandler.BLOCK_PARTITION_COLUMN_NAME));
+        String partition = split.getProperty(TeradataMetadataHandler.BLOCK_PARTITION_COLUMN_NAME);
+        if (partition.contains(TeradataMetadataHandler.PARTITION_RANGE_SEPARATOR)) {
+            String[] range = partition.split(TeradataMetadataHandler.PARTITION_RANGE_SEPARATOR, 2);
+            return Collections.singletonList(TeradataMetadataHandler.BLOCK_PARTITION_COLUMN_NAME + " BETWEEN " + range[0] + " AND " + range[1]);
+        }
+        if (!partition.equals("*")) {
+            return Collections.singletonList(TeradataMetadataHandler.BLOCK_PARTITION_COLUMN_NAME + " = " + partition);
         }
 
         return Collections.emptyList();
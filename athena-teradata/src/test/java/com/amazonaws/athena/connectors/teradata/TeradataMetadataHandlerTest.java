@@ -23,6 +23,9 @@ import com.amazonaws.athena.connector.lambda.data.*;
 import com.amazonaws.athena.connector.lambda.domain.Split;
 import com.amazonaws.athena.connector.lambda.domain.TableName;
 import com.amazonaws.athena.connector.lambda.domain.predicate.Constraints;
+import com.amazonaws.athena.connector.lambda.domain.predicate.Range;
+import com.amazonaws.athena.connector.lambda.domain.predicate.SortedRangeSet;
+import com.amazonaws.athena.connector.lambda.domain.predicate.ValueSet;
 import com.amazonaws.athena.connector.lambda.metadata.*;
 import com.amazonaws.athena.connector.lambda.security.FederatedIdentity;
 import com.amazonaws.athena.connectors.jdbc.TestBase;
@@ -51,6 +54,8 @@ public class TeradataMetadataHandlerTest
         extends TestBase
 {
     private static final Schema PARTITION_SCHEMA = SchemaBuilder.newBuilder().addField("partition", org.apache.arrow.vector.types.Types.MinorType.VARCHAR.getType()).build();
+    private static final String MULTI_LEVEL_PARTITIONING = "CHECK (/*02 08 03*/ PARTITION#L1 /*1 12+10*/ BETWEEN 1 AND 12 AND PARTITION#L2 /*2 3+5*/ BETWEEN 1 AND 3 )";
+    private static final String MONTHLY_PARTITIONING = "CHECK ((RANGE_N(sale_date  BETWEEN DATE '2021-01-01' AND DATE '2021-12-31' EACH INTERVAL '1' MONTH , NO RANGE)) BETWEEN 1 AND 65535)";
     private DatabaseConnectionConfig databaseConnectionConfig = new DatabaseConnectionConfig("testCatalog", TeradataConstants.TERADATA_NAME,
             "teradata://jdbc:teradata://hostname/user=xxx&password=xxx");
     private TeradataMetadataHandler teradataMetadataHandler ;
@@ -101,6 +106,7 @@ public class TeradataMetadataHandlerTest
         String GET_PARTITIONS_QUERY = "Select DISTINCT partition FROM " + getTableLayoutRequest.getTableName().getSchemaName()+"." +
                 getTableLayoutRequest.getTableName().getTableName() + " where 1= ?";
         Mockito.when(this.connection.prepareStatement(GET_PARTITIONS_QUERY)).thenReturn(preparedStatement);
+        mockPartitioningQuery(MULTI_LEVEL_PARTITIONING);
 
         String[] columns = {"partition"};
         int[] types = {Types.VARCHAR};
@@ -141,6 +147,7 @@ public class TeradataMetadataHandlerTest
         String GET_PARTITIONS_QUERY = "Select DISTINCT partition FROM " + getTableLayoutRequest.getTableName().getSchemaName()+"." +
                 getTableLayoutRequest.getTableName().getTableName() + " where 1= ?";
         Mockito.when(this.connection.prepareStatement(GET_PARTITIONS_QUERY)).thenReturn(preparedStatement);
+        mockPartitioningQuery(MULTI_LEVEL_PARTITIONING);
 
         String[] columns = {"partition"};
         int[] types = {Types.VARCHAR};
@@ -211,6 +218,7 @@ public class TeradataMetadataHandlerTest
         String GET_PARTITIONS_QUERY = "Select DISTINCT partition FROM " + getTableLayoutRequest.getTableName().getSchemaName()+"." +
                 getTableLayoutRequest.getTableName().getTableName() + " where 1= ?";
         Mockito.when(this.connection.prepareStatement(GET_PARTITIONS_QUERY)).thenReturn(preparedStatement);
+        mockPartitioningQuery(MULTI_LEVEL_PARTITIONING);
 
         GetTableLayoutResponse getTableLayoutResponse = this.teradataMetadataHandler.doGetTableLayout(blockAllocator, getTableLayoutRequest);
 
@@ -241,6 +249,7 @@ public class TeradataMetadataHandlerTest
         String GET_PARTITIONS_QUERY = "Select DISTINCT partition FROM " + getTableLayoutRequest.getTableName().getSchemaName()+"." +
                 getTableLayoutRequest.getTableName().getTableName() + " where 1= ?";
         Mockito.when(this.connection.prepareStatement(GET_PARTITIONS_QUERY)).thenReturn(preparedStatement);
+        mockPartitioningQuery(MULTI_LEVEL_PARTITIONING);
 
         String[] columns = {"partition"};
         int[] types = {Types.VARCHAR};
@@ -333,4 +342,89 @@ public class TeradataMetadataHandlerTest
         TableName inputTableName = new TableName("testSchema", "testTable");
         this.teradataMetadataHandler.doGetTable(this.blockAllocator, new GetTableRequest(this.federatedIdentity, "testQueryId", "testCatalog", inputTableName));
     }
+
+    @Test
+    public void doGetTableLayoutFromPartitioningExpression()
+            throws Exception
+    {
+        BlockAllocator blockAllocator = new BlockAllocatorImpl();
+        TableName tableName = new TableName("testSchema", "testTable");
+        Schema schema = SchemaBuilder.newBuilder()
+                .addField("sale_date", org.apache.arrow.vector.types.Types.MinorType.DATEDAY.getType())
+                .addField(TeradataMetadataHandler.BLOCK_PARTITION_COLUMN_NAME, org.apache.arrow.vector.types.Types.MinorType.VARCHAR.getType())
+                .build();
+        // 2021-03-10 to 2021-04-05, partitions 3 and 4
+        ValueSet saleDates = SortedRangeSet.copyOf(org.apache.arrow.vector.types.Types.MinorType.DATEDAY.getType(),
+                Collections.singletonList(Range.range(blockAllocator, org.apache.arrow.vector.types.Types.MinorType.DATEDAY.getType(), 18696, true, 18722, true)), false);
+        Constraints constraints = new Constraints(Collections.singletonMap("sale_date", saleDates));
+        Set<String> partitionCols = Collections.singleton(TeradataMetadataHandler.BLOCK_PARTITION_COLUMN_NAME);
+        GetTableLayoutRequest getTableLayoutRequest = new GetTableLayoutRequest(this.federatedIdentity, "testQueryId", "testCatalogName", tableName, constraints, schema, partitionCols);
+        PreparedStatement partitioningStatement = mockPartitioningQuery(MONTHLY_PARTITIONING);
+
+        GetTableLayoutResponse getTableLayoutResponse = this.teradataMetadataHandler.doGetTableLayout(blockAllocator, getTableLayoutRequest);
+        List<String> actualValues = new ArrayList<>();
+        for (int i = 0; i < getTableLayoutResponse.getPartitions().getRowCount(); i++) {
+            actualValues.add(BlockUtils.rowToString(getTableLayoutResponse.getPartitions(), i));
+        }
+        Assert.assertEquals(Arrays.asList("[partition : 3]", "[partition : 4]", "[partition : 13]"), actualValues);
+
+        // the layout is cached, a second request does not query the catalog again
+        this.teradataMetadataHandler.doGetTableLayout(blockAllocator, getTableLayoutRequest);
+        Mockito.verify(partitioningStatement, Mockito.times(1)).executeQuery();
+        Mockito.verify(this.connection, Mockito.never()).prepareStatement(Mockito.startsWith("Select DISTINCT partition"));
+    }
+
+    @Test
+    public void doGetTableLayoutFromPartitioningExpressionCoalescesPartitions()
+            throws Exception
+    {
+        environmentVariablesRule.set("partitioncount", "10");
+        BlockAllocator blockAllocator = new BlockAllocatorImpl();
+        TableName tableName = new TableName("testSchema", "testTable");
+        Schema partitionSchema = this.teradataMetadataHandler.getPartitionSchema("testCatalogName");
+        Set<String> partitionCols = partitionSchema.getFields().stream().map(Field::getName).collect(Collectors.toSet());
+        GetTableLayoutRequest getTableLayoutRequest = new GetTableLayoutRequest(this.federatedIdentity, "testQueryId", "testCatalogName", tableName,
+                new Constraints(Collections.emptyMap()), partitionSchema, partitionCols);
+        // 12 monthly partitions plus NO RANGE, more than partitioncount
+        mockPartitioningQuery(MONTHLY_PARTITIONING);
+
+        GetTableLayoutResponse getTableLayoutResponse = this.teradataMetadataHandler.doGetTableLayout(blockAllocator, getTableLayoutRequest);
+        List<String> actualValues = new ArrayList<>();
+        for (int i = 0; i < getTableLayoutResponse.getPartitions().getRowCount(); i++) {
+            actualValues.add(BlockUtils.rowToString(getTableLayoutResponse.getPartitions(), i));
+        }
+        Assert.assertEquals(Arrays.asList("[partition : 1-2]", "[partition : 3-4]", "[partition : 5-6]", "[partition : 7-8]",
+                "[partition : 9-10]", "[partition : 11-12]", "[partition : 13]"), actualValues);
+        Mockito.verify(this.connection, Mockito.never()).prepareStatement(Mockito.startsWith("Select DISTINCT partition"));
+    }
+
+    @Test
+    public void doGetTableLayoutWithoutPartitioningExpression()
+            throws Exception
+    {
+        BlockAllocator blockAllocator = new BlockAllocatorImpl();
+        Constraints constraints = Mockito.mock(Constraints.class);
+        TableName tableName = new TableName("testSchema", "testTable");
+        Schema partitionSchema = this.teradataMetadataHandler.getPartitionSchema("testCatalogName");
+        Set<String> partitionCols = partitionSchema.getFields().stream().map(Field::getName).collect(Collectors.toSet());
+        GetTableLayoutRequest getTableLayoutRequest = new GetTableLayoutRequest(this.federatedIdentity, "testQueryId", "testCatalogName", tableName, constraints, partitionSchema, partitionCols);
+        mockPartitioningQuery(null);
+
+        GetTableLayoutResponse getTableLayoutResponse = this.teradataMetadataHandler.doGetTableLayout(blockAllocator, getTableLayoutRequest);
+
+        Assert.assertEquals(1, getTableLayoutResponse.getPartitions().getRowCount());
+        Assert.assertEquals("[partition : *]", BlockUtils.rowToString(getTableLayoutResponse.getPartitions(), 0));
+        Mockito.verify(this.connection, Mockito.never()).prepareStatement(Mockito.startsWith("Select DISTINCT partition"));
+    }
+
+    private PreparedStatement mockPartitioningQuery(String constraintText)
+            throws SQLException
+    {
+        PreparedStatement preparedStatement = Mockito.mock(PreparedStatement.class);
+        Object[][] values = constraintText == null ? new Object[][] {} : new Object[][] {{constraintText}};
+        ResultSet resultSet = mockResultSet(new String[] {"ConstraintText"}, new int[] {Types.VARCHAR}, values, new AtomicInteger(-1));
+        Mockito.when(preparedStatement.executeQuery()).thenReturn(resultSet);
+        Mockito.when(this.connection.prepareStatement(TeradataMetadataHandler.PARTITIONING_QUERY)).thenReturn(preparedStatement);
+        return preparedStatement;
+    }
 }
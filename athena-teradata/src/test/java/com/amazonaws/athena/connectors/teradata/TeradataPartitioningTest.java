@@ -0,0 +1,138 @@
+/*-
+ * #%L
+ * athena-teradata
+ * %%
+ * Copyright (C) 2019 - 2022 Amazon Web Services
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package com.amazonaws.athena.connectors.teradata;
+
+import com.amazonaws.athena.connector.lambda.data.BlockAllocator;
+import com.amazonaws.athena.connector.lambda.data.BlockAllocatorImpl;
+import com.amazonaws.athena.connector.lambda.data.SchemaBuilder;
+import com.amazonaws.athena.connector.lambda.domain.predicate.EquatableValueSet;
+import com.amazonaws.athena.connector.lambda.domain.predicate.Range;
+import com.amazonaws.athena.connector.lambda.domain.predicate.SortedRangeSet;
+import com.amazonaws.athena.connector.lambda.domain.predicate.ValueSet;
+import org.apache.arrow.vector.types.Types;
+import org.apache.arrow.vector.types.pojo.Schema;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+public class TeradataPartitioningTest
+{
+    private static final Schema SCHEMA = SchemaBuilder.newBuilder()
+            .addField("id", Types.MinorType.INT.getType())
+            .addField("sale_date", Types.MinorType.DATEDAY.getType())
+            .addField("name", Types.MinorType.VARCHAR.getType())
+            .build();
+
+    private BlockAllocator allocator;
+
+    @Before
+    public void setup()
+    {
+        allocator = new BlockAllocatorImpl();
+    }
+
+    @After
+    public void tearDown()
+    {
+        allocator.close();
+    }
+
+    @Test
+    public void integerRangeN()
+    {
+        TeradataPartitioning partitioning = parse("CHECK ((RANGE_N(id  BETWEEN 1 AND 100 EACH 25 )) BETWEEN 1 AND 65535)");
+
+        Assert.assertEquals(Arrays.asList("1", "2", "3", "4"), partitioning.getPartitions(Collections.emptyMap(), SCHEMA));
+        Assert.assertEquals(Arrays.asList("2", "3"), partitioning.getPartitions(
+                summary("id", SortedRangeSet.copyOf(Types.MinorType.INT.getType(),
+                        Collections.singletonList(Range.range(allocator, Types.MinorType.INT.getType(), 26, true, 75, true)), false)), SCHEMA));
+        // id < 26 or 50 < id <= 52, the exclusive bound skips partition 2 which ends at 50
+        Assert.assertEquals(Arrays.asList("1", "3"), partitioning.getPartitions(
+                summary("ID", SortedRangeSet.copyOf(Types.MinorType.INT.getType(),
+                        Arrays.asList(Range.lessThan(allocator, Types.MinorType.INT.getType(), 26),
+                                Range.range(allocator, Types.MinorType.INT.getType(), 50, false, 52, true)), false)), SCHEMA));
+    }
+
+    @Test
+    public void coalesce()
+    {
+        List<String> partitions = Arrays.asList("1", "2", "4", "5", "6", "9", "10");
+        Assert.assertSame(partitions, TeradataPartitioning.coalesce(partitions, 7));
+        Assert.assertEquals(Arrays.asList("1-2", "4-5", "6-9", "10"), TeradataPartitioning.coalesce(partitions, 4));
+        Assert.assertEquals(Collections.singletonList("1-10"), TeradataPartitioning.coalesce(partitions, 1));
+    }
+
+    @Test
+    public void dateRangeNWithSegmentsAndExtraPartitions()
+    {
+        TeradataPartitioning partitioning = parse("CHECK ((RANGE_N(sale_date  BETWEEN DATE '2020-01-01' AND DATE '2020-12-31' EACH INTERVAL '6' MONTH , " +
+                "DATE '2021-01-01' AND DATE '2021-01-10' EACH INTERVAL '1' DAY , NO RANGE, UNKNOWN)) BETWEEN 1 AND 65535)");
+
+        Assert.assertEquals(14, partitioning.getPartitions(Collections.emptyMap(), SCHEMA).size());
+        // 2020-12-31 to 2021-01-02
+        Assert.assertEquals(Arrays.asList("2", "3", "4", "13", "14"), partitioning.getPartitions(
+                summary("sale_date", SortedRangeSet.copyOf(Types.MinorType.DATEDAY.getType(),
+                        Collections.singletonList(Range.range(allocator, Types.MinorType.DATEDAY.getType(), 18627, true, 18629, true)), false)), SCHEMA));
+    }
+
+    @Test
+    public void caseNIsNotPruned()
+    {
+        TeradataPartitioning partitioning = parse("CHECK ((CASE_N(id <  10 , id <  20 , NO CASE OR UNKNOWN)) BETWEEN 1 AND 65535)");
+
+        Assert.assertEquals(Arrays.asList("1", "2", "3"), partitioning.getPartitions(
+                summary("id", SortedRangeSet.copyOf(Types.MinorType.INT.getType(),
+                        Collections.singletonList(Range.equal(allocator, Types.MinorType.INT.getType(), 5)), false)), SCHEMA));
+    }
+
+    @Test
+    public void constraintsThatCanNotBeComparedKeepAllPartitions()
+    {
+        TeradataPartitioning partitioning = parse("CHECK ((RANGE_N(name  BETWEEN 1 AND 3 )) BETWEEN 1 AND 65535)");
+        ValueSet names = EquatableValueSet.newBuilder(allocator, Types.MinorType.VARCHAR.getType(), true, false).add("a").build();
+
+        Assert.assertEquals(Collections.singletonList("1"), partitioning.getPartitions(summary("name", names), SCHEMA));
+    }
+
+    @Test
+    public void unsupportedExpressions()
+    {
+        Assert.assertFalse(TeradataPartitioning.parse(null).isPresent());
+        Assert.assertFalse(TeradataPartitioning.parse("CHECK (/*02 08 03*/ PARTITION#L1 /*1 12+10*/ BETWEEN 1 AND 12 AND PARTITION#L2 /*2 3+5*/ BETWEEN 1 AND 3 )").isPresent());
+        Assert.assertFalse(TeradataPartitioning.parse("CHECK ((RANGE_N(id  BETWEEN * AND 100 EACH 10 )) BETWEEN 1 AND 65535)").isPresent());
+        Assert.assertFalse(TeradataPartitioning.parse("CHECK ((RANGE_N(id  BETWEEN 1 AND 1000000 EACH 1 )) BETWEEN 1 AND 65535)").isPresent());
+    }
+
+    private static TeradataPartitioning parse(String constraintText)
+    {
+        return TeradataPartitioning.parse(constraintText).orElseThrow(() -> new AssertionError("Could not parse " + constraintText));
+    }
+
+    private static Map<String, ValueSet> summary(String column, ValueSet valueSet)
+    {
+        return Collections.singletonMap(column, valueSet);
+    }
+}
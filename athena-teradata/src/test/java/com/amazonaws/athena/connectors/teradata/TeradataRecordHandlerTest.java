@@ -161,4 +161,27 @@ public class TeradataRecordHandlerTest
         Mockito.verify(preparedStatement, Mockito.times(1)).setDouble(10, 1.2d);
         Mockito.verify(preparedStatement, Mockito.times(1)).setBoolean(11, true);
     }
+
+    @Test
+    public void buildSplitSqlForPartitionRange()
+            throws SQLException
+    {
+        TableName tableName = new TableName("testSchema", "testTable");
+        Schema schema = SchemaBuilder.newBuilder()
+                .addField(FieldBuilder.newBuilder("testCol1", Types.MinorType.INT.getType()).build())
+                .addField(FieldBuilder.newBuilder("partition", Types.MinorType.VARCHAR.getType()).build())
+                .build();
+
+        Split split = Mockito.mock(Split.class);
+        Mockito.when(split.getProperties()).thenReturn(Collections.singletonMap("partition", "3-7"));
+        Mockito.when(split.getProperty(Mockito.eq("partition"))).thenReturn("3-7");
+
+        PreparedStatement expectedPreparedStatement = Mockito.mock(PreparedStatement.class);
+        Mockito.when(this.connection.prepareStatement(Mockito.eq("SELECT `testCol1` FROM `testSchema`.`testTable`  WHERE partition BETWEEN 3 AND 7")))
+                .thenReturn(expectedPreparedStatement);
+        PreparedStatement preparedStatement = this.teradataRecordHandler.buildSplitSql(this.connection, "testCatalogName", tableName, schema,
+                new Constraints(Collections.emptyMap()), split);
+
+        Assert.assertEquals(expectedPreparedStatement, preparedStatement);
+    }
 }
@@ -25,6 +25,9 @@ import com.amazonaws.athena.connector.lambda.data.BlockWriter;
 import com.amazonaws.athena.connector.lambda.data.SchemaBuilder;
 import com.amazonaws.athena.connector.lambda.domain.Split;
 import com.amazonaws.athena.connector.lambda.domain.TableName;
+import com.amazonaws.athena.connector.lambda.domain.predicate.Range;
+import com.amazonaws.athena.connector.lambda.domain.predicate.SortedRangeSet;
+import com.amazonaws.athena.connector.lambda.domain.predicate.ValueSet;
 import com.amazonaws.athena.connector.lambda.handlers.GlueMetadataHandler;
 import com.amazonaws.athena.connector.lambda.metadata.GetSplitsRequest;
 import com.amazonaws.athena.connector.lambda.metadata.GetSplitsResponse;
@@ -36,6 +39,7 @@ import com.amazonaws.athena.connector.lambda.metadata.ListSchemasResponse;
 import com.amazonaws.athena.connector.lambda.metadata.ListTablesRequest;
 import com.amazonaws.athena.connector.lambda.metadata.ListTablesResponse;
 import com.amazonaws.athena.connector.lambda.security.EncryptionKeyFactory;
+import com.amazonaws.athena.connectors.timestream.query.PredicateBuilder;
 import com.amazonaws.athena.connectors.timestream.query.QueryFactory;
 import com.amazonaws.services.athena.AmazonAthena;
 import com.amazonaws.services.glue.AWSGlue;
@@ -50,9 +54,11 @@ import com.amazonaws.services.timestreamquery.model.Row;
 import com.amazonaws.services.timestreamwrite.AmazonTimestreamWrite;
 import com.amazonaws.services.timestreamwrite.AmazonTimestreamWriteClientBuilder;
 import com.amazonaws.services.timestreamwrite.model.Database;
+import com.amazonaws.services.timestreamwrite.model.DescribeTableRequest;
 import com.amazonaws.services.timestreamwrite.model.ListDatabasesRequest;
 import com.amazonaws.services.timestreamwrite.model.ListDatabasesResult;
 import com.amazonaws.services.timestreamwrite.model.ListTablesResult;
+import com.amazonaws.services.timestreamwrite.model.RetentionProperties;
 import org.apache.arrow.util.VisibleForTesting;
 import org.apache.arrow.vector.types.pojo.Field;
 import org.apache.arrow.vector.types.pojo.Schema;
@@ -61,7 +67,10 @@ import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 public class TimestreamMetadataHandler
         extends GlueMetadataHandler
@@ -78,12 +87,23 @@ public class TimestreamMetadataHandler
     private static final String METADATA_FLAG = "timestream-metadata-flag";
     //Used to filter out Glue tables which lack a timestream metadata flag.
     private static final TableFilter TABLE_FILTER = (Table table) -> table.getParameters().containsKey(METADATA_FLAG);
+    //The name of the time column that every Timestream table has, splits are generated by slicing up its range.
+    protected static final String TIME_COLUMN = "time";
+    //Split properties holding the inclusive start and exclusive end, in epoch millis, of a split's time slice.
+    protected static final String TIME_SLICE_START = "time_slice_start";
+    protected static final String TIME_SLICE_END = "time_slice_end";
+    //The Env variable name used to override the maximum number of time slices (splits) generated for a query.
+    private static final String MAX_TIME_SLICES_ENV = "max_time_slices";
+    private static final int DEFAULT_MAX_TIME_SLICES = 32;
+    //Time slices are never made narrower than this, each split is a separate Timestream query.
+    private static final long MIN_TIME_SLICE_MILLIS = TimeUnit.HOURS.toMillis(1);
     //Used to generate TimeStream queries using templates query patterns.
     private final QueryFactory queryFactory = new QueryFactory();
 
     private final AWSGlue glue;
     private final AmazonTimestreamQuery tsQuery;
     private final AmazonTimestreamWrite tsMeta;
+    private final int maxTimeSlices;
 
     public TimestreamMetadataHandler()
     {
@@ -92,6 +112,7 @@ public class TimestreamMetadataHandler
         glue = getAwsGlue();
         tsQuery = AmazonTimestreamQueryClientBuilder.standard().build();
         tsMeta = AmazonTimestreamWriteClientBuilder.standard().build();
+        maxTimeSlices = getMaxTimeSlices();
     }
 
     @VisibleForTesting
@@ -108,6 +129,13 @@ public class TimestreamMetadataHandler
         this.glue = glue;
         this.tsQuery = tsQuery;
         this.tsMeta = tsMeta;
+        this.maxTimeSlices = getMaxTimeSlices();
+    }
+
+    private static int getMaxTimeSlices()
+    {
+        String maxTimeSlices = System.getenv(MAX_TIME_SLICES_ENV);
+        return (maxTimeSlices != null) ? Integer.parseInt(maxTimeSlices) : DEFAULT_MAX_TIME_SLICES;
     }
 
     @Override
@@ -227,13 +255,94 @@ public class TimestreamMetadataHandler
         //NoOp as we do not support partitioning.
     }
 
+    /**
+     * Timestream data is always ordered by time so we divide the query's time window into slices and generate a split
+     * for each slice. The first and last slices are unbounded below and above respectively so that no rows are missed.
+     *
+     * @see GlueMetadataHandler
+     */
     @Override
     public GetSplitsResponse doGetSplits(BlockAllocator allocator, GetSplitsRequest request)
             throws Exception
     {
-        //Since we do not support connector level parallelism for this source at the moment, we generate a single
-        //basic split.
-        Split split = Split.newBuilder(makeSpillLocation(request), makeEncryptionKey()).build();
-        return new GetSplitsResponse(request.getCatalogName(), split);
+        Set<Split> splits = new HashSet<>();
+        Long sliceStart = null;
+        for (Long sliceEnd : getTimeSliceBoundaries(request)) {
+            splits.add(makeSplit(request, sliceStart, sliceEnd));
+            sliceStart = sliceEnd;
+        }
+        splits.add(makeSplit(request, sliceStart, null));
+
+        logger.info("doGetSplits: Generated {} splits for table[{}]", splits.size(), request.getTableName());
+        return new GetSplitsResponse(request.getCatalogName(), splits);
+    }
+
+    private Split makeSplit(GetSplitsRequest request, Long sliceStart, Long sliceEnd)
+    {
+        Split.Builder builder = Split.newBuilder(makeSpillLocation(request), makeEncryptionKey());
+        if (sliceStart != null) {
+            builder.add(TIME_SLICE_START, String.valueOf(sliceStart));
+        }
+        if (sliceEnd != null) {
+            builder.add(TIME_SLICE_END, String.valueOf(sliceEnd));
+        }
+        return builder.build();
+    }
+
+    /**
+     * Determines the boundaries between the time slices of the query using the span of its constraint on the time
+     * column. The number of slices grows with the width of the span, up to the max_time_slices limit. If the span
+     * has no lower bound then only the table's memory store window is sliced. The magnetic store window can span years
+     * of mostly empty slices, each paying Timestream's 10MB query minimum, so older data is left to the first slice,
+     * which is unbounded below.
+     *
+     * @param request The GetSplitsRequest for which we are generating splits.
+     * @return The ordered boundaries between slices, empty if the query should be read by a single split.
+     */
+    @VisibleForTesting
+    protected List<Long> getTimeSliceBoundaries(GetSplitsRequest request)
+    {
+        ValueSet timeConstraint = request.getConstraints().getSummary().get(TIME_COLUMN);
+        if (maxTimeSlices <= 1 || !(timeConstraint instanceof SortedRangeSet)
+                || timeConstraint.isNone() || timeConstraint.isNullAllowed()) {
+            return Collections.emptyList();
+        }
+
+        Range span = ((SortedRangeSet) timeConstraint).getSpan();
+        long windowEnd = span.getHigh().isUpperUnbounded() ? System.currentTimeMillis()
+                : PredicateBuilder.toEpochMillis(span.getHigh().getValue());
+        Long windowStart = span.getLow().isLowerUnbounded() ? getMemoryStoreStart(request.getTableName())
+                : Long.valueOf(PredicateBuilder.toEpochMillis(span.getLow().getValue()));
+        if (windowStart == null) {
+            return Collections.emptyList();
+        }
+
+        long width = windowEnd - windowStart;
+        int numSlices = (int) Math.min(maxTimeSlices, width / MIN_TIME_SLICE_MILLIS);
+        List<Long> boundaries = new ArrayList<>();
+        for (int i = 1; i < numSlices; i++) {
+            boundaries.add(windowStart + (width / numSlices) * i);
+        }
+        return boundaries;
+    }
+
+    /**
+     * @return The oldest time that the table's memory store can hold data for, or null if the table's retention
+     * properties could not be retrieved (e.g. because the table is a view defined in Glue).
+     */
+    private Long getMemoryStoreStart(TableName tableName)
+    {
+        try {
+            RetentionProperties retention = tsMeta.describeTable(new DescribeTableRequest()
+                    .withDatabaseName(tableName.getSchemaName())
+                    .withTableName(tableName.getTableName()))
+                    .getTable()
+                    .getRetentionProperties();
+            return System.currentTimeMillis() - TimeUnit.HOURS.toMillis(retention.getMemoryStoreRetentionPeriodInHours());
+        }
+        catch (RuntimeException ex) {
+            logger.warn("getMemoryStoreStart: Unable to describe table[{}], generating a single split.", tableName, ex);
+            return null;
+        }
     }
 }
@@ -23,7 +23,6 @@ import com.amazonaws.athena.connector.lambda.QueryStatusChecker;
 import com.amazonaws.athena.connector.lambda.data.Block;
 import com.amazonaws.athena.connector.lambda.data.BlockSpiller;
 import com.amazonaws.athena.connector.lambda.data.BlockUtils;
-import com.amazonaws.athena.connector.lambda.data.FieldResolver;
 import com.amazonaws.athena.connector.lambda.data.writers.GeneratedRowWriter;
 import com.amazonaws.athena.connector.lambda.data.writers.extractors.BigIntExtractor;
 import com.amazonaws.athena.connector.lambda.data.writers.extractors.BitExtractor;
@@ -32,6 +31,7 @@ import com.amazonaws.athena.connector.lambda.data.writers.extractors.Extractor;
 import com.amazonaws.athena.connector.lambda.data.writers.extractors.Float8Extractor;
 import com.amazonaws.athena.connector.lambda.data.writers.extractors.VarCharExtractor;
 import com.amazonaws.athena.connector.lambda.data.writers.holders.NullableVarCharHolder;
+import com.amazonaws.athena.connector.lambda.domain.Split;
 import com.amazonaws.athena.connector.lambda.domain.TableName;
 import com.amazonaws.athena.connector.lambda.domain.predicate.ConstraintProjector;
 import com.amazonaws.athena.connector.lambda.handlers.GlueMetadataHandler;
@@ -53,7 +53,15 @@ import com.amazonaws.services.timestreamquery.model.QueryResult;
 import com.amazonaws.services.timestreamquery.model.Row;
 import com.amazonaws.services.timestreamquery.model.TimeSeriesDataPoint;
 import org.apache.arrow.util.VisibleForTesting;
+import org.apache.arrow.vector.BigIntVector;
+import org.apache.arrow.vector.BitVector;
+import org.apache.arrow.vector.DateMilliVector;
 import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.Float8Vector;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.complex.ListVector;
+import org.apache.arrow.vector.complex.StructVector;
 import org.apache.arrow.vector.holders.NullableBigIntHolder;
 import org.apache.arrow.vector.holders.NullableBitHolder;
 import org.apache.arrow.vector.holders.NullableDateMilliHolder;
@@ -63,17 +71,17 @@ import org.apache.arrow.vector.types.pojo.Field;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.text.SimpleDateFormat;
-import java.util.ArrayList;
-import java.util.HashMap;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
-import java.util.Map;
+
+import static com.amazonaws.athena.connectors.timestream.TimestreamMetadataHandler.TIME_COLUMN;
+import static com.amazonaws.athena.connectors.timestream.TimestreamMetadataHandler.TIME_SLICE_END;
+import static com.amazonaws.athena.connectors.timestream.TimestreamMetadataHandler.TIME_SLICE_START;
 
 public class TimestreamRecordHandler
         extends RecordHandler
 {
     private static final Logger logger = LoggerFactory.getLogger(TimestreamRecordHandler.class);
-    private static final SimpleDateFormat TIMESTAMP_FORMATTER = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss.SSSSSSSSS");
 
     //Used to denote the 'type' of this connector for diagnostic purposes.
     private static final String SOURCE_TYPE = "timestream";
@@ -105,6 +113,7 @@ public class TimestreamRecordHandler
     protected void readWithConstraint(BlockSpiller spiller, ReadRecordsRequest recordsRequest, QueryStatusChecker queryStatusChecker)
     {
         TableName tableName = recordsRequest.getTableName();
+        Split split = recordsRequest.getSplit();
 
         SelectQueryBuilder queryBuilder = queryFactory.createSelectQueryBuilder(GlueMetadataHandler.VIEW_METADATA_FIELD);
 
@@ -112,6 +121,7 @@ public class TimestreamRecordHandler
                 .withTableName(tableName.getTableName())
                 .withProjection(recordsRequest.getSchema())
                 .withConjucts(recordsRequest.getConstraints())
+                .withTimeSlice(TIME_COLUMN, getLongProperty(split, TIME_SLICE_START), getLongProperty(split, TIME_SLICE_END))
                 .build();
 
         logger.info("readWithConstraint: query[{}]", query);
@@ -134,6 +144,12 @@ public class TimestreamRecordHandler
         } while (nextToken != null && !nextToken.isEmpty());
     }
 
+    private static Long getLongProperty(Split split, String name)
+    {
+        String value = split.getProperty(name);
+        return (value != null) ? Long.valueOf(value) : null;
+    }
+
     private GeneratedRowWriter buildRowWriter(ReadRecordsRequest request)
     {
         GeneratedRowWriter.RowWriterBuilder builder = GeneratedRowWriter.newBuilder(request.getConstraints());
@@ -169,7 +185,7 @@ public class TimestreamRecordHandler
                 case DATEMILLI:
                     builder.withExtractor(nextField.getName(), (DateMilliExtractor) (Object context, NullableDateMilliHolder value) -> {
                         value.isSet = 1;
-                        value.value = TIMESTAMP_FORMATTER.parse(((Row) context).getData().get(curFieldNum).getScalarValue()).getTime();
+                        value.value = TimestreamTimestamps.parseEpochMillis(((Row) context).getData().get(curFieldNum).getScalarValue());
                     });
                     break;
                 case LIST:
@@ -186,47 +202,69 @@ public class TimestreamRecordHandler
         return builder.build();
     }
 
+    /**
+     * Writes TimeSeries values, LIST<STRUCT<time, value>>, directly into the list's child vectors.
+     */
     private void buildTimeSeriesExtractor(GeneratedRowWriter.RowWriterBuilder builder, Field field, int curFieldNum)
     {
+        Field timeField = field.getChildren().get(0).getChildren().get(0);
+        Field valueField = field.getChildren().get(0).getChildren().get(1);
+
         builder.withFieldWriterFactory(field.getName(),
-                (FieldVector vector, Extractor extractor, ConstraintProjector constraint) ->
-                        (Object context, int rowNum) -> {
-                            Row row = (Row) context;
-                            Datum datum = row.getData().get(curFieldNum);
-                            Field timeField = field.getChildren().get(0).getChildren().get(0);
-                            Field valueField = field.getChildren().get(0).getChildren().get(1);
-
-                            if (datum.getTimeSeriesValue() != null) {
-                                List<Map<String, Object>> values = new ArrayList<>();
-                                for (TimeSeriesDataPoint nextDatum : datum.getTimeSeriesValue()) {
-                                    Map<String, Object> eventMap = new HashMap<>();
-
-                                    eventMap.put(timeField.getName(), TIMESTAMP_FORMATTER.parse(nextDatum.getTime()).getTime());
-
-                                    switch (Types.getMinorTypeForArrowType(valueField.getType())) {
-                                        case FLOAT8:
-                                            eventMap.put(valueField.getName(), Double.valueOf(nextDatum.getValue().getScalarValue()));
-                                            break;
-                                        case BIGINT:
-                                            eventMap.put(valueField.getName(), Long.valueOf(nextDatum.getValue().getScalarValue()));
-                                            break;
-                                        case INT:
-                                            eventMap.put(valueField.getName(), Integer.valueOf(nextDatum.getValue().getScalarValue()));
-                                            break;
-                                        case BIT:
-                                            eventMap.put(valueField.getName(),
-                                                    Boolean.valueOf(((Row) context).getData().get(curFieldNum).getScalarValue()) == false ? 0 : 1);
-                                            break;
-                                    }
-                                    values.add(eventMap);
-                                }
-                                BlockUtils.setComplexValue(vector, rowNum, FieldResolver.DEFAULT, values);
+                (FieldVector vector, Extractor extractor, ConstraintProjector constraint) -> {
+                    ListVector listVector = (ListVector) vector;
+                    StructVector structVector = (StructVector) listVector.getDataVector();
+                    DateMilliVector timeVector = (DateMilliVector) structVector.getChild(timeField.getName());
+                    FieldVector valueVector = (FieldVector) structVector.getChild(valueField.getName());
+                    TimeSeriesValueWriter valueWriter = makeTimeSeriesValueWriter(valueVector);
+
+                    return (Object context, int rowNum) -> {
+                        Datum datum = ((Row) context).getData().get(curFieldNum);
+                        if (datum.getTimeSeriesValue() == null) {
+                            throw new RuntimeException("Only LISTs of type TimeSeries are presently supported.");
+                        }
+
+                        int offset = listVector.startNewValue(rowNum);
+                        int size = 0;
+                        for (TimeSeriesDataPoint nextDatum : datum.getTimeSeriesValue()) {
+                            int index = offset + size++;
+                            timeVector.setSafe(index, TimestreamTimestamps.parseEpochMillis(nextDatum.getTime()));
+                            String value = nextDatum.getValue().getScalarValue();
+                            if (value != null) {
+                                valueWriter.write(index, value);
                             }
                             else {
-                                throw new RuntimeException("Only LISTs of type TimeSeries are presently supported.");
+                                BlockUtils.setValue(valueVector, index, null);
                             }
+                            structVector.setIndexDefined(index);
+                        }
+                        listVector.endValue(rowNum, size);
+
+                        return true;    //we don't yet support predicate pushdown on complex types
+                    };
+                });
+    }
+
+    private static TimeSeriesValueWriter makeTimeSeriesValueWriter(FieldVector vector)
+    {
+        switch (vector.getMinorType()) {
+            case FLOAT8:
+                return (int index, String value) -> ((Float8Vector) vector).setSafe(index, Double.parseDouble(value));
+            case BIGINT:
+                return (int index, String value) -> ((BigIntVector) vector).setSafe(index, Long.parseLong(value));
+            case INT:
+                return (int index, String value) -> ((IntVector) vector).setSafe(index, Integer.parseInt(value));
+            case BIT:
+                return (int index, String value) -> ((BitVector) vector).setSafe(index, Boolean.parseBoolean(value) ? 1 : 0);
+            case VARCHAR:
+                return (int index, String value) -> ((VarCharVector) vector).setSafe(index, value.getBytes(StandardCharsets.UTF_8));
+            default:
+                throw new RuntimeException("Unsupported TimeSeries value type[" + vector.getMinorType() + "]");
+        }
+    }
 
-                            return true;    //we don't yet support predicate pushdown on complex types
-                        });
+    private interface TimeSeriesValueWriter
+    {
+        void write(int index, String value);
     }
 }
@@ -0,0 +1,102 @@
+/*-
+ * #%L
+ * athena-timestream
+ * %%
+ * Copyright (C) 2019 - 2020 Amazon Web Services
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package com.amazonaws.athena.connectors.timestream;
+
+/**
+ * Parses the timestamps returned by Timestream queries. These always use the fixed layout
+ * yyyy-MM-dd HH:mm:ss.fffffffff in UTC, so rather than using a (non-thread safe) SimpleDateFormat we read the fields
+ * straight out of the string without allocating.
+ */
+public class TimestreamTimestamps
+{
+    private static final int DATE_TIME_LENGTH = "yyyy-MM-dd HH:mm:ss".length();
+    private static final int MILLIS_DIGITS = 3;
+
+    private TimestreamTimestamps() {}
+
+    /**
+     * Parses a Timestream timestamp into epoch millis. Fractional seconds are optional and any precision beyond
+     * millis is truncated.
+     *
+     * @param value The timestamp to parse, e.g. 2020-11-09 22:08:44.123456789
+     * @return The number of milliseconds since the epoch.
+     */
+    public static long parseEpochMillis(String value)
+    {
+        if (value.length() < DATE_TIME_LENGTH || value.charAt(4) != '-' || value.charAt(7) != '-'
+                || value.charAt(10) != ' ' || value.charAt(13) != ':' || value.charAt(16) != ':') {
+            throw new IllegalArgumentException("Unexpected timestamp format: " + value);
+        }
+
+        int year = parseDigits(value, 0, 4);
+        int month = parseDigits(value, 5, 7);
+        int day = parseDigits(value, 8, 10);
+        int hour = parseDigits(value, 11, 13);
+        int minute = parseDigits(value, 14, 16);
+        int second = parseDigits(value, 17, 19);
+        if (month < 1 || month > 12 || day < 1 || day > 31 || hour > 23 || minute > 59 || second > 59) {
+            throw new IllegalArgumentException("Unexpected timestamp format: " + value);
+        }
+
+        int millis = 0;
+        if (value.length() > DATE_TIME_LENGTH) {
+            if (value.charAt(DATE_TIME_LENGTH) != '.' || value.length() == DATE_TIME_LENGTH + 1) {
+                throw new IllegalArgumentException("Unexpected timestamp format: " + value);
+            }
+            //validate every fractional digit but only keep the first 3
+            int fraction = parseDigits(value, DATE_TIME_LENGTH + 1, Math.min(value.length(), DATE_TIME_LENGTH + 1 + MILLIS_DIGITS));
+            parseDigits(value, Math.min(value.length(), DATE_TIME_LENGTH + 1 + MILLIS_DIGITS), value.length());
+            for (int digits = value.length() - DATE_TIME_LENGTH - 1; digits < MILLIS_DIGITS; digits++) {
+                fraction *= 10;
+            }
+            millis = fraction;
+        }
+
+        long epochDay = toEpochDay(year, month, day);
+        return ((epochDay * 24 + hour) * 60 + minute) * 60_000L + second * 1_000L + millis;
+    }
+
+    private static int parseDigits(String value, int start, int end)
+    {
+        int result = 0;
+        for (int i = start; i < end; i++) {
+            char next = value.charAt(i);
+            if (next < '0' || next > '9') {
+                throw new IllegalArgumentException("Unexpected timestamp format: " + value);
+            }
+            result = result * 10 + (next - '0');
+        }
+        return result;
+    }
+
+    /**
+     * Converts a date in the proleptic Gregorian calendar into the number of days since 1970-01-01.
+     */
+    private static long toEpochDay(int year, int month, int day)
+    {
+        //shift the year to start in March so that the leap day falls at the end of it
+        long y = (month <= 2) ? year - 1 : year;
+        long era = Math.floorDiv(y, 400);
+        long yearOfEra = y - era * 400;
+        long dayOfYear = (153 * (month + (month > 2 ? -3 : 9)) + 2) / 5 + day - 1;
+        long dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146_097 + dayOfEra - 719_468;
+    }
+}
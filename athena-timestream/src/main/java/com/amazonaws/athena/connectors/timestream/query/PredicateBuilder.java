@@ -30,7 +30,10 @@ import com.google.common.collect.Iterables;
 import org.apache.arrow.vector.types.Types;
 import org.apache.arrow.vector.types.pojo.ArrowType;
 
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.util.ArrayList;
+import java.util.Date;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -44,6 +47,46 @@ public class PredicateBuilder
         return toConjuncts(constraints);
     }
 
+    /**
+     * Builds the conjunct which restricts a query to one slice of its time window, see TimestreamMetadataHandler.
+     *
+     * @param columnName The name of the time column.
+     * @param start The inclusive start of the slice in epoch millis, or null if the slice has no lower bound.
+     * @param end The exclusive end of the slice in epoch millis, or null if the slice has no upper bound.
+     * @return The conjunct, or null if the slice is unbounded on both sides.
+     */
+    public static String buildTimeSliceConjunct(String columnName, Long start, Long end)
+    {
+        List<String> rangeConjuncts = new ArrayList<>();
+        if (start != null) {
+            rangeConjuncts.add(quoteColumn(columnName) + " >= " + quoteTimestamp(start));
+        }
+        if (end != null) {
+            rangeConjuncts.add(quoteColumn(columnName) + " < " + quoteTimestamp(end));
+        }
+        return rangeConjuncts.isEmpty() ? null : "(" + Joiner.on(" AND ").join(rangeConjuncts) + ")";
+    }
+
+    /**
+     * Converts the value of a DATEMILLI Marker or Block cell into epoch millis.
+     *
+     * @param value The value to convert, either a LocalDateTime in UTC, a Date or a Number of millis.
+     * @return The value as epoch millis.
+     */
+    public static long toEpochMillis(Object value)
+    {
+        if (value instanceof LocalDateTime) {
+            return ((LocalDateTime) value).toInstant(ZoneOffset.UTC).toEpochMilli();
+        }
+        else if (value instanceof Date) {
+            return ((Date) value).getTime();
+        }
+        else if (value instanceof Number) {
+            return ((Number) value).longValue();
+        }
+        throw new IllegalArgumentException("Unable to convert " + value.getClass() + " to epoch millis.");
+    }
+
     private static List<String> toConjuncts(Constraints constraints)
     {
         List<String> conjuncts = new ArrayList<>();
@@ -157,8 +200,15 @@ public class PredicateBuilder
         switch (Types.getMinorTypeForArrowType(type)) {
             case VARCHAR:
                 return "\'" + value + "\'";
+            case DATEMILLI:
+                return quoteTimestamp(toEpochMillis(value));
             default:
                 return String.valueOf(value);
         }
     }
+
+    private static String quoteTimestamp(long epochMillis)
+    {
+        return "from_milliseconds(" + epochMillis + ")";
+    }
 }
@@ -24,6 +24,7 @@ import org.apache.arrow.vector.types.pojo.Schema;
 import org.apache.commons.lang3.Validate;
 import org.stringtemplate.v4.ST;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -44,6 +45,7 @@ public class SelectQueryBuilder
     private List<String> conjucts;
     private String databaseName;
     private String tableName;
+    private String timeSlice;
 
     public SelectQueryBuilder(ST template, String viewTextPropertyName)
     {
@@ -75,7 +77,12 @@ public class SelectQueryBuilder
 
     public List<String> getConjucts()
     {
-        return conjucts;
+        if (timeSlice == null) {
+            return conjucts;
+        }
+        List<String> allConjucts = (conjucts != null) ? new ArrayList<>(conjucts) : new ArrayList<>();
+        allConjucts.add(timeSlice);
+        return allConjucts;
     }
 
     public SelectQueryBuilder withConjucts(Constraints constraints)
@@ -84,6 +91,20 @@ public class SelectQueryBuilder
         return this;
     }
 
+    /**
+     * Restricts the query to a slice of its time window, as generated by TimestreamMetadataHandler.
+     *
+     * @param columnName The name of the time column.
+     * @param start The inclusive start of the slice in epoch millis, or null if the slice has no lower bound.
+     * @param end The exclusive end of the slice in epoch millis, or null if the slice has no upper bound.
+     * @return This builder.
+     */
+    public SelectQueryBuilder withTimeSlice(String columnName, Long start, Long end)
+    {
+        this.timeSlice = PredicateBuilder.buildTimeSliceConjunct(columnName, start, end);
+        return this;
+    }
+
     public String getTableName()
     {
         return tableName;
@@ -34,9 +34,10 @@ import org.apache.arrow.vector.types.pojo.Field;
 import org.apache.arrow.vector.types.pojo.Schema;
 import org.mockito.stubbing.Answer;
 
-import java.text.SimpleDateFormat;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
-import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -52,7 +53,8 @@ public class TestUtils
 {
     private TestUtils() {}
 
-    private static final SimpleDateFormat TIMESTAMP_FORMATTER = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss.SSSSSSSSS");
+    private static final DateTimeFormatter TIMESTAMP_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSSSSSSSS")
+            .withZone(ZoneOffset.UTC);
 
     private static final Random RAND = new Random();
 
@@ -116,7 +118,7 @@ public class TestUtils
                 datum.setScalarValue(String.valueOf(RAND.nextLong()));
                 break;
             case DATEMILLI:
-                datum.setScalarValue(TIMESTAMP_FORMATTER.format(new Date(System.currentTimeMillis())));
+                datum.setScalarValue(TIMESTAMP_FORMATTER.format(Instant.now()));
                 break;
             case LIST:
                 buildTimeSeries(field, datum);
@@ -135,7 +137,7 @@ public class TestUtils
             TimeSeriesDataPoint dataPoint = new TimeSeriesDataPoint();
             Datum dataPointValue = new Datum();
 
-            dataPoint.setTime(TIMESTAMP_FORMATTER.format(new Date(System.currentTimeMillis() - RAND.nextInt(1_000_000))));
+            dataPoint.setTime(TIMESTAMP_FORMATTER.format(Instant.now().minusMillis(RAND.nextInt(1_000_000))));
 
             /**
              * Presently we only support TimeSeries as LIST<STRUCT<DATEMILLISECONDS, DOUBLE|INT|FLOAT8|BIT|BIGINT>>
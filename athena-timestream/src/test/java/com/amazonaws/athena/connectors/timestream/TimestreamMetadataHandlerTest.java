@@ -24,8 +24,12 @@ import com.amazonaws.athena.connector.lambda.data.BlockAllocator;
 import com.amazonaws.athena.connector.lambda.data.BlockAllocatorImpl;
 import com.amazonaws.athena.connector.lambda.data.BlockUtils;
 import com.amazonaws.athena.connector.lambda.data.SchemaBuilder;
+import com.amazonaws.athena.connector.lambda.domain.Split;
 import com.amazonaws.athena.connector.lambda.domain.TableName;
 import com.amazonaws.athena.connector.lambda.domain.predicate.Constraints;
+import com.amazonaws.athena.connector.lambda.domain.predicate.Range;
+import com.amazonaws.athena.connector.lambda.domain.predicate.SortedRangeSet;
+import com.amazonaws.athena.connector.lambda.domain.predicate.ValueSet;
 import com.amazonaws.athena.connector.lambda.metadata.GetSplitsRequest;
 import com.amazonaws.athena.connector.lambda.metadata.GetSplitsResponse;
 import com.amazonaws.athena.connector.lambda.metadata.GetTableLayoutRequest;
@@ -53,10 +57,14 @@ import com.amazonaws.services.timestreamquery.model.QueryResult;
 import com.amazonaws.services.timestreamquery.model.Row;
 import com.amazonaws.services.timestreamwrite.AmazonTimestreamWrite;
 import com.amazonaws.services.timestreamwrite.model.Database;
+import com.amazonaws.services.timestreamwrite.model.DescribeTableRequest;
+import com.amazonaws.services.timestreamwrite.model.DescribeTableResult;
 import com.amazonaws.services.timestreamwrite.model.ListDatabasesRequest;
 import com.amazonaws.services.timestreamwrite.model.ListDatabasesResult;
 import com.amazonaws.services.timestreamwrite.model.ListTablesResult;
+import com.amazonaws.services.timestreamwrite.model.RetentionProperties;
 import com.amazonaws.services.timestreamwrite.model.Table;
+import com.google.common.collect.ImmutableList;
 import org.apache.arrow.vector.types.Types;
 import org.apache.arrow.vector.types.pojo.Field;
 import org.apache.arrow.vector.types.pojo.Schema;
@@ -72,9 +80,13 @@ import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 import static com.amazonaws.athena.connector.lambda.handlers.GlueMetadataHandler.VIEW_METADATA_FIELD;
 import static com.amazonaws.athena.connector.lambda.metadata.ListTablesRequest.UNLIMITED_PAGE_SIZE_VALUE;
@@ -462,4 +474,83 @@ public class TimestreamMetadataHandlerTest
 
         logger.info("doGetSplits - exit");
     }
+
+    @Test
+    public void doGetSplitsTimeSlices()
+            throws Exception
+    {
+        logger.info("doGetSplitsTimeSlices - enter");
+
+        long start = 1_600_000_000_000L;
+        long end = start + TimeUnit.HOURS.toMillis(10);
+        Map<String, ValueSet> constraintsMap = new HashMap<>();
+        constraintsMap.put("time", SortedRangeSet.copyOf(Types.MinorType.DATEMILLI.getType(),
+                ImmutableList.of(Range.range(allocator, Types.MinorType.DATEMILLI.getType(), start, true, end, false)), false));
+
+        GetSplitsResponse response = handler.doGetSplits(allocator, makeSplitsRequest(constraintsMap));
+
+        //one split per hour, the first and last being open ended
+        List<Split> splits = sortBySliceStart(response.getSplits());
+        assertEquals(10, splits.size());
+        assertNull(splits.get(0).getProperty(TimestreamMetadataHandler.TIME_SLICE_START));
+        assertNull(splits.get(9).getProperty(TimestreamMetadataHandler.TIME_SLICE_END));
+        for (int i = 1; i < splits.size(); i++) {
+            String boundary = String.valueOf(start + TimeUnit.HOURS.toMillis(i));
+            assertEquals(boundary, splits.get(i - 1).getProperty(TimestreamMetadataHandler.TIME_SLICE_END));
+            assertEquals(boundary, splits.get(i).getProperty(TimestreamMetadataHandler.TIME_SLICE_START));
+        }
+
+        logger.info("doGetSplitsTimeSlices - exit");
+    }
+
+    @Test
+    public void doGetSplitsTimeSlicesUsingRetention()
+            throws Exception
+    {
+        logger.info("doGetSplitsTimeSlicesUsingRetention - enter");
+
+        when(mockTsMeta.describeTable(any(DescribeTableRequest.class))).thenReturn(new DescribeTableResult()
+                .withTable(new Table().withRetentionProperties(new RetentionProperties()
+                        .withMemoryStoreRetentionPeriodInHours(4L)
+                        .withMagneticStoreRetentionPeriodInDays(365L))));
+
+        long end = System.currentTimeMillis() + TimeUnit.MINUTES.toMillis(1);
+        Map<String, ValueSet> constraintsMap = new HashMap<>();
+        constraintsMap.put("time", SortedRangeSet.copyOf(Types.MinorType.DATEMILLI.getType(),
+                ImmutableList.of(Range.lessThan(allocator, Types.MinorType.DATEMILLI.getType(), end)), false));
+
+        //only the 4 hour memory store window is sliced, magnetic store data is read by the first split
+        GetSplitsResponse response = handler.doGetSplits(allocator, makeSplitsRequest(constraintsMap));
+        assertEquals(4, response.getSplits().size());
+        assertNull(sortBySliceStart(response.getSplits()).get(0).getProperty(TimestreamMetadataHandler.TIME_SLICE_START));
+
+        //tables which can't be described (e.g. Glue views) are read by a single split
+        when(mockTsMeta.describeTable(any(DescribeTableRequest.class))).thenThrow(new RuntimeException("not a table"));
+        response = handler.doGetSplits(allocator, makeSplitsRequest(constraintsMap));
+        assertEquals(1, response.getSplits().size());
+
+        logger.info("doGetSplitsTimeSlicesUsingRetention - exit");
+    }
+
+    private GetSplitsRequest makeSplitsRequest(Map<String, ValueSet> constraintsMap)
+    {
+        return new GetSplitsRequest(identity,
+                "query-id",
+                defaultSchema,
+                new TableName("database1", "table1"),
+                BlockUtils.newBlock(allocator, "partition_id", Types.MinorType.INT.getType(), 0),
+                Collections.emptyList(),
+                new Constraints(constraintsMap),
+                null);
+    }
+
+    private static List<Split> sortBySliceStart(Set<Split> splits)
+    {
+        List<Split> sorted = new ArrayList<>(splits);
+        sorted.sort(Comparator.comparingLong((Split split) -> {
+            String sliceStart = split.getProperty(TimestreamMetadataHandler.TIME_SLICE_START);
+            return (sliceStart != null) ? Long.parseLong(sliceStart) : Long.MIN_VALUE;
+        }));
+        return sorted;
+    }
 }
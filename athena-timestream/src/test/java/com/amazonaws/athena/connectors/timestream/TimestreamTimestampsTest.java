@@ -0,0 +1,65 @@
+/*-
+ * #%L
+ * athena-timestream
+ * %%
+ * Copyright (C) 2019 - 2020 Amazon Web Services
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package com.amazonaws.athena.connectors.timestream;
+
+import org.junit.Test;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+public class TimestreamTimestampsTest
+{
+    @Test
+    public void parseEpochMillis()
+    {
+        assertEquals(0L, TimestreamTimestamps.parseEpochMillis("1970-01-01 00:00:00.000000000"));
+        assertEquals(expected(2020, 11, 9, 22, 8, 44, 123), TimestreamTimestamps.parseEpochMillis("2020-11-09 22:08:44.123456789"));
+        assertEquals(expected(2020, 2, 29, 23, 59, 59, 0), TimestreamTimestamps.parseEpochMillis("2020-02-29 23:59:59"));
+        assertEquals(expected(2021, 3, 1, 0, 0, 0, 500), TimestreamTimestamps.parseEpochMillis("2021-03-01 00:00:00.5"));
+        assertEquals(expected(1969, 12, 31, 23, 59, 59, 10), TimestreamTimestamps.parseEpochMillis("1969-12-31 23:59:59.01"));
+        assertEquals(expected(2400, 12, 31, 12, 30, 0, 999), TimestreamTimestamps.parseEpochMillis("2400-12-31 12:30:00.999999"));
+    }
+
+    @Test
+    public void parseEpochMillisInvalid()
+    {
+        String[] invalid = {"", "2020-11-09", "2020-11-09T22:08:44", "2020-11-09 22:08:44.", "2020-11-09 22:08:44.12a",
+                "2020-13-09 22:08:44", "2020-11-09 22:08:4x"};
+        for (String next : invalid) {
+            try {
+                TimestreamTimestamps.parseEpochMillis(next);
+                fail("Expected an exception for " + next);
+            }
+            catch (IllegalArgumentException ex) {
+                //expected
+            }
+        }
+    }
+
+    private static long expected(int year, int month, int day, int hour, int minute, int second, int millis)
+    {
+        return LocalDateTime.of(year, month, day, hour, minute, second, millis * 1_000_000)
+                .toInstant(ZoneOffset.UTC)
+                .toEpochMilli();
+    }
+}
@@ -136,4 +136,35 @@ public class SelectQueryBuilderTest
 
         logger.info("build: buildWithView");
     }
+
+    @Test
+    public void buildWithTimeSlice()
+    {
+        logger.info("build: buildWithTimeSlice");
+
+        String expected = "SELECT time, measure_value FROM \"myDatabase\".\"myTable\" WHERE ((\"time\" >= from_milliseconds(1600000000000))) " +
+                "AND (\"time\" >= from_milliseconds(1600000100000) AND \"time\" < from_milliseconds(1600000200000))";
+
+        Schema schema = SchemaBuilder.newBuilder()
+                .addField("time", Types.MinorType.DATEMILLI.getType())
+                .addFloat8Field("measure_value")
+                .build();
+
+        Map<String, ValueSet> constraintsMap = new HashMap<>();
+        constraintsMap.put("time", SortedRangeSet.copyOf(Types.MinorType.DATEMILLI.getType(),
+                ImmutableList.of(Range.greaterThanOrEqual(allocator, Types.MinorType.DATEMILLI.getType(), 1_600_000_000_000L)), false));
+
+        String actual = queryFactory.createSelectQueryBuilder(VIEW_METADATA_FIELD)
+                .withDatabaseName("myDatabase")
+                .withTableName("myTable")
+                .withProjection(schema)
+                .withConjucts(new Constraints(constraintsMap))
+                .withTimeSlice("time", 1_600_000_100_000L, 1_600_000_200_000L)
+                .build().replace("\n", "");
+
+        logger.info("build: actual[{}]", actual);
+        assertEquals(expected, actual);
+
+        logger.info("build: buildWithTimeSlice");
+    }
 }
@@ -25,6 +25,10 @@ import com.amazonaws.athena.connector.lambda.data.BlockWriter;
 import com.amazonaws.athena.connector.lambda.data.SchemaBuilder;
 import com.amazonaws.athena.connector.lambda.domain.Split;
 import com.amazonaws.athena.connector.lambda.domain.TableName;
+import com.amazonaws.athena.connector.lambda.domain.predicate.Marker;
+import com.amazonaws.athena.connector.lambda.domain.predicate.Range;
+import com.amazonaws.athena.connector.lambda.domain.predicate.SortedRangeSet;
+import com.amazonaws.athena.connector.lambda.domain.predicate.ValueSet;
 import com.amazonaws.athena.connector.lambda.handlers.MetadataHandler;
 import com.amazonaws.athena.connector.lambda.metadata.GetSplitsRequest;
 import com.amazonaws.athena.connector.lambda.metadata.GetSplitsResponse;
@@ -38,7 +42,10 @@ import com.amazonaws.athena.connector.lambda.metadata.ListTablesResponse;
 import com.amazonaws.athena.connector.lambda.security.EncryptionKeyFactory;
 import com.amazonaws.services.athena.AmazonAthena;
 import com.amazonaws.services.secretsmanager.AWSSecretsManager;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
+import com.teradata.tpcds.Parallel;
+import com.teradata.tpcds.Session;
 import com.teradata.tpcds.Table;
 import com.teradata.tpcds.column.Column;
 import org.apache.arrow.util.VisibleForTesting;
@@ -48,6 +55,7 @@ import org.slf4j.LoggerFactory;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -58,7 +66,8 @@ import java.util.stream.Collectors;
  * <p>
  * 1. Provides 5 Schems, each representing a different scale factor (1,10,100,250,1000)
  * 2. Each schema has 25 TPC-DS tables
- * 3. Each table is divided into NUM_SPLITS splits * scale_factor/10
+ * 3. Each table is divided into splits of ROWS_PER_SPLIT generator rows, splits that can not satisfy a constraint on
+ * the table's row number column are skipped.
  */
 public class TPCDSMetadataHandler
         extends MetadataHandler
@@ -74,6 +83,34 @@ public class TPCDSMetadataHandler
     protected static final String SPLIT_SCALE_FACTOR_FIELD = "scaleFactor";
     //The list of valid schemas which also convey the scale factor
     protected static final Set<String> SCHEMA_NAMES = ImmutableSet.of("tpcds1", "tpcds10", "tpcds100", "tpcds250", "tpcds1000");
+    //The number of generator rows (orders for the sales and returns tables) we aim to put in each split.
+    protected static final long ROWS_PER_SPLIT = 500_000;
+    //The TPC-DS generator produces tables with fewer rows than this in a single chunk, regardless of parallelism.
+    private static final long MIN_CHUNKED_ROWS = 1_000_000;
+    //Columns whose value is the generator's row number, used to skip chunks that can't satisfy the query's constraints.
+    private static final Map<Table, String> ROW_NUMBER_COLUMNS = ImmutableMap.<Table, String>builder()
+            .put(Table.CALL_CENTER, "cc_call_center_sk")
+            .put(Table.CATALOG_PAGE, "cp_catalog_page_sk")
+            .put(Table.CATALOG_RETURNS, "cr_order_number")
+            .put(Table.CATALOG_SALES, "cs_order_number")
+            .put(Table.CUSTOMER, "c_customer_sk")
+            .put(Table.CUSTOMER_ADDRESS, "ca_address_sk")
+            .put(Table.CUSTOMER_DEMOGRAPHICS, "cd_demo_sk")
+            .put(Table.HOUSEHOLD_DEMOGRAPHICS, "hd_demo_sk")
+            .put(Table.INCOME_BAND, "ib_income_band_sk")
+            .put(Table.ITEM, "i_item_sk")
+            .put(Table.PROMOTION, "p_promo_sk")
+            .put(Table.REASON, "r_reason_sk")
+            .put(Table.SHIP_MODE, "sm_ship_mode_sk")
+            .put(Table.STORE, "s_store_sk")
+            .put(Table.STORE_RETURNS, "sr_ticket_number")
+            .put(Table.STORE_SALES, "ss_ticket_number")
+            .put(Table.WAREHOUSE, "w_warehouse_sk")
+            .put(Table.WEB_PAGE, "wp_web_page_sk")
+            .put(Table.WEB_RETURNS, "wr_order_number")
+            .put(Table.WEB_SALES, "ws_order_number")
+            .put(Table.WEB_SITE, "web_site_sk")
+            .build();
 
     /**
      * used to aid in debugging. Athena will use this name in conjunction with your catalog id
@@ -165,8 +202,10 @@ public class TPCDSMetadataHandler
     }
 
     /**
-     * Used to split-up the reads required to scan the requested batch of partition(s). We are generating a fixed
-     * number of splits based on the scale factor.
+     * Used to split-up the reads required to scan the requested batch of partition(s). The number of splits comes
+     * from the table's row count at the requested scale factor, each split being one chunk of the TPC-DS generator.
+     * When the query constrains the table's row number column, chunks whose row range can't satisfy the constraint
+     * are not turned into splits.
      *
      * @see MetadataHandler
      */
@@ -175,14 +214,27 @@ public class TPCDSMetadataHandler
     {
         String catalogName = request.getCatalogName();
         int scaleFactor = TPCDSUtils.extractScaleFactor(request.getTableName().getSchemaName());
-        int totalSplits = (int) Math.ceil(((double) scaleFactor / 48D));    //each split would be ~48MB
+        Table table = TPCDSUtils.validateTable(request.getTableName());
+        Session session = Session.getDefaultSession()
+                .withScale(scaleFactor)
+                .withTable(table);
+        long rowCount = session.getScaling().getRowCount(table);
+        int totalSplits = getTotalSplits(rowCount);
+        ValueSet rowNumberConstraint = getRowNumberConstraint(table, request);
 
-        logger.info("doGetSplits: Generating {} splits for {} at scale factor {}",
-                totalSplits, request.getTableName(), scaleFactor);
+        logger.info("doGetSplits: Generating {} splits for {} with {} rows at scale factor {}",
+                totalSplits, request.getTableName(), rowCount, scaleFactor);
 
         int nextSplit = request.getContinuationToken() == null ? 0 : Integer.parseInt(request.getContinuationToken());
         Set<Split> splits = new HashSet<>();
         for (int i = nextSplit; i < totalSplits; i++) {
+            if (rowNumberConstraint != null) {
+                Parallel.ChunkBoundaries chunk = Parallel.splitWork(table,
+                        session.withParallelism(totalSplits).withChunkNumber(i + 1));
+                if (!mayContainRows(rowNumberConstraint, chunk.getFirstRow(), chunk.getLastRow())) {
+                    continue;
+                }
+            }
             splits.add(Split.newBuilder(makeSpillLocation(request), makeEncryptionKey())
                     .add(SPLIT_NUMBER_FIELD, String.valueOf(i))
                     .add(SPLIT_TOTAL_NUMBER_FIELD, String.valueOf(totalSplits))
@@ -196,4 +248,66 @@ public class TPCDSMetadataHandler
         logger.info("doGetSplits: exit - " + splits.size());
         return new GetSplitsResponse(catalogName, splits);
     }
+
+    /**
+     * The generator only chunks tables with at least MIN_CHUNKED_ROWS rows, smaller tables always get a single split.
+     *
+     * @param rowCount The number of generator rows in the table.
+     * @return The number of splits to generate the table with.
+     */
+    @VisibleForTesting
+    protected static int getTotalSplits(long rowCount)
+    {
+        if (rowCount < MIN_CHUNKED_ROWS) {
+            return 1;
+        }
+        return (int) Math.ceil((double) rowCount / ROWS_PER_SPLIT);
+    }
+
+    private static ValueSet getRowNumberConstraint(Table table, GetSplitsRequest request)
+    {
+        String column = ROW_NUMBER_COLUMNS.get(table);
+        if (column == null || request.getConstraints().getSummary() == null) {
+            return null;
+        }
+        return request.getConstraints().getSummary().get(column);
+    }
+
+    /**
+     * Checks if a constraint on a row number column can be satisfied by any row in the given (inclusive) range. The
+     * row number columns are never null so only the constraint's ranges are considered.
+     *
+     * @param constraint The constraint on the row number column.
+     * @param firstRow The first row number of the chunk.
+     * @param lastRow The last row number of the chunk.
+     * @return False if no row in the chunk can satisfy the constraint.
+     */
+    @VisibleForTesting
+    protected static boolean mayContainRows(ValueSet constraint, long firstRow, long lastRow)
+    {
+        if (!(constraint instanceof SortedRangeSet)) {
+            return true;
+        }
+
+        for (Range range : constraint.getRanges().getOrderedRanges()) {
+            long low = Long.MIN_VALUE;
+            if (!range.getLow().isLowerUnbounded()) {
+                low = ((Number) range.getLow().getValue()).longValue();
+                if (range.getLow().getBound() == Marker.Bound.ABOVE) {
+                    low++;
+                }
+            }
+            long high = Long.MAX_VALUE;
+            if (!range.getHigh().isUpperUnbounded()) {
+                high = ((Number) range.getHigh().getValue()).longValue();
+                if (range.getHigh().getBound() == Marker.Bound.BELOW) {
+                    high--;
+                }
+            }
+            if (low <= lastRow && high >= firstRow) {
+                return true;
+            }
+        }
+        return false;
+    }
 }
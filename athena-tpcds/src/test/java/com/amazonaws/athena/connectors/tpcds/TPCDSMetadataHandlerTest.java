@@ -27,6 +27,8 @@ import com.amazonaws.athena.connector.lambda.data.SchemaBuilder;
 import com.amazonaws.athena.connector.lambda.domain.Split;
 import com.amazonaws.athena.connector.lambda.domain.TableName;
 import com.amazonaws.athena.connector.lambda.domain.predicate.Constraints;
+import com.amazonaws.athena.connector.lambda.domain.predicate.Range;
+import com.amazonaws.athena.connector.lambda.domain.predicate.SortedRangeSet;
 import com.amazonaws.athena.connector.lambda.domain.predicate.ValueSet;
 import com.amazonaws.athena.connector.lambda.metadata.GetSplitsRequest;
 import com.amazonaws.athena.connector.lambda.metadata.GetSplitsResponse;
@@ -223,4 +225,53 @@ public class TPCDSMetadataHandlerTest
 
         logger.info("doGetSplits: exit");
     }
+
+    @Test
+    public void doGetSplitsFromRowCounts()
+    {
+        //store_sales has 2.4M orders at scale factor 10, enough for the generator to chunk it.
+        assertEquals(5, getSplits("tpcds10", "store_sales", new HashMap<>()).getSplits().size());
+        //customer has 500K rows at scale factor 10 and is generated in a single chunk.
+        assertEquals(1, getSplits("tpcds10", "customer", new HashMap<>()).getSplits().size());
+        assertEquals(1, TPCDSMetadataHandler.getTotalSplits(999_999));
+        assertEquals(2, TPCDSMetadataHandler.getTotalSplits(1_000_000));
+    }
+
+    @Test
+    public void doGetSplitsSkipsChunks()
+    {
+        //Chunks of 480,000 orders, only the third one holds ticket 1,000,000
+        Map<String, ValueSet> constraintsMap = new HashMap<>();
+        constraintsMap.put("ss_ticket_number", SortedRangeSet.of(
+                Range.equal(allocator, Types.MinorType.BIGINT.getType(), 1_000_000L)));
+        GetSplitsResponse response = getSplits("tpcds10", "store_sales", constraintsMap);
+        assertEquals(1, response.getSplits().size());
+        assertEquals("2", response.getSplits().iterator().next().getProperty(SPLIT_NUMBER_FIELD));
+
+        constraintsMap.put("ss_ticket_number", SortedRangeSet.of(
+                Range.range(allocator, Types.MinorType.BIGINT.getType(), 480_000L, false, 960_001L, false)));
+        assertEquals(1, getSplits("tpcds10", "store_sales", constraintsMap).getSplits().size());
+
+        constraintsMap.put("ss_ticket_number", SortedRangeSet.of(
+                Range.range(allocator, Types.MinorType.BIGINT.getType(), 480_000L, true, 960_001L, true)));
+        assertEquals(3, getSplits("tpcds10", "store_sales", constraintsMap).getSplits().size());
+
+        constraintsMap.put("ss_ticket_number", SortedRangeSet.of(
+                Range.greaterThan(allocator, Types.MinorType.BIGINT.getType(), 10_000_000L)));
+        assertEquals(0, getSplits("tpcds10", "store_sales", constraintsMap).getSplits().size());
+    }
+
+    private GetSplitsResponse getSplits(String schema, String table, Map<String, ValueSet> constraintsMap)
+    {
+        Block partitions = BlockUtils.newBlock(allocator, "partitionId", Types.MinorType.INT.getType(), 1);
+        GetSplitsRequest req = new GetSplitsRequest(identity,
+                "queryId",
+                "catalog_name",
+                new TableName(schema, table),
+                partitions,
+                Collections.EMPTY_LIST,
+                new Constraints(constraintsMap),
+                null);
+        return handler.doGetSplits(allocator, req);
+    }
 }
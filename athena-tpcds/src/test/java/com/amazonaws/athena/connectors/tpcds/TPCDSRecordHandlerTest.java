@@ -66,6 +66,8 @@ import org.slf4j.LoggerFactory;
 
 import java.io.ByteArrayInputStream;
 import java.io.InputStream;
+import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
@@ -263,6 +265,17 @@ public class TPCDSRecordHandlerTest
         logger.info("doReadRecordsSpill: exit");
     }
 
+    @Test
+    public void parseValues()
+    {
+        assertEquals(LocalDate.of(2003, 1, 31).toEpochDay(), TPCDSRecordHandler.parseEpochDay("2003-01-31"));
+        assertEquals(LocalDate.of(1900, 1, 2).toEpochDay(), TPCDSRecordHandler.parseEpochDay("1900-01-02"));
+        assertEquals(new BigDecimal("123.45"), TPCDSRecordHandler.parseDecimal("123.45"));
+        assertEquals(new BigDecimal("-0.50"), TPCDSRecordHandler.parseDecimal("-0.50"));
+        assertEquals(new BigDecimal("42"), TPCDSRecordHandler.parseDecimal("42"));
+        assertEquals(new BigDecimal("12345678901234567.89"), TPCDSRecordHandler.parseDecimal("12345678901234567.89"));
+    }
+
     @Test
     public void doReadRecordForTPCDSTIMETypeColumn()
             throws Exception
@@ -23,6 +23,11 @@ import com.amazonaws.athena.connector.lambda.handlers.UserDefinedFunctionHandler
 import com.amazonaws.athena.connector.lambda.security.CachableSecretsManager;
 import com.amazonaws.services.secretsmanager.AWSSecretsManagerClient;
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import org.apache.arrow.vector.VarCharVector;
 
 import javax.crypto.BadPaddingException;
 import javax.crypto.Cipher;
@@ -31,7 +36,7 @@ import javax.crypto.NoSuchPaddingException;
 import javax.crypto.spec.SecretKeySpec;
 
 import java.io.ByteArrayOutputStream;
-import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.security.InvalidKeyException;
 import java.security.NoSuchAlgorithmException;
@@ -40,12 +45,26 @@ import java.util.zip.DataFormatException;
 import java.util.zip.Deflater;
 import java.util.zip.Inflater;
 
+/**
+ * Each UDF is offered both as a row method and as a vectorized method taking the whole column, the latter is what
+ * UserDefinedFunctionHandler calls for Athena's batches. Compression and encryption state (Deflater, Inflater,
+ * Ciphers and scratch buffers) is kept per thread and reused across values, and data keys are decoded once per
+ * secret value instead of on every row.
+ */
 public class AthenaUDFHandler
         extends UserDefinedFunctionHandler
 {
     private static final String SOURCE_TYPE = "athena_common_udfs";
 
+    private static final int MAX_DATA_KEYS = 10;
+    private static final int BUFFER_SIZE = 4096;
+
+    private static final ThreadLocal<Workspace> WORKSPACE = ThreadLocal.withInitial(Workspace::new);
+
     private final CachableSecretsManager cachableSecretsManager;
+    //Keyed on the value of the secret, which is always fetched through CachableSecretsManager so that key rotation
+    //is picked up as soon as it refreshes the secret.
+    private final LoadingCache<String, SecretKeySpec> dataKeys;
 
     public AthenaUDFHandler()
     {
@@ -57,6 +76,16 @@ public class AthenaUDFHandler
     {
         super(SOURCE_TYPE);
         this.cachableSecretsManager = cachableSecretsManager;
+        this.dataKeys = CacheBuilder.newBuilder()
+                .maximumSize(MAX_DATA_KEYS)
+                .build(
+                        new CacheLoader<String, SecretKeySpec>()
+                        {
+                            public SecretKeySpec load(String secretString)
+                            {
+                                return new SecretKeySpec(Base64.getDecoder().decode(secretString), "AES");
+                            }
+                        });
     }
 
     /**
@@ -69,30 +98,23 @@ public class AthenaUDFHandler
     public String compress(String input)
     {
         byte[] inputBytes = input.getBytes(StandardCharsets.UTF_8);
+        return new String(deflate(inputBytes), StandardCharsets.ISO_8859_1);
+    }
 
-        // create compressor
-        Deflater compressor = new Deflater();
-        compressor.setInput(inputBytes);
-        compressor.finish();
-
-        // compress bytes to output stream
-        byte[] buffer = new byte[4096];
-        ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream(inputBytes.length);
-        while (!compressor.finished()) {
-            int bytes = compressor.deflate(buffer);
-            byteArrayOutputStream.write(buffer, 0, bytes);
-        }
-
-        try {
-            byteArrayOutputStream.close();
-        }
-        catch (IOException e) {
-            throw new RuntimeException("Failed to close ByteArrayOutputStream", e);
+    /**
+     * Vectorized form of {@link #compress(String)}, the UTF-8 bytes of each value are compressed without being
+     * decoded into a String. Null values produce null.
+     *
+     * @param input the Strings to be compressed
+     * @param result the vector to write the compressed Strings into
+     */
+    public void compress(VarCharVector input, VarCharVector result)
+    {
+        for (int row = 0; row < input.getValueCount(); row++) {
+            if (!input.isNull(row)) {
+                result.setSafe(row, deflate(input.get(row)));
+            }
         }
-
-        // return encoded string
-        byte[] compressedBytes = byteArrayOutputStream.toByteArray();
-        return Base64.getEncoder().encodeToString(compressedBytes);
     }
 
     /**
@@ -105,37 +127,25 @@ public class AthenaUDFHandler
     public String decompress(String input)
     {
         byte[] inputBytes = Base64.getDecoder().decode((input));
+        ExposedByteArrayOutputStream decompressed = inflate(inputBytes);
+        return new String(decompressed.buffer(), 0, decompressed.size(), StandardCharsets.UTF_8);
+    }
 
-        // create decompressor
-        Inflater decompressor = new Inflater();
-        decompressor.setInput(inputBytes, 0, inputBytes.length);
-
-        // decompress bytes to output stream
-        byte[] buffer = new byte[4096];
-        ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream(inputBytes.length);
-        try {
-            while (!decompressor.finished()) {
-                int bytes = decompressor.inflate(buffer);
-                if (bytes == 0 && decompressor.needsInput()) {
-                    throw new DataFormatException("Input is truncated");
-                }
-                byteArrayOutputStream.write(buffer, 0, bytes);
+    /**
+     * Vectorized form of {@link #decompress(String)}, the decompressed bytes are copied straight into the result
+     * vector. Null values produce null.
+     *
+     * @param input the Strings to be decompressed
+     * @param result the vector to write the decompressed Strings into
+     */
+    public void decompress(VarCharVector input, VarCharVector result)
+    {
+        for (int row = 0; row < input.getValueCount(); row++) {
+            if (!input.isNull(row)) {
+                ExposedByteArrayOutputStream decompressed = inflate(Base64.getDecoder().decode(input.get(row)));
+                result.setSafe(row, decompressed.buffer(), 0, decompressed.size());
             }
         }
-        catch (DataFormatException e) {
-            throw new RuntimeException("Failed to decompress string", e);
-        }
-
-        try {
-            byteArrayOutputStream.close();
-        }
-        catch (IOException e) {
-            throw new RuntimeException("Failed to close ByteArrayOutputStream", e);
-        }
-
-        // return decoded string
-        byte[] decompressedBytes = byteArrayOutputStream.toByteArray();
-        return new String(decompressedBytes, StandardCharsets.UTF_8);
     }
 
     /**
@@ -150,17 +160,28 @@ public class AthenaUDFHandler
      */
     public String decrypt(String ciphertext, String secretName)
     {
-        String secretString = cachableSecretsManager.getSecret(secretName);
-        byte[] plaintextKey = Base64.getDecoder().decode(secretString);
+        byte[] encryptedContent = Base64.getDecoder().decode(ciphertext);
+        byte[] plainTextBytes = WORKSPACE.get().crypt(Cipher.DECRYPT_MODE, getDataKey(secretName), encryptedContent);
+        return new String(plainTextBytes, StandardCharsets.UTF_8);
+    }
 
-        try {
-            Cipher cipher = getCipher(Cipher.DECRYPT_MODE, plaintextKey);
-            byte[] encryptedContent = Base64.getDecoder().decode(ciphertext.getBytes());
-            byte[] plainTextBytes = cipher.doFinal(encryptedContent);
-            return new String(plainTextBytes);
-        }
-        catch (IllegalBlockSizeException | BadPaddingException e) {
-            throw new RuntimeException(e);
+    /**
+     * Vectorized form of {@link #decrypt(String, String)}. The data key is resolved once per distinct secret name in
+     * the batch rather than once per row. Null values produce null.
+     *
+     * @param ciphertext the values to decrypt
+     * @param secretName the name of the secret holding the data key of each value
+     * @param result the vector to write the plaintext into
+     */
+    public void decrypt(VarCharVector ciphertext, VarCharVector secretName, VarCharVector result)
+    {
+        KeyResolver keys = new KeyResolver(secretName);
+        Workspace workspace = WORKSPACE.get();
+        for (int row = 0; row < ciphertext.getValueCount(); row++) {
+            if (!ciphertext.isNull(row) && !secretName.isNull(row)) {
+                byte[] encryptedContent = Base64.getDecoder().decode(ciphertext.get(row));
+                result.setSafe(row, workspace.crypt(Cipher.DECRYPT_MODE, keys.get(row), encryptedContent));
+            }
         }
     }
 
@@ -176,30 +197,163 @@ public class AthenaUDFHandler
      */
     public String encrypt(String plaintext, String secretName)
     {
-        String secretString = cachableSecretsManager.getSecret(secretName);
-        byte[] plaintextKey = Base64.getDecoder().decode(secretString);
+        byte[] plainTextBytes = plaintext.getBytes(StandardCharsets.UTF_8);
+        byte[] encryptedContent = WORKSPACE.get().crypt(Cipher.ENCRYPT_MODE, getDataKey(secretName), plainTextBytes);
+        return Base64.getEncoder().encodeToString(encryptedContent);
+    }
+
+    /**
+     * Vectorized form of {@link #encrypt(String, String)}. The data key is resolved once per distinct secret name in
+     * the batch rather than once per row. Null values produce null.
+     *
+     * @param plaintext the values to encrypt
+     * @param secretName the name of the secret holding the data key of each value
+     * @param result the vector to write the ciphertext into
+     */
+    public void encrypt(VarCharVector plaintext, VarCharVector secretName, VarCharVector result)
+    {
+        KeyResolver keys = new KeyResolver(secretName);
+        Workspace workspace = WORKSPACE.get();
+        for (int row = 0; row < plaintext.getValueCount(); row++) {
+            if (!plaintext.isNull(row) && !secretName.isNull(row)) {
+                byte[] encryptedContent = workspace.crypt(Cipher.ENCRYPT_MODE, keys.get(row), plaintext.get(row));
+                result.setSafe(row, Base64.getEncoder().encode(encryptedContent));
+            }
+        }
+    }
+
+    /**
+     * @return The Base64 encoding of the zlib compressed input.
+     */
+    private static byte[] deflate(byte[] input)
+    {
+        Workspace workspace = WORKSPACE.get();
+        Deflater compressor = workspace.deflater;
+        compressor.reset();
+        compressor.setInput(input);
+        compressor.finish();
 
+        ExposedByteArrayOutputStream compressed = workspace.output;
+        compressed.reset();
+        while (!compressor.finished()) {
+            int bytes = compressor.deflate(workspace.buffer);
+            compressed.write(workspace.buffer, 0, bytes);
+        }
+
+        return Base64.getEncoder().encode(ByteBuffer.wrap(compressed.buffer(), 0, compressed.size())).array();
+    }
+
+    /**
+     * @return The thread's scratch stream holding the inflated input, only valid until the next call.
+     */
+    private static ExposedByteArrayOutputStream inflate(byte[] input)
+    {
+        Workspace workspace = WORKSPACE.get();
+        Inflater decompressor = workspace.inflater;
+        decompressor.reset();
+        decompressor.setInput(input, 0, input.length);
+
+        ExposedByteArrayOutputStream decompressed = workspace.output;
+        decompressed.reset();
         try {
-            Cipher cipher = getCipher(Cipher.ENCRYPT_MODE, plaintextKey);
-            byte[] encryptedContent = cipher.doFinal(plaintext.getBytes());
-            byte[] encodedContent = Base64.getEncoder().encode(encryptedContent);
-            return new String(encodedContent);
+            while (!decompressor.finished()) {
+                int bytes = decompressor.inflate(workspace.buffer);
+                if (bytes == 0 && !decompressor.finished() && decompressor.needsInput()) {
+                    throw new DataFormatException("Input is truncated");
+                }
+                decompressed.write(workspace.buffer, 0, bytes);
+            }
         }
-        catch (IllegalBlockSizeException | BadPaddingException e) {
-            throw new RuntimeException(e);
+        catch (DataFormatException e) {
+            throw new RuntimeException("Failed to decompress string", e);
         }
+
+        return decompressed;
     }
 
-    private Cipher getCipher(int cipherMode, byte[] plainTextDataKey)
+    private SecretKeySpec getDataKey(String secretName)
     {
         try {
-            Cipher cipher = Cipher.getInstance("AES");
-            SecretKeySpec skeySpec = new SecretKeySpec(plainTextDataKey, "AES");
-            cipher.init(cipherMode, skeySpec);
-            return cipher;
+            return dataKeys.getUnchecked(cachableSecretsManager.getSecret(secretName));
+        }
+        catch (UncheckedExecutionException e) {
+            throw (e.getCause() instanceof RuntimeException) ? (RuntimeException) e.getCause() : e;
+        }
+    }
+
+    /**
+     * Resolves the data key of each row of a batch, the secret name is almost always the same literal for every
+     * row so the last key is kept to skip the cache lookup.
+     */
+    private class KeyResolver
+    {
+        private final VarCharVector secretNames;
+        private String lastName;
+        private SecretKeySpec lastKey;
+
+        private KeyResolver(VarCharVector secretNames)
+        {
+            this.secretNames = secretNames;
         }
-        catch (NoSuchPaddingException | NoSuchAlgorithmException | InvalidKeyException e) {
-            throw new RuntimeException(e);
+
+        private SecretKeySpec get(int row)
+        {
+            String name = new String(secretNames.get(row), StandardCharsets.UTF_8);
+            if (!name.equals(lastName)) {
+                lastKey = getDataKey(name);
+                lastName = name;
+            }
+            return lastKey;
+        }
+    }
+
+    /**
+     * Per thread state reused across values. The Ciphers are only re-initialized when the data key changes, AES in
+     * its default ECB mode returns to its initialized state after each doFinal. A Cipher that failed is re-initialized
+     * before its next use.
+     */
+    private static class Workspace
+    {
+        private final Deflater deflater = new Deflater();
+        private final Inflater inflater = new Inflater();
+        private final byte[] buffer = new byte[BUFFER_SIZE];
+        private final ExposedByteArrayOutputStream output = new ExposedByteArrayOutputStream();
+        private final Cipher[] ciphers = new Cipher[2];
+        private final SecretKeySpec[] cipherKeys = new SecretKeySpec[2];
+
+        private byte[] crypt(int cipherMode, SecretKeySpec key, byte[] input)
+        {
+            int slot = (cipherMode == Cipher.ENCRYPT_MODE) ? 0 : 1;
+            try {
+                if (ciphers[slot] == null) {
+                    ciphers[slot] = Cipher.getInstance("AES");
+                }
+                if (cipherKeys[slot] != key) {
+                    cipherKeys[slot] = null;
+                    ciphers[slot].init(cipherMode, key);
+                    cipherKeys[slot] = key;
+                }
+                return ciphers[slot].doFinal(input);
+            }
+            catch (NoSuchPaddingException | NoSuchAlgorithmException | InvalidKeyException
+                    | IllegalBlockSizeException | BadPaddingException e) {
+                cipherKeys[slot] = null;
+                throw new RuntimeException(e);
+            }
+        }
+    }
+
+    private static class ExposedByteArrayOutputStream
+            extends ByteArrayOutputStream
+    {
+        private ExposedByteArrayOutputStream()
+        {
+            super(BUFFER_SIZE);
+        }
+
+        private byte[] buffer()
+        {
+            return buf;
         }
     }
 }
@@ -20,6 +20,10 @@
 package com.amazonaws.athena.connectors.udfs;
 
 import com.amazonaws.athena.connector.lambda.security.CachableSecretsManager;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.VarCharVector;
+import org.junit.After;
 import org.junit.Before;
 import org.junit.Ignore;
 import org.junit.Test;
@@ -27,12 +31,15 @@ import org.junit.Test;
 import javax.crypto.Cipher;
 import javax.crypto.spec.SecretKeySpec;
 
+import java.nio.charset.StandardCharsets;
 import java.util.Base64;
 import java.util.zip.DataFormatException;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 public class AthenaUDFHandlerTest
@@ -40,8 +47,11 @@ public class AthenaUDFHandlerTest
     private static final String DUMMY_SECRET_NAME = "dummy_secret";
 
     private AthenaUDFHandler athenaUDFHandler;
+    private CachableSecretsManager cachableSecretsManager;
+    private BufferAllocator allocator;
 
     private static final String PLAINTEXT_DATA_KEY = "AQIDBAUGBwgJAAECAwQFBg==";
+    private static final String ROTATED_DATA_KEY = "BgUEAwIBAAkIBwYFBAMCAQ==";
 
     private Base64.Decoder decoder = Base64.getDecoder();
     private Base64.Encoder encoder = Base64.getEncoder();
@@ -49,9 +59,16 @@ public class AthenaUDFHandlerTest
     @Before
     public void setup()
     {
-        CachableSecretsManager cachableSecretsManager = mock(CachableSecretsManager.class);
+        cachableSecretsManager = mock(CachableSecretsManager.class);
         when(cachableSecretsManager.getSecret(DUMMY_SECRET_NAME)).thenReturn(PLAINTEXT_DATA_KEY);
         this.athenaUDFHandler = new AthenaUDFHandler(cachableSecretsManager);
+        this.allocator = new RootAllocator(Long.MAX_VALUE);
+    }
+
+    @After
+    public void tearDown()
+    {
+        allocator.close();
     }
 
     @Test
@@ -132,6 +149,80 @@ public class AthenaUDFHandlerTest
         assertEquals(expected, result);
     }
 
+    @Test
+    public void testDataKeyFollowsSecretRotation()
+    {
+        String encrypted = athenaUDFHandler.encrypt("abcdef", DUMMY_SECRET_NAME);
+        assertEquals("abcdef", athenaUDFHandler.decrypt(encrypted, DUMMY_SECRET_NAME));
+        assertEquals(encrypted, athenaUDFHandler.encrypt("abcdef", DUMMY_SECRET_NAME));
+
+        //The rotated key is used as soon as the secrets cache returns it.
+        when(cachableSecretsManager.getSecret(DUMMY_SECRET_NAME)).thenReturn(ROTATED_DATA_KEY);
+        String rotated = athenaUDFHandler.encrypt("abcdef", DUMMY_SECRET_NAME);
+        assertTrue(!encrypted.equals(rotated));
+        assertEquals("abcdef", athenaUDFHandler.decrypt(rotated, DUMMY_SECRET_NAME));
+    }
+
+    @Test
+    public void testVectorizedCompressAndDecompress()
+    {
+        try (VarCharVector input = newVector("input", "StringToBeCompressed", null, "");
+                VarCharVector compressed = newVector("compressed");
+                VarCharVector decompressed = newVector("decompressed")) {
+            athenaUDFHandler.compress(input, compressed);
+            compressed.setValueCount(input.getValueCount());
+            assertEquals(athenaUDFHandler.compress("StringToBeCompressed"), read(compressed, 0));
+            assertTrue(compressed.isNull(1));
+            assertEquals(athenaUDFHandler.compress(""), read(compressed, 2));
+
+            athenaUDFHandler.decompress(compressed, decompressed);
+            decompressed.setValueCount(compressed.getValueCount());
+            assertEquals("StringToBeCompressed", read(decompressed, 0));
+            assertTrue(decompressed.isNull(1));
+            assertEquals("", read(decompressed, 2));
+        }
+    }
+
+    @Test
+    public void testVectorizedEncryptAndDecrypt()
+    {
+        try (VarCharVector plaintext = newVector("plaintext", "abcdef", null, "ghijkl");
+                VarCharVector secretNames = newVector("secret", DUMMY_SECRET_NAME, DUMMY_SECRET_NAME, DUMMY_SECRET_NAME);
+                VarCharVector ciphertext = newVector("ciphertext");
+                VarCharVector decrypted = newVector("decrypted")) {
+            athenaUDFHandler.encrypt(plaintext, secretNames, ciphertext);
+            ciphertext.setValueCount(plaintext.getValueCount());
+            //The secret is resolved once for the whole batch.
+            verify(cachableSecretsManager, times(1)).getSecret(DUMMY_SECRET_NAME);
+            assertEquals(athenaUDFHandler.encrypt("abcdef", DUMMY_SECRET_NAME), read(ciphertext, 0));
+            assertTrue(ciphertext.isNull(1));
+
+            athenaUDFHandler.decrypt(ciphertext, secretNames, decrypted);
+            decrypted.setValueCount(ciphertext.getValueCount());
+            assertEquals("abcdef", read(decrypted, 0));
+            assertTrue(decrypted.isNull(1));
+            assertEquals("ghijkl", read(decrypted, 2));
+        }
+    }
+
+    private VarCharVector newVector(String name, String... values)
+    {
+        VarCharVector vector = new VarCharVector(name, allocator);
+        vector.allocateNew();
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] != null) {
+                vector.setSafe(i, values[i].getBytes(StandardCharsets.UTF_8));
+            }
+        }
+        vector.setValueCount(values.length);
+        return vector;
+    }
+
+    private static String read(VarCharVector vector, int row)
+    {
+        return new String(vector.get(row), StandardCharsets.UTF_8);
+    }
+
     /**
      * This UT is used to test {@link AthenaUDFHandler#decrypt(String, String)} method end-to-end.
      * It requires AWS Secret Manager setup and AWS credential setup.